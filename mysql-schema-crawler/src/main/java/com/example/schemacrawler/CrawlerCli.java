@@ -0,0 +1,182 @@
+package com.example.schemacrawler;
+
+import com.example.schemacrawler.model.CodegenReport;
+import com.example.schemacrawler.model.CompilationReport;
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.CrawlListener;
+import com.example.schemacrawler.service.ModelCompilationService;
+import com.example.schemacrawler.service.ModelGeneratorService;
+import com.example.schemacrawler.service.ModelSourceWriterService;
+import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.example.schemacrawler.service.SchemaFingerprintService;
+import com.example.schemacrawler.service.SchemaHistoryService;
+import com.example.schemacrawler.service.SchemaImportService;
+import com.example.schemacrawler.util.AdaptiveConcurrencyLimiter;
+import com.example.schemacrawler.util.CrawlScope;
+import com.example.schemacrawler.util.JdbcUtils;
+import com.example.schemacrawler.util.QueryRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Headless entry point for batch jobs: crawl the schema, write a JSON snapshot or the
+ * model sources, and exit. Unlike {@link MysqlSchemaCrawlerApplication} it starts no web
+ * server, JPA or scheduling, only the crawler and generator beans, so small schemas are
+ * done before the web stack would have finished booting.
+ * <p>
+ * Usage: {@code java -cp mysql-schema-crawler.jar com.example.schemacrawler.CrawlerCli
+ * [snapshot|sources] [--output=PATH] [--tables=a,b] [--spring.datasource.url=...]}.
+ * Exits with 0 when every table was crawled, 1 when the crawl was partial or failed, or
+ * when sources of colliding tables were not written, and
+ * 2 on a usage error.
+ * <p>
+ * Deliberately not a {@code @Configuration}, so the web application's component scan
+ * does not pick it up.
+ */
+@ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, DataSourceAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({MetadataRepository.class, AdaptiveConcurrencyLimiter.class, QueryRateLimiter.class, JdbcUtils.class, CrawlScope.class,
+        SchemaFingerprintService.class, SchemaHistoryService.class, CrawlExecutorService.class, SchemaCrawlerService.class,
+        SchemaImportService.class, ModelGeneratorService.class, ModelCompilationService.class,
+        ModelSourceWriterService.class})
+public class CrawlerCli implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlerCli.class);
+
+    static final int EXIT_PARTIAL = 1;
+    static final int EXIT_USAGE = 2;
+
+    private final SchemaCrawlerService schemaCrawlerService;
+    private final ModelSourceWriterService modelSourceWriterService;
+    private final ModelCompilationService modelCompilationService;
+    private final ObjectMapper objectMapper;
+    private final String codegenOutputDir;
+    private final boolean verifyBeforeWrite;
+
+    private int exitCode;
+
+    @Autowired
+    public CrawlerCli(SchemaCrawlerService schemaCrawlerService,
+                      ModelSourceWriterService modelSourceWriterService,
+                      ModelCompilationService modelCompilationService,
+                      ObjectMapper objectMapper,
+                      @Value("${crawler.codegen.output-dir:generated-sources}") String codegenOutputDir,
+                      @Value("${crawler.codegen.verify:true}") boolean verifyBeforeWrite) {
+        this.schemaCrawlerService = schemaCrawlerService;
+        this.modelSourceWriterService = modelSourceWriterService;
+        this.modelCompilationService = modelCompilationService;
+        this.objectMapper = objectMapper;
+        this.codegenOutputDir = codegenOutputDir;
+        this.verifyBeforeWrite = verifyBeforeWrite;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Run one CLI command in a fresh non-web application context.
+     * @param args the command, its options and any Spring properties as --name=value
+     * @return the process exit code
+     */
+    public static int run(String... args) {
+        SpringApplication application = new SpringApplication(CrawlerCli.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return SpringApplication.exit(application.run(args));
+    }
+
+    /**
+     * Metrics of the rate and concurrency limiters are kept in memory; the CLI exports none.
+     */
+    @Bean
+    static MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> commands = args.getNonOptionArgs();
+        String command = commands.isEmpty() ? "snapshot" : commands.get(0);
+        if (commands.size() > 1 || !(command.equals("snapshot") || command.equals("sources"))) {
+            logger.error("Usage: CrawlerCli [snapshot|sources] [--output=PATH] [--tables=a,b]");
+            exitCode = EXIT_USAGE;
+            return;
+        }
+
+        CrawlResult crawl = crawl(optionValue(args, "tables"));
+        boolean complete = crawl.isComplete();
+        if (command.equals("snapshot")) {
+            Path output = Path.of(optionValue(args, "output") != null ? optionValue(args, "output") : "schema-snapshot.json");
+            if (output.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(output.toAbsolutePath().getParent());
+            }
+            objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), crawl);
+            logger.info("Wrote snapshot of {} tables to {}", crawl.getTables().size(), output);
+        } else {
+            if (verifyBeforeWrite && modelCompilationService.isAvailable()) {
+                CompilationReport verification = modelCompilationService.verify(crawl.getTables());
+                verification.getProblems().forEach(problem -> logger.warn("Model does not compile: {}", problem));
+            }
+            Path output = Path.of(optionValue(args, "output") != null ? optionValue(args, "output") : codegenOutputDir);
+            // Only a complete crawl of the whole schema may delete sources of tables it did not see
+            boolean deleteStale = crawl.isComplete() && !args.containsOption("tables");
+            CodegenReport report = modelSourceWriterService.writeSources(crawl.getTables(), output, deleteStale);
+            logger.info("Wrote model sources: {}", report);
+            complete &= report.getErrors().isEmpty();
+        }
+        exitCode = complete ? 0 : EXIT_PARTIAL;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private CrawlResult crawl(String tables) {
+        if (tables == null) {
+            return schemaCrawlerService.crawlAllTablesMetadata();
+        }
+        List<String> tableNames = Arrays.stream(tables.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+        List<TableMeta> crawled = new ArrayList<>();
+        CrawlResult result = schemaCrawlerService.crawlTables(tableNames, new CrawlListener() {
+            @Override
+            public void tableCompleted(TableMeta tableMeta, int index, int total) {
+                crawled.add(tableMeta);
+            }
+        });
+        result.setTables(crawled);
+        return result;
+    }
+
+    private static String optionValue(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.IndexFinding;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.IndexAdvisorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for schema analysis reports.
+ */
+@RestController
+@RequestMapping("/api/analysis")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AnalysisController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisController.class);
+
+    private final IndexAdvisorService indexAdvisorService;
+    private final CrawlExecutorService crawlExecutorService;
+
+    @Autowired
+    public AnalysisController(IndexAdvisorService indexAdvisorService, CrawlExecutorService crawlExecutorService) {
+        this.indexAdvisorService = indexAdvisorService;
+        this.crawlExecutorService = crawlExecutorService;
+    }
+
+    /**
+     * Report missing foreign key indexes and redundant or duplicate indexes.
+     * @param refresh whether to re-crawl the catalog instead of using the cache
+     * @return List of IndexFinding objects
+     */
+    @GetMapping("/indexes")
+    public CompletableFuture<ResponseEntity<?>> analyzeIndexes(@RequestParam(defaultValue = "false") boolean refresh) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<IndexFinding> findings = indexAdvisorService.analyzeCatalog(refresh);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", findings);
+                response.put("count", findings.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error analysing indexes", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+}
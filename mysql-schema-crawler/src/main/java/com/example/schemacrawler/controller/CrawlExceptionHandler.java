@@ -0,0 +1,40 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.CrawlRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Maps crawl saturation and timeouts to 503 responses with a Retry-After header.
+ */
+@RestControllerAdvice
+public class CrawlExceptionHandler {
+
+    @Autowired
+    private CrawlExecutorService crawlExecutorService;
+
+    @ExceptionHandler(CrawlRejectedException.class)
+    public ResponseEntity<?> handleRejected(CrawlRejectedException e) {
+        return serviceUnavailable(e.getRetryAfterSeconds(), e.getMessage());
+    }
+
+    @ExceptionHandler({TimeoutException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<?> handleTimeout(Exception e) {
+        return serviceUnavailable(crawlExecutorService.getRetryAfterSeconds(), "Crawl did not finish within the request timeout");
+    }
+
+    private ResponseEntity<?> serviceUnavailable(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("success", false, "error", message));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.dto.CrawlJobRequest;
+import com.example.schemacrawler.model.CrawlJob;
+import com.example.schemacrawler.service.CrawlJobService;
+import com.example.schemacrawler.util.SpillableTableBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller for background crawl jobs.
+ */
+@RestController
+@RequestMapping("/api/crawls")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CrawlJobController {
+
+    private final CrawlJobService crawlJobService;
+
+    @Autowired
+    public CrawlJobController(CrawlJobService crawlJobService) {
+        this.crawlJobService = crawlJobService;
+    }
+
+    /**
+     * Queue a crawl job.
+     * @param request the tables to crawl (all tables if omitted) and the job priority
+     * @return CrawlJob status of the queued job
+     */
+    @PostMapping
+    public ResponseEntity<?> submitJob(@RequestBody(required = false) CrawlJobRequest request) {
+        List<String> tableNames = request != null ? request.getTableNames() : null;
+        int priority = request != null ? request.getPriority() : 0;
+        CrawlJob job = crawlJobService.submit(tableNames, priority);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", job);
+        return ResponseEntity.accepted().location(URI.create("/api/crawls/" + job.getJobId())).body(response);
+    }
+
+    /**
+     * List all known crawl jobs.
+     * @return List of CrawlJob status objects, most recent first
+     */
+    @GetMapping
+    public ResponseEntity<?> getJobs() {
+        List<CrawlJob> jobs = crawlJobService.getJobs();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", jobs);
+        response.put("count", jobs.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the status and progress of a crawl job.
+     * @param jobId the job id
+     * @return CrawlJob status
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        Optional<CrawlJob> job = crawlJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return notFound(jobId);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", job.get());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the crawled tables of a finished job.
+     * @param jobId the job id
+     * @return List of TableMeta, 409 if the job has not succeeded, 410 if its results were evicted
+     */
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getResult(@PathVariable String jobId) {
+        Optional<CrawlJob> job = crawlJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return notFound(jobId);
+        }
+        // Spilled results are read back from disk while the response is written
+        Optional<SpillableTableBuffer> result = crawlJobService.getResult(jobId);
+        if (result.isEmpty()) {
+            HttpStatus status = job.get().isResultEvicted() ? HttpStatus.GONE : HttpStatus.CONFLICT;
+            String error = job.get().isResultEvicted()
+                    ? "Results of job " + jobId + " were evicted to stay within the result budget"
+                    : "Job " + jobId + " has no result in state " + job.get().getState();
+            return ResponseEntity.status(status).body(Map.of("success", false, "error", error));
+        }
+        // The result stays pinned until the response has been written, so eviction meanwhile cannot truncate it
+        SpillableTableBuffer tables = result.get();
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                "crawlJobResult", tables::unpin, RequestAttributes.SCOPE_REQUEST);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", tables);
+        response.put("count", tables.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Cancel a queued or running crawl job.
+     * @param jobId the job id
+     * @return CrawlJob status after cancellation, 409 if the job already finished
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<?> cancelJob(@PathVariable String jobId) {
+        if (crawlJobService.getJob(jobId).isEmpty()) {
+            return notFound(jobId);
+        }
+        if (!crawlJobService.cancel(jobId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "error", "Job " + jobId + " has already finished"));
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", crawlJobService.getJob(jobId).orElse(null));
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> notFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "error", "Crawl job not found: " + jobId));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.TableExport;
+import com.example.schemacrawler.service.TableExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller for exporting table data to chunk files.
+ */
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ExportController {
+
+    private final TableExportService tableExportService;
+
+    @Autowired
+    public ExportController(TableExportService tableExportService) {
+        this.tableExportService = tableExportService;
+    }
+
+    /**
+     * Start exporting a table in the background.
+     * @param tableName the table name
+     * @param format csv or ndjson
+     * @param resume whether to continue from the checkpoint of an earlier run
+     * @return TableExport of the started run, 409 if the table is already being exported
+     */
+    @PostMapping("/{tableName}")
+    public ResponseEntity<?> startExport(@PathVariable String tableName,
+                                         @RequestParam(defaultValue = "csv") String format,
+                                         @RequestParam(defaultValue = "true") boolean resume) {
+        try {
+            TableExport export = tableExportService.startExport(tableName, TableExportService.Format.of(format), resume);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", export);
+            return ResponseEntity.accepted().location(URI.create("/api/export/" + tableName)).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * List the exports started since the application came up.
+     * @return List of TableExport objects, most recent first
+     */
+    @GetMapping
+    public ResponseEntity<?> getExports() {
+        List<TableExport> exports = tableExportService.getExports();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", exports);
+        response.put("count", exports.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the progress of the latest export of a table.
+     * @param tableName the table name
+     * @return TableExport with chunk, row and byte counts
+     */
+    @GetMapping("/{tableName}")
+    public ResponseEntity<?> getExport(@PathVariable String tableName) {
+        Optional<TableExport> export = tableExportService.getExport(tableName);
+        if (export.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "error", "No export found for table: " + tableName));
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", export.get());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,7 +2,7 @@ package com.example.schemacrawler.controller;
 
 import com.example.schemacrawler.dto.ApiResponse;
 import com.example.schemacrawler.dto.DatabaseConnectionDto;
-import com.example.schemacrawler.util.JdbcUtils;
+import com.example.schemacrawler.service.DatabaseHealthProber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +28,7 @@ public class HealthController {
     private static final Logger logger = LoggerFactory.getLogger(HealthController.class);
 
     @Autowired
-    private JdbcUtils jdbcUtils;
+    private DatabaseHealthProber databaseHealthProber;
 
     @Value("${spring.datasource.url:N/A}")
     private String datasourceUrl;
@@ -54,23 +54,30 @@ public class HealthController {
 
     /**
      * Check database connection status.
+     * Served from the background prober's cached result, so this never opens a connection.
      * @return database connection status
      */
     @GetMapping("/database")
     public ResponseEntity<ApiResponse<DatabaseConnectionDto>> checkDatabaseConnection() {
         try {
-            boolean isConnected = jdbcUtils.testConnection();
-            
+            DatabaseHealthProber.ProbeResult probe = databaseHealthProber.getLastResult();
+            boolean isConnected = probe.isUp() && !databaseHealthProber.isStale(probe);
+
             DatabaseConnectionDto connectionDto = new DatabaseConnectionDto();
             connectionDto.setConnected(isConnected);
-            
+            connectionDto.setCheckedAt(probe.getCheckedAt());
+            connectionDto.setLatencyMillis(probe.getLatencyMillis());
+
             if (isConnected) {
                 connectionDto.setMessage("Database connection successful");
                 ApiResponse<DatabaseConnectionDto> response = new ApiResponse<>(true, "Database connected", connectionDto);
                 return ResponseEntity.ok(response);
             } else {
-                connectionDto.setMessage("Database connection failed");
+                connectionDto.setMessage(probe.isUp() ? "Database probe result is stale" : "Database connection failed");
                 ApiResponse<DatabaseConnectionDto> response = new ApiResponse<>(false, "Database connection failed", connectionDto);
+                if (probe.getError() != null) {
+                    response.setError(probe.getError());
+                }
                 return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
             }
         } catch (Exception e) {
@@ -0,0 +1,202 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.SchemaChange;
+import com.example.schemacrawler.model.SchemaVersion;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.example.schemacrawler.service.SchemaHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for the versioned schema history.
+ * Timestamps are accepted as ISO-8601 instants, e.g. 2024-05-14T09:00:00Z, or epoch milliseconds.
+ */
+@RestController
+@RequestMapping("/api/history")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class HistoryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryController.class);
+
+    private final SchemaHistoryService schemaHistoryService;
+    private final SchemaCrawlerService schemaCrawlerService;
+    private final CrawlExecutorService crawlExecutorService;
+    private final MetadataRepository metadataRepository;
+
+    @Autowired
+    public HistoryController(SchemaHistoryService schemaHistoryService, SchemaCrawlerService schemaCrawlerService,
+                             CrawlExecutorService crawlExecutorService, MetadataRepository metadataRepository) {
+        this.schemaHistoryService = schemaHistoryService;
+        this.schemaCrawlerService = schemaCrawlerService;
+        this.crawlExecutorService = crawlExecutorService;
+        this.metadataRepository = metadataRepository;
+    }
+
+    /**
+     * List the recorded versions.
+     * @return List of SchemaVersion objects, oldest first
+     */
+    @GetMapping
+    public ResponseEntity<?> getVersions() {
+        try {
+            List<SchemaVersion> versions = schemaHistoryService.getVersions();
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", versions);
+            response.put("count", versions.size());
+            response.put("latestVersion", versions.size());
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            return historyError(e);
+        }
+    }
+
+    /**
+     * Crawl all tables now and record the result.
+     * @return the latest SchemaVersion, with recorded false if the schema was unchanged
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> recordVersion() {
+        if (metadataRepository.hasImportedCatalog()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "error", "The history records the live database; clear the imported catalog first")));
+        }
+        return crawlExecutorService.submit(() -> {
+            try {
+                long before = schemaHistoryService.getLatestVersion();
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                // Recording is a no-op if the crawl itself was already recorded
+                schemaHistoryService.record(crawl.getTables(), crawl.isComplete());
+                List<SchemaVersion> versions = schemaHistoryService.getVersions();
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", versions.isEmpty() ? null : versions.get(versions.size() - 1));
+                response.put("recorded", versions.size() > before);
+                response.put("complete", crawl.isComplete());
+                return ResponseEntity.ok(response);
+            } catch (IOException e) {
+                return historyError(e);
+            }
+        });
+    }
+
+    /**
+     * Get the catalog as it was at a version or a point in time.
+     * @param version the version; defaults to the latest
+     * @param at timestamp to resolve to the version current at that time, instead of a version
+     * @return List of TableMeta for the version, 404 if it does not exist
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalog(@RequestParam(required = false) Long version,
+                                        @RequestParam(required = false) String at) {
+        try {
+            long resolved = resolveVersion(version, at);
+            Optional<List<TableMeta>> catalog = schemaHistoryService.getCatalog(resolved);
+            if (catalog.isEmpty()) {
+                return versionNotFound(resolved);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", catalog.get());
+            response.put("count", catalog.get().size());
+            response.put("version", resolved);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        } catch (IOException e) {
+            return historyError(e);
+        }
+    }
+
+    /**
+     * List the tables that differ between two versions.
+     * @param from the older version
+     * @param since timestamp to resolve to the older version, instead of from
+     * @param to the newer version; defaults to the latest
+     * @return List of SchemaChange objects, 404 if a version does not exist
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) Long from,
+                                        @RequestParam(required = false) String since,
+                                        @RequestParam(required = false) Long to) {
+        try {
+            if (from == null && since == null) {
+                throw new IllegalArgumentException("Either from or since is required");
+            }
+            long fromVersion = resolveVersion(from, since);
+            long toVersion = resolveVersion(to, null);
+            Optional<List<SchemaChange>> changes = schemaHistoryService.getChanges(fromVersion, toVersion);
+            if (changes.isEmpty()) {
+                return versionNotFound(Math.max(fromVersion, toVersion));
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", changes.get());
+            response.put("count", changes.get().size());
+            response.put("fromVersion", fromVersion);
+            response.put("toVersion", toVersion);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        } catch (IOException e) {
+            return historyError(e);
+        }
+    }
+
+    /**
+     * Resolve an explicit version, or the version current at a timestamp, or the latest version.
+     */
+    private long resolveVersion(Long version, String timestamp) throws IOException {
+        if (version != null && timestamp != null) {
+            throw new IllegalArgumentException("Pass either a version or a timestamp, not both");
+        }
+        if (version != null) {
+            return version;
+        }
+        if (timestamp == null) {
+            return schemaHistoryService.getLatestVersion();
+        }
+        return schemaHistoryService.getVersionAt(parseTimestamp(timestamp));
+    }
+
+    private static long parseTimestamp(String timestamp) {
+        try {
+            return timestamp.chars().allMatch(Character::isDigit) ? Long.parseLong(timestamp) : Instant.parse(timestamp).toEpochMilli();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timestamp: " + timestamp);
+        }
+    }
+
+    private ResponseEntity<?> versionNotFound(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "error", "Schema version not found: " + version));
+    }
+
+    private ResponseEntity<?> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("success", false, "error", e.getMessage()));
+    }
+
+    private ResponseEntity<?> historyError(IOException e) {
+        logger.error("Error reading the schema history", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+    }
+}
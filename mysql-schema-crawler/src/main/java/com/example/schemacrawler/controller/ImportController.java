@@ -0,0 +1,90 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.SchemaImport;
+import com.example.schemacrawler.service.SchemaImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for importing a schema from mysqldump or DDL files.
+ */
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
+
+    private final SchemaImportService schemaImportService;
+
+    @Autowired
+    public ImportController(SchemaImportService schemaImportService) {
+        this.schemaImportService = schemaImportService;
+    }
+
+    /**
+     * Import a schema from the request body, which is streamed rather than buffered.
+     * Send the file as the raw body, gzip-compressed if {@code Content-Encoding: gzip} is set
+     * or the name ends in {@code .gz}.
+     * @param name name of the uploaded file, for reporting
+     * @param request the request carrying the script
+     * @return SchemaImport describing the import
+     */
+    @PostMapping
+    public ResponseEntity<?> importSchema(@RequestParam(defaultValue = "upload.sql") String name,
+                                          HttpServletRequest request) {
+        boolean gzip = "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING)) || name.endsWith(".gz");
+        try {
+            SchemaImport schemaImport = schemaImportService.importStream(request.getInputStream(), name, gzip);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", schemaImport);
+            response.put("count", schemaImport.getTables());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Error importing schema from " + name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Get the active import.
+     * @return SchemaImport being served, or null data when the live database is crawled
+     */
+    @GetMapping
+    public ResponseEntity<?> getImport() {
+        SchemaImport schemaImport = schemaImportService.getActiveImport();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("active", schemaImport != null);
+        response.put("data", schemaImport);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Drop the imported schema and return to crawling the live database.
+     * @return whether an import was active
+     */
+    @DeleteMapping
+    public ResponseEntity<?> clearImport() {
+        boolean cleared = schemaImportService.clearImport();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("cleared", cleared);
+        return ResponseEntity.ok(response);
+    }
+}
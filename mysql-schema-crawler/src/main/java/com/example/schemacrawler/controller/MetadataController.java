@@ -1,19 +1,30 @@
 package com.example.schemacrawler.controller;
 
+import com.example.schemacrawler.dto.TableBatchRequest;
 import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CrawlResult;
 import com.example.schemacrawler.model.IndexMeta;
 import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.CrawlRejectedException;
 import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.example.schemacrawler.service.SchemaFingerprintService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for accessing database schema metadata.
@@ -28,44 +39,107 @@ public class MetadataController {
     @Autowired
     private SchemaCrawlerService schemaCrawlerService;
 
+    @Autowired
+    private CrawlExecutorService crawlExecutorService;
+
+    @Autowired
+    private SchemaFingerprintService schemaFingerprintService;
+
+    @Value("${crawler.batch.max-tables:1000}")
+    private int maxBatchTables;
+
+    @Value("${crawler.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${crawler.stream.progress-interval-ms:1000}")
+    private long progressIntervalMs;
+
     /**
      * Get all tables in the database.
      * @return List of table names
      */
     @GetMapping("/tables")
-    public ResponseEntity<?> getTables() {
-        try {
-            List<String> tables = schemaCrawlerService.getAllTables();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", tables);
-            response.put("count", tables.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving tables", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getTables() {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<String> tables = schemaCrawlerService.getAllTables();
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", tables);
+                response.put("count", tables.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving tables", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
      * Get metadata for a specific table.
      * @param tableName the table name
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
      * @return TableMeta containing all metadata for the table
      */
     @GetMapping("/table/{tableName}")
-    public ResponseEntity<?> getTableMetadata(@PathVariable String tableName) {
-        try {
-            TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", tableMeta);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving table metadata for: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
+    public CompletableFuture<ResponseEntity<?>> getTableMetadata(@PathVariable String tableName,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("table", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getTableFingerprint(tableName);
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                if (fingerprint == null) {
+                    fingerprint = schemaFingerprintService.getTableFingerprint(tableMeta);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", tableMeta);
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving table metadata for: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Get metadata for many tables in one request.
+     * @param request the table names to crawl
+     * @return TableMeta for every table found, plus the names that were not found
+     */
+    @PostMapping("/tables:batch")
+    public CompletableFuture<ResponseEntity<?>> getTablesMetadata(@RequestBody TableBatchRequest request) {
+        List<String> tableNames = request.getTableNames();
+        if (tableNames == null || tableNames.isEmpty() || tableNames.size() > maxBatchTables) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", "tableNames must contain between 1 and " + maxBatchTables + " tables")));
         }
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<TableMeta> tables = schemaCrawlerService.getTablesMetadata(tableNames);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", tables);
+                response.put("count", tables.size());
+                response.put("missing", schemaCrawlerService.findMissingTables(tableNames, tables));
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving metadata for table batch", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -74,19 +148,21 @@ public class MetadataController {
      * @return List of ColumnMeta objects
      */
     @GetMapping("/columns/{tableName}")
-    public ResponseEntity<?> getColumns(@PathVariable String tableName) {
-        try {
-            List<ColumnMeta> columns = schemaCrawlerService.getColumnsMetadata(tableName);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", columns);
-            response.put("count", columns.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving columns for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getColumns(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<ColumnMeta> columns = schemaCrawlerService.getColumnsMetadata(tableName);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", columns);
+                response.put("count", columns.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving columns for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -95,19 +171,21 @@ public class MetadataController {
      * @return List of primary key column names
      */
     @GetMapping("/primary-keys/{tableName}")
-    public ResponseEntity<?> getPrimaryKeys(@PathVariable String tableName) {
-        try {
-            List<String> primaryKeys = schemaCrawlerService.getPrimaryKeys(tableName);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", primaryKeys);
-            response.put("count", primaryKeys.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving primary keys for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getPrimaryKeys(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<String> primaryKeys = schemaCrawlerService.getPrimaryKeys(tableName);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", primaryKeys);
+                response.put("count", primaryKeys.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving primary keys for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -116,19 +194,21 @@ public class MetadataController {
      * @return List of foreign key constraint names
      */
     @GetMapping("/foreign-keys/{tableName}")
-    public ResponseEntity<?> getForeignKeys(@PathVariable String tableName) {
-        try {
-            List<String> foreignKeys = schemaCrawlerService.getForeignKeyConstraints(tableName);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", foreignKeys);
-            response.put("count", foreignKeys.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving foreign keys for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getForeignKeys(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<String> foreignKeys = schemaCrawlerService.getForeignKeyConstraints(tableName);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", foreignKeys);
+                response.put("count", foreignKeys.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving foreign keys for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -137,38 +217,123 @@ public class MetadataController {
      * @return List of IndexMeta objects
      */
     @GetMapping("/indexes/{tableName}")
-    public ResponseEntity<?> getIndexes(@PathVariable String tableName) {
-        try {
-            List<IndexMeta> indexes = schemaCrawlerService.getIndexes(tableName);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", indexes);
-            response.put("count", indexes.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving indexes for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> getIndexes(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<IndexMeta> indexes = schemaCrawlerService.getIndexes(tableName);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", indexes);
+                response.put("count", indexes.size());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving indexes for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
      * Get all tables metadata at once.
-     * @return List of TableMeta for all tables
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
+     * @return List of TableMeta for all tables, with the failed and timed out tables if the crawl was partial
      */
     @GetMapping("/all")
-    public ResponseEntity<?> getAllMetadata() {
+    public CompletableFuture<ResponseEntity<?>> getAllMetadata(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("schema", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getSchemaFingerprint();
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                List<TableMeta> allTables = crawl.getTables();
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", allTables);
+                response.put("count", allTables.size());
+                response.put("complete", crawl.isComplete());
+                if (!crawl.isComplete()) {
+                    // Partial results are never cached by the client
+                    response.put("failedTables", crawl.getFailedTables());
+                    response.put("timedOutTables", crawl.getTimedOutTables());
+                    return ResponseEntity.ok(response);
+                }
+                if (fingerprint == null) {
+                    fingerprint = schemaFingerprintService.getSchemaFingerprint(allTables);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving all metadata", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Stream the metadata of all tables as Server-Sent Events while the crawl runs.
+     * Emits table-started, table-completed (with the TableMeta), table-failed, periodic
+     * progress (throughput and ETA) and a final complete event.
+     * @return the event stream
+     */
+    @GetMapping("/all/stream")
+    public SseEmitter streamAllMetadata() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        SseCrawlListener listener = new SseCrawlListener(emitter, progressIntervalMs);
+        CompletableFuture<CrawlResult> crawl;
         try {
-            List<TableMeta> allTables = schemaCrawlerService.getAllTablesMetadata();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", allTables);
-            response.put("count", allTables.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving all metadata", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
+            // The emitter timeout bounds the stream, so the executor's request timeout is not applied
+            crawl = crawlExecutorService.submit(() -> schemaCrawlerService.crawlAllTables(listener), 0);
+        } catch (CrawlRejectedException e) {
+            try {
+                emitter.send(SseEmitter.event().name(SseCrawlListener.CRAWL_FAILED)
+                        .reconnectTime(e.getRetryAfterSeconds() * 1000)
+                        .data(Map.of("success", false, "error", e.getMessage())));
+                emitter.complete();
+            } catch (IOException ioe) {
+                emitter.completeWithError(ioe);
+            }
+            return emitter;
         }
+
+        crawl.whenComplete((result, error) -> {
+            try {
+                if (error == null) {
+                    listener.complete(result);
+                } else if (error instanceof CancellationException) {
+                    return;
+                } else {
+                    logger.error("Error streaming all metadata", error);
+                    emitter.send(SseEmitter.event().name(SseCrawlListener.CRAWL_FAILED)
+                            .data(Map.of("success", false, "error", String.valueOf(error.getMessage()))));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        emitter.onTimeout(() -> crawl.cancel(true));
+        emitter.onError(e -> crawl.cancel(true));
+        emitter.onCompletion(() -> crawl.cancel(true));
+        return emitter;
+    }
+
+    /**
+     * Build the 304 response for a client whose copy is current.
+     */
+    private ResponseEntity<?> notModified(SchemaFingerprintService.Fingerprint fingerprint, String representation) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(fingerprint.etag(representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(fingerprint.getLastModified())
+                .build();
     }
-}
\ No newline at end of file
+}
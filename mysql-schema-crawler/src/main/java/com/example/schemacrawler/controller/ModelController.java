@@ -1,19 +1,31 @@
 package com.example.schemacrawler.controller;
 
+import com.example.schemacrawler.dto.TableBatchRequest;
+import com.example.schemacrawler.model.CodegenReport;
+import com.example.schemacrawler.model.CompilationReport;
+import com.example.schemacrawler.model.CrawlResult;
 import com.example.schemacrawler.model.GeneratedModel;
 import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import com.example.schemacrawler.service.ModelCompilationService;
 import com.example.schemacrawler.service.ModelGeneratorService;
+import com.example.schemacrawler.service.ModelSourceWriterService;
 import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.example.schemacrawler.service.SchemaFingerprintService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for managing generated model classes.
@@ -27,79 +39,239 @@ public class ModelController {
 
     private final ModelGeneratorService modelGeneratorService;
     private final SchemaCrawlerService schemaCrawlerService;
+    private final CrawlExecutorService crawlExecutorService;
+    private final SchemaFingerprintService schemaFingerprintService;
+    private final ModelSourceWriterService modelSourceWriterService;
+    private final ModelCompilationService modelCompilationService;
+
+    @Value("${crawler.batch.max-tables:1000}")
+    private int maxBatchTables;
+
+    @Value("${crawler.codegen.output-dir:generated-sources}")
+    private String codegenOutputDir;
+
+    @Value("${crawler.codegen.verify:true}")
+    private boolean verifyBeforeWrite;
 
     @Autowired
-    public ModelController(ModelGeneratorService modelGeneratorService, SchemaCrawlerService schemaCrawlerService) {
+    public ModelController(ModelGeneratorService modelGeneratorService, SchemaCrawlerService schemaCrawlerService,
+                           CrawlExecutorService crawlExecutorService, SchemaFingerprintService schemaFingerprintService,
+                           ModelSourceWriterService modelSourceWriterService, ModelCompilationService modelCompilationService) {
         this.modelGeneratorService = modelGeneratorService;
         this.schemaCrawlerService = schemaCrawlerService;
+        this.crawlExecutorService = crawlExecutorService;
+        this.schemaFingerprintService = schemaFingerprintService;
+        this.modelSourceWriterService = modelSourceWriterService;
+        this.modelCompilationService = modelCompilationService;
     }
 
     /**
      * Generate model for a specific table.
      * @param tableName the table name
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
      * @return GeneratedModel containing the generated model information
      */
     @GetMapping("/{tableName}")
-    public ResponseEntity<?> generateModel(@PathVariable String tableName) {
-        try {
-            TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
-            GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+    public CompletableFuture<ResponseEntity<?>> generateModel(@PathVariable String tableName,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("model", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getTableFingerprint(tableName);
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                if (fingerprint == null) {
+                    fingerprint = schemaFingerprintService.getTableFingerprint(tableMeta);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", model);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error generating model for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", model);
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error generating model for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
      * Generate models for all tables.
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
      * @return List of GeneratedModel objects
      */
     @GetMapping
-    public ResponseEntity<?> generateAllModels() {
-        try {
-            List<TableMeta> allTables = schemaCrawlerService.getAllTablesMetadata();
-            List<GeneratedModel> models = modelGeneratorService.generateModels(allTables);
+    public CompletableFuture<ResponseEntity<?>> generateAllModels(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("models", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getSchemaFingerprint();
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                List<TableMeta> allTables = crawl.getTables();
+                if (fingerprint == null && crawl.isComplete()) {
+                    fingerprint = schemaFingerprintService.getSchemaFingerprint(allTables);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                List<GeneratedModel> models = modelGeneratorService.generateModels(allTables);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", models);
-            response.put("count", models.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error generating models", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", models);
+                response.put("count", models.size());
+                response.put("complete", crawl.isComplete());
+                if (!crawl.isComplete()) {
+                    // Partial results are never cached by the client
+                    response.put("failedTables", crawl.getFailedTables());
+                    response.put("timedOutTables", crawl.getTimedOutTables());
+                    return ResponseEntity.ok(response);
+                }
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error generating models", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Generate models for many tables in one request.
+     * @param request the table names to generate models for
+     * @return GeneratedModel for every table found, plus the names that were not found
+     */
+    @PostMapping("/tables:batch")
+    public CompletableFuture<ResponseEntity<?>> generateModels(@RequestBody TableBatchRequest request) {
+        List<String> tableNames = request.getTableNames();
+        if (tableNames == null || tableNames.isEmpty() || tableNames.size() > maxBatchTables) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", "tableNames must contain between 1 and " + maxBatchTables + " tables")));
         }
+        return crawlExecutorService.submit(() -> {
+            try {
+                List<TableMeta> tables = schemaCrawlerService.getTablesMetadata(tableNames);
+                List<GeneratedModel> models = modelGeneratorService.generateModels(tables);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", models);
+                response.put("count", models.size());
+                response.put("missing", schemaCrawlerService.findMissingTables(tableNames, tables));
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error generating models for table batch", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
      * Get Java source code for a generated model.
      * @param tableName the table name
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
      * @return the Java source code as a string
      */
     @GetMapping("/{tableName}/code")
-    public ResponseEntity<?> getModelCode(@PathVariable String tableName) {
-        try {
-            TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
-            GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+    public CompletableFuture<ResponseEntity<?>> getModelCode(@PathVariable String tableName,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("model-code", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getTableFingerprint(tableName);
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                if (fingerprint == null) {
+                    fingerprint = schemaFingerprintService.getTableFingerprint(tableMeta);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("className", model.getClassName());
-            response.put("tableName", tableName);
-            response.put("code", model.getCode());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error generating model code for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("className", model.getClassName());
+                response.put("tableName", tableName);
+                response.put("code", model.getCode());
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error generating model code for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Get Java source code of the RowMapper for a generated model.
+     * @param tableName the table name
+     * @return the RowMapper source code and the SELECT statement it expects
+     */
+    @GetMapping("/{tableName}/row-mapper")
+    public CompletableFuture<ResponseEntity<?>> getRowMapperCode(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("className", model.getClassName() + "RowMapper");
+                response.put("tableName", tableName);
+                response.put("code", modelGeneratorService.generateRowMapperCode(tableMeta, model));
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error generating row mapper for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Get Java source code of the bulk insert/upsert DAO for a generated model.
+     * @param tableName the table name
+     * @return the DAO source code
+     */
+    @GetMapping("/{tableName}/dao")
+    public CompletableFuture<ResponseEntity<?>> getDaoCode(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("className", model.getClassName() + "Dao");
+                response.put("tableName", tableName);
+                response.put("code", modelGeneratorService.generateDaoCode(tableMeta, model));
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error generating DAO for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -108,22 +280,24 @@ public class ModelController {
      * @return List of relationships
      */
     @GetMapping("/{tableName}/relationships")
-    public ResponseEntity<?> getModelRelationships(@PathVariable String tableName) {
-        try {
-            TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
-            GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+    public CompletableFuture<ResponseEntity<?>> getModelRelationships(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("tableName", tableName);
-            response.put("relationships", model.getRelationships());
-            response.put("count", model.getRelationships() != null ? model.getRelationships().size() : 0);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving model relationships for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("tableName", tableName);
+                response.put("relationships", model.getRelationships());
+                response.put("count", model.getRelationships() != null ? model.getRelationships().size() : 0);
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving model relationships for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
@@ -132,50 +306,146 @@ public class ModelController {
      * @return Map of field names to types
      */
     @GetMapping("/{tableName}/fields")
-    public ResponseEntity<?> getModelFields(@PathVariable String tableName) {
-        try {
-            TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
-            GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
+    public CompletableFuture<ResponseEntity<?>> getModelFields(@PathVariable String tableName) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+                GeneratedModel model = modelGeneratorService.generateModel(tableMeta);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("tableName", tableName);
-            response.put("className", model.getClassName());
-            response.put("fields", model.getFields());
-            response.put("fieldMap", model.getFieldMap());
-            response.put("count", model.getFields() != null ? model.getFields().size() : 0);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving model fields for table: " + tableName, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("tableName", tableName);
+                response.put("className", model.getClassName());
+                response.put("fields", model.getFields());
+                response.put("fieldMap", model.getFieldMap());
+                response.put("count", model.getFields() != null ? model.getFields().size() : 0);
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error retrieving model fields for table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
     }
 
     /**
      * Get all model codes.
+     * @param ifNoneMatch the If-None-Match header; a matching schema fingerprint yields 304
+     * @param accept the Accept header, which selects the response format and so the ETag
      * @return Map of table names to their Java source code
      */
     @GetMapping("/all/code")
-    public ResponseEntity<?> getAllModelCodes() {
-        try {
-            List<TableMeta> allTables = schemaCrawlerService.getAllTablesMetadata();
-            List<GeneratedModel> models = modelGeneratorService.generateModels(allTables);
+    public CompletableFuture<ResponseEntity<?>> getAllModelCodes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String representation = SchemaFingerprintService.representation("model-codes", accept);
+        return crawlExecutorService.submit(() -> {
+            try {
+                SchemaFingerprintService.Fingerprint fingerprint = schemaFingerprintService.getSchemaFingerprint();
+                if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                    return notModified(fingerprint, representation);
+                }
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                List<TableMeta> allTables = crawl.getTables();
+                if (fingerprint == null && crawl.isComplete()) {
+                    fingerprint = schemaFingerprintService.getSchemaFingerprint(allTables);
+                    if (schemaFingerprintService.matches(ifNoneMatch, fingerprint, representation)) {
+                        return notModified(fingerprint, representation);
+                    }
+                }
+                List<GeneratedModel> models = modelGeneratorService.generateModels(allTables);
             
-            Map<String, String> codes = new HashMap<>();
-            for (GeneratedModel model : models) {
-                codes.put(model.getClassName(), model.getCode());
-            }
+                Map<String, String> codes = new HashMap<>();
+                for (GeneratedModel model : models) {
+                    codes.put(model.getClassName(), model.getCode());
+                }
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", codes);
-            response.put("count", codes.size());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error generating all model codes", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("success", false, "error", e.getMessage()));
-        }
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", codes);
+                response.put("count", codes.size());
+                response.put("complete", crawl.isComplete());
+                if (!crawl.isComplete()) {
+                    // Partial results are never cached by the client
+                    response.put("failedTables", crawl.getFailedTables());
+                    response.put("timedOutTables", crawl.getTimedOutTables());
+                    return ResponseEntity.ok(response);
+                }
+                return ResponseEntity.ok().eTag(fingerprint.etag(representation)).varyBy(HttpHeaders.ACCEPT).lastModified(fingerprint.getLastModified()).body(response);
+            } catch (Exception e) {
+                logger.error("Error generating all model codes", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Compile the models of all tables in one in-memory batch.
+     * @return CompilationReport listing the problems per table and column
+     */
+    @PostMapping("/verify")
+    public CompletableFuture<ResponseEntity<?>> verifyModels() {
+        return crawlExecutorService.submit(() -> {
+            try {
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                CompilationReport report = modelCompilationService.verify(crawl.getTables());
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", report);
+                response.put("count", report.getProblems().size());
+                response.put("complete", crawl.isComplete());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error verifying models", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+            }
+        });
+    }
+
+    /**
+     * Write model sources for all tables into the configured output directory.
+     * Only new or changed files are written; files of dropped tables are deleted unless
+     * the crawl was partial. When verification is enabled the models are compiled first
+     * and the report is returned alongside.
+     * @return CodegenReport with the number of files written, skipped and deleted
+     */
+    @PostMapping("/sources")
+    public CompletableFuture<ResponseEntity<?>> writeModelSources() {
+        return crawlExecutorService.submit(() -> {
+            try {
+                CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+                CompilationReport verification = verifyBeforeWrite && modelCompilationService.isAvailable()
+                        ? modelCompilationService.verify(crawl.getTables()) : null;
+                CodegenReport report = modelSourceWriterService.writeSources(crawl.getTables(),
+                        Path.of(codegenOutputDir), crawl.isComplete());
+
+                Map<String, Object> response = new HashMap<>();
+                if (verification != null) {
+                    response.put("verification", verification);
+                }
+                response.put("success", true);
+                response.put("data", report);
+                response.put("count", report.getModels());
+                response.put("complete", crawl.isComplete());
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                logger.error("Error writing model sources", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+            }
+        });
+    }
+
+    /**
+     * Build the 304 response for a client whose copy is current.
+     */
+    private ResponseEntity<?> notModified(SchemaFingerprintService.Fingerprint fingerprint, String representation) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(fingerprint.etag(representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(fingerprint.getLastModified())
+                .build();
     }
-}
\ No newline at end of file
+}
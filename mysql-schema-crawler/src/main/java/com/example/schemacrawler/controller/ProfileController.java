@@ -0,0 +1,63 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.TableProfile;
+import com.example.schemacrawler.service.ColumnProfilerService;
+import com.example.schemacrawler.service.CrawlExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for column data profiles.
+ */
+@RestController
+@RequestMapping("/api/profile")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ProfileController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
+
+    private final ColumnProfilerService columnProfilerService;
+    private final CrawlExecutorService crawlExecutorService;
+
+    @Autowired
+    public ProfileController(ColumnProfilerService columnProfilerService, CrawlExecutorService crawlExecutorService) {
+        this.columnProfilerService = columnProfilerService;
+        this.crawlExecutorService = crawlExecutorService;
+    }
+
+    /**
+     * Profile the columns of a table.
+     * @param tableName the table name
+     * @param sampleRate fraction of rows to scan, defaults to all rows
+     * @return TableProfile with per-column statistics
+     */
+    @GetMapping("/{tableName}")
+    public CompletableFuture<ResponseEntity<?>> profileTable(@PathVariable String tableName,
+                                                             @RequestParam(defaultValue = "1.0") double sampleRate) {
+        return crawlExecutorService.submit(() -> {
+            try {
+                TableProfile profile = columnProfilerService.profileTable(tableName, sampleRate);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", profile);
+                response.put("count", profile.getColumns().size());
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("success", false, "error", e.getMessage()));
+            } catch (Exception e) {
+                logger.error("Error profiling table: " + tableName, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.CrawlListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Crawl listener that writes progress to a Server-Sent Events stream.
+ * Events are written synchronously from the crawling thread, so a slow client blocks
+ * the crawl on its socket rather than having events queued in memory. A failed write
+ * (client gone) throws and stops the crawl.
+ */
+class SseCrawlListener implements CrawlListener {
+
+    static final String TABLE_STARTED = "table-started";
+    static final String TABLE_COMPLETED = "table-completed";
+    static final String TABLE_FAILED = "table-failed";
+    static final String PROGRESS = "progress";
+    static final String COMPLETE = "complete";
+    static final String CRAWL_FAILED = "crawl-failed";
+
+    private final SseEmitter emitter;
+    private final long progressIntervalNanos;
+    private final long start = System.nanoTime();
+    private long lastProgress = start;
+    private int completed;
+    private int failed;
+    private int total;
+
+    SseCrawlListener(SseEmitter emitter, long progressIntervalMs) {
+        this.emitter = emitter;
+        this.progressIntervalNanos = progressIntervalMs * 1_000_000;
+    }
+
+    @Override
+    public void tableStarted(String tableName, int index, int total) {
+        this.total = total;
+        Map<String, Object> data = new HashMap<>();
+        data.put("tableName", tableName);
+        data.put("index", index);
+        data.put("total", total);
+        send(TABLE_STARTED, data);
+    }
+
+    @Override
+    public void tableCompleted(TableMeta tableMeta, int index, int total) {
+        completed++;
+        send(TABLE_COMPLETED, tableMeta);
+        progressIfDue();
+    }
+
+    @Override
+    public void tableFailed(String tableName, Exception error) {
+        failed++;
+        Map<String, Object> data = new HashMap<>();
+        data.put("tableName", tableName);
+        data.put("error", String.valueOf(error.getMessage()));
+        send(TABLE_FAILED, data);
+        progressIfDue();
+    }
+
+    /**
+     * Send the final summary event.
+     * @param result the outcome of the crawl
+     */
+    void complete(CrawlResult result) {
+        Map<String, Object> data = progress();
+        data.put("count", result.getTablesCrawled());
+        data.put("complete", result.isComplete());
+        data.put("failedTables", result.getFailedTables());
+        data.put("timedOutTables", result.getTimedOutTables());
+        send(COMPLETE, data);
+    }
+
+    private void progressIfDue() {
+        long now = System.nanoTime();
+        if (now - lastProgress >= progressIntervalNanos) {
+            lastProgress = now;
+            send(PROGRESS, progress());
+        }
+    }
+
+    private Map<String, Object> progress() {
+        long elapsedNanos = System.nanoTime() - start;
+        int done = completed + failed;
+        double tablesPerSecond = elapsedNanos > 0 ? done / (elapsedNanos / 1e9) : 0;
+        Map<String, Object> data = new HashMap<>();
+        data.put("completed", completed);
+        data.put("failed", failed);
+        data.put("total", total);
+        data.put("elapsedMillis", elapsedNanos / 1_000_000);
+        data.put("tablesPerSecond", Math.round(tablesPerSecond * 10) / 10.0);
+        data.put("etaSeconds", tablesPerSecond > 0 ? Math.round((total - done) / tablesPerSecond) : null);
+        return data;
+    }
+
+    private void send(String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event stream closed by client", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.schemacrawler.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * DTO for submitting a background crawl job.
+ */
+public class CrawlJobRequest {
+
+    @JsonProperty("tableNames")
+    private List<String> tableNames;
+
+    @JsonProperty("priority")
+    private int priority;
+
+    public CrawlJobRequest() {}
+
+    public CrawlJobRequest(List<String> tableNames, int priority) {
+        this.tableNames = tableNames;
+        this.priority = priority;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public void setTableNames(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlJobRequest{" +
+                "tableNames=" + tableNames +
+                ", priority=" + priority +
+                '}';
+    }
+}
@@ -25,6 +25,12 @@ public class DatabaseConnectionDto {
     @JsonProperty("message")
     private String message;
 
+    @JsonProperty("checkedAt")
+    private Long checkedAt;
+
+    @JsonProperty("latencyMillis")
+    private Double latencyMillis;
+
     public DatabaseConnectionDto() {}
 
     public DatabaseConnectionDto(String host, Integer port, String database, String username) {
@@ -82,6 +88,22 @@ public class DatabaseConnectionDto {
         this.message = message;
     }
 
+    public Long getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(Long checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    public Double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(Double latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
     @Override
     public String toString() {
         return "DatabaseConnectionDto{" +
@@ -91,6 +113,8 @@ public class DatabaseConnectionDto {
                 ", username='" + username + '\'' +
                 ", connected=" + connected +
                 ", message='" + message + '\'' +
+                ", checkedAt=" + checkedAt +
+                ", latencyMillis=" + latencyMillis +
                 '}';
     }
 }
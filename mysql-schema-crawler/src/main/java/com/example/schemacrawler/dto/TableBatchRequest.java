@@ -0,0 +1,34 @@
+package com.example.schemacrawler.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * DTO for requesting metadata or models of many tables in one call.
+ */
+public class TableBatchRequest {
+
+    @JsonProperty("tableNames")
+    private List<String> tableNames;
+
+    public TableBatchRequest() {}
+
+    public TableBatchRequest(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public void setTableNames(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    @Override
+    public String toString() {
+        return "TableBatchRequest{" +
+                "tableNames=" + tableNames +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the outcome of writing generated model sources to disk.
+ * Files whose content matches the manifest of the previous run are skipped, so an
+ * unchanged schema rewrites nothing and leaves file timestamps alone. Tables whose
+ * classes would overwrite each other are listed in the errors and not written.
+ */
+public class CodegenReport {
+
+    @JsonProperty("outputDirectory")
+    private String outputDirectory;
+
+    @JsonProperty("models")
+    private int models;
+
+    @JsonProperty("filesWritten")
+    private int filesWritten;
+
+    @JsonProperty("filesSkipped")
+    private int filesSkipped;
+
+    @JsonProperty("filesDeleted")
+    private int filesDeleted;
+
+    @JsonProperty("staleFilesKept")
+    private boolean staleFilesKept;
+
+    @JsonProperty("errors")
+    private List<String> errors = new ArrayList<>();
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    public CodegenReport() {}
+
+    public CodegenReport(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public int getModels() {
+        return models;
+    }
+
+    public void setModels(int models) {
+        this.models = models;
+    }
+
+    public int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public void setFilesWritten(int filesWritten) {
+        this.filesWritten = filesWritten;
+    }
+
+    public int getFilesSkipped() {
+        return filesSkipped;
+    }
+
+    public void setFilesSkipped(int filesSkipped) {
+        this.filesSkipped = filesSkipped;
+    }
+
+    public int getFilesDeleted() {
+        return filesDeleted;
+    }
+
+    public void setFilesDeleted(int filesDeleted) {
+        this.filesDeleted = filesDeleted;
+    }
+
+    public boolean isStaleFilesKept() {
+        return staleFilesKept;
+    }
+
+    public void setStaleFilesKept(boolean staleFilesKept) {
+        this.staleFilesKept = staleFilesKept;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CodegenReport{" +
+                "outputDirectory='" + outputDirectory + '\'' +
+                ", models=" + models +
+                ", filesWritten=" + filesWritten +
+                ", filesSkipped=" + filesSkipped +
+                ", filesDeleted=" + filesDeleted +
+                ", staleFilesKept=" + staleFilesKept +
+                ", errors=" + errors.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -21,6 +21,16 @@ public class ColumnMeta {
     
     @JsonProperty("columnSize")
     private Integer columnSize;
+
+    /** java.sql.Types code of the column, null when the source did not report one. */
+    @JsonProperty("jdbcType")
+    private Integer jdbcType;
+
+    @JsonProperty("scale")
+    private Integer scale;
+
+    @JsonProperty("isUnsigned")
+    private Boolean isUnsigned;
     
     @JsonProperty("nullable")
     private Boolean nullable;
@@ -112,6 +122,30 @@ public class ColumnMeta {
         this.columnSize = columnSize;
     }
 
+    public Integer getJdbcType() {
+        return jdbcType;
+    }
+
+    public void setJdbcType(Integer jdbcType) {
+        this.jdbcType = jdbcType;
+    }
+
+    public Integer getScale() {
+        return scale;
+    }
+
+    public void setScale(Integer scale) {
+        this.scale = scale;
+    }
+
+    public Boolean getIsUnsigned() {
+        return isUnsigned;
+    }
+
+    public void setIsUnsigned(Boolean isUnsigned) {
+        this.isUnsigned = isUnsigned;
+    }
+
     public boolean isNullable() {
         return nullable != null ? nullable : true;
     }
@@ -200,6 +234,9 @@ public class ColumnMeta {
                 "columnName='" + columnName + '\'' +
                 ", dataType='" + dataType + '\'' +
                 ", columnSize=" + columnSize +
+                ", jdbcType=" + jdbcType +
+                ", scale=" + scale +
+                ", isUnsigned=" + isUnsigned +
                 ", isNullable=" + isNullable +
                 ", isAutoIncrement=" + isAutoIncrement +
                 ", isPrimaryKey=" + isPrimaryKey +
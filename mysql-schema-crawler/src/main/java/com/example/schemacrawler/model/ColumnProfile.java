@@ -0,0 +1,127 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+/**
+ * Represents a statistical profile of the data held in a database column.
+ */
+public class ColumnProfile {
+
+    @JsonProperty("columnName")
+    private String columnName;
+
+    @JsonProperty("rowCount")
+    private long rowCount;
+
+    @JsonProperty("nullCount")
+    private long nullCount;
+
+    @JsonProperty("nullFraction")
+    private double nullFraction;
+
+    @JsonProperty("distinctEstimate")
+    private long distinctEstimate;
+
+    @JsonProperty("min")
+    private String min;
+
+    @JsonProperty("max")
+    private String max;
+
+    @JsonProperty("quantiles")
+    private Map<String, Double> quantiles;
+
+    @JsonProperty("lengthHistogram")
+    private Map<String, Long> lengthHistogram;
+
+    public ColumnProfile() {}
+
+    public ColumnProfile(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public void setNullCount(long nullCount) {
+        this.nullCount = nullCount;
+    }
+
+    public double getNullFraction() {
+        return nullFraction;
+    }
+
+    public void setNullFraction(double nullFraction) {
+        this.nullFraction = nullFraction;
+    }
+
+    public long getDistinctEstimate() {
+        return distinctEstimate;
+    }
+
+    public void setDistinctEstimate(long distinctEstimate) {
+        this.distinctEstimate = distinctEstimate;
+    }
+
+    public String getMin() {
+        return min;
+    }
+
+    public void setMin(String min) {
+        this.min = min;
+    }
+
+    public String getMax() {
+        return max;
+    }
+
+    public void setMax(String max) {
+        this.max = max;
+    }
+
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+
+    public Map<String, Long> getLengthHistogram() {
+        return lengthHistogram;
+    }
+
+    public void setLengthHistogram(Map<String, Long> lengthHistogram) {
+        this.lengthHistogram = lengthHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnProfile{" +
+                "columnName='" + columnName + '\'' +
+                ", rowCount=" + rowCount +
+                ", nullCount=" + nullCount +
+                ", distinctEstimate=" + distinctEstimate +
+                ", min='" + min + '\'' +
+                ", max='" + max + '\'' +
+                '}';
+    }
+}
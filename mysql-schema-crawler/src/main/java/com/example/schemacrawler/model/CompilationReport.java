@@ -0,0 +1,167 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the outcome of compiling generated model classes.
+ * Every problem is mapped back to the table, and where possible the columns, it came from.
+ */
+public class CompilationReport {
+
+    @JsonProperty("models")
+    private int models;
+
+    @JsonProperty("modelsFailed")
+    private int modelsFailed;
+
+    @JsonProperty("problems")
+    private List<Problem> problems = new ArrayList<>();
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    public CompilationReport() {}
+
+    @JsonProperty("success")
+    public boolean isSuccess() {
+        return problems.stream().noneMatch(p -> "ERROR".equals(p.getKind()));
+    }
+
+    public int getModels() {
+        return models;
+    }
+
+    public void setModels(int models) {
+        this.models = models;
+    }
+
+    public int getModelsFailed() {
+        return modelsFailed;
+    }
+
+    public void setModelsFailed(int modelsFailed) {
+        this.modelsFailed = modelsFailed;
+    }
+
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    public void setProblems(List<Problem> problems) {
+        this.problems = problems;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CompilationReport{" +
+                "models=" + models +
+                ", modelsFailed=" + modelsFailed +
+                ", problems=" + problems.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+
+    /**
+     * A compiler diagnostic, or a generation failure, attributed to its source table.
+     */
+    public static class Problem {
+        @JsonProperty("tableName")
+        private String tableName;
+
+        @JsonProperty("className")
+        private String className;
+
+        @JsonProperty("columns")
+        private List<String> columns;
+
+        @JsonProperty("kind")
+        private String kind;
+
+        @JsonProperty("line")
+        private Long line;
+
+        @JsonProperty("message")
+        private String message;
+
+        public Problem() {}
+
+        public Problem(String tableName, String className, List<String> columns, String kind, Long line, String message) {
+            this.tableName = tableName;
+            this.className = className;
+            this.columns = columns;
+            this.kind = kind;
+            this.line = line;
+            this.message = message;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public void setTableName(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public void setClassName(String className) {
+            this.className = className;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(List<String> columns) {
+            this.columns = columns;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public Long getLine() {
+            return line;
+        }
+
+        public void setLine(Long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "Problem{" +
+                    "tableName='" + tableName + '\'' +
+                    ", columns=" + columns +
+                    ", kind='" + kind + '\'' +
+                    ", line=" + line +
+                    ", message='" + message + '\'' +
+                    '}';
+        }
+    }
+}
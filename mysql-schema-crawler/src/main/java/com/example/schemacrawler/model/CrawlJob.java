@@ -0,0 +1,177 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Represents the status and progress of a background crawl job.
+ */
+public class CrawlJob {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @JsonProperty("jobId")
+    private String jobId;
+
+    @JsonProperty("state")
+    private String state;
+
+    @JsonProperty("priority")
+    private int priority;
+
+    @JsonProperty("tableNames")
+    private List<String> tableNames;
+
+    @JsonProperty("submittedAt")
+    private Long submittedAt;
+
+    @JsonProperty("startedAt")
+    private Long startedAt;
+
+    @JsonProperty("finishedAt")
+    private Long finishedAt;
+
+    @JsonProperty("tablesTotal")
+    private Integer tablesTotal;
+
+    @JsonProperty("tablesCompleted")
+    private int tablesCompleted;
+
+    @JsonProperty("tablesFailed")
+    private int tablesFailed;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("resultAvailable")
+    private boolean resultAvailable;
+
+    @JsonProperty("resultEvicted")
+    private boolean resultEvicted;
+
+    public CrawlJob() {}
+
+    public CrawlJob(String jobId, String state, int priority) {
+        this.jobId = jobId;
+        this.state = state;
+        this.priority = priority;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public void setTableNames(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    public Long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Integer getTablesTotal() {
+        return tablesTotal;
+    }
+
+    public void setTablesTotal(Integer tablesTotal) {
+        this.tablesTotal = tablesTotal;
+    }
+
+    public int getTablesCompleted() {
+        return tablesCompleted;
+    }
+
+    public void setTablesCompleted(int tablesCompleted) {
+        this.tablesCompleted = tablesCompleted;
+    }
+
+    public int getTablesFailed() {
+        return tablesFailed;
+    }
+
+    public void setTablesFailed(int tablesFailed) {
+        this.tablesFailed = tablesFailed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isResultAvailable() {
+        return resultAvailable;
+    }
+
+    public void setResultAvailable(boolean resultAvailable) {
+        this.resultAvailable = resultAvailable;
+    }
+
+    public boolean isResultEvicted() {
+        return resultEvicted;
+    }
+
+    public void setResultEvicted(boolean resultEvicted) {
+        this.resultEvicted = resultEvicted;
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlJob{" +
+                "jobId='" + jobId + '\'' +
+                ", state='" + state + '\'' +
+                ", tablesCompleted=" + tablesCompleted +
+                ", tablesTotal=" + tablesTotal +
+                '}';
+    }
+}
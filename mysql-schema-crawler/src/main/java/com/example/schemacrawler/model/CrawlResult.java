@@ -0,0 +1,105 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the outcome of a crawl over many tables, which may be partial.
+ * Tables that still failed after the retry passes are listed with their error; tables
+ * that were not reached before the crawl deadline are listed as timed out.
+ */
+public class CrawlResult {
+
+    @JsonProperty("tables")
+    private List<TableMeta> tables;
+
+    @JsonProperty("tablesCrawled")
+    private int tablesCrawled;
+
+    @JsonProperty("failedTables")
+    private Map<String, String> failedTables = new LinkedHashMap<>();
+
+    @JsonProperty("timedOutTables")
+    private List<String> timedOutTables = new ArrayList<>();
+
+    @JsonProperty("passes")
+    private int passes;
+
+    @JsonProperty("complete")
+    private boolean complete;
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    public CrawlResult() {}
+
+    public List<TableMeta> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableMeta> tables) {
+        this.tables = tables;
+    }
+
+    public int getTablesCrawled() {
+        return tablesCrawled;
+    }
+
+    public void setTablesCrawled(int tablesCrawled) {
+        this.tablesCrawled = tablesCrawled;
+    }
+
+    public Map<String, String> getFailedTables() {
+        return failedTables;
+    }
+
+    public void setFailedTables(Map<String, String> failedTables) {
+        this.failedTables = failedTables;
+    }
+
+    public List<String> getTimedOutTables() {
+        return timedOutTables;
+    }
+
+    public void setTimedOutTables(List<String> timedOutTables) {
+        this.timedOutTables = timedOutTables;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public void setPasses(int passes) {
+        this.passes = passes;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlResult{" +
+                "tablesCrawled=" + tablesCrawled +
+                ", failedTables=" + failedTables.keySet() +
+                ", timedOutTables=" + timedOutTables +
+                ", passes=" + passes +
+                ", complete=" + complete +
+                '}';
+    }
+}
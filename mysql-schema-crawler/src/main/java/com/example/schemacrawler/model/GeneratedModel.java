@@ -33,6 +33,9 @@ public class GeneratedModel {
     @JsonProperty("code")
     private String code;
 
+    @JsonProperty("profile")
+    private String profile;
+
     // Constructors
     public GeneratedModel() {}
 
@@ -111,6 +114,14 @@ public class GeneratedModel {
         this.code = code;
     }
 
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
     @Override
     public String toString() {
         return "GeneratedModel{" +
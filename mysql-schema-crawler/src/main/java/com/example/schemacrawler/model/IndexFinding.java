@@ -0,0 +1,111 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Represents an issue found by the index advisor, such as a missing or redundant index.
+ */
+public class IndexFinding {
+
+    public static final String MISSING_FK_INDEX = "MISSING_FK_INDEX";
+    public static final String REDUNDANT_PREFIX_INDEX = "REDUNDANT_PREFIX_INDEX";
+    public static final String DUPLICATE_INDEX = "DUPLICATE_INDEX";
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("tableName")
+    private String tableName;
+
+    @JsonProperty("indexName")
+    private String indexName;
+
+    @JsonProperty("columns")
+    private List<String> columns;
+
+    @JsonProperty("relatedIndexName")
+    private String relatedIndexName;
+
+    @JsonProperty("estimatedSizeBytes")
+    private Long estimatedSizeBytes;
+
+    @JsonProperty("recommendation")
+    private String recommendation;
+
+    public IndexFinding() {}
+
+    public IndexFinding(String type, String tableName, String indexName, List<String> columns) {
+        this.type = type;
+        this.tableName = tableName;
+        this.indexName = indexName;
+        this.columns = columns;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public String getRelatedIndexName() {
+        return relatedIndexName;
+    }
+
+    public void setRelatedIndexName(String relatedIndexName) {
+        this.relatedIndexName = relatedIndexName;
+    }
+
+    public Long getEstimatedSizeBytes() {
+        return estimatedSizeBytes;
+    }
+
+    public void setEstimatedSizeBytes(Long estimatedSizeBytes) {
+        this.estimatedSizeBytes = estimatedSizeBytes;
+    }
+
+    public String getRecommendation() {
+        return recommendation;
+    }
+
+    public void setRecommendation(String recommendation) {
+        this.recommendation = recommendation;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexFinding{" +
+                "type='" + type + '\'' +
+                ", tableName='" + tableName + '\'' +
+                ", indexName='" + indexName + '\'' +
+                ", columns=" + columns +
+                ", relatedIndexName='" + relatedIndexName + '\'' +
+                '}';
+    }
+}
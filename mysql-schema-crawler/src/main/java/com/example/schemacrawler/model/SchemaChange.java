@@ -0,0 +1,144 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents how one table differs between two versions of the schema history.
+ * For changed tables the differing columns and indexes are listed by name.
+ */
+public class SchemaChange {
+
+    public static final String ADDED = "ADDED";
+    public static final String REMOVED = "REMOVED";
+    public static final String CHANGED = "CHANGED";
+
+    @JsonProperty("tableName")
+    private String tableName;
+
+    @JsonProperty("change")
+    private String change;
+
+    @JsonProperty("addedColumns")
+    private List<String> addedColumns = new ArrayList<>();
+
+    @JsonProperty("removedColumns")
+    private List<String> removedColumns = new ArrayList<>();
+
+    @JsonProperty("changedColumns")
+    private List<String> changedColumns = new ArrayList<>();
+
+    @JsonProperty("addedIndexes")
+    private List<String> addedIndexes = new ArrayList<>();
+
+    @JsonProperty("removedIndexes")
+    private List<String> removedIndexes = new ArrayList<>();
+
+    @JsonProperty("changedIndexes")
+    private List<String> changedIndexes = new ArrayList<>();
+
+    @JsonProperty("primaryKeyChanged")
+    private boolean primaryKeyChanged;
+
+    @JsonProperty("foreignKeysChanged")
+    private boolean foreignKeysChanged;
+
+    public SchemaChange() {}
+
+    public SchemaChange(String tableName, String change) {
+        this.tableName = tableName;
+        this.change = change;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getChange() {
+        return change;
+    }
+
+    public void setChange(String change) {
+        this.change = change;
+    }
+
+    public List<String> getAddedColumns() {
+        return addedColumns;
+    }
+
+    public void setAddedColumns(List<String> addedColumns) {
+        this.addedColumns = addedColumns;
+    }
+
+    public List<String> getRemovedColumns() {
+        return removedColumns;
+    }
+
+    public void setRemovedColumns(List<String> removedColumns) {
+        this.removedColumns = removedColumns;
+    }
+
+    public List<String> getChangedColumns() {
+        return changedColumns;
+    }
+
+    public void setChangedColumns(List<String> changedColumns) {
+        this.changedColumns = changedColumns;
+    }
+
+    public List<String> getAddedIndexes() {
+        return addedIndexes;
+    }
+
+    public void setAddedIndexes(List<String> addedIndexes) {
+        this.addedIndexes = addedIndexes;
+    }
+
+    public List<String> getRemovedIndexes() {
+        return removedIndexes;
+    }
+
+    public void setRemovedIndexes(List<String> removedIndexes) {
+        this.removedIndexes = removedIndexes;
+    }
+
+    public List<String> getChangedIndexes() {
+        return changedIndexes;
+    }
+
+    public void setChangedIndexes(List<String> changedIndexes) {
+        this.changedIndexes = changedIndexes;
+    }
+
+    public boolean isPrimaryKeyChanged() {
+        return primaryKeyChanged;
+    }
+
+    public void setPrimaryKeyChanged(boolean primaryKeyChanged) {
+        this.primaryKeyChanged = primaryKeyChanged;
+    }
+
+    public boolean isForeignKeysChanged() {
+        return foreignKeysChanged;
+    }
+
+    public void setForeignKeysChanged(boolean foreignKeysChanged) {
+        this.foreignKeysChanged = foreignKeysChanged;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaChange{" +
+                "tableName='" + tableName + '\'' +
+                ", change=" + change +
+                ", addedColumns=" + addedColumns +
+                ", removedColumns=" + removedColumns +
+                ", changedColumns=" + changedColumns +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the outcome of importing a schema from a DDL or mysqldump file.
+ * Statements other than table DDL, such as INSERT data, are counted as skipped;
+ * table statements that could not be parsed are counted as failed with their error.
+ */
+public class SchemaImport {
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("importedAt")
+    private long importedAt;
+
+    @JsonProperty("tables")
+    private int tables;
+
+    @JsonProperty("statementsParsed")
+    private long statementsParsed;
+
+    @JsonProperty("statementsSkipped")
+    private long statementsSkipped;
+
+    @JsonProperty("statementsFailed")
+    private long statementsFailed;
+
+    @JsonProperty("errors")
+    private List<String> errors = new ArrayList<>();
+
+    @JsonProperty("bytesRead")
+    private long bytesRead;
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    public SchemaImport() {}
+
+    public SchemaImport(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getImportedAt() {
+        return importedAt;
+    }
+
+    public void setImportedAt(long importedAt) {
+        this.importedAt = importedAt;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public void setTables(int tables) {
+        this.tables = tables;
+    }
+
+    public long getStatementsParsed() {
+        return statementsParsed;
+    }
+
+    public void setStatementsParsed(long statementsParsed) {
+        this.statementsParsed = statementsParsed;
+    }
+
+    public long getStatementsSkipped() {
+        return statementsSkipped;
+    }
+
+    public void setStatementsSkipped(long statementsSkipped) {
+        this.statementsSkipped = statementsSkipped;
+    }
+
+    public long getStatementsFailed() {
+        return statementsFailed;
+    }
+
+    public void setStatementsFailed(long statementsFailed) {
+        this.statementsFailed = statementsFailed;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaImport{" +
+                "source='" + source + '\'' +
+                ", tables=" + tables +
+                ", statementsParsed=" + statementsParsed +
+                ", statementsSkipped=" + statementsSkipped +
+                ", statementsFailed=" + statementsFailed +
+                ", bytesRead=" + bytesRead +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
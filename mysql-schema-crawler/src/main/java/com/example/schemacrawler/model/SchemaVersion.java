@@ -0,0 +1,110 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one version of the schema history: the tables a recorded crawl added,
+ * changed or removed compared to the previous version. Checkpoint versions also store
+ * the complete catalog, so reading any version replays a bounded number of deltas.
+ */
+public class SchemaVersion {
+
+    @JsonProperty("version")
+    private long version;
+
+    @JsonProperty("timestamp")
+    private long timestamp;
+
+    @JsonProperty("tableCount")
+    private int tableCount;
+
+    @JsonProperty("checkpoint")
+    private boolean checkpoint;
+
+    @JsonProperty("addedTables")
+    private List<String> addedTables = new ArrayList<>();
+
+    @JsonProperty("changedTables")
+    private List<String> changedTables = new ArrayList<>();
+
+    @JsonProperty("removedTables")
+    private List<String> removedTables = new ArrayList<>();
+
+    public SchemaVersion() {}
+
+    public SchemaVersion(long version, long timestamp) {
+        this.version = version;
+        this.timestamp = timestamp;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    public void setTableCount(int tableCount) {
+        this.tableCount = tableCount;
+    }
+
+    public boolean isCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(boolean checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public List<String> getAddedTables() {
+        return addedTables;
+    }
+
+    public void setAddedTables(List<String> addedTables) {
+        this.addedTables = addedTables;
+    }
+
+    public List<String> getChangedTables() {
+        return changedTables;
+    }
+
+    public void setChangedTables(List<String> changedTables) {
+        this.changedTables = changedTables;
+    }
+
+    public List<String> getRemovedTables() {
+        return removedTables;
+    }
+
+    public void setRemovedTables(List<String> removedTables) {
+        this.removedTables = removedTables;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaVersion{" +
+                "version=" + version +
+                ", timestamp=" + timestamp +
+                ", tableCount=" + tableCount +
+                ", added=" + addedTables.size() +
+                ", changed=" + changedTables.size() +
+                ", removed=" + removedTables.size() +
+                ", checkpoint=" + checkpoint +
+                '}';
+    }
+}
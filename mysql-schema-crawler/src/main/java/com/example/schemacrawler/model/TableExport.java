@@ -0,0 +1,197 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents the progress of exporting the rows of a table to chunk files.
+ * Counts cover the current run; chunks finished by an earlier run and skipped on
+ * resume are reported separately in chunksResumed.
+ */
+public class TableExport {
+
+    @JsonProperty("tableName")
+    private String tableName;
+
+    @JsonProperty("format")
+    private String format;
+
+    @JsonProperty("state")
+    private String state;
+
+    @JsonProperty("outputDirectory")
+    private String outputDirectory;
+
+    @JsonProperty("keyColumn")
+    private String keyColumn;
+
+    @JsonProperty("chunks")
+    private int chunks;
+
+    @JsonProperty("chunksCompleted")
+    private int chunksCompleted;
+
+    @JsonProperty("chunksResumed")
+    private int chunksResumed;
+
+    @JsonProperty("rowsExported")
+    private long rowsExported;
+
+    @JsonProperty("bytesWritten")
+    private long bytesWritten;
+
+    @JsonProperty("startedAt")
+    private long startedAt;
+
+    @JsonProperty("finishedAt")
+    private Long finishedAt;
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    @JsonProperty("rowsPerSecond")
+    private double rowsPerSecond;
+
+    @JsonProperty("error")
+    private String error;
+
+    public TableExport() {}
+
+    public TableExport(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public void setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public void setChunksCompleted(int chunksCompleted) {
+        this.chunksCompleted = chunksCompleted;
+    }
+
+    public int getChunksResumed() {
+        return chunksResumed;
+    }
+
+    public void setChunksResumed(int chunksResumed) {
+        this.chunksResumed = chunksResumed;
+    }
+
+    public long getRowsExported() {
+        return rowsExported;
+    }
+
+    public void setRowsExported(long rowsExported) {
+        this.rowsExported = rowsExported;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "TableExport{" +
+                "tableName='" + tableName + '\'' +
+                ", format='" + format + '\'' +
+                ", state='" + state + '\'' +
+                ", chunks=" + chunks +
+                ", chunksCompleted=" + chunksCompleted +
+                ", chunksResumed=" + chunksResumed +
+                ", rowsExported=" + rowsExported +
+                ", bytesWritten=" + bytesWritten +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
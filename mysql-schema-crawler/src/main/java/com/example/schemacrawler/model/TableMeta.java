@@ -1,5 +1,6 @@
 package com.example.schemacrawler.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
@@ -10,6 +11,10 @@ public class TableMeta {
     
     @JsonProperty("tableName")
     private String tableName;
+
+    /** Schema the table was crawled from; only set when a crawl spans several schemas. */
+    @JsonProperty("schemaName")
+    private String schemaName;
     
     @JsonProperty("columns")
     private List<ColumnMeta> columns;
@@ -29,6 +34,15 @@ public class TableMeta {
     @JsonProperty("remarks")
     private String remarks;
 
+    @JsonProperty("estimatedRowCount")
+    private Long estimatedRowCount;
+
+    @JsonProperty("dataLength")
+    private Long dataLength;
+
+    @JsonProperty("indexLength")
+    private Long indexLength;
+
     public TableMeta() {}
 
     public TableMeta(String tableName, List<ColumnMeta> columns, List<String> primaryKeys, List<String> foreignKeys, List<String> indexes) {
@@ -43,6 +57,21 @@ public class TableMeta {
         this.tableName = tableName;
     }
 
+    /**
+     * Create an empty TableMeta for a name as the crawler keys tables.
+     * @param qualifiedName "schema.table", or a plain table name
+     * @return TableMeta with the schema split off into schemaName
+     */
+    public static TableMeta ofQualifiedName(String qualifiedName) {
+        int dot = qualifiedName.indexOf('.');
+        if (dot <= 0 || dot == qualifiedName.length() - 1) {
+            return new TableMeta(qualifiedName);
+        }
+        TableMeta tableMeta = new TableMeta(qualifiedName.substring(dot + 1));
+        tableMeta.setSchemaName(qualifiedName.substring(0, dot));
+        return tableMeta;
+    }
+
     public String getTableName() {
         return tableName;
     }
@@ -51,6 +80,23 @@ public class TableMeta {
         this.tableName = tableName;
     }
 
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    /**
+     * Get the name results are keyed by.
+     * @return "schema.table" if the schema is set, otherwise the table name
+     */
+    @JsonIgnore
+    public String getQualifiedName() {
+        return schemaName != null ? schemaName + "." + tableName : tableName;
+    }
+
     public List<ColumnMeta> getColumns() {
         return columns;
     }
@@ -101,10 +147,34 @@ public class TableMeta {
         this.remarks = remarks;
     }
 
+    public Long getEstimatedRowCount() {
+        return estimatedRowCount;
+    }
+
+    public void setEstimatedRowCount(Long estimatedRowCount) {
+        this.estimatedRowCount = estimatedRowCount;
+    }
+
+    public Long getDataLength() {
+        return dataLength;
+    }
+
+    public void setDataLength(Long dataLength) {
+        this.dataLength = dataLength;
+    }
+
+    public Long getIndexLength() {
+        return indexLength;
+    }
+
+    public void setIndexLength(Long indexLength) {
+        this.indexLength = indexLength;
+    }
+
     @Override
     public String toString() {
         return "TableMeta{" +
-                "tableName='" + tableName + '\'' +
+                "tableName='" + getQualifiedName() + '\'' +
                 ", columns=" + columns +
                 ", primaryKey=" + primaryKey +
                 ", indexes=" + indexes +
@@ -0,0 +1,92 @@
+package com.example.schemacrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Represents the data profile of a database table built from a single scan.
+ */
+public class TableProfile {
+
+    @JsonProperty("tableName")
+    private String tableName;
+
+    @JsonProperty("rowsScanned")
+    private long rowsScanned;
+
+    @JsonProperty("sampleRate")
+    private double sampleRate;
+
+    @JsonProperty("chunks")
+    private int chunks;
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    @JsonProperty("columns")
+    private List<ColumnProfile> columns;
+
+    public TableProfile() {}
+
+    public TableProfile(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public void setRowsScanned(long rowsScanned) {
+        this.rowsScanned = rowsScanned;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ColumnProfile> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<ColumnProfile> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public String toString() {
+        return "TableProfile{" +
+                "tableName='" + tableName + '\'' +
+                ", rowsScanned=" + rowsScanned +
+                ", chunks=" + chunks +
+                ", columns=" + columns +
+                '}';
+    }
+}
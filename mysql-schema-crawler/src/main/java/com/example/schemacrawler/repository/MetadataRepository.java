@@ -16,6 +16,9 @@ public class MetadataRepository {
     
     private final Map<String, TableMeta> tableMetadataCache = new ConcurrentHashMap<>();
     private final Map<String, GeneratedModel> generatedModelCache = new ConcurrentHashMap<>();
+    private volatile Map<String, TableMeta> importedCatalog;
+    // Unqualified names of imported tables that exist in only one schema
+    private volatile Map<String, TableMeta> importedByName;
     
     /**
      * Save table metadata to cache.
@@ -117,6 +120,79 @@ public class MetadataRepository {
         generatedModelCache.clear();
     }
     
+    /**
+     * Replace the imported catalog. While a catalog is imported it is served instead of
+     * the live database.
+     * @param tables the imported tables, in catalog order
+     */
+    public void saveImportedCatalog(List<TableMeta> tables) {
+        Map<String, TableMeta> catalog = new LinkedHashMap<>();
+        Map<String, TableMeta> byName = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (TableMeta tableMeta : tables) {
+            catalog.put(tableMeta.getQualifiedName().toLowerCase(Locale.ROOT), tableMeta);
+            String name = tableMeta.getTableName().toLowerCase(Locale.ROOT);
+            if (byName.putIfAbsent(name, tableMeta) != null) {
+                ambiguous.add(name);
+            }
+        }
+        byName.keySet().removeAll(ambiguous);
+        importedByName = Map.copyOf(byName);
+        importedCatalog = Collections.unmodifiableMap(catalog);
+    }
+
+    /**
+     * Check if an imported catalog is active.
+     * @return true if a catalog has been imported
+     */
+    public boolean hasImportedCatalog() {
+        return importedCatalog != null;
+    }
+
+    /**
+     * Get all tables of the imported catalog.
+     * @return List of imported TableMeta objects in catalog order, empty if none is imported
+     */
+    public List<TableMeta> getImportedTables() {
+        Map<String, TableMeta> catalog = importedCatalog;
+        return catalog != null ? new ArrayList<>(catalog.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Get a table of the imported catalog, matching the name case-insensitively. An
+     * unqualified name also matches a table of some schema, unless several schemas have it.
+     * @param tableName the table name, optionally qualified as schema.table
+     * @return Optional containing TableMeta if the table was imported
+     */
+    public Optional<TableMeta> getImportedTable(String tableName) {
+        Map<String, TableMeta> catalog = importedCatalog;
+        if (catalog == null) {
+            return Optional.empty();
+        }
+        String key = tableName.toLowerCase(Locale.ROOT);
+        TableMeta tableMeta = catalog.get(key);
+        Map<String, TableMeta> byName = importedByName;
+        return Optional.ofNullable(tableMeta != null || byName == null ? tableMeta : byName.get(key));
+    }
+
+    /**
+     * Check whether an imported table name exists in more than one schema.
+     * @param tableName the unqualified table name
+     * @return true if the name needs its schema to identify the table
+     */
+    public boolean isAmbiguousImportedName(String tableName) {
+        Map<String, TableMeta> byName = importedByName;
+        return byName != null && !byName.containsKey(tableName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Drop the imported catalog, returning to the live database.
+     */
+    public void clearImportedCatalog() {
+        importedCatalog = null;
+        importedByName = null;
+    }
+
     /**
      * Get cache statistics.
      * @return Map containing cache statistics
@@ -125,6 +201,8 @@ public class MetadataRepository {
         Map<String, Integer> stats = new HashMap<>();
         stats.put("tableMetadataCount", tableMetadataCache.size());
         stats.put("generatedModelCount", generatedModelCache.size());
+        Map<String, TableMeta> catalog = importedCatalog;
+        stats.put("importedTableCount", catalog != null ? catalog.size() : 0);
         return stats;
     }
 }
\ No newline at end of file
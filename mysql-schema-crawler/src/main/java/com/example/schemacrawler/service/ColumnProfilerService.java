@@ -0,0 +1,256 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.ColumnProfile;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.model.TableProfile;
+import com.example.schemacrawler.util.ColumnSketch;
+import com.example.schemacrawler.util.JdbcUtils;
+import com.example.schemacrawler.util.KeyRange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for profiling the data of a table in a single streaming pass.
+ * Each table is read through a forward-only cursor and every column feeds a
+ * mergeable sketch, so no rows are held in memory. Tables with a single integral
+ * primary key are split into key ranges that are scanned in parallel.
+ */
+@Service
+public class ColumnProfilerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnProfilerService.class);
+
+    private static final Set<String> INTEGRAL_TYPES = Set.of(
+            "BIGINT", "INT", "INTEGER", "MEDIUMINT", "SMALLINT", "TINYINT");
+
+    private final SchemaCrawlerService schemaCrawlerService;
+    private final JdbcUtils jdbcUtils;
+    private final ExecutorService scanExecutor;
+
+    @Value("${crawler.profiler.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${crawler.profiler.chunk-rows:1000000}")
+    private long chunkRows;
+
+    @Value("${crawler.profiler.max-chunks:16}")
+    private int maxChunks;
+
+    @Autowired
+    public ColumnProfilerService(SchemaCrawlerService schemaCrawlerService, JdbcUtils jdbcUtils,
+                                 @Value("${crawler.profiler.parallelism:4}") int parallelism,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.schemaCrawlerService = schemaCrawlerService;
+        this.jdbcUtils = jdbcUtils;
+        if (virtualThreads) {
+            this.scanExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                    Thread.ofVirtual().name("profiler-vt-", 1).factory());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.scanExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+                Thread thread = new Thread(runnable, "profiler-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Profile all columns of a table.
+     * @param tableName the table name
+     * @param sampleRate fraction of rows to include, in (0, 1]
+     * @return TableProfile with one ColumnProfile per column
+     */
+    public TableProfile profileTable(String tableName, double sampleRate) {
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be in (0, 1]");
+        }
+        long start = System.currentTimeMillis();
+
+        TableMeta tableMeta = schemaCrawlerService.getTableMetadata(tableName);
+        if (tableMeta.getColumns() == null || tableMeta.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Table not found or has no columns: " + tableName);
+        }
+        List<String> columnNames = new ArrayList<>();
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            columnNames.add(column.getColumnName());
+        }
+
+        String splitColumn = findSplitColumn(tableMeta);
+        List<KeyRange> ranges = splitColumn != null ? planRanges(tableName, splitColumn) : List.of();
+
+        List<Future<ScanResult>> futures = new ArrayList<>();
+        if (ranges.isEmpty()) {
+            futures.add(scanExecutor.submit(() -> scan(tableName, columnNames, null, null, sampleRate)));
+        } else {
+            for (KeyRange range : ranges) {
+                futures.add(scanExecutor.submit(() -> scan(tableName, columnNames, splitColumn, range, sampleRate)));
+            }
+        }
+
+        ScanResult merged = null;
+        try {
+            for (Future<ScanResult> future : futures) {
+                ScanResult result = future.get();
+                if (merged == null) {
+                    merged = result;
+                } else {
+                    merged.merge(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Profiling interrupted for table: " + tableName, e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Error profiling table: " + tableName, e.getCause());
+        }
+
+        TableProfile profile = new TableProfile(tableName);
+        profile.setSampleRate(sampleRate);
+        profile.setChunks(futures.size());
+        profile.setRowsScanned(merged.rows);
+        List<ColumnProfile> columns = new ArrayList<>();
+        for (ColumnSketch sketch : merged.sketches) {
+            columns.add(sketch.toProfile());
+        }
+        profile.setColumns(columns);
+        profile.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Profiled table {} ({} rows, {} chunks) in {} ms",
+                tableName, merged.rows, futures.size(), profile.getElapsedMillis());
+        return profile;
+    }
+
+    /**
+     * Pick the primary key column to split on, if the table has a single integral key.
+     */
+    private String findSplitColumn(TableMeta tableMeta) {
+        List<String> primaryKey = tableMeta.getPrimaryKey();
+        if (primaryKey == null || primaryKey.size() != 1) {
+            return null;
+        }
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            if (column.getColumnName().equals(primaryKey.get(0)) && column.getDataType() != null) {
+                String baseType = column.getDataType().toUpperCase().replace("UNSIGNED", "").trim();
+                return INTEGRAL_TYPES.contains(baseType) ? column.getColumnName() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the key bounds and split them into chunks when the span is large enough.
+     */
+    private List<KeyRange> planRanges(String tableName, String keyColumn) {
+        try (Connection conn = jdbcUtils.getConnection()) {
+            String column = JdbcUtils.quoteIdentifier(conn, keyColumn);
+            String sql = "SELECT MIN(" + column + "), MAX(" + column + ") FROM " + JdbcUtils.quoteTableName(conn, tableName);
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                if (!rs.next()) {
+                    return List.of();
+                }
+                long min = rs.getLong(1);
+                if (rs.wasNull()) {
+                    return List.of();
+                }
+                long max = rs.getLong(2);
+                double span = (double) max - min + 1;
+                int chunks = (int) Math.min(maxChunks, Math.ceil(span / chunkRows));
+                return chunks > 1 ? KeyRange.split(min, max, chunks) : List.of();
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read key bounds for table {}, scanning without chunks", tableName, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Stream one chunk of the table and feed every value into its column sketch.
+     */
+    private ScanResult scan(String tableName, List<String> columnNames, String keyColumn,
+                            KeyRange range, double sampleRate) throws SQLException {
+        ScanResult result = new ScanResult(columnNames);
+        try (Connection conn = jdbcUtils.getConnection()) {
+            StringBuilder sql = new StringBuilder("SELECT ");
+            for (int i = 0; i < columnNames.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(JdbcUtils.quoteIdentifier(conn, columnNames.get(i)));
+            }
+            sql.append(" FROM ").append(JdbcUtils.quoteTableName(conn, tableName));
+
+            List<String> conditions = new ArrayList<>();
+            if (range != null) {
+                conditions.add(JdbcUtils.quoteIdentifier(conn, keyColumn) + " BETWEEN ? AND ?");
+            }
+            if (sampleRate < 1) {
+                conditions.add("RAND() < ?");
+            }
+            if (!conditions.isEmpty()) {
+                sql.append(" WHERE ").append(String.join(" AND ", conditions));
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                jdbcUtils.configureStreaming(conn, stmt, fetchSize);
+                int param = 1;
+                if (range != null) {
+                    stmt.setLong(param++, range.getLower());
+                    stmt.setLong(param++, range.getUpper());
+                }
+                if (sampleRate < 1) {
+                    stmt.setDouble(param, sampleRate);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int columnCount = columnNames.size();
+                    while (rs.next()) {
+                        for (int i = 0; i < columnCount; i++) {
+                            result.sketches[i].update(rs.getObject(i + 1));
+                        }
+                        result.rows++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
+    }
+
+    /**
+     * Sketches and row count produced by one chunk scan.
+     */
+    private static class ScanResult {
+        private final ColumnSketch[] sketches;
+        private long rows;
+
+        ScanResult(List<String> columnNames) {
+            sketches = new ColumnSketch[columnNames.size()];
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new ColumnSketch(columnNames.get(i));
+            }
+        }
+
+        void merge(ScanResult other) {
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i].merge(other.sketches[i]);
+            }
+            rows += other.rows;
+        }
+    }
+}
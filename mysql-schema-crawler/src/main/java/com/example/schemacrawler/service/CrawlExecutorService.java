@@ -0,0 +1,191 @@
+package com.example.schemacrawler.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor that runs crawl work off the servlet threads.
+ * Controllers hand their crawl to this service and return a CompletableFuture, so
+ * Tomcat workers are released while the crawl runs. When the executor is full the
+ * task is rejected instead of piling up.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} every crawl gets its own virtual
+ * thread and concurrency is bounded by a semaphore; otherwise a fixed pool of platform
+ * threads with a bounded queue is used.</p>
+ */
+@Service
+public class CrawlExecutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlExecutorService.class);
+
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor platformPool;
+    private final Semaphore virtualPermits;
+    private final int virtualMaxConcurrency;
+    private final long requestTimeoutMs;
+    private final long retryAfterSeconds;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public CrawlExecutorService(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                @Value("${crawler.executor.pool-size:8}") int poolSize,
+                                @Value("${crawler.executor.queue-capacity:32}") int queueCapacity,
+                                @Value("${crawler.executor.virtual-max-concurrency:256}") int virtualMaxConcurrency,
+                                @Value("${crawler.executor.request-timeout-ms:120000}") long requestTimeoutMs,
+                                @Value("${crawler.executor.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.virtualMaxConcurrency = virtualMaxConcurrency;
+        if (virtualThreads) {
+            this.platformPool = null;
+            this.virtualPermits = new Semaphore(Math.max(1, virtualMaxConcurrency));
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("crawl-vt-", 1).factory());
+            logger.info("Crawl executor using virtual threads (max {} concurrent crawls)", virtualMaxConcurrency);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.virtualPermits = null;
+            this.platformPool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "crawl-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.executor = platformPool;
+        }
+    }
+
+    /**
+     * Run a crawl task on the executor.
+     * The returned future fails with a TimeoutException if the task exceeds the request
+     * timeout, in which case the task is interrupted.
+     * @param task the crawl work
+     * @return CompletableFuture completed with the task's result
+     * @throws CrawlRejectedException if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(task, requestTimeoutMs);
+    }
+
+    /**
+     * Run a crawl task on the executor with its own timeout.
+     * Cancelling the returned future interrupts the task.
+     * @param task the crawl work
+     * @param timeoutMs timeout in milliseconds, or 0 for none
+     * @return CompletableFuture completed with the task's result
+     * @throws CrawlRejectedException if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, long timeoutMs) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (virtualPermits != null && !virtualPermits.tryAcquire()) {
+            throw reject();
+        }
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    if (virtualPermits != null) {
+                        virtualPermits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (virtualPermits != null) {
+                virtualPermits.release();
+            }
+            throw reject();
+        }
+        if (timeoutMs > 0) {
+            result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+                if (error instanceof TimeoutException) {
+                    timedOutCount.incrementAndGet();
+                    future.cancel(true);
+                }
+            });
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Create a fixed-size pool for work a crawl fans out to, on virtual threads when the
+     * crawl executor runs on them. The caller shuts the pool down.
+     * @param name thread name prefix
+     * @param parallelism number of workers
+     * @return ExecutorService with the given number of workers
+     */
+    public ExecutorService newWorkerPool(String name, int parallelism) {
+        if (isVirtualThreads()) {
+            return Executors.newFixedThreadPool(Math.max(1, parallelism), Thread.ofVirtual().name(name + "-vt-", 1).factory());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private CrawlRejectedException reject() {
+        rejectedCount.incrementAndGet();
+        logger.warn("Crawl executor saturated ({} active), rejecting request", activeCount());
+        return new CrawlRejectedException("Crawler is busy, please retry later", retryAfterSeconds);
+    }
+
+    private long activeCount() {
+        if (platformPool != null) {
+            return platformPool.getActiveCount();
+        }
+        return virtualMaxConcurrency - virtualPermits.availablePermits();
+    }
+
+    public boolean isVirtualThreads() {
+        return platformPool == null;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Get executor statistics.
+     * @return Map containing executor statistics
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("activeCount", activeCount());
+        if (platformPool != null) {
+            stats.put("poolSize", (long) platformPool.getMaximumPoolSize());
+            stats.put("queuedCount", (long) platformPool.getQueue().size());
+            stats.put("completedCount", platformPool.getCompletedTaskCount());
+        } else {
+            stats.put("maxConcurrency", (long) virtualMaxConcurrency);
+        }
+        stats.put("rejectedCount", rejectedCount.get());
+        stats.put("timedOutCount", timedOutCount.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
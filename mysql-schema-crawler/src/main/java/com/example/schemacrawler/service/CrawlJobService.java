@@ -0,0 +1,368 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.CrawlJob;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.util.ResultMemoryBudget;
+import com.example.schemacrawler.util.SpillableTableBuffer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for crawls that run as background jobs, independent of any HTTP request.
+ * Jobs wait in a priority queue for a small pool of workers. Cancelling a running job
+ * interrupts its worker and aborts every JDBC connection it is reading on, so queries in
+ * flight stop immediately.
+ * <p>
+ * Results are collected in {@link SpillableTableBuffer}s, so beyond the shared
+ * {@link ResultMemoryBudget} they are held on disk instead of the heap. Finished results
+ * are kept until their total encoded size, in heap and on disk, exceeds the result
+ * budget, at which point the oldest are dropped; a result being read by a client is only
+ * closed once that read finishes.
+ */
+@Service
+public class CrawlJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlJobService.class);
+
+    private final SchemaCrawlerService schemaCrawlerService;
+    private final ResultMemoryBudget resultMemoryBudget;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxQueued;
+    private final long resultBudgetBytes;
+    private final int maxRetained;
+    private final long retryAfterSeconds;
+
+    // Finished jobs in completion order, guarded by this
+    private final Deque<Job> finished = new ArrayDeque<>();
+    private long retainedResultBytes;
+
+    @Autowired
+    public CrawlJobService(SchemaCrawlerService schemaCrawlerService, ResultMemoryBudget resultMemoryBudget,
+                           @Value("${crawler.jobs.workers:2}") int workerCount,
+                           @Value("${crawler.jobs.max-queued:64}") int maxQueued,
+                           @Value("${crawler.jobs.result-budget-bytes:67108864}") long resultBudgetBytes,
+                           @Value("${crawler.jobs.max-retained:500}") int maxRetained,
+                           @Value("${crawler.executor.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.schemaCrawlerService = schemaCrawlerService;
+        this.resultMemoryBudget = resultMemoryBudget;
+        this.maxQueued = maxQueued;
+        this.resultBudgetBytes = resultBudgetBytes;
+        this.maxRetained = maxRetained;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "crawl-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queue a crawl job.
+     * @param tableNames the tables to crawl, or null for all tables
+     * @param priority higher priorities run first; equal priorities run in submission order
+     * @return CrawlJob snapshot of the queued job
+     * @throws CrawlRejectedException if the queue is full
+     */
+    public CrawlJob submit(List<String> tableNames, int priority) {
+        if (workers.getQueue().size() >= maxQueued) {
+            logger.warn("Crawl job queue full ({} queued), rejecting job", workers.getQueue().size());
+            throw new CrawlRejectedException("Crawl job queue is full, please retry later", retryAfterSeconds);
+        }
+        Job job = new Job(UUID.randomUUID().toString(), priority, sequence.incrementAndGet(),
+                tableNames != null ? List.copyOf(tableNames) : null);
+        jobs.put(job.id, job);
+        workers.execute(job);
+        logger.info("Queued crawl job {} with priority {}", job.id, priority);
+        return job.snapshot();
+    }
+
+    /**
+     * Get the status of a job.
+     * @param jobId the job id
+     * @return Optional containing a CrawlJob snapshot if the job is known
+     */
+    public Optional<CrawlJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    /**
+     * Get the status of all known jobs, most recent first.
+     * @return List of CrawlJob snapshots
+     */
+    public List<CrawlJob> getJobs() {
+        List<Job> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparingLong((Job job) -> job.sequence).reversed());
+        List<CrawlJob> snapshots = new ArrayList<>();
+        for (Job job : all) {
+            snapshots.add(job.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get the crawled tables of a succeeded job, pinned so that eviction cannot close them
+     * while they are read. The caller must {@link SpillableTableBuffer#unpin() unpin} them
+     * once it is done.
+     * @param jobId the job id
+     * @return Optional containing the results if the job succeeded and they were not evicted;
+     *         iterating them streams spilled tables back from disk
+     */
+    public Optional<SpillableTableBuffer> getResult(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        synchronized (job) {
+            return job.results != null && job.results.pin() ? Optional.of(job.results) : Optional.empty();
+        }
+    }
+
+    /**
+     * Cancel a queued or running job.
+     * @param jobId the job id
+     * @return true if the job was cancelled, false if it is unknown or already finished
+     */
+    public boolean cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        boolean queued;
+        synchronized (job) {
+            queued = CrawlJob.QUEUED.equals(job.state);
+            if (queued) {
+                job.state = CrawlJob.CANCELLED;
+                job.finishedAt = System.currentTimeMillis();
+                workers.remove(job);
+            } else if (CrawlJob.RUNNING.equals(job.state)) {
+                job.state = CrawlJob.CANCELLED;
+                job.runner.interrupt();
+                job.connections.forEach(this::abort);
+            } else {
+                return false;
+            }
+        }
+        logger.info("Cancelled crawl job {}", jobId);
+        if (queued) {
+            // A running job records itself when its worker unwinds
+            retain(job);
+        }
+        return true;
+    }
+
+    /**
+     * Abort a connection so any statement running on it fails at once.
+     */
+    private void abort(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            logger.warn("Could not abort crawl connection", e);
+        }
+    }
+
+    /**
+     * Record a finished job, evicting the oldest results and jobs beyond the limits.
+     */
+    private synchronized void retain(Job job) {
+        finished.addLast(job);
+        retainedResultBytes += job.resultBytes;
+
+        Iterator<Job> oldest = finished.iterator();
+        while (retainedResultBytes > resultBudgetBytes && oldest.hasNext()) {
+            Job candidate = oldest.next();
+            synchronized (candidate) {
+                if (candidate.results != null) {
+                    candidate.results.close();
+                    candidate.results = null;
+                    candidate.resultEvicted = true;
+                    retainedResultBytes -= candidate.resultBytes;
+                    logger.info("Evicted results of crawl job {} ({} bytes) to stay within the result budget",
+                            candidate.id, candidate.resultBytes);
+                }
+            }
+        }
+        while (jobs.size() > maxRetained && !finished.isEmpty()) {
+            Job expired = finished.removeFirst();
+            jobs.remove(expired.id);
+            synchronized (expired) {
+                if (expired.results != null) {
+                    expired.results.close();
+                    expired.results = null;
+                    retainedResultBytes -= expired.resultBytes;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        // Spill files of retained results are not needed after a restart
+        for (Job job : jobs.values()) {
+            synchronized (job) {
+                if (job.results != null) {
+                    job.results.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * A crawl job; ordered by priority, then by submission.
+     */
+    private class Job implements Runnable, Comparable<Job>, CrawlListener {
+        private final String id;
+        private final int priority;
+        private final long sequence;
+        private final List<String> tableNames;
+        private final long submittedAt = System.currentTimeMillis();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final SpillableTableBuffer collected = resultMemoryBudget.newBuffer();
+        private volatile String state = CrawlJob.QUEUED;
+        private volatile Long startedAt;
+        private volatile Long finishedAt;
+        private volatile Integer total;
+        private volatile String error;
+        private volatile Thread runner;
+        // A multi-schema crawl reads on one connection per schema worker
+        private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+        private SpillableTableBuffer results;
+        private long resultBytes;
+        private boolean resultEvicted;
+
+        Job(String id, int priority, long sequence, List<String> tableNames) {
+            this.id = id;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.tableNames = tableNames;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (!CrawlJob.QUEUED.equals(state)) {
+                    return;
+                }
+                state = CrawlJob.RUNNING;
+                runner = Thread.currentThread();
+                startedAt = System.currentTimeMillis();
+            }
+            try {
+                List<String> names = tableNames != null ? tableNames : schemaCrawlerService.getAllTables();
+                total = names.size();
+                schemaCrawlerService.crawlTables(names, this);
+                synchronized (this) {
+                    if (CrawlJob.RUNNING.equals(state)) {
+                        state = CrawlJob.SUCCEEDED;
+                        results = collected;
+                        resultBytes = collected.byteSize();
+                    }
+                }
+            } catch (Exception e) {
+                synchronized (this) {
+                    if (CrawlJob.RUNNING.equals(state)) {
+                        logger.error("Crawl job {} failed", id, e);
+                        state = CrawlJob.FAILED;
+                        error = String.valueOf(e.getMessage());
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    connections.clear();
+                    finishedAt = System.currentTimeMillis();
+                    if (results == null) {
+                        collected.close();
+                    }
+                }
+                // A cancel may have interrupted this worker; clear it before the next job
+                Thread.interrupted();
+                logger.info("Crawl job {} finished as {} ({} tables, {} failed)", id, state, completed.get(), failed.get());
+                retain(this);
+            }
+        }
+
+        @Override
+        public void connectionOpened(Connection connection) {
+            connections.add(connection);
+            // Checked after adding, so a concurrent cancel either sees the connection or is seen here
+            if (CrawlJob.CANCELLED.equals(state)) {
+                abort(connection);
+            }
+        }
+
+        @Override
+        public void connectionClosed(Connection connection) {
+            connections.remove(connection);
+        }
+
+        @Override
+        public void tableCompleted(TableMeta tableMeta, int index, int total) {
+            if (!CrawlJob.RUNNING.equals(state)) {
+                // Cancelled; the crawl is unwinding and its results are discarded
+                return;
+            }
+            try {
+                collected.add(tableMeta);
+            } catch (IOException e) {
+                // Stops the crawl; the job fails with the spill error
+                throw new UncheckedIOException("Could not spill crawl results", e);
+            }
+            completed.incrementAndGet();
+        }
+
+        @Override
+        public void tableFailed(String tableName, Exception error) {
+            if (!CrawlJob.RUNNING.equals(state)) {
+                return;
+            }
+            failed.incrementAndGet();
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        synchronized CrawlJob snapshot() {
+            CrawlJob job = new CrawlJob(id, state, priority);
+            job.setTableNames(tableNames);
+            job.setSubmittedAt(submittedAt);
+            job.setStartedAt(startedAt);
+            job.setFinishedAt(finishedAt);
+            job.setTablesTotal(total);
+            job.setTablesCompleted(completed.get());
+            job.setTablesFailed(failed.get());
+            job.setError(error);
+            job.setResultAvailable(results != null);
+            job.setResultEvicted(resultEvicted);
+            return job;
+        }
+    }
+}
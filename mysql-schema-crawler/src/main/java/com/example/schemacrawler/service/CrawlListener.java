@@ -0,0 +1,51 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.TableMeta;
+
+import java.sql.Connection;
+
+/**
+ * Callback for progress of a crawl over many tables.
+ * Progress callbacks run one at a time on the crawling thread, so a slow listener slows
+ * the crawl down instead of letting results pile up. A listener that throws stops the crawl.
+ */
+public interface CrawlListener {
+
+    /**
+     * Called before a table is read.
+     * @param tableName the table name
+     * @param index zero-based position of the table in the crawl
+     * @param total number of tables in the crawl
+     */
+    default void tableStarted(String tableName, int index, int total) {}
+
+    /**
+     * Called with the connection a table is about to be read on, so the caller can
+     * abort in-flight JDBC work from another thread. A multi-schema crawl opens several
+     * connections at once and calls this on its schema workers.
+     * @param connection the open connection
+     */
+    default void connectionOpened(Connection connection) {}
+
+    /**
+     * Called when the crawl is done with a connection, just before it is closed.
+     * Like {@link #connectionOpened}, this may run on a schema worker.
+     * @param connection the connection passed to {@link #connectionOpened}
+     */
+    default void connectionClosed(Connection connection) {}
+
+    /**
+     * Called after a table was read.
+     * @param tableMeta the crawled table metadata
+     * @param index zero-based position of the table in the crawl
+     * @param total number of tables in the crawl
+     */
+    default void tableCompleted(TableMeta tableMeta, int index, int total) {}
+
+    /**
+     * Called when reading a table failed; the crawl continues with the next table.
+     * @param tableName the table name
+     * @param error the failure
+     */
+    default void tableFailed(String tableName, Exception error) {}
+}
@@ -0,0 +1,20 @@
+package com.example.schemacrawler.service;
+
+/**
+ * Thrown when the crawl executor is saturated and cannot accept another task.
+ */
+public class CrawlRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public CrawlRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
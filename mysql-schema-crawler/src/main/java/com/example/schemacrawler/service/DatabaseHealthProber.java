@@ -0,0 +1,182 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.util.JdbcUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background prober for database health.
+ * One connection is kept open and validated on a fixed interval; health endpoints serve
+ * the cached result instead of opening a connection per request. The connection is
+ * reopened only after it fails validation. Probe latency is recorded as a histogram.
+ */
+@Service
+public class DatabaseHealthProber {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthProber.class);
+
+    private final JdbcUtils jdbcUtils;
+    private final int validationTimeoutSeconds;
+    private final long staleAfterMs;
+    private final Timer upTimer;
+    private final Timer downTimer;
+
+    private Connection connection;
+    private volatile ProbeResult lastResult;
+
+    @Autowired
+    public DatabaseHealthProber(JdbcUtils jdbcUtils, MeterRegistry meterRegistry,
+                                @Value("${crawler.health.validation-timeout-seconds:2}") int validationTimeoutSeconds,
+                                @Value("${crawler.health.stale-after-ms:30000}") long staleAfterMs) {
+        this.jdbcUtils = jdbcUtils;
+        this.validationTimeoutSeconds = Math.max(1, validationTimeoutSeconds);
+        this.staleAfterMs = staleAfterMs;
+        this.upTimer = probeTimer(meterRegistry, "up");
+        this.downTimer = probeTimer(meterRegistry, "down");
+    }
+
+    private static Timer probeTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("crawler.health.probe.latency")
+                .description("Latency of background database health probes")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validate the probe connection and cache the result.
+     * Runs on the configured interval; can also be called directly.
+     * @return the new probe result
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${crawler.health.probe-interval-ms:5000}")
+    public synchronized ProbeResult probe() {
+        long start = System.nanoTime();
+        boolean up = false;
+        String error = null;
+        try {
+            up = validate();
+            if (!up) {
+                // A stale connection is not an outage: reopen once before reporting down
+                closeConnection();
+                up = validate();
+            }
+            if (!up) {
+                error = "Connection failed validation";
+            }
+        } catch (SQLException | RuntimeException e) {
+            closeConnection();
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        long latencyNanos = System.nanoTime() - start;
+        (up ? upTimer : downTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+
+        ProbeResult previous = lastResult;
+        int consecutiveFailures = up ? 0 : (previous != null ? previous.getConsecutiveFailures() : 0) + 1;
+        if (previous != null && previous.isUp() != up) {
+            if (up) {
+                logger.info("Database probe recovered");
+            } else {
+                logger.warn("Database probe failed: {}", error);
+            }
+        }
+        ProbeResult result = new ProbeResult(up, System.currentTimeMillis(), latencyNanos, error, consecutiveFailures);
+        lastResult = result;
+        return result;
+    }
+
+    private boolean validate() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = jdbcUtils.openProbeConnection();
+        }
+        return connection.isValid(validationTimeoutSeconds);
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing probe connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * Get the cached probe result, probing once if none has run yet.
+     * @return the most recent probe result
+     */
+    public ProbeResult getLastResult() {
+        ProbeResult result = lastResult;
+        return result != null ? result : probe();
+    }
+
+    /**
+     * Check whether a probe result is too old to be trusted, e.g. because the prober is stuck.
+     * @param result the probe result
+     * @return true if the result is older than the stale threshold
+     */
+    public boolean isStale(ProbeResult result) {
+        return System.currentTimeMillis() - result.getCheckedAt() > staleAfterMs;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeConnection();
+    }
+
+    /**
+     * Outcome of one database probe.
+     */
+    public static class ProbeResult {
+        private final boolean up;
+        private final long checkedAt;
+        private final long latencyNanos;
+        private final String error;
+        private final int consecutiveFailures;
+
+        public ProbeResult(boolean up, long checkedAt, long latencyNanos, String error, int consecutiveFailures) {
+            this.up = up;
+            this.checkedAt = checkedAt;
+            this.latencyNanos = latencyNanos;
+            this.error = error;
+            this.consecutiveFailures = consecutiveFailures;
+        }
+
+        public boolean isUp() {
+            return up;
+        }
+
+        public long getCheckedAt() {
+            return checkedAt;
+        }
+
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public double getLatencyMillis() {
+            return latencyNanos / 1_000_000.0;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.repository.MetadataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator backed by the cached result of {@link DatabaseHealthProber}.
+ * Registered as {@code databaseProbe}; it is part of the readiness group only, so a
+ * database outage takes the instance out of rotation without restarting it. While an
+ * imported catalog is served the database is not needed, so the indicator stays up.
+ */
+@Component
+public class DatabaseProbeHealthIndicator implements HealthIndicator {
+
+    private final DatabaseHealthProber prober;
+    private final MetadataRepository metadataRepository;
+
+    @Autowired
+    public DatabaseProbeHealthIndicator(DatabaseHealthProber prober, MetadataRepository metadataRepository) {
+        this.prober = prober;
+        this.metadataRepository = metadataRepository;
+    }
+
+    @Override
+    public Health health() {
+        DatabaseHealthProber.ProbeResult result = prober.getLastResult();
+        Health.Builder builder;
+        if (metadataRepository.hasImportedCatalog()) {
+            builder = Health.up().withDetail("catalog", "imported").withDetail("databaseUp", result.isUp());
+        } else if (prober.isStale(result)) {
+            builder = Health.down().withDetail("error", "Probe result is stale");
+        } else if (result.isUp()) {
+            builder = Health.up();
+        } else {
+            builder = Health.down().withDetail("error", result.getError());
+        }
+        return builder.withDetail("checkedAt", result.getCheckedAt())
+                .withDetail("latencyMillis", result.getLatencyMillis())
+                .withDetail("consecutiveFailures", result.getConsecutiveFailures())
+                .build();
+    }
+}
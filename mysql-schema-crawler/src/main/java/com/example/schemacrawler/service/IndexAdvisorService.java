@@ -0,0 +1,269 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.IndexFinding;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Service for analysing the indexes of a crawled catalog.
+ * Flags foreign key columns that no index leads with, indexes that are a left-prefix
+ * of another index, and exact duplicate indexes. Every index is keyed by its column
+ * list, so each table is analysed in a single pass instead of comparing index pairs.
+ */
+@Service
+public class IndexAdvisorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisorService.class);
+
+    private static final String PRIMARY = "PRIMARY";
+
+    /** Approximate per-entry overhead of a secondary index record in InnoDB. */
+    private static final int RECORD_OVERHEAD_BYTES = 6;
+
+    private static final Map<String, Integer> FIXED_TYPE_WIDTHS = new HashMap<>();
+
+    static {
+        FIXED_TYPE_WIDTHS.put("BIGINT", 8);
+        FIXED_TYPE_WIDTHS.put("INT", 4);
+        FIXED_TYPE_WIDTHS.put("INTEGER", 4);
+        FIXED_TYPE_WIDTHS.put("MEDIUMINT", 3);
+        FIXED_TYPE_WIDTHS.put("SMALLINT", 2);
+        FIXED_TYPE_WIDTHS.put("TINYINT", 1);
+        FIXED_TYPE_WIDTHS.put("BOOLEAN", 1);
+        FIXED_TYPE_WIDTHS.put("BOOL", 1);
+        FIXED_TYPE_WIDTHS.put("FLOAT", 4);
+        FIXED_TYPE_WIDTHS.put("DOUBLE", 8);
+        FIXED_TYPE_WIDTHS.put("DATE", 3);
+        FIXED_TYPE_WIDTHS.put("TIME", 3);
+        FIXED_TYPE_WIDTHS.put("DATETIME", 8);
+        FIXED_TYPE_WIDTHS.put("TIMESTAMP", 4);
+        FIXED_TYPE_WIDTHS.put("YEAR", 1);
+    }
+
+    private final MetadataRepository metadataRepository;
+    private final SchemaCrawlerService schemaCrawlerService;
+
+    @Autowired
+    public IndexAdvisorService(MetadataRepository metadataRepository, SchemaCrawlerService schemaCrawlerService) {
+        this.metadataRepository = metadataRepository;
+        this.schemaCrawlerService = schemaCrawlerService;
+    }
+
+    /**
+     * Analyse every table of the cached catalog, crawling it first if the cache is empty.
+     * @param refresh whether to re-crawl the catalog even if it is cached
+     * @return List of IndexFinding objects
+     */
+    public List<IndexFinding> analyzeCatalog(boolean refresh) {
+        Collection<TableMeta> tables = metadataRepository.getAllTableMetadata();
+        if (refresh || tables.isEmpty()) {
+            tables = schemaCrawlerService.getAllTablesMetadata();
+        }
+        List<IndexFinding> findings = new ArrayList<>();
+        for (TableMeta table : tables) {
+            findings.addAll(analyzeTable(table));
+        }
+        logger.info("Index advisor analysed {} tables, {} findings", tables.size(), findings.size());
+        return findings;
+    }
+
+    /**
+     * Analyse the indexes of a single table.
+     * @param table the table metadata
+     * @return List of IndexFinding objects for the table
+     */
+    public List<IndexFinding> analyzeTable(TableMeta table) {
+        List<IndexFinding> findings = new ArrayList<>();
+        List<IndexMeta> indexes = new ArrayList<>();
+        if (table.getIndexes() != null) {
+            indexes.addAll(table.getIndexes());
+        }
+        if (table.getPrimaryKey() != null && !table.getPrimaryKey().isEmpty()) {
+            IndexMeta primary = new IndexMeta(PRIMARY);
+            primary.setColumns(table.getPrimaryKey());
+            primary.setIsPrimary(true);
+            primary.setIsUnique(true);
+            // Only MySQL names the key's index PRIMARY; elsewhere (H2's PRIMARY_KEY_xx) it is crawled as a unique index
+            List<String> primaryKey = columnKey(primary);
+            for (int i = 0; i < indexes.size(); i++) {
+                IndexMeta index = indexes.get(i);
+                if (Boolean.TRUE.equals(index.getIsUnique()) && columnKey(index).equals(primaryKey)) {
+                    primary.setIndexName(index.getIndexName());
+                    indexes.remove(i);
+                    break;
+                }
+            }
+            indexes.add(0, primary);
+        }
+
+        Map<String, ColumnMeta> columnsByName = new HashMap<>();
+        if (table.getColumns() != null) {
+            for (ColumnMeta column : table.getColumns()) {
+                columnsByName.put(normalize(column.getColumnName()), column);
+            }
+        }
+
+        // Key every index by its full column list and by each of its proper left-prefixes
+        Map<List<String>, IndexMeta> byColumns = new HashMap<>();
+        Map<List<String>, IndexMeta> byPrefix = new HashMap<>();
+        Set<String> leadingColumns = new HashSet<>();
+        List<IndexMeta> duplicates = new ArrayList<>();
+        Map<IndexMeta, IndexMeta> duplicateOf = new HashMap<>();
+
+        for (IndexMeta index : sortForRetention(indexes)) {
+            List<String> key = columnKey(index);
+            if (key.isEmpty()) {
+                continue;
+            }
+            leadingColumns.add(key.get(0));
+            IndexMeta existing = byColumns.putIfAbsent(key, index);
+            if (existing != null) {
+                duplicates.add(index);
+                duplicateOf.put(index, existing);
+                continue;
+            }
+            for (int length = 1; length < key.size(); length++) {
+                byPrefix.putIfAbsent(List.copyOf(key.subList(0, length)), index);
+            }
+        }
+
+        for (IndexMeta duplicate : duplicates) {
+            if (isPrimary(duplicate)) {
+                // The primary key is never dropped; it is always kept first among duplicates anyway
+                continue;
+            }
+            IndexMeta kept = duplicateOf.get(duplicate);
+            IndexFinding finding = new IndexFinding(IndexFinding.DUPLICATE_INDEX, table.getTableName(),
+                    duplicate.getIndexName(), duplicate.getColumns());
+            finding.setRelatedIndexName(kept.getIndexName());
+            finding.setEstimatedSizeBytes(estimateIndexSize(table, duplicate.getColumns(), columnsByName));
+            finding.setRecommendation("DROP INDEX " + quoteIdentifier(duplicate.getIndexName()) + " ON " + quoteTableName(table));
+            findings.add(finding);
+        }
+
+        for (IndexMeta index : byColumns.values()) {
+            if (isPrimary(index) || Boolean.TRUE.equals(index.getIsUnique())) {
+                // Unique indexes enforce a constraint and are never redundant
+                continue;
+            }
+            IndexMeta longer = byPrefix.get(columnKey(index));
+            if (longer != null) {
+                IndexFinding finding = new IndexFinding(IndexFinding.REDUNDANT_PREFIX_INDEX, table.getTableName(),
+                        index.getIndexName(), index.getColumns());
+                finding.setRelatedIndexName(longer.getIndexName());
+                finding.setEstimatedSizeBytes(estimateIndexSize(table, index.getColumns(), columnsByName));
+                finding.setRecommendation("DROP INDEX " + quoteIdentifier(index.getIndexName()) + " ON " + quoteTableName(table));
+                findings.add(finding);
+            }
+        }
+
+        if (table.getColumns() != null) {
+            for (ColumnMeta column : table.getColumns()) {
+                if (!Boolean.TRUE.equals(column.getIsForeignKey())
+                        || leadingColumns.contains(normalize(column.getColumnName()))) {
+                    continue;
+                }
+                List<String> columns = List.of(column.getColumnName());
+                IndexFinding finding = new IndexFinding(IndexFinding.MISSING_FK_INDEX, table.getTableName(), null, columns);
+                finding.setRelatedIndexName(column.getForeignKeyTable());
+                finding.setEstimatedSizeBytes(estimateIndexSize(table, columns, columnsByName));
+                finding.setRecommendation("CREATE INDEX " + quoteIdentifier("idx_" + table.getTableName() + "_" + column.getColumnName())
+                        + " ON " + quoteTableName(table) + " (" + quoteIdentifier(column.getColumnName()) + ")");
+                findings.add(finding);
+            }
+        }
+
+        return findings;
+    }
+
+    /**
+     * Quote an identifier with MySQL backticks so reserved words and mixed case survive in the DDL.
+     */
+    private static String quoteIdentifier(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    private static String quoteTableName(TableMeta table) {
+        String name = quoteIdentifier(table.getTableName());
+        return table.getSchemaName() != null ? quoteIdentifier(table.getSchemaName()) + "." + name : name;
+    }
+
+    /**
+     * Order indexes so that the one to keep among duplicates is seen first:
+     * the primary key, then unique indexes, then the rest in crawl order.
+     */
+    private List<IndexMeta> sortForRetention(List<IndexMeta> indexes) {
+        List<IndexMeta> sorted = new ArrayList<>(indexes);
+        sorted.sort(Comparator.comparingInt(index -> isPrimary(index) ? 0 : Boolean.TRUE.equals(index.getIsUnique()) ? 1 : 2));
+        return sorted;
+    }
+
+    private boolean isPrimary(IndexMeta index) {
+        return Boolean.TRUE.equals(index.getIsPrimary()) || PRIMARY.equals(index.getIndexName());
+    }
+
+    private List<String> columnKey(IndexMeta index) {
+        if (index.getColumns() == null) {
+            return List.of();
+        }
+        List<String> key = new ArrayList<>(index.getColumns().size());
+        for (String column : index.getColumns()) {
+            key.add(normalize(column));
+        }
+        return key;
+    }
+
+    private String normalize(String columnName) {
+        return columnName == null ? "" : columnName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estimate the on-disk size of a secondary index: per row it stores the key columns,
+     * the primary key columns and a small record header.
+     * @return the estimate in bytes, or null when no row count statistics are available
+     */
+    private Long estimateIndexSize(TableMeta table, List<String> columns, Map<String, ColumnMeta> columnsByName) {
+        Long rows = table.getEstimatedRowCount();
+        if (rows == null) {
+            return null;
+        }
+        long entryWidth = RECORD_OVERHEAD_BYTES;
+        for (String column : columns) {
+            entryWidth += columnWidth(columnsByName.get(normalize(column)));
+        }
+        if (table.getPrimaryKey() != null) {
+            for (String column : table.getPrimaryKey()) {
+                entryWidth += columnWidth(columnsByName.get(normalize(column)));
+            }
+        }
+        return rows * entryWidth;
+    }
+
+    private int columnWidth(ColumnMeta column) {
+        if (column == null || column.getDataType() == null) {
+            return 8;
+        }
+        String type = column.getDataType().toUpperCase(Locale.ROOT).replace("UNSIGNED", "").trim();
+        Integer fixed = FIXED_TYPE_WIDTHS.get(type);
+        if (fixed != null) {
+            return fixed;
+        }
+        int size = column.getColumnSize() != null ? column.getColumnSize() : 0;
+        if ("DECIMAL".equals(type) || "NUMERIC".equals(type)) {
+            return size / 2 + 1;
+        }
+        if ("CHAR".equals(type) || "BINARY".equals(type)) {
+            return size;
+        }
+        // Variable-length columns: assume half the declared length plus the length prefix
+        return Math.min(size, 767) / 2 + 2;
+    }
+}
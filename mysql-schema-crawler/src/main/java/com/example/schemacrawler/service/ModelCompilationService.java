@@ -0,0 +1,233 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CompilationReport;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.TableMeta;
+import com.sun.source.util.JavacTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.tools.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service for checking that generated model classes compile.
+ * All models are handed to one compiler task as in-memory sources, and the task only
+ * parses and attributes them, so nothing touches the disk and the compiler starts once
+ * per batch rather than once per class. Diagnostics are mapped back to the table the
+ * class was generated from and to the columns whose fields appear on the reported line.
+ */
+@Service
+public class ModelCompilationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelCompilationService.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[\\p{L}_$][\\p{L}\\p{N}_$]*");
+
+    private static final List<String> COMPILER_OPTIONS = List.of(
+            "-proc:none", "-Xlint:none", "-Xmaxerrs", String.valueOf(Integer.MAX_VALUE));
+
+    private final ModelGeneratorService modelGeneratorService;
+    private final JavaCompiler compiler;
+
+    @Autowired
+    public ModelCompilationService(ModelGeneratorService modelGeneratorService) {
+        this.modelGeneratorService = modelGeneratorService;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.warn("No system Java compiler found; generated models cannot be verified on this runtime");
+        }
+    }
+
+    /**
+     * Check whether a compiler is available, i.e. the application runs on a JDK.
+     * @return true if models can be verified
+     */
+    public boolean isAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * Generate models for the given tables and compile them all in one batch.
+     * @param tables metadata of the tables to generate models for
+     * @return CompilationReport with every problem attributed to its table and columns
+     * @throws IllegalStateException if no compiler is available
+     */
+    public CompilationReport verify(List<TableMeta> tables) {
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available; run the crawler on a JDK to verify models");
+        }
+        long start = System.currentTimeMillis();
+        CompilationReport report = new CompilationReport();
+        report.setModels(tables.size());
+
+        List<ModelSource> sources = new ArrayList<>();
+        for (TableMeta table : tables) {
+            try {
+                sources.add(new ModelSource(table, modelGeneratorService.generateModel(table)));
+            } catch (RuntimeException e) {
+                report.getProblems().add(new CompilationReport.Problem(table.getTableName(), null, null,
+                        Diagnostic.Kind.ERROR.name(), null, "Model generation failed: " + e));
+            }
+        }
+
+        Set<ModelSource> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!sources.isEmpty()) {
+            compile(sources, report, failed);
+        }
+
+        report.setModelsFailed(failed.size() + tables.size() - sources.size());
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Verified generated models: {}", report);
+        return report;
+    }
+
+    private void compile(List<ModelSource> sources, CompilationReport report, Set<ModelSource> failed) {
+        DiagnosticListener<JavaFileObject> listener = diagnostic -> {
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                return;
+            }
+            CompilationReport.Problem problem = toProblem(diagnostic);
+            report.getProblems().add(problem);
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() instanceof ModelSource source) {
+                failed.add(source);
+            }
+        };
+        try (StandardJavaFileManager standard = compiler.getStandardFileManager(listener, Locale.ROOT, StandardCharsets.UTF_8);
+             MemoryFileManager fileManager = new MemoryFileManager(standard)) {
+            // Generated models only need the platform classes; skip scanning the application classpath
+            standard.setLocation(StandardLocation.CLASS_PATH, List.of());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, listener, COMPILER_OPTIONS, null, sources);
+            if (task instanceof JavacTask javacTask) {
+                // Parse and attribute only; class files are never needed
+                javacTask.analyze();
+            } else {
+                task.call();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not set up the in-memory compiler", e);
+        }
+    }
+
+    /**
+     * Attribute a diagnostic to the table, and to the columns whose fields or accessors are named on its line.
+     */
+    private CompilationReport.Problem toProblem(Diagnostic<? extends JavaFileObject> diagnostic) {
+        String message = diagnostic.getMessage(Locale.ROOT);
+        Long line = diagnostic.getLineNumber() == Diagnostic.NOPOS ? null : diagnostic.getLineNumber();
+        if (!(diagnostic.getSource() instanceof ModelSource source)) {
+            return new CompilationReport.Problem(null, null, null, diagnostic.getKind().name(), line, message);
+        }
+        List<String> columns = line != null ? source.columnsOnLine(line.intValue()) : List.of();
+        return new CompilationReport.Problem(source.table.getTableName(), source.model.getClassName(),
+                columns.isEmpty() ? null : columns, diagnostic.getKind().name(), line, message);
+    }
+
+    /**
+     * Generated model source held in memory, keeping the table it came from.
+     */
+    private static class ModelSource extends SimpleJavaFileObject {
+        private final TableMeta table;
+        private final GeneratedModel model;
+
+        ModelSource(TableMeta table, GeneratedModel model) {
+            super(sourceUri(model.getClassName()), Kind.SOURCE);
+            this.table = table;
+            this.model = model;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return model.getCode();
+        }
+
+        @Override
+        public boolean isNameCompatible(String simpleName, Kind kind) {
+            return kind == Kind.SOURCE && simpleName.equals(model.getClassName());
+        }
+
+        @Override
+        public NestingKind getNestingKind() {
+            return NestingKind.TOP_LEVEL;
+        }
+
+        @Override
+        public Modifier getAccessLevel() {
+            return Modifier.PUBLIC;
+        }
+
+        /**
+         * Columns whose field, getter or setter name appears on the given line of the source.
+         * Fields are generated one per column in column order.
+         */
+        List<String> columnsOnLine(int lineNumber) {
+            String[] lines = model.getCode().split("\n", -1);
+            List<GeneratedModel.Field> fields = model.getFields();
+            List<ColumnMeta> columnMetas = table.getColumns();
+            if (lineNumber < 1 || lineNumber > lines.length || fields == null || columnMetas == null) {
+                return List.of();
+            }
+            Set<String> identifiers = new HashSet<>();
+            Matcher matcher = IDENTIFIER.matcher(lines[lineNumber - 1]);
+            while (matcher.find()) {
+                identifiers.add(matcher.group());
+            }
+            List<String> columns = new ArrayList<>();
+            for (int i = 0; i < fields.size() && i < columnMetas.size(); i++) {
+                String name = fields.get(i).getName();
+                if (name == null || name.isEmpty()) {
+                    continue;
+                }
+                String accessor = name.substring(0, 1).toUpperCase() + name.substring(1);
+                if (identifiers.contains(name) || identifiers.contains("get" + accessor) || identifiers.contains("set" + accessor)) {
+                    columns.add(columnMetas.get(i).getColumnName());
+                }
+            }
+            return columns;
+        }
+
+        private static URI sourceUri(String className) {
+            String path = "/" + ModelGeneratorService.MODEL_PACKAGE.replace('.', '/') + "/" + className + Kind.SOURCE.extension;
+            try {
+                // The multi-argument constructor quotes characters that are illegal in a URI
+                return new URI("mem", null, path, null);
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid class name: " + className, e);
+            }
+        }
+    }
+
+    /**
+     * File manager that reads platform classes through the standard manager and discards any output.
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            URI uri = URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+            return new SimpleJavaFileObject(uri, kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
+}
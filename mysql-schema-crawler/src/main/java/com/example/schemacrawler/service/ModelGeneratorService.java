@@ -2,9 +2,13 @@ package com.example.schemacrawler.service;
 
 import com.example.schemacrawler.model.ColumnMeta;
 import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.IndexMeta;
 import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.util.JavaTypeResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -16,48 +20,115 @@ import java.util.*;
 public class ModelGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelGeneratorService.class);
+
+    /**
+     * Package of the generated model classes.
+     */
+    public static final String MODEL_PACKAGE = "com.example.models";
     
-    private static final Map<String, String> SQL_TO_JAVA_TYPE_MAP = new HashMap<>();
-    
-    static {
-        // MySQL to Java type mappings
-        SQL_TO_JAVA_TYPE_MAP.put("BIGINT", "Long");
-        SQL_TO_JAVA_TYPE_MAP.put("INT", "Integer");
-        SQL_TO_JAVA_TYPE_MAP.put("INTEGER", "Integer");
-        SQL_TO_JAVA_TYPE_MAP.put("SMALLINT", "Short");
-        SQL_TO_JAVA_TYPE_MAP.put("TINYINT", "Byte");
-        SQL_TO_JAVA_TYPE_MAP.put("FLOAT", "Float");
-        SQL_TO_JAVA_TYPE_MAP.put("DOUBLE", "Double");
-        SQL_TO_JAVA_TYPE_MAP.put("DECIMAL", "java.math.BigDecimal");
-        SQL_TO_JAVA_TYPE_MAP.put("VARCHAR", "String");
-        SQL_TO_JAVA_TYPE_MAP.put("CHAR", "String");
-        SQL_TO_JAVA_TYPE_MAP.put("TEXT", "String");
-        SQL_TO_JAVA_TYPE_MAP.put("LONGTEXT", "String");
-        SQL_TO_JAVA_TYPE_MAP.put("DATE", "java.time.LocalDate");
-        SQL_TO_JAVA_TYPE_MAP.put("DATETIME", "java.time.LocalDateTime");
-        SQL_TO_JAVA_TYPE_MAP.put("TIMESTAMP", "java.time.LocalDateTime");
-        SQL_TO_JAVA_TYPE_MAP.put("TIME", "java.time.LocalTime");
-        SQL_TO_JAVA_TYPE_MAP.put("BOOLEAN", "Boolean");
-        SQL_TO_JAVA_TYPE_MAP.put("BOOL", "Boolean");
-        SQL_TO_JAVA_TYPE_MAP.put("BLOB", "byte[]");
-        SQL_TO_JAVA_TYPE_MAP.put("JSON", "String");
+    /**
+     * Primitive local type and ResultSet getter per boxed model field type.
+     */
+    private static final Map<String, String> PRIMITIVE_GETTERS = Map.of(
+            "Long", "long getLong",
+            "Integer", "int getInt",
+            "Short", "short getShort",
+            "Byte", "byte getByte",
+            "Float", "float getFloat",
+            "Double", "double getDouble",
+            "Boolean", "boolean getBoolean");
+
+    /**
+     * Primitive type per boxed type, used for NOT NULL columns outside the boxed profile.
+     */
+    private static final Map<String, String> PRIMITIVE_TYPES = Map.of(
+            "Long", "long",
+            "Integer", "int",
+            "Short", "short",
+            "Byte", "byte",
+            "Float", "float",
+            "Double", "double",
+            "Boolean", "boolean");
+
+    /**
+     * java.sql.Types constant used to bind NULL per boxed model field type.
+     */
+    private static final Map<String, String> SQL_NULL_TYPES = Map.of(
+            "Long", "BIGINT",
+            "Integer", "INTEGER",
+            "Short", "SMALLINT",
+            "Byte", "TINYINT",
+            "Float", "REAL",
+            "Double", "DOUBLE",
+            "Boolean", "BOOLEAN");
+
+    /**
+     * Shape of the generated model classes.
+     */
+    public enum Profile {
+        /** Mutable POJO with boxed types for every column. */
+        BOXED,
+        /** Mutable POJO with primitives for NOT NULL numeric and boolean columns. */
+        PRIMITIVES,
+        /** Immutable record with primitives for NOT NULL columns and generated equals/hashCode. */
+        RECORDS;
+
+        /**
+         * Parse a profile name, ignoring case.
+         * @param name the profile name
+         * @return the matching Profile
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Profile of(String name) {
+            for (Profile profile : values()) {
+                if (profile.name().equalsIgnoreCase(name)) {
+                    return profile;
+                }
+            }
+            throw new IllegalArgumentException("Unknown codegen profile: " + name + " (expected boxed, primitives or records)");
+        }
+    }
+
+    private final Profile profile;
+    private final JavaTypeResolver typeResolver;
+
+    public ModelGeneratorService() {
+        this(Profile.BOXED.name(), "");
+    }
+
+    @Autowired
+    public ModelGeneratorService(@Value("${crawler.codegen.profile:boxed}") String profile,
+                                 @Value("${crawler.codegen.type-mappings:}") String typeMappings) {
+        this.profile = Profile.of(profile);
+        this.typeResolver = new JavaTypeResolver(typeMappings);
     }
 
     /**
-     * Generate a GeneratedModel from table metadata.
+     * Generate a GeneratedModel from table metadata using the configured profile.
      * @param tableMeta the table metadata
      * @return GeneratedModel containing the generated model information
      */
     public GeneratedModel generateModel(TableMeta tableMeta) {
+        return generateModel(tableMeta, profile);
+    }
+
+    /**
+     * Generate a GeneratedModel from table metadata.
+     * @param tableMeta the table metadata
+     * @param profile the shape of the generated class
+     * @return GeneratedModel containing the generated model information
+     */
+    public GeneratedModel generateModel(TableMeta tableMeta, Profile profile) {
         GeneratedModel model = new GeneratedModel();
         String className = camelCase(tableMeta.getTableName(), true);
         
         model.setClassName(className);
         model.setTableName(tableMeta.getTableName());
         model.setPrimaryKeys(tableMeta.getPrimaryKey());
+        model.setProfile(profile.name());
         
         // Generate fields
-        List<GeneratedModel.Field> fields = generateFields(tableMeta.getColumns());
+        List<GeneratedModel.Field> fields = generateFields(tableMeta.getColumns(), profile);
         model.setFields(fields);
         
         // Convert to map as well
@@ -81,9 +152,10 @@ public class ModelGeneratorService {
     /**
      * Generate field information from column metadata.
      * @param columns the column metadata list
+     * @param profile the shape of the generated class
      * @return List of Field objects
      */
-    private List<GeneratedModel.Field> generateFields(List<ColumnMeta> columns) {
+    private List<GeneratedModel.Field> generateFields(List<ColumnMeta> columns, Profile profile) {
         List<GeneratedModel.Field> fields = new ArrayList<>();
         
         if (columns == null) {
@@ -92,8 +164,11 @@ public class ModelGeneratorService {
         
         for (ColumnMeta column : columns) {
             String fieldName = camelCase(column.getColumnName(), false);
-            String javaType = getJavaType(column.getDataType());
+            String javaType = getJavaType(column);
             boolean isNullable = column.getIsNullable() != null ? column.getIsNullable() : true;
+            if (profile != Profile.BOXED && !isNullable) {
+                javaType = PRIMITIVE_TYPES.getOrDefault(javaType, javaType);
+            }
             
             GeneratedModel.Field field = new GeneratedModel.Field(fieldName, javaType, isNullable);
             fields.add(field);
@@ -125,18 +200,23 @@ public class ModelGeneratorService {
         return relationships;
     }
 
+    /**
+     * Convert a crawled column to its Java type, using its JDBC type code, precision,
+     * scale and sign when known and the configured custom mappings.
+     * @param column the column metadata
+     * @return the corresponding Java type
+     */
+    public String getJavaType(ColumnMeta column) {
+        return typeResolver.resolve(column);
+    }
+
     /**
      * Convert SQL data type to Java type.
-     * @param sqlType the SQL data type
+     * @param sqlType the SQL data type, e.g. "INT UNSIGNED" or "DECIMAL(10,2)"
      * @return the corresponding Java type
      */
     public String getJavaType(String sqlType) {
-        if (sqlType == null) {
-            return "String";
-        }
-        
-        String upperType = sqlType.toUpperCase();
-        return SQL_TO_JAVA_TYPE_MAP.getOrDefault(upperType, "String");
+        return typeResolver.resolve(sqlType);
     }
 
     /**
@@ -173,14 +253,18 @@ public class ModelGeneratorService {
      * @return the Java source code as a string
      */
     public String generateJavaCode(GeneratedModel model) {
+        if (Profile.RECORDS.name().equals(model.getProfile())) {
+            return generateRecordCode(model);
+        }
         StringBuilder code = new StringBuilder();
         
         // Package declaration
-        code.append("package com.example.models;\n\n");
+        code.append("package ").append(MODEL_PACKAGE).append(";\n\n");
         
         // Imports
         code.append("import java.io.Serializable;\n");
-        Set<String> imports = new HashSet<>();
+        // Sorted so the same model always produces the same source
+        Set<String> imports = new TreeSet<>();
         
         if (model.getFields() != null) {
             for (GeneratedModel.Field field : model.getFields()) {
@@ -238,6 +322,535 @@ public class ModelGeneratorService {
         return code.toString();
     }
 
+    /**
+     * Generate Java source code for the model as an immutable record.
+     * The compact constructor rejects null for NOT NULL reference columns. equals and
+     * hashCode are generated rather than inherited so that primitives are compared
+     * without boxing and byte arrays are compared by content.
+     * @param model the GeneratedModel
+     * @return the Java source code as a string
+     */
+    private String generateRecordCode(GeneratedModel model) {
+        List<GeneratedModel.Field> fields = model.getFields() != null ? model.getFields() : List.of();
+        String className = model.getClassName();
+        StringBuilder code = new StringBuilder();
+
+        code.append("package ").append(MODEL_PACKAGE).append(";\n\n");
+        code.append("import java.io.Serializable;\n");
+        Set<String> imports = new TreeSet<>();
+        imports.add("java.util.Objects");
+        for (GeneratedModel.Field field : fields) {
+            if (field.getType().startsWith("java.")) {
+                imports.add(field.getType());
+            }
+            if (field.getType().equals("byte[]")) {
+                imports.add("java.util.Arrays");
+            }
+        }
+        for (String imp : imports) {
+            code.append("import ").append(imp).append(";\n");
+        }
+        code.append("\n");
+
+        code.append("/**\n");
+        code.append(" * Auto-generated model record for table: ").append(model.getTableName()).append("\n");
+        code.append(" */\n");
+        code.append("public record ").append(className).append("(");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                code.append(", ");
+            }
+            code.append(fields.get(i).getType()).append(" ").append(fields.get(i).getName());
+        }
+        code.append(") implements Serializable {\n");
+        code.append("    private static final long serialVersionUID = 1L;\n");
+
+        // Compact constructor
+        List<GeneratedModel.Field> required = new ArrayList<>();
+        for (GeneratedModel.Field field : fields) {
+            if (!field.isNullable() && !PRIMITIVE_TYPES.containsValue(field.getType())) {
+                required.add(field);
+            }
+        }
+        if (!required.isEmpty()) {
+            code.append("\n    public ").append(className).append(" {\n");
+            for (GeneratedModel.Field field : required) {
+                code.append("        Objects.requireNonNull(").append(field.getName()).append(", \"")
+                        .append(field.getName()).append("\");\n");
+            }
+            code.append("    }\n");
+        }
+
+        // equals
+        code.append("\n    @Override\n");
+        code.append("    public boolean equals(Object o) {\n");
+        code.append("        if (this == o) {\n");
+        code.append("            return true;\n");
+        code.append("        }\n");
+        code.append("        if (!(o instanceof ").append(className).append(" other)) {\n");
+        code.append("            return false;\n");
+        code.append("        }\n");
+        if (fields.isEmpty()) {
+            code.append("        return true;\n");
+        } else {
+            code.append("        return ");
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    code.append("\n                && ");
+                }
+                String name = fields.get(i).getName();
+                switch (fields.get(i).getType()) {
+                    case "float":
+                        code.append("Float.compare(").append(name).append(", other.").append(name).append(") == 0");
+                        break;
+                    case "double":
+                        code.append("Double.compare(").append(name).append(", other.").append(name).append(") == 0");
+                        break;
+                    case "long": case "int": case "short": case "byte": case "boolean":
+                        code.append(name).append(" == other.").append(name);
+                        break;
+                    case "byte[]":
+                        code.append("Arrays.equals(").append(name).append(", other.").append(name).append(")");
+                        break;
+                    default:
+                        code.append("Objects.equals(").append(name).append(", other.").append(name).append(")");
+                }
+            }
+            code.append(";\n");
+        }
+        code.append("    }\n");
+
+        // hashCode
+        code.append("\n    @Override\n");
+        code.append("    public int hashCode() {\n");
+        code.append("        int result = 1;\n");
+        for (GeneratedModel.Field field : fields) {
+            String name = field.getName();
+            String hash;
+            switch (field.getType()) {
+                case "long": hash = "Long.hashCode(" + name + ")"; break;
+                case "int": hash = name; break;
+                case "short": hash = "Short.hashCode(" + name + ")"; break;
+                case "byte": hash = "Byte.hashCode(" + name + ")"; break;
+                case "boolean": hash = "Boolean.hashCode(" + name + ")"; break;
+                case "float": hash = "Float.hashCode(" + name + ")"; break;
+                case "double": hash = "Double.hashCode(" + name + ")"; break;
+                case "byte[]": hash = "Arrays.hashCode(" + name + ")"; break;
+                default: hash = "Objects.hashCode(" + name + ")";
+            }
+            code.append("        result = 31 * result + ").append(hash).append(";\n");
+        }
+        code.append("        return result;\n");
+        code.append("    }\n");
+        code.append("}\n");
+
+        return code.toString();
+    }
+
+    /**
+     * Generate a RowMapper that builds the model from a ResultSet by column position.
+     * Each column is read with the getter matching its Java type, so no reflection or
+     * name lookup happens per row; nullable primitive columns are checked with wasNull.
+     * The generated SELECT_SQL lists the columns in the order the mapper expects.
+     * @param tableMeta the table metadata the model was generated from
+     * @param model the GeneratedModel of the table
+     * @return the Java source code of the RowMapper class
+     */
+    public String generateRowMapperCode(TableMeta tableMeta, GeneratedModel model) {
+        String className = model.getClassName();
+        List<GeneratedModel.Field> fields = model.getFields() != null ? model.getFields() : List.of();
+        List<ColumnMeta> columns = tableMeta.getColumns() != null ? tableMeta.getColumns() : List.of();
+        StringBuilder code = new StringBuilder();
+
+        code.append("package ").append(MODEL_PACKAGE).append(";\n\n");
+        code.append("import java.sql.ResultSet;\n");
+        code.append("import java.sql.SQLException;\n");
+        code.append("import org.springframework.jdbc.core.RowMapper;\n\n");
+
+        code.append("/**\n");
+        code.append(" * Auto-generated row mapper for table: ").append(tableMeta.getTableName()).append("\n");
+        code.append(" * Reads columns by position; query them in the order of SELECT_SQL.\n");
+        code.append(" */\n");
+        code.append("public final class ").append(className).append("RowMapper implements RowMapper<")
+                .append(className).append("> {\n\n");
+
+        StringBuilder columnList = new StringBuilder();
+        for (int i = 0; i < fields.size() && i < columns.size(); i++) {
+            if (i > 0) {
+                columnList.append(", ");
+            }
+            columnList.append(quoteIdentifier(columns.get(i).getColumnName()));
+        }
+        code.append("    public static final String SELECT_SQL = \"")
+                .append(javaString("SELECT " + columnList + " FROM " + quoteTableName(tableMeta)))
+                .append("\";\n\n");
+        code.append("    public static final ").append(className).append("RowMapper INSTANCE = new ")
+                .append(className).append("RowMapper();\n\n");
+
+        code.append("    @Override\n");
+        code.append("    public ").append(className).append(" mapRow(ResultSet rs, int rowNum) throws SQLException {\n");
+        boolean record = Profile.RECORDS.name().equals(model.getProfile());
+        if (!record) {
+            code.append("        ").append(className).append(" model = new ").append(className).append("();\n");
+        }
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < fields.size() && i < columns.size(); i++) {
+            GeneratedModel.Field field = fields.get(i);
+            int ordinal = i + 1;
+            String type = field.getType();
+            String[] getter = null;
+            if (PRIMITIVE_GETTERS.containsKey(type)) {
+                getter = PRIMITIVE_GETTERS.get(type).split(" ");
+            } else if (PRIMITIVE_TYPES.containsValue(type)) {
+                getter = new String[]{type, "get" + type.substring(0, 1).toUpperCase() + type.substring(1)};
+            }
+
+            String value;
+            if (getter != null && field.isNullable() && !PRIMITIVE_TYPES.containsValue(type)) {
+                code.append("        ").append(getter[0]).append(" c").append(ordinal).append(" = rs.")
+                        .append(getter[1]).append("(").append(ordinal).append(");\n");
+                value = "rs.wasNull() ? null : c" + ordinal;
+            } else if (getter != null) {
+                value = "rs." + getter[1] + "(" + ordinal + ")";
+            } else {
+                value = objectGetter(type, ordinal);
+            }
+
+            if (record) {
+                // Read into locals in column order; wasNull must follow its getter directly
+                code.append("        ").append(type).append(" v").append(ordinal).append(" = ").append(value).append(";\n");
+                arguments.add("v" + ordinal);
+            } else {
+                String setter = "model.set" + field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+                code.append("        ").append(setter).append("(").append(value).append(");\n");
+            }
+        }
+        if (record) {
+            code.append("        return new ").append(className).append("(").append(String.join(", ", arguments)).append(");\n");
+        } else {
+            code.append("        return model;\n");
+        }
+        code.append("    }\n");
+        code.append("}\n");
+
+        return code.toString();
+    }
+
+    /**
+     * Generate a DAO that writes models in bulk. It offers insertAll with JDBC batches,
+     * insertValues with multi-row INSERT ... VALUES statements, and, when the table has a
+     * primary key or unique index, upsertAll with ON DUPLICATE KEY UPDATE. Multi-row
+     * statements are split so each stays under max_allowed_packet and the 65535
+     * placeholder limit. Parameters are bound by position with type-specific setters.
+     * Inserts leave out auto-increment columns. Upserts send them so existing rows match.
+     * @param tableMeta the table metadata the model was generated from
+     * @param model the GeneratedModel of the table
+     * @return the Java source code of the DAO class
+     */
+    public String generateDaoCode(TableMeta tableMeta, GeneratedModel model) {
+        String className = model.getClassName();
+        List<GeneratedModel.Field> fields = model.getFields() != null ? model.getFields() : List.of();
+        List<ColumnMeta> columns = tableMeta.getColumns() != null ? tableMeta.getColumns() : List.of();
+        int count = Math.min(fields.size(), columns.size());
+        boolean record = Profile.RECORDS.name().equals(model.getProfile());
+
+        // Columns of the primary key and unique indexes decide which row an upsert updates
+        Set<String> keyColumns = new LinkedHashSet<>();
+        if (tableMeta.getPrimaryKey() != null) {
+            tableMeta.getPrimaryKey().forEach(column -> keyColumns.add(column.toLowerCase(Locale.ROOT)));
+        }
+        if (tableMeta.getIndexes() != null) {
+            for (IndexMeta index : tableMeta.getIndexes()) {
+                if (Boolean.TRUE.equals(index.getIsUnique()) && index.getColumns() != null) {
+                    index.getColumns().forEach(column -> keyColumns.add(column.toLowerCase(Locale.ROOT)));
+                }
+            }
+        }
+
+        List<String> insertColumns = new ArrayList<>();
+        List<String> allColumns = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ColumnMeta column = columns.get(i);
+            String quoted = quoteIdentifier(column.getColumnName());
+            allColumns.add(quoted);
+            if (!Boolean.TRUE.equals(column.getIsAutoIncrement())) {
+                insertColumns.add(quoted);
+            }
+            if (!keyColumns.contains(column.getColumnName().toLowerCase(Locale.ROOT))) {
+                updates.add(quoted + " = VALUES(" + quoted + ")");
+            }
+        }
+        boolean upsert = !keyColumns.isEmpty() && count > 0;
+        if (upsert && updates.isEmpty()) {
+            // Every column is part of a key: a duplicate leaves the row as it is
+            updates.add(allColumns.get(0) + " = " + allColumns.get(0));
+        }
+
+        String table = quoteTableName(tableMeta);
+        String insertPrefix = "INSERT INTO " + table + " (" + String.join(", ", insertColumns) + ") VALUES ";
+        String insertRow = "(" + String.join(", ", Collections.nCopies(insertColumns.size(), "?")) + ")";
+        String upsertPrefix = "INSERT INTO " + table + " (" + String.join(", ", allColumns) + ") VALUES ";
+        String upsertRow = "(" + String.join(", ", Collections.nCopies(allColumns.size(), "?")) + ")";
+        String upsertSuffix = " ON DUPLICATE KEY UPDATE " + String.join(", ", updates);
+
+        StringBuilder code = new StringBuilder();
+        code.append("package ").append(MODEL_PACKAGE).append(";\n\n");
+        code.append("import java.sql.Connection;\n");
+        code.append("import java.sql.PreparedStatement;\n");
+        code.append("import java.sql.SQLException;\n");
+        code.append("import java.sql.Statement;\n");
+        code.append("import java.sql.Types;\n");
+        code.append("import java.util.List;\n");
+        code.append("import org.springframework.jdbc.core.ConnectionCallback;\n");
+        code.append("import org.springframework.jdbc.core.JdbcTemplate;\n\n");
+
+        code.append("/**\n");
+        code.append(" * Auto-generated bulk DAO for table: ").append(tableMeta.getTableName()).append("\n");
+        code.append(" * Binds parameters by position in the column order of the SQL constants.\n");
+        code.append(" * Runs in the caller's transaction, if any; otherwise each statement commits on its own.\n");
+        code.append(" */\n");
+        code.append("public final class ").append(className).append("Dao {\n\n");
+
+        code.append("    public static final String INSERT_SQL = \"")
+                .append(javaString(insertPrefix + insertRow)).append("\";\n\n");
+        if (upsert) {
+            code.append("    public static final String UPSERT_SQL = \"")
+                    .append(javaString(upsertPrefix + upsertRow + upsertSuffix)).append("\";\n\n");
+        }
+        code.append("    /** MySQL 5.7's default max_allowed_packet; pass the server's value when it is larger. */\n");
+        code.append("    public static final long DEFAULT_MAX_PACKET_BYTES = 4L * 1024 * 1024;\n\n");
+        code.append("    public static final int BATCH_SIZE = 1000;\n\n");
+        code.append("    private static final int MAX_PLACEHOLDERS = 65535;\n\n");
+        code.append("    private static final String INSERT_PREFIX = \"").append(javaString(insertPrefix)).append("\";\n");
+        code.append("    private static final String INSERT_ROW = \"").append(insertRow).append("\";\n");
+        if (upsert) {
+            code.append("    private static final String UPSERT_PREFIX = \"").append(javaString(upsertPrefix)).append("\";\n");
+            code.append("    private static final String UPSERT_ROW = \"").append(upsertRow).append("\";\n");
+            code.append("    private static final String UPSERT_SUFFIX = \"").append(javaString(upsertSuffix)).append("\";\n");
+        }
+        code.append("\n");
+
+        code.append("    private final JdbcTemplate jdbcTemplate;\n");
+        code.append("    private final long maxPacketBytes;\n\n");
+        code.append("    public ").append(className).append("Dao(JdbcTemplate jdbcTemplate) {\n");
+        code.append("        this(jdbcTemplate, DEFAULT_MAX_PACKET_BYTES);\n");
+        code.append("    }\n\n");
+        code.append("    public ").append(className).append("Dao(JdbcTemplate jdbcTemplate, long maxPacketBytes) {\n");
+        code.append("        this.jdbcTemplate = jdbcTemplate;\n");
+        code.append("        this.maxPacketBytes = maxPacketBytes;\n");
+        code.append("    }\n\n");
+
+        code.append("    /**\n");
+        code.append("     * Insert the models with INSERT_SQL in JDBC batches of BATCH_SIZE rows.\n");
+        code.append("     * On MySQL, rewriteBatchedStatements=true lets the driver send each batch as one statement.\n");
+        code.append("     */\n");
+        code.append("    public int insertAll(List<").append(className).append("> models) {\n");
+        code.append("        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {\n");
+        code.append("            int total = 0;\n");
+        code.append("            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {\n");
+        code.append("                for (int i = 0; i < models.size(); i++) {\n");
+        code.append("                    bind(ps, 1, models.get(i), false);\n");
+        code.append("                    ps.addBatch();\n");
+        code.append("                    if ((i + 1) % BATCH_SIZE == 0 || i == models.size() - 1) {\n");
+        code.append("                        for (int updated : ps.executeBatch()) {\n");
+        code.append("                            total += updated == Statement.SUCCESS_NO_INFO ? 1 : updated;\n");
+        code.append("                        }\n");
+        code.append("                    }\n");
+        code.append("                }\n");
+        code.append("            }\n");
+        code.append("            return total;\n");
+        code.append("        });\n");
+        code.append("    }\n\n");
+
+        code.append("    /**\n");
+        code.append("     * Insert the models with multi-row INSERT ... VALUES statements sized under max_allowed_packet.\n");
+        code.append("     */\n");
+        code.append("    public int insertValues(List<").append(className).append("> models) {\n");
+        code.append("        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection ->\n");
+        code.append("                writeValues(connection, models, INSERT_PREFIX, INSERT_ROW, \"\", ")
+                .append(Math.max(1, insertColumns.size())).append(", false));\n");
+        code.append("    }\n\n");
+
+        if (upsert) {
+            code.append("    /**\n");
+            code.append("     * Insert the models, or update the rows they collide with on the primary key or a unique\n");
+            code.append("     * index, in multi-row statements. MySQL counts 1 per inserted and 2 per changed row.\n");
+            code.append("     */\n");
+            code.append("    public int upsertAll(List<").append(className).append("> models) {\n");
+            code.append("        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection ->\n");
+            code.append("                writeValues(connection, models, UPSERT_PREFIX, UPSERT_ROW, UPSERT_SUFFIX, ")
+                    .append(allColumns.size()).append(", true));\n");
+            code.append("    }\n\n");
+        }
+
+        code.append("    private int writeValues(Connection connection, List<").append(className)
+                .append("> models, String prefix, String row,\n");
+        code.append("                            String suffix, int columns, boolean withGenerated) throws SQLException {\n");
+        code.append("        int maxRows = MAX_PLACEHOLDERS / columns;\n");
+        code.append("        int total = 0;\n");
+        code.append("        int preparedRows = 0;\n");
+        code.append("        PreparedStatement ps = null;\n");
+        code.append("        try {\n");
+        code.append("            int start = 0;\n");
+        code.append("            while (start < models.size()) {\n");
+        code.append("                long bytes = prefix.length() + suffix.length();\n");
+        code.append("                int end = start;\n");
+        code.append("                while (end < models.size() && end - start < maxRows) {\n");
+        code.append("                    long rowBytes = row.length() + 1 + estimateBytes(models.get(end));\n");
+        code.append("                    if (end > start && bytes + rowBytes > maxPacketBytes) {\n");
+        code.append("                        break;\n");
+        code.append("                    }\n");
+        code.append("                    bytes += rowBytes;\n");
+        code.append("                    end++;\n");
+        code.append("                }\n");
+        code.append("                // Chunks of equal size reuse the statement\n");
+        code.append("                if (end - start != preparedRows) {\n");
+        code.append("                    if (ps != null) {\n");
+        code.append("                        ps.close();\n");
+        code.append("                    }\n");
+        code.append("                    preparedRows = end - start;\n");
+        code.append("                    ps = connection.prepareStatement(valuesSql(prefix, row, suffix, preparedRows));\n");
+        code.append("                }\n");
+        code.append("                int index = 1;\n");
+        code.append("                for (int i = start; i < end; i++) {\n");
+        code.append("                    index = bind(ps, index, models.get(i), withGenerated);\n");
+        code.append("                }\n");
+        code.append("                total += ps.executeUpdate();\n");
+        code.append("                start = end;\n");
+        code.append("            }\n");
+        code.append("        } finally {\n");
+        code.append("            if (ps != null) {\n");
+        code.append("                ps.close();\n");
+        code.append("            }\n");
+        code.append("        }\n");
+        code.append("        return total;\n");
+        code.append("    }\n\n");
+
+        code.append("    private static String valuesSql(String prefix, String row, String suffix, int rows) {\n");
+        code.append("        StringBuilder sql = new StringBuilder(prefix.length() + (row.length() + 1) * rows + suffix.length());\n");
+        code.append("        sql.append(prefix).append(row);\n");
+        code.append("        for (int i = 1; i < rows; i++) {\n");
+        code.append("            sql.append(',').append(row);\n");
+        code.append("        }\n");
+        code.append("        return sql.append(suffix).toString();\n");
+        code.append("    }\n\n");
+
+        // Upper bound of the row's size as SQL literals: 4 bytes per character, hex for binary
+        StringBuilder estimate = new StringBuilder();
+        int fixedBytes = 0;
+        for (int i = 0; i < count; i++) {
+            GeneratedModel.Field field = fields.get(i);
+            String type = field.getType();
+            String local = "v" + (i + 1);
+            if ("String".equals(type) || "byte[]".equals(type)) {
+                String length = "String".equals(type) ? "4L * " + local + ".length()" : "2L * " + local + ".length";
+                estimate.append("        ").append(type).append(" ").append(local).append(" = ")
+                        .append(accessor(field, record)).append(";\n");
+                estimate.append("        if (").append(local).append(" != null) {\n");
+                estimate.append("            bytes += ").append(length).append(";\n");
+                estimate.append("        }\n");
+                fixedBytes += 5;
+            } else if ("java.math.BigDecimal".equals(type)) {
+                fixedBytes += 68;
+            } else {
+                fixedBytes += 32;
+            }
+        }
+        code.append("    private static long estimateBytes(").append(className).append(" m) {\n");
+        code.append("        long bytes = ").append(fixedBytes).append(";\n");
+        code.append(estimate);
+        code.append("        return bytes;\n");
+        code.append("    }\n\n");
+
+        code.append("    private static int bind(PreparedStatement ps, int index, ").append(className)
+                .append(" m, boolean withGenerated) throws SQLException {\n");
+        for (int i = 0; i < count; i++) {
+            GeneratedModel.Field field = fields.get(i);
+            boolean generated = Boolean.TRUE.equals(columns.get(i).getIsAutoIncrement());
+            String indent = generated ? "            " : "        ";
+            if (generated) {
+                code.append("        if (withGenerated) {\n");
+            }
+            appendBinding(code, indent, field, accessor(field, record), "v" + (i + 1));
+            if (generated) {
+                code.append("        }\n");
+            }
+        }
+        code.append("        return index;\n");
+        code.append("    }\n");
+        code.append("}\n");
+
+        return code.toString();
+    }
+
+    /**
+     * Append the statement setting one parameter and advancing index.
+     */
+    private void appendBinding(StringBuilder code, String indent, GeneratedModel.Field field, String value, String local) {
+        String type = field.getType();
+        if (PRIMITIVE_GETTERS.containsKey(type)) {
+            String setter = "set" + PRIMITIVE_GETTERS.get(type).split(" ")[1].substring(3);
+            code.append(indent).append(type).append(" ").append(local).append(" = ").append(value).append(";\n");
+            code.append(indent).append("if (").append(local).append(" == null) {\n");
+            code.append(indent).append("    ps.setNull(index++, Types.").append(SQL_NULL_TYPES.get(type)).append(");\n");
+            code.append(indent).append("} else {\n");
+            code.append(indent).append("    ps.").append(setter).append("(index++, ").append(local).append(");\n");
+            code.append(indent).append("}\n");
+            return;
+        }
+        String setter;
+        if (PRIMITIVE_TYPES.containsValue(type)) {
+            setter = "set" + type.substring(0, 1).toUpperCase() + type.substring(1);
+        } else if ("String".equals(type)) {
+            setter = "setString";
+        } else if ("java.math.BigDecimal".equals(type)) {
+            setter = "setBigDecimal";
+        } else if ("byte[]".equals(type)) {
+            setter = "setBytes";
+        } else {
+            setter = "setObject";
+        }
+        code.append(indent).append("ps.").append(setter).append("(index++, ").append(value).append(");\n");
+    }
+
+    /**
+     * The expression reading a field of model instance m.
+     */
+    private static String accessor(GeneratedModel.Field field, boolean record) {
+        String name = field.getName();
+        return record ? "m." + name + "()" : "m.get" + name.substring(0, 1).toUpperCase() + name.substring(1) + "()";
+    }
+
+    /**
+     * The ResultSet call reading a non-primitive column of the given Java type.
+     */
+    private String objectGetter(String javaType, int ordinal) {
+        switch (javaType) {
+            case "String":
+                return "rs.getString(" + ordinal + ")";
+            case "java.math.BigDecimal":
+                return "rs.getBigDecimal(" + ordinal + ")";
+            case "byte[]":
+                return "rs.getBytes(" + ordinal + ")";
+            default:
+                return "rs.getObject(" + ordinal + ", " + javaType + ".class)";
+        }
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    private static String quoteTableName(TableMeta tableMeta) {
+        String table = quoteIdentifier(tableMeta.getTableName());
+        return tableMeta.getSchemaName() != null ? quoteIdentifier(tableMeta.getSchemaName()) + "." + table : table;
+    }
+
+    private static String javaString(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     /**
      * Generate models for all tables.
      * @param tables list of table metadata
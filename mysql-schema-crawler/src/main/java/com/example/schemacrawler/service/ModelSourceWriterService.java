@@ -0,0 +1,303 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.CodegenReport;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.TableMeta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for writing generated model sources into a directory tree incrementally.
+ * A manifest of content hashes from the previous run is kept next to the sources; a
+ * file is only rewritten when its generated content changed, and files generated by the
+ * previous run for tables that no longer exist are deleted. Unchanged files keep their
+ * timestamps, so downstream compilers and build caches treat them as up to date.
+ * <p>
+ * Class names come from table names alone, so two tables can map to the same class, for
+ * instance {@code user_roles} and {@code userRoles}, or the same table in two schemas.
+ * Such collisions are found before anything is written; the tables involved are reported
+ * as errors and skipped, rather than left to overwrite each other from parallel writers.
+ */
+@Service
+public class ModelSourceWriterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelSourceWriterService.class);
+
+    static final String MANIFEST_FILE = ".codegen-manifest";
+
+    private final ModelGeneratorService modelGeneratorService;
+    private final ExecutorService writeExecutor;
+    private final boolean rowMappers;
+    private final boolean daos;
+
+    @Autowired
+    public ModelSourceWriterService(ModelGeneratorService modelGeneratorService,
+                                    @Value("${crawler.codegen.parallelism:4}") int parallelism,
+                                    @Value("${crawler.codegen.row-mappers:false}") boolean rowMappers,
+                                    @Value("${crawler.codegen.daos:false}") boolean daos) {
+        this.modelGeneratorService = modelGeneratorService;
+        this.rowMappers = rowMappers;
+        this.daos = daos;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writeExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "codegen-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Generate model sources for the given tables and write the changed ones.
+     * @param tables metadata of the tables to generate models for
+     * @param outputDirectory root of the source tree; package directories are created below it
+     * @param deleteStale whether to delete files from the previous run that were not generated now;
+     *                    pass false when the table list may be incomplete, e.g. after a partial crawl
+     * @return CodegenReport with the number of files written, skipped and deleted, and the
+     *         tables skipped because their class names collide
+     * @throws IOException if the output directory or manifest cannot be written
+     */
+    public CodegenReport writeSources(List<TableMeta> tables, Path outputDirectory, boolean deleteStale) throws IOException {
+        long start = System.currentTimeMillis();
+        Path root = outputDirectory.toAbsolutePath().normalize();
+        Path packageDirectory = root.resolve(ModelGeneratorService.MODEL_PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        Map<String, ManifestEntry> previous = readManifest(root.resolve(MANIFEST_FILE));
+        CodegenReport report = new CodegenReport(root.toString());
+        Set<TableMeta> colliding = findCollisions(tables, report);
+
+        List<Future<List<WriteResult>>> futures = new ArrayList<>();
+        Set<String> collidingPaths = new HashSet<>();
+        for (TableMeta table : tables) {
+            if (colliding.contains(table)) {
+                for (String className : classNames(table)) {
+                    collidingPaths.add(sourcePath(root, packageDirectory, className));
+                }
+                continue;
+            }
+            futures.add(writeExecutor.submit(() -> writeSources(table, root, packageDirectory, previous)));
+        }
+
+        Map<String, ManifestEntry> current = new TreeMap<>();
+        try {
+            for (Future<List<WriteResult>> future : futures) {
+                for (WriteResult result : future.get()) {
+                    current.put(result.path, result.entry);
+                    if (result.written) {
+                        report.setFilesWritten(report.getFilesWritten() + 1);
+                    } else {
+                        report.setFilesSkipped(report.getFilesSkipped() + 1);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Model source generation interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+
+        Map<String, ManifestEntry> manifest = new TreeMap<>(current);
+        for (Map.Entry<String, ManifestEntry> entry : previous.entrySet()) {
+            if (current.containsKey(entry.getKey())) {
+                continue;
+            }
+            Path stale = root.resolve(entry.getKey()).normalize();
+            if (collidingPaths.contains(entry.getKey())) {
+                // The table still exists; its last good source stays until the collision is resolved
+                manifest.put(entry.getKey(), entry.getValue());
+            } else if (!deleteStale) {
+                // Keep tracking the file so a later complete run can still delete it
+                manifest.put(entry.getKey(), entry.getValue());
+                report.setStaleFilesKept(true);
+            } else if (stale.startsWith(root) && Files.deleteIfExists(stale)) {
+                report.setFilesDeleted(report.getFilesDeleted() + 1);
+            }
+        }
+        writeManifest(root.resolve(MANIFEST_FILE), manifest);
+
+        report.setModels(tables.size() - colliding.size());
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Wrote model sources: {}", report);
+        return report;
+    }
+
+    /**
+     * Find the tables that map to the same class as another table. Class names are compared
+     * ignoring case, since a case-insensitive file system cannot hold both files either.
+     */
+    private Set<TableMeta> findCollisions(List<TableMeta> tables, CodegenReport report) {
+        Map<String, List<TableMeta>> owners = new LinkedHashMap<>();
+        Map<String, String> classNames = new HashMap<>();
+        for (TableMeta table : tables) {
+            for (String className : classNames(table)) {
+                String key = className.toLowerCase(Locale.ROOT);
+                owners.computeIfAbsent(key, k -> new ArrayList<>()).add(table);
+                classNames.putIfAbsent(key, className);
+            }
+        }
+        Set<TableMeta> colliding = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, List<TableMeta>> entry : owners.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                colliding.addAll(entry.getValue());
+                List<String> tableNames = entry.getValue().stream().map(TableMeta::getQualifiedName).toList();
+                String error = "Tables " + String.join(", ", tableNames) + " all map to class "
+                        + classNames.get(entry.getKey()) + "; none of them was written";
+                logger.warn(error);
+                report.getErrors().add(error);
+            }
+        }
+        return colliding;
+    }
+
+    /**
+     * The classes generated for a table: the model, and its row mapper and DAO when enabled.
+     */
+    private List<String> classNames(TableMeta table) {
+        String className = modelGeneratorService.camelCase(table.getTableName(), true);
+        List<String> classNames = new ArrayList<>(List.of(className));
+        if (rowMappers) {
+            classNames.add(className + "RowMapper");
+        }
+        if (daos) {
+            classNames.add(className + "Dao");
+        }
+        return classNames;
+    }
+
+    /**
+     * Generate the sources of one table: the model, and its row mapper and DAO when enabled.
+     */
+    private List<WriteResult> writeSources(TableMeta table, Path root, Path packageDirectory,
+                                           Map<String, ManifestEntry> previous) {
+        GeneratedModel model = modelGeneratorService.generateModel(table);
+        List<WriteResult> results = new ArrayList<>();
+        results.add(writeSource(model.getClassName(), model.getCode(), root, packageDirectory, previous));
+        if (rowMappers) {
+            results.add(writeSource(model.getClassName() + "RowMapper",
+                    modelGeneratorService.generateRowMapperCode(table, model), root, packageDirectory, previous));
+        }
+        if (daos) {
+            results.add(writeSource(model.getClassName() + "Dao",
+                    modelGeneratorService.generateDaoCode(table, model), root, packageDirectory, previous));
+        }
+        return results;
+    }
+
+    /**
+     * Write one class unless the file already has the same content.
+     */
+    private WriteResult writeSource(String className, String code, Path root, Path packageDirectory,
+                                    Map<String, ManifestEntry> previous) {
+        byte[] content = code.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(content);
+        Path file = packageDirectory.resolve(className + ".java");
+        String path = sourcePath(root, packageDirectory, className);
+        ManifestEntry entry = new ManifestEntry(hash, content.length);
+
+        try {
+            if (isUnchanged(file, entry, previous.get(path))) {
+                return new WriteResult(path, entry, false);
+            }
+            // Write next to the target and move into place, so readers never see a partial file
+            Path temp = Files.createTempFile(packageDirectory, className, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return new WriteResult(path, entry, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+    }
+
+    /**
+     * The path of a class's source relative to the output root, as recorded in the manifest.
+     */
+    private static String sourcePath(Path root, Path packageDirectory, String className) {
+        return root.relativize(packageDirectory.resolve(className + ".java")).toString().replace('\\', '/');
+    }
+
+    /**
+     * Check whether the file on disk already holds the content, trusting the manifest when
+     * the size still matches and hashing the file only when there is no manifest entry.
+     */
+    private boolean isUnchanged(Path file, ManifestEntry entry, ManifestEntry recorded) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != entry.size) {
+            return false;
+        }
+        if (recorded != null) {
+            return recorded.equals(entry);
+        }
+        return sha256(Files.readAllBytes(file)).equals(entry.hash);
+    }
+
+    private Map<String, ManifestEntry> readManifest(Path manifest) throws IOException {
+        Map<String, ManifestEntry> entries = new HashMap<>();
+        if (!Files.isRegularFile(manifest)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ", 3);
+            if (parts.length == 3) {
+                try {
+                    entries.put(parts[2], new ManifestEntry(parts[0], Long.parseLong(parts[1])));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring malformed manifest line: {}", line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void writeManifest(Path manifest, Map<String, ManifestEntry> entries) throws IOException {
+        Path temp = Files.createTempFile(manifest.getParent(), MANIFEST_FILE, ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, ManifestEntry> entry : entries.entrySet()) {
+                    writer.write(entry.getValue().hash + " " + entry.getValue().size + " " + entry.getKey());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeExecutor.shutdownNow();
+    }
+
+    private record ManifestEntry(String hash, long size) {}
+
+    private record WriteResult(String path, ManifestEntry entry, boolean written) {}
+}
@@ -1,53 +1,92 @@
 package com.example.schemacrawler.service;
 
 import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CrawlResult;
 import com.example.schemacrawler.model.IndexMeta;
 import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.util.CrawlScope;
+import com.example.schemacrawler.util.JavaTypeResolver;
 import com.example.schemacrawler.util.JdbcUtils;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for crawling MySQL database schema and extracting metadata.
+ * When a catalog has been imported from a DDL file, it is served instead of the live
+ * database so every API works without a connection.
+ * <p>
+ * By default the connection's own database is crawled and tables are named plainly. A
+ * {@link CrawlScope} spanning other schemas names them {@code schema.table}; every API
+ * taking a table name accepts that form. Scope filters are pushed down into the
+ * INFORMATION_SCHEMA query on MySQL and into the DatabaseMetaData patterns elsewhere, and
+ * every metadata call names its catalog and schema, so no other schema's tables are read.
  */
 @Service
 public class SchemaCrawlerService {
 
     private static final Logger logger = LoggerFactory.getLogger(SchemaCrawlerService.class);
-    
+
     private final JdbcTemplate jdbcTemplate;
     private final JdbcUtils jdbcUtils;
+    private final MetadataRepository metadataRepository;
+    private final SchemaHistoryService schemaHistoryService;
+    private final CrawlScope crawlScope;
+    private final ExecutorService schemaExecutor;
+    private final int schemaParallelism;
+
+    @Value("${crawler.batch.chunk-size:200}")
+    private int batchChunkSize;
+
+    @Value("${crawler.timeouts.crawl-deadline-ms:100000}")
+    private long crawlDeadlineMs;
+
+    @Value("${crawler.timeouts.retry-passes:1}")
+    private int crawlRetryPasses;
 
     @Autowired
-    public SchemaCrawlerService(JdbcTemplate jdbcTemplate, JdbcUtils jdbcUtils) {
+    public SchemaCrawlerService(JdbcTemplate jdbcTemplate, JdbcUtils jdbcUtils, MetadataRepository metadataRepository,
+                                SchemaHistoryService schemaHistoryService, CrawlScope crawlScope,
+                                CrawlExecutorService crawlExecutorService,
+                                @Value("${crawler.scope.parallelism:4}") int schemaParallelism) {
         this.jdbcTemplate = jdbcTemplate;
         this.jdbcUtils = jdbcUtils;
+        this.metadataRepository = metadataRepository;
+        this.schemaHistoryService = schemaHistoryService;
+        this.crawlScope = crawlScope;
+        this.schemaParallelism = Math.max(1, schemaParallelism);
+        this.schemaExecutor = crawlExecutorService.newWorkerPool("crawl-schema", this.schemaParallelism);
     }
 
     /**
-     * Get all tables in the connected database.
-     * @return List of table names
+     * Get all tables in the crawl scope.
+     * @return List of table names, as "schema.table" if the scope spans other schemas
      */
     public List<String> getAllTables() {
         List<String> tables = new ArrayList<>();
+        if (metadataRepository.hasImportedCatalog()) {
+            for (TableMeta tableMeta : metadataRepository.getImportedTables()) {
+                // Qualified only where databases of the dump share a table name
+                tables.add(metadataRepository.isAmbiguousImportedName(tableMeta.getTableName())
+                        ? tableMeta.getQualifiedName() : tableMeta.getTableName());
+            }
+            return tables;
+        }
         try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, "%", new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    String tableSchema = rs.getString("TABLE_SCHEM");
-                    // skip H2/INFORMATION_SCHEMA tables
-                    if (tableSchema != null && tableSchema.toUpperCase().contains("INFORMATION_SCHEMA")) {
-                        continue;
-                    }
-                    tables.add(tableName);
-                }
+            if (JdbcUtils.isMySql(conn)) {
+                listTablesFromInformationSchema(conn, tables);
+            } else {
+                listTablesFromMetaData(conn, tables);
             }
         } catch (Exception e) {
             logger.error("Error retrieving tables", e);
@@ -55,98 +94,192 @@ public class SchemaCrawlerService {
         return tables;
     }
 
+    /**
+     * List the tables in scope with one INFORMATION_SCHEMA query that filters by schema and table.
+     */
+    private void listTablesFromInformationSchema(Connection conn, List<String> tables) throws SQLException {
+        List<String> parameters = new ArrayList<>();
+        String sql = "SELECT TABLE_SCHEMA, TABLE_NAME FROM information_schema.TABLES WHERE TABLE_TYPE = 'BASE TABLE' AND "
+                + crawlScope.schemaPredicate("TABLE_SCHEMA", parameters) + " AND "
+                + crawlScope.tablePredicate("TABLE_NAME", parameters) + " ORDER BY TABLE_SCHEMA, TABLE_NAME";
+        boolean qualify = !crawlScope.isDefaultSchemaOnly();
+        forEachRow(conn, sql, parameters, 1, rs -> tables.add(qualify
+                ? rs.getString("TABLE_SCHEMA") + "." + rs.getString("TABLE_NAME") : rs.getString("TABLE_NAME")));
+    }
+
+    /**
+     * List the tables in scope through DatabaseMetaData, passing schema and table globs as
+     * search patterns. Regular expressions and excludes have no metadata equivalent and are
+     * applied to the returned names.
+     */
+    private void listTablesFromMetaData(Connection conn, List<String> tables) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String escape = metaData.getSearchStringEscape();
+        Set<String> found = new TreeSet<>();
+        for (TableLocation location : schemasInScope(conn)) {
+            String schemaPattern = location.schema() != null ? escape(location.schema(), escape) : null;
+            for (String tablePattern : crawlScope.tableLikePatterns(escape)) {
+                try (ResultSet rs = metaData.getTables(location.catalog(), schemaPattern, foldCase(metaData, tablePattern),
+                        new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        String tableName = rs.getString("TABLE_NAME");
+                        if (crawlScope.matchesTable(tableName)) {
+                            found.add(location.qualifier() != null ? location.qualifier() + "." + tableName : tableName);
+                        }
+                    }
+                }
+            }
+        }
+        tables.addAll(found);
+    }
+
+    /**
+     * Get the catalog and schema arguments addressing each schema in scope; for the default
+     * scope that is the connection's own.
+     */
+    private List<TableLocation> schemasInScope(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        boolean catalogs = schemasAreCatalogs(metaData);
+        if (crawlScope.isDefaultSchemaOnly()) {
+            return List.of(new TableLocation(conn.getCatalog(), catalogs ? null : conn.getSchema(), null, null));
+        }
+        Set<String> schemas = new TreeSet<>();
+        if (catalogs) {
+            // getCatalogs() takes no pattern
+            try (ResultSet rs = metaData.getCatalogs()) {
+                while (rs.next()) {
+                    schemas.add(rs.getString("TABLE_CAT"));
+                }
+            }
+        } else {
+            for (String schemaPattern : crawlScope.schemaLikePatterns(metaData.getSearchStringEscape())) {
+                try (ResultSet rs = metaData.getSchemas(conn.getCatalog(), foldCase(metaData, schemaPattern))) {
+                    while (rs.next()) {
+                        schemas.add(rs.getString("TABLE_SCHEM"));
+                    }
+                }
+            }
+        }
+        List<TableLocation> locations = new ArrayList<>();
+        for (String schema : schemas) {
+            if (crawlScope.matchesSchema(schema)) {
+                locations.add(catalogs ? new TableLocation(schema, null, null, schema)
+                        : new TableLocation(conn.getCatalog(), schema, null, schema));
+            }
+        }
+        return locations;
+    }
+
     /**
      * Get metadata for a specific table.
      * @param tableName the table name
      * @return TableMeta object containing table information
      */
     public TableMeta getTableMetadata(String tableName) {
-        TableMeta tableMeta = new TableMeta(tableName);
-        
-        try {
-            // Get columns
-            List<ColumnMeta> columns = getColumnsMetadata(tableName);
-            tableMeta.setColumns(columns);
-            
-            // Get primary keys
-            List<String> primaryKeys = getPrimaryKeys(tableName);
-            tableMeta.setPrimaryKey(primaryKeys);
-            
-            // Get foreign keys
-            List<String> foreignKeys = getForeignKeyConstraints(tableName);
-            tableMeta.setForeignKeys(foreignKeys);
-            
-            // Get indexes
-            List<IndexMeta> indexes = getIndexes(tableName);
-            tableMeta.setIndexes(indexes);
-            
+        if (metadataRepository.hasImportedCatalog()) {
+            return getImportedTable(tableName);
+        }
+        TableMeta tableMeta = TableMeta.ofQualifiedName(tableName);
+
+        try (Connection conn = jdbcUtils.getConnection()) {
+            readTableMetadata(conn, tableMeta);
         } catch (Exception e) {
             logger.error("Error retrieving metadata for table: " + tableName, e);
         }
-        
+
         return tableMeta;
     }
 
+    /**
+     * Read columns, keys, indexes and statistics of a table over an open connection.
+     * @param conn the connection to use for every metadata call
+     * @param tableMeta the table metadata to populate
+     * @throws SQLException if any metadata call fails
+     */
+    private void readTableMetadata(Connection conn, TableMeta tableMeta) throws SQLException {
+        TableLocation location = locate(conn, tableMeta);
+
+        // Get primary keys
+        List<String> primaryKeys = readPrimaryKeys(conn, location);
+        tableMeta.setPrimaryKey(primaryKeys);
+
+        // Get columns
+        List<ColumnMeta> columns = readColumns(conn, location, primaryKeys);
+        tableMeta.setColumns(columns);
+
+        // Get foreign keys
+        List<String> foreignKeys = readForeignKeyConstraints(conn, location);
+        tableMeta.setForeignKeys(foreignKeys);
+
+        // Get indexes
+        List<IndexMeta> indexes = readIndexes(conn, location);
+        tableMeta.setIndexes(indexes);
+
+        // Get size statistics where the server exposes them
+        readTableStatistics(conn, tableMeta, location);
+    }
+
     /**
      * Get all columns metadata for a table.
      * @param tableName the table name
      * @return List of ColumnMeta objects
      */
     public List<ColumnMeta> getColumnsMetadata(String tableName) {
-        List<ColumnMeta> columns = new ArrayList<>();
-        
+        if (metadataRepository.hasImportedCatalog()) {
+            return new ArrayList<>(getImportedTable(tableName).getColumns());
+        }
         try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Get column information
-            try (ResultSet rs = metaData.getColumns(null, null, tableName, null)) {
-                Set<String> primaryKeyColumns = new HashSet<>(getPrimaryKeys(tableName));
-                Map<String, String[]> foreignKeyMap = getForeignKeyMap(tableName);
-                
-                while (rs.next()) {
-                    ColumnMeta column = new ColumnMeta();
-                    String columnName = rs.getString("COLUMN_NAME");
-                    
-                    column.setColumnName(columnName);
-                    column.setName(columnName);
-                    column.setDataType(rs.getString("TYPE_NAME"));
-                    column.setColumnSize(rs.getInt("COLUMN_SIZE"));
-                    column.setIsNullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")));
-                    column.setColumnDefault(rs.getString("COLUMN_DEF"));
-                    column.setRemarks(rs.getString("REMARKS"));
-                    column.setIsPrimaryKey(primaryKeyColumns.contains(columnName));
-                    
-                    if (foreignKeyMap.containsKey(columnName)) {
-                        column.setIsForeignKey(true);
-                        String[] fkInfo = foreignKeyMap.get(columnName);
-                        column.setForeignKeyTable(fkInfo[0]);
-                        column.setForeignKeyColumn(fkInfo[1]);
-                    } else {
-                        column.setIsForeignKey(false);
-                    }
-                    
-                    columns.add(column);
-                }
-            }
-            
-            // Get auto-increment information
-            try (ResultSet rs = metaData.getColumns(null, null, tableName, null)) {
-                while (rs.next()) {
-                    String columnName = rs.getString("COLUMN_NAME");
-                    String isAutoIncrement = rs.getString("IS_AUTOINCREMENT");
-                    
-                    for (ColumnMeta column : columns) {
-                        if (column.getColumnName().equals(columnName)) {
-                            column.setIsAutoIncrement("YES".equalsIgnoreCase(isAutoIncrement));
-                        }
-                    }
-                }
-            }
-            
+            TableLocation location = locate(conn, TableMeta.ofQualifiedName(tableName));
+            return readColumns(conn, location, readPrimaryKeys(conn, location));
         } catch (SQLException e) {
             logger.error("Error retrieving columns metadata for table: " + tableName, e);
+            return new ArrayList<>();
         }
-        
+    }
+
+    private List<ColumnMeta> readColumns(Connection conn, TableLocation location, List<String> primaryKeys) throws SQLException {
+        List<ColumnMeta> columns = new ArrayList<>();
+        Set<String> primaryKeyColumns = new HashSet<>(primaryKeys);
+        Map<String, String[]> foreignKeyMap = readForeignKeyMap(conn, location);
+
+        DatabaseMetaData metaData = conn.getMetaData();
+        // Schema and table are search patterns here; escape them so '_' matches only itself
+        String escape = metaData.getSearchStringEscape();
+        try (ResultSet rs = metaData.getColumns(location.catalog(), escape(location.schema(), escape),
+                escape(location.table(), escape), null)) {
+            while (rs.next()) {
+                ColumnMeta column = new ColumnMeta();
+                String columnName = rs.getString("COLUMN_NAME");
+
+                column.setColumnName(columnName);
+                column.setName(columnName);
+                String typeName = rs.getString("TYPE_NAME");
+                column.setDataType(typeName);
+                column.setColumnSize(rs.getInt("COLUMN_SIZE"));
+                column.setJdbcType(rs.getInt("DATA_TYPE"));
+                int scale = rs.getInt("DECIMAL_DIGITS");
+                column.setScale(rs.wasNull() ? null : scale);
+                // MySQL reports UNSIGNED only as part of the type name, e.g. "INT UNSIGNED"
+                column.setIsUnsigned(typeName != null && typeName.toUpperCase().endsWith(" UNSIGNED"));
+                column.setIsNullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")));
+                column.setColumnDefault(rs.getString("COLUMN_DEF"));
+                column.setRemarks(rs.getString("REMARKS"));
+                column.setIsPrimaryKey(primaryKeyColumns.contains(columnName));
+                column.setIsAutoIncrement("YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")));
+
+                if (foreignKeyMap.containsKey(columnName)) {
+                    column.setIsForeignKey(true);
+                    String[] fkInfo = foreignKeyMap.get(columnName);
+                    column.setForeignKeyTable(fkInfo[0]);
+                    column.setForeignKeyColumn(fkInfo[1]);
+                } else {
+                    column.setIsForeignKey(false);
+                }
+
+                columns.add(column);
+            }
+        }
+
         return columns;
     }
 
@@ -156,21 +289,26 @@ public class SchemaCrawlerService {
      * @return List of primary key column names
      */
     public List<String> getPrimaryKeys(String tableName) {
-        List<String> primaryKeys = new ArrayList<>();
-        
+        if (metadataRepository.hasImportedCatalog()) {
+            return new ArrayList<>(getImportedTable(tableName).getPrimaryKey());
+        }
         try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            try (ResultSet rs = metaData.getPrimaryKeys(null, null, tableName)) {
-                while (rs.next()) {
-                    primaryKeys.add(rs.getString("COLUMN_NAME"));
-                }
-            }
+            return readPrimaryKeys(conn, locate(conn, TableMeta.ofQualifiedName(tableName)));
         } catch (SQLException e) {
             logger.error("Error retrieving primary keys for table: " + tableName, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private List<String> readPrimaryKeys(Connection conn, TableLocation location) throws SQLException {
+        // Key columns come back ordered by name; KEY_SEQ gives their position in the key
+        SortedMap<Short, String> ordered = new TreeMap<>();
+        try (ResultSet rs = conn.getMetaData().getPrimaryKeys(location.catalog(), location.schema(), location.table())) {
+            while (rs.next()) {
+                ordered.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
         }
-        
-        return primaryKeys;
+        return new ArrayList<>(ordered.values());
     }
 
     /**
@@ -179,44 +317,52 @@ public class SchemaCrawlerService {
      * @return List of foreign key constraint names
      */
     public List<String> getForeignKeyConstraints(String tableName) {
-        List<String> foreignKeys = new ArrayList<>();
+        if (metadataRepository.hasImportedCatalog()) {
+            return new ArrayList<>(getImportedTable(tableName).getForeignKeys());
+        }
         try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            try (ResultSet rs = metaData.getImportedKeys(conn.getCatalog(), null, tableName)) {
-                while (rs.next()) {
-                    String fkName = rs.getString("FK_NAME");
-                    if (fkName != null && !foreignKeys.contains(fkName)) {
-                        foreignKeys.add(fkName);
-                    }
-                }
-            }
+            return readForeignKeyConstraints(conn, locate(conn, TableMeta.ofQualifiedName(tableName)));
         } catch (Exception e) {
             logger.error("Error retrieving foreign keys for table: " + tableName, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private List<String> readForeignKeyConstraints(Connection conn, TableLocation location) throws SQLException {
+        List<String> foreignKeys = new ArrayList<>();
+        try (ResultSet rs = conn.getMetaData().getImportedKeys(location.catalog(), location.schema(), location.table())) {
+            while (rs.next()) {
+                String fkName = rs.getString("FK_NAME");
+                if (fkName != null && !foreignKeys.contains(fkName)) {
+                    foreignKeys.add(fkName);
+                }
+            }
         }
         return foreignKeys;
     }
 
     /**
      * Get a map of foreign key columns with their referenced tables and columns.
-     * @param tableName the table name
+     * In a multi-schema crawl, tables referenced in another schema are named "schema.table".
+     * @param conn the connection to use
+     * @param location the table
      * @return Map where key is column name, value is [referencedTable, referencedColumn]
      */
-    private Map<String, String[]> getForeignKeyMap(String tableName) {
+    private Map<String, String[]> readForeignKeyMap(Connection conn, TableLocation location) throws SQLException {
         Map<String, String[]> fkMap = new HashMap<>();
-        try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            try (ResultSet rs = metaData.getImportedKeys(conn.getCatalog(), null, tableName)) {
-                while (rs.next()) {
-                    String columnName = rs.getString("FKCOLUMN_NAME");
-                    String refTable = rs.getString("PKTABLE_NAME");
-                    String refColumn = rs.getString("PKCOLUMN_NAME");
-                    if (columnName != null) {
-                        fkMap.put(columnName, new String[]{refTable, refColumn});
-                    }
+        try (ResultSet rs = conn.getMetaData().getImportedKeys(location.catalog(), location.schema(), location.table())) {
+            while (rs.next()) {
+                String columnName = rs.getString("FKCOLUMN_NAME");
+                String refTable = rs.getString("PKTABLE_NAME");
+                String refColumn = rs.getString("PKCOLUMN_NAME");
+                String refSchema = location.schema() != null ? rs.getString("PKTABLE_SCHEM") : rs.getString("PKTABLE_CAT");
+                if (location.qualifier() != null && refSchema != null && !refSchema.equals(location.qualifier())) {
+                    refTable = refSchema + "." + refTable;
+                }
+                if (columnName != null) {
+                    fkMap.put(columnName, new String[]{refTable, refColumn});
                 }
             }
-        } catch (Exception e) {
-            logger.error("Error retrieving foreign key map for table: " + tableName, e);
         }
         return fkMap;
     }
@@ -227,55 +373,793 @@ public class SchemaCrawlerService {
      * @return List of IndexMeta objects
      */
     public List<IndexMeta> getIndexes(String tableName) {
-        List<IndexMeta> indexes = new ArrayList<>();
-        
+        if (metadataRepository.hasImportedCatalog()) {
+            return new ArrayList<>(getImportedTable(tableName).getIndexes());
+        }
         try (Connection conn = jdbcUtils.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            try (ResultSet rs = metaData.getIndexInfo(null, null, tableName, false, true)) {
-                Map<String, IndexMeta> indexMap = new HashMap<>();
-                
-                while (rs.next()) {
-                    String indexName = rs.getString("INDEX_NAME");
-                    if (indexName == null || "PRIMARY".equals(indexName)) continue;
-                    
-                    // Create or get existing IndexMeta
-                    if (!indexMap.containsKey(indexName)) {
-                        IndexMeta idx = new IndexMeta(indexName);
-                        idx.setIsUnique(!rs.getBoolean("NON_UNIQUE"));
-                        idx.setIsPrimary(false);
-                        idx.setColumns(new ArrayList<>());
-                        indexMap.put(indexName, idx);
+            return readIndexes(conn, locate(conn, TableMeta.ofQualifiedName(tableName)));
+        } catch (SQLException e) {
+            logger.error("Error retrieving indexes for table: " + tableName, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private List<IndexMeta> readIndexes(Connection conn, TableLocation location) throws SQLException {
+        Map<String, IndexMeta> indexMap = new LinkedHashMap<>();
+
+        try (ResultSet rs = conn.getMetaData().getIndexInfo(location.catalog(), location.schema(), location.table(), false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                if (indexName == null || "PRIMARY".equals(indexName)) continue;
+
+                // Create or get existing IndexMeta
+                if (!indexMap.containsKey(indexName)) {
+                    IndexMeta idx = new IndexMeta(indexName);
+                    idx.setIsUnique(!rs.getBoolean("NON_UNIQUE"));
+                    idx.setIsPrimary(false);
+                    idx.setColumns(new ArrayList<>());
+                    indexMap.put(indexName, idx);
+                }
+
+                IndexMeta indexMeta = indexMap.get(indexName);
+                String columnName = rs.getString("COLUMN_NAME");
+                if (columnName != null) {
+                    indexMeta.getColumns().add(columnName);
+                }
+            }
+        }
+
+        return new ArrayList<>(indexMap.values());
+    }
+
+    /**
+     * Load row count and size estimates for a table from INFORMATION_SCHEMA.
+     * Only MySQL reports these; on other databases the statistics stay null.
+     * @param tableMeta the table metadata to populate
+     */
+    public void loadTableStatistics(TableMeta tableMeta) {
+        if (metadataRepository.hasImportedCatalog()) {
+            // DDL files carry no statistics
+            return;
+        }
+        try (Connection conn = jdbcUtils.getConnection()) {
+            readTableStatistics(conn, tableMeta, locate(conn, tableMeta));
+        } catch (SQLException e) {
+            logger.warn("Error retrieving statistics for table: " + tableMeta.getTableName(), e);
+        }
+    }
+
+    private void readTableStatistics(Connection conn, TableMeta tableMeta, TableLocation location) throws SQLException {
+        if (!JdbcUtils.isMySql(conn)) {
+            return;
+        }
+        String sql = "SELECT TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            jdbcUtils.applyQueryTimeout(stmt);
+            stmt.setString(1, location.database());
+            stmt.setString(2, location.table());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    tableMeta.setEstimatedRowCount(rs.getLong("TABLE_ROWS"));
+                    tableMeta.setDataLength(rs.getLong("DATA_LENGTH"));
+                    tableMeta.setIndexLength(rs.getLong("INDEX_LENGTH"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get metadata for many tables at once.
+     * On MySQL each kind of metadata is read with one set-based INFORMATION_SCHEMA
+     * query per chunk of table names, instead of one round trip per table and kind.
+     * Other databases fall back to per-table metadata calls over a single connection.
+     * @param tableNames the table names
+     * @return List of TableMeta objects in request order; unknown tables are omitted
+     */
+    public List<TableMeta> getTablesMetadata(List<String> tableNames) {
+        Map<String, TableMeta> found = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(tableNames));
+
+        if (metadataRepository.hasImportedCatalog()) {
+            List<TableMeta> result = new ArrayList<>();
+            for (String tableName : distinctNames) {
+                metadataRepository.getImportedTable(tableName).ifPresent(result::add);
+            }
+            return result;
+        }
+
+        try (Connection conn = jdbcUtils.getConnection()) {
+            if (JdbcUtils.isMySql(conn)) {
+                // Chunks never span schemas, so each query filters on a single TABLE_SCHEMA
+                Map<String, List<String>> bySchema = new LinkedHashMap<>();
+                for (String tableName : distinctNames) {
+                    TableMeta tableMeta = TableMeta.ofQualifiedName(tableName);
+                    bySchema.computeIfAbsent(tableMeta.getSchemaName(), schema -> new ArrayList<>()).add(tableMeta.getTableName());
+                }
+                for (Map.Entry<String, List<String>> group : bySchema.entrySet()) {
+                    String schemaName = group.getKey();
+                    String database = schemaName != null ? schemaName : conn.getCatalog();
+                    List<String> names = group.getValue();
+                    for (int from = 0; from < names.size(); from += batchChunkSize) {
+                        List<String> chunk = names.subList(from, Math.min(names.size(), from + batchChunkSize));
+                        for (TableMeta tableMeta : readTablesChunk(conn, database, schemaName, chunk)) {
+                            found.put(tableMeta.getQualifiedName(), tableMeta);
+                        }
                     }
-                    
-                    IndexMeta indexMeta = indexMap.get(indexName);
-                    String columnName = rs.getString("COLUMN_NAME");
-                    if (columnName != null) {
-                        indexMeta.getColumns().add(columnName);
+                }
+            } else {
+                for (String tableName : distinctNames) {
+                    TableMeta tableMeta = TableMeta.ofQualifiedName(tableName);
+                    readTableMetadata(conn, tableMeta);
+                    if (!tableMeta.getColumns().isEmpty()) {
+                        found.put(tableName, tableMeta);
                     }
                 }
-                
-                indexes.addAll(indexMap.values());
             }
         } catch (SQLException e) {
-            logger.error("Error retrieving indexes for table: " + tableName, e);
+            logger.error("Error retrieving metadata for table batch", e);
+        }
+
+        List<TableMeta> result = new ArrayList<>();
+        for (String tableName : distinctNames) {
+            TableMeta tableMeta = found.get(tableName);
+            if (tableMeta != null) {
+                result.add(tableMeta);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the requested table names that are absent from a batch result.
+     * @param requested the requested table names
+     * @param found the tables returned by the batch
+     * @return List of table names that were not found
+     */
+    public List<String> findMissingTables(List<String> requested, List<TableMeta> found) {
+        Set<String> foundNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (TableMeta tableMeta : found) {
+            foundNames.add(tableMeta.getQualifiedName());
+            // An unqualified request may have resolved to a table of a named schema, as imported ones are
+            foundNames.add(tableMeta.getTableName());
+        }
+        List<String> missing = new ArrayList<>();
+        for (String tableName : requested) {
+            if (!foundNames.contains(tableName) && !missing.contains(tableName)) {
+                missing.add(tableName);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Read one chunk of tables of one schema from MySQL INFORMATION_SCHEMA, one query per metadata kind.
+     * @param database the schema to read from
+     * @param schemaName the schema to record on the tables; null for the connection's database
+     * @param tableNames the table names, without schema
+     */
+    private Collection<TableMeta> readTablesChunk(Connection conn, String database, String schemaName,
+                                                  List<String> tableNames) throws SQLException {
+        Map<String, TableMeta> tables = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        String in = inClause(tableNames.size());
+        List<String> parameters = new ArrayList<>();
+        parameters.add(database);
+        parameters.addAll(tableNames);
+
+        // Columns
+        String columnSql = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, COLUMN_TYPE, "
+                + "CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, DATETIME_PRECISION, "
+                + "NUMERIC_SCALE, IS_NULLABLE, COLUMN_DEFAULT, COLUMN_COMMENT, EXTRA "
+                + "FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN " + in
+                + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+        forEachRow(conn, columnSql, parameters, tableNames.size(), rs -> {
+            String tableName = rs.getString("TABLE_NAME");
+            TableMeta tableMeta = tables.computeIfAbsent(tableName, name -> {
+                TableMeta meta = new TableMeta(name);
+                meta.setSchemaName(schemaName);
+                meta.setColumns(new ArrayList<>());
+                meta.setPrimaryKey(new ArrayList<>());
+                meta.setForeignKeys(new ArrayList<>());
+                meta.setIndexes(new ArrayList<>());
+                return meta;
+            });
+            ColumnMeta column = new ColumnMeta();
+            String columnName = rs.getString("COLUMN_NAME");
+            String dataType = rs.getString("DATA_TYPE").toUpperCase();
+            String columnType = rs.getString("COLUMN_TYPE");
+            boolean unsigned = columnType != null && columnType.toLowerCase().contains("unsigned");
+            column.setJdbcType(columnType != null && columnType.toLowerCase().startsWith("tinyint(1)")
+                    ? Integer.valueOf(Types.BOOLEAN) : JavaTypeResolver.jdbcType(dataType));
+            if (unsigned) {
+                dataType = dataType + " UNSIGNED";
+            }
+            column.setColumnName(columnName);
+            column.setName(columnName);
+            column.setDataType(dataType);
+            Long datetimePrecision = nullableLong(rs, "DATETIME_PRECISION");
+            column.setColumnSize(columnSize(rs.getString("DATA_TYPE"), nullableLong(rs, "CHARACTER_MAXIMUM_LENGTH"),
+                    nullableLong(rs, "NUMERIC_PRECISION"), datetimePrecision));
+            // getColumns reports fractional-second digits of temporal types as DECIMAL_DIGITS
+            Long scale = nullableLong(rs, "NUMERIC_SCALE");
+            column.setScale(scale != null ? Integer.valueOf(scale.intValue())
+                    : datetimePrecision != null ? Integer.valueOf(datetimePrecision.intValue()) : null);
+            column.setIsUnsigned(unsigned);
+            column.setIsNullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")));
+            column.setColumnDefault(rs.getString("COLUMN_DEFAULT"));
+            column.setRemarks(rs.getString("COLUMN_COMMENT"));
+            String extra = rs.getString("EXTRA");
+            column.setIsAutoIncrement(extra != null && extra.toLowerCase().contains("auto_increment"));
+            column.setIsPrimaryKey(false);
+            column.setIsForeignKey(false);
+            tableMeta.getColumns().add(column);
+        });
+
+        // Primary keys
+        String primaryKeySql = "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE "
+                + "WHERE TABLE_SCHEMA = ? AND CONSTRAINT_NAME = 'PRIMARY' AND TABLE_NAME IN " + in
+                + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+        forEachRow(conn, primaryKeySql, parameters, tableNames.size(), rs -> {
+            TableMeta tableMeta = tables.get(rs.getString("TABLE_NAME"));
+            if (tableMeta != null) {
+                String columnName = rs.getString("COLUMN_NAME");
+                tableMeta.getPrimaryKey().add(columnName);
+                findColumn(tableMeta, columnName).ifPresent(column -> column.setIsPrimaryKey(true));
+            }
+        });
+
+        // Foreign keys
+        String foreignKeySql = "SELECT TABLE_NAME, CONSTRAINT_NAME, COLUMN_NAME, REFERENCED_TABLE_SCHEMA, REFERENCED_TABLE_NAME, REFERENCED_COLUMN_NAME "
+                + "FROM information_schema.KEY_COLUMN_USAGE WHERE TABLE_SCHEMA = ? "
+                + "AND REFERENCED_TABLE_NAME IS NOT NULL AND TABLE_NAME IN " + in
+                + " ORDER BY TABLE_NAME, CONSTRAINT_NAME, ORDINAL_POSITION";
+        forEachRow(conn, foreignKeySql, parameters, tableNames.size(), rs -> {
+            TableMeta tableMeta = tables.get(rs.getString("TABLE_NAME"));
+            if (tableMeta != null) {
+                String fkName = rs.getString("CONSTRAINT_NAME");
+                if (!tableMeta.getForeignKeys().contains(fkName)) {
+                    tableMeta.getForeignKeys().add(fkName);
+                }
+                String refSchema = rs.getString("REFERENCED_TABLE_SCHEMA");
+                String refTable = schemaName != null && refSchema != null && !refSchema.equals(schemaName)
+                        ? refSchema + "." + rs.getString("REFERENCED_TABLE_NAME") : rs.getString("REFERENCED_TABLE_NAME");
+                String refColumn = rs.getString("REFERENCED_COLUMN_NAME");
+                findColumn(tableMeta, rs.getString("COLUMN_NAME")).ifPresent(column -> {
+                    column.setIsForeignKey(true);
+                    column.setForeignKeyTable(refTable);
+                    column.setForeignKeyColumn(refColumn);
+                });
+            }
+        });
+
+        // Indexes
+        String indexSql = "SELECT TABLE_NAME, INDEX_NAME, NON_UNIQUE, COLUMN_NAME FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = ? AND INDEX_NAME <> 'PRIMARY' AND TABLE_NAME IN " + in
+                + " ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+        forEachRow(conn, indexSql, parameters, tableNames.size(), rs -> {
+            TableMeta tableMeta = tables.get(rs.getString("TABLE_NAME"));
+            if (tableMeta != null) {
+                String indexName = rs.getString("INDEX_NAME");
+                IndexMeta index = null;
+                for (IndexMeta existing : tableMeta.getIndexes()) {
+                    if (existing.getIndexName().equals(indexName)) {
+                        index = existing;
+                    }
+                }
+                if (index == null) {
+                    index = new IndexMeta(indexName);
+                    index.setIsUnique(rs.getInt("NON_UNIQUE") == 0);
+                    index.setIsPrimary(false);
+                    index.setColumns(new ArrayList<>());
+                    tableMeta.getIndexes().add(index);
+                }
+                String columnName = rs.getString("COLUMN_NAME");
+                if (columnName != null) {
+                    index.getColumns().add(columnName);
+                }
+            }
+        });
+
+        // Statistics
+        String statisticsSql = "SELECT TABLE_NAME, TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN " + in;
+        forEachRow(conn, statisticsSql, parameters, tableNames.size(), rs -> {
+            TableMeta tableMeta = tables.get(rs.getString("TABLE_NAME"));
+            if (tableMeta != null) {
+                tableMeta.setEstimatedRowCount(rs.getLong("TABLE_ROWS"));
+                tableMeta.setDataLength(rs.getLong("DATA_LENGTH"));
+                tableMeta.setIndexLength(rs.getLong("INDEX_LENGTH"));
+            }
+        });
+
+        return tables.values();
+    }
+
+    /**
+     * Column size as Connector/J's getColumns reports it, so both crawl paths fingerprint alike:
+     * temporal types report their display width including fractional seconds, everything else
+     * its character length or numeric precision.
+     */
+    static int columnSize(String dataType, Long characterLength, Long numericPrecision, Long datetimePrecision) {
+        int fraction = datetimePrecision != null && datetimePrecision > 0 ? datetimePrecision.intValue() + 1 : 0;
+        switch (dataType.toLowerCase()) {
+            case "date":
+                return 10;
+            case "time":
+                return 8 + fraction;
+            case "datetime":
+            case "timestamp":
+                return 19 + fraction;
+            case "year":
+                return 4;
+            default:
+                if (characterLength != null) {
+                    return (int) Math.min(Integer.MAX_VALUE, characterLength);
+                }
+                return numericPrecision != null ? numericPrecision.intValue() : 0;
+        }
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private String inClause(int size) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < size; i++) {
+            joiner.add("?");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Run a query and hand each row to a handler.
+     * @param tableCount the number of tables the query reads, charged against the rate limit
+     */
+    private void forEachRow(Connection conn, String sql, List<String> parameters, int tableCount,
+                            RowHandler handler) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            jdbcUtils.applyQueryTimeout(stmt);
+            jdbcUtils.chargeTableQuery(tableCount);
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setString(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a table from the imported catalog, or an empty table as a crawl of an unknown table returns.
+     */
+    private TableMeta getImportedTable(String tableName) {
+        return metadataRepository.getImportedTable(tableName).orElseGet(() -> {
+            TableMeta tableMeta = new TableMeta(tableName);
+            tableMeta.setColumns(new ArrayList<>());
+            tableMeta.setPrimaryKey(new ArrayList<>());
+            tableMeta.setForeignKeys(new ArrayList<>());
+            tableMeta.setIndexes(new ArrayList<>());
+            return tableMeta;
+        });
+    }
+
+    private Optional<ColumnMeta> findColumn(TableMeta tableMeta, String columnName) {
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            if (column.getColumnName().equalsIgnoreCase(columnName)) {
+                return Optional.of(column);
+            }
         }
-        
-        return indexes;
+        return Optional.empty();
     }
 
     /**
-     * Get all tables metadata.
+     * Get all tables metadata. The crawled tables are also stored in the metadata cache.
+     * Tables that fail or are not reached before the crawl deadline are left out; use
+     * {@link #crawlAllTablesMetadata()} to find out which.
      * @return List of TableMeta objects for all tables
      */
     public List<TableMeta> getAllTablesMetadata() {
-        List<TableMeta> allTables = new ArrayList<>();
+        return crawlAllTablesMetadata().getTables();
+    }
+
+    /**
+     * Crawl all tables within the configured crawl deadline. The crawled tables are stored
+     * in the metadata cache, and crawls of the live database are recorded in the schema history.
+     * @return CrawlResult with the crawled tables in catalog order, and the tables that failed or timed out
+     */
+    public CrawlResult crawlAllTablesMetadata() {
         List<String> tableNames = getAllTables();
-        
-        for (String tableName : tableNames) {
-            allTables.add(getTableMetadata(tableName));
+        TableMeta[] crawled = new TableMeta[tableNames.size()];
+        CrawlResult result = crawlTables(tableNames, new CrawlListener() {
+            @Override
+            public void tableCompleted(TableMeta tableMeta, int index, int total) {
+                crawled[index] = tableMeta;
+            }
+        }, crawlDeadlineMs);
+
+        List<TableMeta> allTables = new ArrayList<>();
+        for (int i = 0; i < crawled.length; i++) {
+            if (crawled[i] != null) {
+                allTables.add(crawled[i]);
+                metadataRepository.saveTableMetadata(tableNames.get(i), crawled[i]);
+            }
+        }
+        result.setTables(allTables);
+        if (!result.isComplete()) {
+            logger.warn("Crawl returned partial results: {}", result);
+        }
+        if (!metadataRepository.hasImportedCatalog()) {
+            schemaHistoryService.recordCrawl(result);
+        }
+        return result;
+    }
+
+    /**
+     * Crawl all tables one at a time, reporting each table to a listener as it completes.
+     * Tables are handed to the listener instead of being collected, so memory stays flat
+     * however large the catalog is. For the same reason they are not stored in the metadata cache.
+     * @param listener receives progress callbacks on the calling thread
+     * @return CrawlResult summarising the crawl, without the tables themselves
+     */
+    public CrawlResult crawlAllTables(CrawlListener listener) {
+        return crawlTables(getAllTables(), listener, 0);
+    }
+
+    /**
+     * Crawl the given tables without a deadline.
+     * @param tableNames the tables to crawl
+     * @param listener receives progress callbacks on the calling thread
+     * @return CrawlResult summarising the crawl, without the tables themselves
+     */
+    public CrawlResult crawlTables(List<String> tableNames, CrawlListener listener) {
+        return crawlTables(tableNames, listener, 0);
+    }
+
+    /**
+     * Crawl the given tables one at a time, reporting each table to a listener as it completes.
+     * A table that fails, for instance because a query timed out on a metadata lock, does not
+     * hold up the others: it is retried in a later pass, up to the configured number of retry
+     * passes. Once the deadline passes the crawl stops and reports the tables it did not reach.
+     * The crawl also stops early if the calling thread is interrupted. The crawled tables
+     * are only handed to the listener; they are not kept in the metadata cache.
+     * <p>
+     * Tables of different schemas are crawled one schema per worker, up to the configured
+     * parallelism; progress callbacks are still delivered one at a time on the calling thread.
+     * @param tableNames the tables to crawl
+     * @param listener receives progress callbacks
+     * @param deadlineMs time budget for the whole crawl in milliseconds, or 0 for none
+     * @return CrawlResult summarising the crawl, without the tables themselves
+     */
+    public CrawlResult crawlTables(List<String> tableNames, CrawlListener listener, long deadlineMs) {
+        long start = System.currentTimeMillis();
+        if (metadataRepository.hasImportedCatalog()) {
+            return crawlImportedTables(tableNames, listener, start);
+        }
+        long deadline = deadlineMs > 0 ? start + deadlineMs : Long.MAX_VALUE;
+        Map<String, List<Integer>> bySchema = new LinkedHashMap<>();
+        for (int i = 0; i < tableNames.size(); i++) {
+            bySchema.computeIfAbsent(TableMeta.ofQualifiedName(tableNames.get(i)).getSchemaName(), schema -> new ArrayList<>()).add(i);
+        }
+        if (bySchema.size() > 1 && schemaParallelism > 1) {
+            return crawlSchemasInParallel(tableNames, bySchema.values(), listener, deadline, start);
+        }
+        return crawlSequentially(tableNames, listener, deadline, start);
+    }
+
+    /**
+     * Crawl each schema's tables on a worker of the schema pool and merge the results.
+     * Workers queue their progress events and the calling thread delivers them, so the
+     * listener sees every table under its position in the whole crawl, one callback at a
+     * time, and a slow listener never stalls a worker while it holds a connection. Only
+     * the connection callbacks run on the workers. When the crawl stops early the workers
+     * are cancelled and awaited, and no callback is delivered after this method returns.
+     */
+    private CrawlResult crawlSchemasInParallel(List<String> tableNames, Collection<List<Integer>> groups,
+                                               CrawlListener listener, long deadline, long start) {
+        int total = tableNames.size();
+        // Bounded, so a slow listener holds the workers back between tables instead of buffering results
+        BlockingQueue<Runnable> events = new ArrayBlockingQueue<>(4 * schemaParallelism);
+        AtomicBoolean stopped = new AtomicBoolean();
+        // The calling thread is one party; each running worker registers as another
+        Phaser activeWorkers = new Phaser(1);
+        List<Future<CrawlResult>> futures = new ArrayList<>();
+        for (List<Integer> positions : groups) {
+            List<String> names = new ArrayList<>();
+            for (int position : positions) {
+                names.add(tableNames.get(position));
+            }
+            CrawlListener groupListener = new CrawlListener() {
+                @Override
+                public void tableStarted(String tableName, int index, int groupTotal) {
+                    deliver(() -> listener.tableStarted(tableName, positions.get(index), total));
+                }
+
+                @Override
+                public void connectionOpened(Connection connection) {
+                    listener.connectionOpened(connection);
+                }
+
+                @Override
+                public void connectionClosed(Connection connection) {
+                    listener.connectionClosed(connection);
+                }
+
+                @Override
+                public void tableCompleted(TableMeta tableMeta, int index, int groupTotal) {
+                    deliver(() -> listener.tableCompleted(tableMeta, positions.get(index), total));
+                }
+
+                @Override
+                public void tableFailed(String tableName, Exception error) {
+                    deliver(() -> listener.tableFailed(tableName, error));
+                }
+
+                private void deliver(Runnable event) {
+                    if (stopped.get()) {
+                        return;
+                    }
+                    try {
+                        events.put(event);
+                    } catch (InterruptedException e) {
+                        // The crawl loop sees the interrupt and stops
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            futures.add(schemaExecutor.submit(() -> {
+                activeWorkers.register();
+                try {
+                    return stopped.get() ? new CrawlResult() : crawlSequentially(names, groupListener, deadline, start);
+                } finally {
+                    activeWorkers.arriveAndDeregister();
+                }
+            }));
+        }
+
+        boolean complete = true;
+        try {
+            while (!futures.stream().allMatch(Future::isDone) || !events.isEmpty()) {
+                Runnable event = events.poll(20, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    event.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.info("Crawl interrupted, stopping {} schema workers", futures.size());
+            stopWorkers(futures, events, stopped, activeWorkers);
+            Thread.currentThread().interrupt();
+            complete = false;
+        } catch (RuntimeException e) {
+            // A listener that throws stops the crawl, as it does on the calling thread
+            stopWorkers(futures, events, stopped, activeWorkers);
+            throw e;
+        }
+
+        CrawlResult result = new CrawlResult();
+        int crawled = 0;
+        int passes = 0;
+        for (Future<CrawlResult> future : futures) {
+            if (future.isCancelled()) {
+                continue;
+            }
+            CrawlResult part;
+            try {
+                part = future.get();
+            } catch (InterruptedException e) {
+                // Unreachable: every remaining future is done
+                Thread.currentThread().interrupt();
+                continue;
+            } catch (ExecutionException e) {
+                stopWorkers(futures, events, stopped, activeWorkers);
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            result.getFailedTables().putAll(part.getFailedTables());
+            result.getTimedOutTables().addAll(part.getTimedOutTables());
+            crawled += part.getTablesCrawled();
+            passes = Math.max(passes, part.getPasses());
+            complete &= part.isComplete();
+        }
+        result.setTablesCrawled(crawled);
+        result.setPasses(passes);
+        result.setComplete(complete);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Cancel the schema workers, drop their queued events and wait until none is running,
+     * so no worker reads on or reports to a crawl that has ended. The phaser parks rather
+     * than waiting on a monitor, so a virtual thread waiting here does not pin its carrier,
+     * and it keeps waiting through interrupts, leaving the interrupt status set.
+     */
+    private void stopWorkers(List<Future<CrawlResult>> futures, BlockingQueue<Runnable> events,
+                             AtomicBoolean stopped, Phaser activeWorkers) {
+        stopped.set(true);
+        futures.forEach(future -> future.cancel(true));
+        events.clear();
+        activeWorkers.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Crawl tables one at a time on the calling thread, with retry passes, until the deadline.
+     */
+    private CrawlResult crawlSequentially(List<String> tableNames, CrawlListener listener, long deadline, long start) {
+        int total = tableNames.size();
+        int crawled = 0;
+        int passes = 0;
+        boolean interrupted = false;
+        List<String> timedOut = new ArrayList<>();
+        Map<Integer, SQLException> failures = new TreeMap<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            pending.add(i);
+        }
+
+        crawl:
+        while (!pending.isEmpty() && passes <= crawlRetryPasses) {
+            passes++;
+            List<Integer> retry = new ArrayList<>();
+            for (int k = 0; k < pending.size(); k++) {
+                int i = pending.get(k);
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.info("Crawl interrupted after {} of {} tables", crawled, total);
+                    interrupted = true;
+                    break crawl;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    for (int index : pending.subList(k, pending.size())) {
+                        if (!failures.containsKey(index)) {
+                            timedOut.add(tableNames.get(index));
+                        }
+                    }
+                    logger.warn("Crawl deadline passed after {} ms with {} tables not reached",
+                            System.currentTimeMillis() - start, timedOut.size());
+                    break crawl;
+                }
+                String tableName = tableNames.get(i);
+                listener.tableStarted(tableName, i, total);
+                TableMeta tableMeta = TableMeta.ofQualifiedName(tableName);
+                try (Connection conn = jdbcUtils.getConnection(remaining)) {
+                    listener.connectionOpened(conn);
+                    try {
+                        readTableMetadata(conn, tableMeta);
+                    } finally {
+                        listener.connectionClosed(conn);
+                    }
+                } catch (SQLException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        logger.info("Crawl interrupted while reading table {}", tableName);
+                        interrupted = true;
+                        break crawl;
+                    }
+                    logger.warn("Error retrieving metadata for table {} in pass {}: {}", tableName, passes, e.getMessage());
+                    failures.put(i, e);
+                    retry.add(i);
+                    continue;
+                }
+                failures.remove(i);
+                crawled++;
+                listener.tableCompleted(tableMeta, i, total);
+            }
+            pending = retry;
         }
-        
-        return allTables;
+
+        CrawlResult result = new CrawlResult();
+        for (Map.Entry<Integer, SQLException> failure : failures.entrySet()) {
+            String tableName = tableNames.get(failure.getKey());
+            logger.error("Error retrieving metadata for table: " + tableName, failure.getValue());
+            result.getFailedTables().put(tableName, String.valueOf(failure.getValue().getMessage()));
+            listener.tableFailed(tableName, failure.getValue());
+        }
+        result.setTimedOutTables(timedOut);
+        result.setTablesCrawled(crawled);
+        result.setPasses(passes);
+        result.setComplete(!interrupted && failures.isEmpty() && timedOut.isEmpty());
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Serve a crawl from the imported catalog; it cannot fail or time out.
+     */
+    private CrawlResult crawlImportedTables(List<String> tableNames, CrawlListener listener, long start) {
+        int total = tableNames.size();
+        int crawled = 0;
+        for (int i = 0; i < total && !Thread.currentThread().isInterrupted(); i++) {
+            String tableName = tableNames.get(i);
+            listener.tableStarted(tableName, i, total);
+            TableMeta tableMeta = getImportedTable(tableName);
+            crawled++;
+            listener.tableCompleted(tableMeta, i, total);
+        }
+        CrawlResult result = new CrawlResult();
+        result.setTablesCrawled(crawled);
+        result.setPasses(1);
+        result.setComplete(crawled == total);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Resolve the catalog and schema arguments of DatabaseMetaData calls for a table.
+     */
+    private static TableLocation locate(Connection conn, TableMeta tableMeta) throws SQLException {
+        boolean catalogs = schemasAreCatalogs(conn.getMetaData());
+        String schemaName = tableMeta.getSchemaName();
+        if (schemaName == null) {
+            return new TableLocation(conn.getCatalog(), catalogs ? null : conn.getSchema(), tableMeta.getTableName(), null);
+        }
+        return catalogs ? new TableLocation(schemaName, null, tableMeta.getTableName(), schemaName)
+                : new TableLocation(conn.getCatalog(), schemaName, tableMeta.getTableName(), schemaName);
+    }
+
+    /**
+     * MySQL's driver reports databases as catalogs and has no schemas; most others have schemas.
+     */
+    private static boolean schemasAreCatalogs(DatabaseMetaData metaData) throws SQLException {
+        return metaData.supportsCatalogsInTableDefinitions() && !metaData.supportsSchemasInTableDefinitions();
+    }
+
+    /**
+     * Fold a scope pattern to the case the database stores unquoted identifiers in, since
+     * metadata patterns match case-sensitively while scope patterns ignore case. Where the
+     * database keeps mixed case the pattern cannot be folded and selects everything instead.
+     */
+    private static String foldCase(DatabaseMetaData metaData, String pattern) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return pattern.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return pattern.toLowerCase(Locale.ROOT);
+        }
+        return "%";
+    }
+
+    /**
+     * Escape the search pattern wildcards in a name.
+     */
+    private static String escape(String name, String escape) {
+        if (name == null || escape == null || escape.isEmpty()) {
+            return name;
+        }
+        return name.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        schemaExecutor.shutdownNow();
+    }
+
+    /**
+     * Where a table lives, as DatabaseMetaData calls address it.
+     * @param catalog the catalog argument
+     * @param schema the schema argument; null where schemas are catalogs
+     * @param table the table name, without schema
+     * @param qualifier the schema the crawl names the table with; null for the connection's own
+     */
+    private record TableLocation(String catalog, String schema, String table, String qualifier) {
+
+        /**
+         * The schema as MySQL's INFORMATION_SCHEMA names it.
+         */
+        String database() {
+            return schema != null ? schema : catalog;
+        }
+    }
+
+    /**
+     * Callback for rows of a set-based metadata query.
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
     }
-}
\ No newline at end of file
+}
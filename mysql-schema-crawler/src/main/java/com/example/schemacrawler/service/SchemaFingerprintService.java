@@ -0,0 +1,326 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.util.CrawlScope;
+import com.example.schemacrawler.util.JdbcUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for computing stable fingerprints of the crawled schema, used as HTTP ETags.
+ * On MySQL the fingerprint comes from a single checksum query over INFORMATION_SCHEMA,
+ * so an unchanged schema is answered without crawling. Other databases have no such
+ * query; there the crawl result itself is hashed, which still saves the response body.
+ * An imported catalog is always fingerprinted from its tables.
+ * Table statistics (row counts, sizes) are deliberately not part of the fingerprint, so
+ * the ETags built from it are weak: a 304 means the structure is unchanged, not the bytes.
+ */
+@Service
+public class SchemaFingerprintService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaFingerprintService.class);
+
+    private static final String SCHEMA_SCOPE = "";
+
+    /**
+     * Response formats in the order Spring MVC's message converters offer them, with the
+     * suffix each adds to the representation name; JSON keeps the bare name.
+     */
+    private static final Map<MediaType, String> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put(MediaType.APPLICATION_JSON, "");
+        FORMATS.put(MediaType.parseMediaType("application/x-jackson-smile"), "-smile");
+        FORMATS.put(MediaType.APPLICATION_CBOR, "-cbor");
+    }
+
+    private static final String CHECKSUM_SQL = "SELECT "
+            + "(SELECT CONCAT(COUNT(*), ':', COALESCE(BIT_XOR(CRC32(CONCAT_WS('|', TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, "
+            + "ORDINAL_POSITION, COLUMN_TYPE, IS_NULLABLE, IFNULL(COLUMN_DEFAULT, '<null>'), EXTRA, COLUMN_COMMENT))), 0), ':', "
+            + "COALESCE(SUM(CRC32(CONCAT_WS('|', TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION, COLUMN_TYPE))), 0)) "
+            + "FROM information_schema.COLUMNS WHERE %1$s), "
+            + "(SELECT CONCAT(COUNT(*), ':', COALESCE(BIT_XOR(CRC32(CONCAT_WS('|', TABLE_SCHEMA, TABLE_NAME, INDEX_NAME, "
+            + "NON_UNIQUE, SEQ_IN_INDEX, COLUMN_NAME))), 0)) "
+            + "FROM information_schema.STATISTICS WHERE %1$s), "
+            + "(SELECT CONCAT(COUNT(*), ':', COALESCE(BIT_XOR(CRC32(CONCAT_WS('|', TABLE_SCHEMA, TABLE_NAME, CONSTRAINT_NAME, "
+            + "COLUMN_NAME, ORDINAL_POSITION, IFNULL(REFERENCED_TABLE_NAME, ''), IFNULL(REFERENCED_COLUMN_NAME, '')))), 0)) "
+            + "FROM information_schema.KEY_COLUMN_USAGE WHERE %1$s)";
+
+    private final JdbcUtils jdbcUtils;
+    private final MetadataRepository metadataRepository;
+    private final CrawlScope crawlScope;
+    private final Map<String, Observation> observations = new ConcurrentHashMap<>();
+    private final AtomicBoolean checksumFailureLogged = new AtomicBoolean();
+
+    @Autowired
+    public SchemaFingerprintService(JdbcUtils jdbcUtils, MetadataRepository metadataRepository, CrawlScope crawlScope) {
+        this.jdbcUtils = jdbcUtils;
+        this.metadataRepository = metadataRepository;
+        this.crawlScope = crawlScope;
+    }
+
+    /**
+     * Get the fingerprint of the whole schema without crawling it.
+     * @return Fingerprint from the checksum query, or null if the database has none
+     */
+    public Fingerprint getSchemaFingerprint() {
+        String value = checksum(null);
+        return value != null ? observe(SCHEMA_SCOPE, value) : null;
+    }
+
+    /**
+     * Get the fingerprint of a single table without crawling it.
+     * @param tableName the table name, or "schema.table"
+     * @return Fingerprint from the checksum query, or null if the database has none
+     */
+    public Fingerprint getTableFingerprint(String tableName) {
+        String value = checksum(tableName);
+        return value != null ? observe(tableName, value) : null;
+    }
+
+    /**
+     * Get the fingerprint of an already crawled schema.
+     * @param tables metadata of all tables
+     * @return Fingerprint hashed from the crawled metadata
+     */
+    public Fingerprint getSchemaFingerprint(Collection<TableMeta> tables) {
+        List<String> tableFingerprints = new ArrayList<>();
+        for (TableMeta table : tables) {
+            tableFingerprints.add(table.getQualifiedName() + "=" + fingerprint(table));
+        }
+        Collections.sort(tableFingerprints);
+        return observe(SCHEMA_SCOPE, sha256(String.join("\n", tableFingerprints)));
+    }
+
+    /**
+     * Get the fingerprint of an already crawled table.
+     * @param tableMeta the table metadata
+     * @return Fingerprint hashed from the crawled metadata
+     */
+    public Fingerprint getTableFingerprint(TableMeta tableMeta) {
+        return observe(tableMeta.getQualifiedName(), fingerprint(tableMeta));
+    }
+
+    /**
+     * Compute the fingerprint of crawled table metadata.
+     * @param tableMeta the table metadata
+     * @return hex-encoded hash of the table's structure
+     */
+    public String fingerprint(TableMeta tableMeta) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(tableMeta.getQualifiedName()).append('\n');
+        if (tableMeta.getRemarks() != null) {
+            // Only present when set, so tables without a comment keep their recorded history hash
+            canonical.append("R|").append(tableMeta.getRemarks()).append('\n');
+        }
+        if (tableMeta.getColumns() != null) {
+            for (ColumnMeta column : tableMeta.getColumns()) {
+                canonical.append("C|").append(column.getColumnName())
+                        .append('|').append(column.getDataType())
+                        .append('|').append(column.getColumnSize())
+                        .append('|').append(column.getScale())
+                        .append('|').append(column.getIsNullable())
+                        .append('|').append(column.getColumnDefault())
+                        .append('|').append(column.getIsAutoIncrement())
+                        .append('|').append(column.getIsPrimaryKey())
+                        .append('|').append(column.getForeignKeyTable())
+                        .append('|').append(column.getForeignKeyColumn())
+                        .append('|').append(column.getRemarks())
+                        .append('\n');
+            }
+        }
+        canonical.append("P|").append(tableMeta.getPrimaryKey()).append('\n');
+        if (tableMeta.getForeignKeys() != null) {
+            List<String> foreignKeys = new ArrayList<>(tableMeta.getForeignKeys());
+            Collections.sort(foreignKeys);
+            canonical.append("F|").append(foreignKeys).append('\n');
+        }
+        if (tableMeta.getIndexes() != null) {
+            List<IndexMeta> indexes = new ArrayList<>(tableMeta.getIndexes());
+            indexes.sort(Comparator.comparing(IndexMeta::getIndexName));
+            for (IndexMeta index : indexes) {
+                canonical.append("I|").append(index.getIndexName())
+                        .append('|').append(index.getIsUnique())
+                        .append('|').append(index.getColumns())
+                        .append('\n');
+            }
+        }
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * Name the representation an ETag is built for: the response kind plus the format that
+     * content negotiation picks for the Accept header. JSON, CBOR and Smile bodies of the
+     * same fingerprint differ byte for byte, so each gets its own tag.
+     * @param kind short name of the response kind
+     * @param accept the request's Accept header, may be null
+     * @return the representation name to pass to {@link #matches} and {@link Fingerprint#etag}
+     */
+    public static String representation(String kind, String accept) {
+        if (accept == null || accept.isBlank()) {
+            return kind;
+        }
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                for (Map.Entry<MediaType, String> format : FORMATS.entrySet()) {
+                    if (type.includes(format.getKey())) {
+                        return kind + format.getValue();
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Spring rejects the request with 406 anyway; the name is never used
+        }
+        return kind;
+    }
+
+    /**
+     * Check whether an If-None-Match header matches the ETag of a fingerprint.
+     * @param ifNoneMatch the request header value, may be null
+     * @param fingerprint the current fingerprint, may be null if it is not known yet
+     * @param representation short name of the response kind
+     * @return true if the client's copy is current
+     */
+    public boolean matches(String ifNoneMatch, Fingerprint fingerprint, String representation) {
+        if (fingerprint == null || ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        // If-None-Match uses weak comparison, so the W/ prefix is ignored on both sides
+        String etag = fingerprint.etag(representation).substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run the INFORMATION_SCHEMA checksum query, returning null where it is not available.
+     * The whole-schema checksum covers the tables of the crawl scope.
+     */
+    private String checksum(String tableName) {
+        if (metadataRepository.hasImportedCatalog()) {
+            // The live schema says nothing about an imported catalog
+            return null;
+        }
+        try (Connection conn = jdbcUtils.getConnection()) {
+            if (!JdbcUtils.isMySql(conn)) {
+                return null;
+            }
+            List<String> parameters = new ArrayList<>();
+            String filter;
+            if (tableName == null) {
+                filter = crawlScope.schemaPredicate("TABLE_SCHEMA", parameters) + " AND "
+                        + crawlScope.tablePredicate("TABLE_NAME", parameters);
+            } else {
+                TableMeta table = TableMeta.ofQualifiedName(tableName);
+                if (table.getSchemaName() != null) {
+                    filter = "TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+                    parameters.add(table.getSchemaName());
+                } else {
+                    filter = "TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+                }
+                parameters.add(table.getTableName());
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(CHECKSUM_SQL, filter))) {
+                jdbcUtils.applyQueryTimeout(stmt);
+                // Each of the three subqueries takes the same parameters
+                for (int i = 0; i < 3 * parameters.size(); i++) {
+                    stmt.setString(i + 1, parameters.get(i % parameters.size()));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    return sha256(rs.getString(1) + "/" + rs.getString(2) + "/" + rs.getString(3));
+                }
+            }
+        } catch (SQLException e) {
+            // Runs on every conditional request, so only the first failure is logged at WARN
+            if (checksumFailureLogged.compareAndSet(false, true)) {
+                logger.warn("Schema checksum query failed, fingerprinting the crawl result instead: {}", e.toString());
+            } else {
+                logger.debug("Schema checksum query failed", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Record the fingerprint for a scope, keeping the time it was first seen as Last-Modified.
+     */
+    private Fingerprint observe(String scope, String value) {
+        Observation observation = observations.compute(scope, (key, previous) ->
+                previous != null && previous.value.equals(value) ? previous : new Observation(value, System.currentTimeMillis()));
+        return new Fingerprint(observation.value, observation.since);
+    }
+
+    private static String sha256(String input) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Observation(String value, long since) {}
+
+    /**
+     * Fingerprint of a schema or table together with the time it was first observed.
+     */
+    public static class Fingerprint {
+        private final String value;
+        private final long lastModified;
+
+        public Fingerprint(String value, long lastModified) {
+            this.value = value;
+            this.lastModified = lastModified;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Build a weak ETag for a representation of this fingerprint.
+         * It is weak because table statistics may change without changing the fingerprint.
+         * @param representation short name of the response kind, so different endpoints get different tags
+         * @return the weak, quoted ETag
+         */
+        public String etag(String representation) {
+            return "W/\"" + representation + "-" + value + "\"";
+        }
+    }
+}
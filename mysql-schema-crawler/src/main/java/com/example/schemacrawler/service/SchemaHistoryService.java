@@ -0,0 +1,579 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.SchemaChange;
+import com.example.schemacrawler.model.SchemaVersion;
+import com.example.schemacrawler.model.TableMeta;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service keeping an append-only, file-backed history of the crawled schema.
+ * The history directory holds two logs:
+ * <ul>
+ *   <li>{@value #TABLES_FILE}: table structures addressed by their fingerprint, one
+ *   "hash json" line per distinct structure, so a table is stored once however many
+ *   versions share it;</li>
+ *   <li>{@value #VERSIONS_FILE}: one JSON line per version naming the tables added or
+ *   changed (with their new hash) and removed since the previous version. Every
+ *   checkpoint-interval-th version also carries the complete name-to-hash catalog, so
+ *   reading any version replays at most that many lines.</li>
+ * </ul>
+ * A crawl that changes nothing appends nothing, so storage grows with the volume of schema
+ * changes rather than with the number of crawls. Table statistics are not recorded.
+ */
+@Service
+public class SchemaHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaHistoryService.class);
+
+    static final String TABLES_FILE = "tables.log";
+    static final String VERSIONS_FILE = "versions.log";
+
+    private static final List<String> STATISTICS = List.of("estimatedRowCount", "dataLength", "indexLength");
+
+    private final SchemaFingerprintService schemaFingerprintService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader tableReader;
+    private final Path directory;
+    private final int checkpointInterval;
+    private final boolean recordCrawls;
+
+    /** Offset of each stored table structure in the tables log, by hash. */
+    private final Map<String, Long> tableOffsets = new ConcurrentHashMap<>();
+    /** Immutable snapshot of the version index; replaced on every append. */
+    private volatile List<VersionEntry> versions = List.of();
+    /** Catalog of the latest version; guarded by this. */
+    private Map<String, String> latestCatalog = new TreeMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public SchemaHistoryService(SchemaFingerprintService schemaFingerprintService, ObjectMapper objectMapper,
+                                @Value("${crawler.history.dir:schema-history}") String directory,
+                                @Value("${crawler.history.checkpoint-interval:16}") int checkpointInterval,
+                                @Value("${crawler.history.record-crawls:true}") boolean recordCrawls) {
+        this.schemaFingerprintService = schemaFingerprintService;
+        this.objectMapper = objectMapper;
+        this.tableReader = objectMapper.readerFor(TableMeta.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.directory = Path.of(directory);
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.recordCrawls = recordCrawls;
+    }
+
+    /**
+     * Record a finished full crawl if recording of crawls is enabled. Failures are logged
+     * rather than thrown, so the history never fails a crawl.
+     * @param crawl the crawl result including its tables
+     */
+    public void recordCrawl(CrawlResult crawl) {
+        if (!recordCrawls || crawl.getTables() == null) {
+            return;
+        }
+        try {
+            record(crawl.getTables(), crawl.isComplete());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not record crawl in the schema history at {}", directory, e);
+        }
+    }
+
+    /**
+     * Record the crawled tables as a new version if anything changed since the latest one.
+     * @param tables the crawled tables
+     * @param complete whether the crawl covered every table; only a complete crawl records
+     *                 tables that are missing from it as removed
+     * @return the new version, or empty if the schema is unchanged
+     * @throws IOException if the history cannot be read or written
+     */
+    public synchronized Optional<SchemaVersion> record(Collection<TableMeta> tables, boolean complete) throws IOException {
+        load();
+        Map<String, TableMeta> crawled = new TreeMap<>();
+        Map<String, String> added = new TreeMap<>();
+        Map<String, String> changed = new TreeMap<>();
+        for (TableMeta tableMeta : tables) {
+            String hash = schemaFingerprintService.fingerprint(tableMeta);
+            String tableName = tableMeta.getQualifiedName();
+            String previous = latestCatalog.get(tableName);
+            crawled.put(tableName, tableMeta);
+            if (previous == null) {
+                added.put(tableName, hash);
+            } else if (!previous.equals(hash)) {
+                changed.put(tableName, hash);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        if (complete) {
+            for (String tableName : latestCatalog.keySet()) {
+                if (!crawled.containsKey(tableName)) {
+                    removed.add(tableName);
+                }
+            }
+        }
+        if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Files.createDirectories(directory);
+        // Table structures go first, so a version line never names a hash that is not stored
+        Map<String, TableMeta> newStructures = new LinkedHashMap<>();
+        for (Map<String, String> delta : List.of(added, changed)) {
+            delta.forEach((tableName, hash) -> {
+                if (!tableOffsets.containsKey(hash)) {
+                    newStructures.putIfAbsent(hash, crawled.get(tableName));
+                }
+            });
+        }
+        appendTables(newStructures);
+
+        Map<String, String> catalog = new TreeMap<>(latestCatalog);
+        catalog.putAll(added);
+        catalog.putAll(changed);
+        removed.forEach(catalog::remove);
+        long version = versions.size() + 1L;
+        boolean checkpoint = (version - 1) % checkpointInterval == 0;
+        VersionRecord versionRecord = new VersionRecord(version, System.currentTimeMillis(), added, changed, removed,
+                checkpoint ? catalog : null);
+        long offset = append(directory.resolve(VERSIONS_FILE), List.of(objectMapper.writeValueAsBytes(versionRecord))).get(0);
+
+        SchemaVersion schemaVersion = summarize(versionRecord, catalog.size());
+        List<VersionEntry> index = new ArrayList<>(versions);
+        index.add(new VersionEntry(schemaVersion, offset));
+        versions = List.copyOf(index);
+        latestCatalog = catalog;
+        logger.info("Recorded schema history {} ({} new table structures)", schemaVersion, newStructures.size());
+        return Optional.of(schemaVersion);
+    }
+
+    /**
+     * List all recorded versions.
+     * @return List of SchemaVersion objects, oldest first
+     * @throws IOException if the history cannot be read
+     */
+    public List<SchemaVersion> getVersions() throws IOException {
+        load();
+        List<SchemaVersion> summaries = new ArrayList<>();
+        for (VersionEntry entry : versions) {
+            summaries.add(entry.summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Get the latest version number.
+     * @return the latest version, 0 if nothing has been recorded
+     * @throws IOException if the history cannot be read
+     */
+    public long getLatestVersion() throws IOException {
+        load();
+        return versions.size();
+    }
+
+    /**
+     * Find the version that was current at a point in time.
+     * @param timestamp epoch milliseconds
+     * @return the latest version recorded at or before the timestamp, 0 if none was
+     * @throws IOException if the history cannot be read
+     */
+    public long getVersionAt(long timestamp) throws IOException {
+        load();
+        List<VersionEntry> index = versions;
+        int low = 0;
+        int high = index.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (index.get(mid).summary.getTimestamp() <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the catalog as it was at a version.
+     * @param version the version; 0 is the empty catalog before the first recording
+     * @return List of TableMeta objects sorted by table name, or empty if the version does not exist
+     * @throws IOException if the history cannot be read
+     */
+    public Optional<List<TableMeta>> getCatalog(long version) throws IOException {
+        Map<String, String> catalog = catalogAt(version);
+        if (catalog == null) {
+            return Optional.empty();
+        }
+        Map<String, TableMeta> structures = readTables(new HashSet<>(catalog.values()));
+        List<TableMeta> tables = new ArrayList<>();
+        for (String hash : catalog.values()) {
+            // The table name is part of the fingerprint, so every hash belongs to one table
+            tables.add(structures.get(hash));
+        }
+        return Optional.of(tables);
+    }
+
+    /**
+     * List how the tables differ between two versions.
+     * @param fromVersion the older version, 0 for the empty catalog
+     * @param toVersion the newer version
+     * @return List of SchemaChange objects sorted by table name, or empty if either version does not exist
+     * @throws IOException if the history cannot be read
+     */
+    public Optional<List<SchemaChange>> getChanges(long fromVersion, long toVersion) throws IOException {
+        Map<String, String> from = catalogAt(fromVersion);
+        Map<String, String> to = catalogAt(toVersion);
+        if (from == null || to == null) {
+            return Optional.empty();
+        }
+        Set<String> tableNames = new TreeSet<>(from.keySet());
+        tableNames.addAll(to.keySet());
+        Map<String, String[]> changedTables = new LinkedHashMap<>();
+        List<SchemaChange> changes = new ArrayList<>();
+        for (String tableName : tableNames) {
+            String before = from.get(tableName);
+            String after = to.get(tableName);
+            if (before == null) {
+                changes.add(new SchemaChange(tableName, SchemaChange.ADDED));
+            } else if (after == null) {
+                changes.add(new SchemaChange(tableName, SchemaChange.REMOVED));
+            } else if (!before.equals(after)) {
+                changedTables.put(tableName, new String[] {before, after});
+                changes.add(new SchemaChange(tableName, SchemaChange.CHANGED));
+            }
+        }
+        if (!changedTables.isEmpty()) {
+            Set<String> hashes = new HashSet<>();
+            changedTables.values().forEach(pair -> hashes.addAll(Arrays.asList(pair)));
+            Map<String, TableMeta> structures = readTables(hashes);
+            for (SchemaChange change : changes) {
+                String[] pair = changedTables.get(change.getTableName());
+                if (pair != null) {
+                    describeChange(change, structures.get(pair[0]), structures.get(pair[1]));
+                }
+            }
+        }
+        return Optional.of(changes);
+    }
+
+    /**
+     * Rebuild the catalog of a version from the nearest checkpoint at or before it.
+     * @return table name to structure hash, or null if the version does not exist
+     */
+    private Map<String, String> catalogAt(long version) throws IOException {
+        load();
+        List<VersionEntry> index = versions;
+        if (version < 0 || version > index.size()) {
+            return null;
+        }
+        Map<String, String> catalog = new TreeMap<>();
+        if (version == 0) {
+            return catalog;
+        }
+        int start = (int) version - 1;
+        while (!index.get(start).summary.isCheckpoint()) {
+            start--;
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(VERSIONS_FILE), StandardOpenOption.READ)) {
+            for (int i = start; i < version; i++) {
+                apply(catalog, objectMapper.readValue(readLine(channel, index.get(i).offset), VersionRecord.class));
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Read stored table structures by hash.
+     */
+    private Map<String, TableMeta> readTables(Set<String> hashes) throws IOException {
+        Map<String, TableMeta> structures = new HashMap<>();
+        if (hashes.isEmpty()) {
+            return structures;
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(TABLES_FILE), StandardOpenOption.READ)) {
+            for (String hash : hashes) {
+                Long offset = tableOffsets.get(hash);
+                if (offset == null) {
+                    throw new IOException("Schema history has no table structure " + hash);
+                }
+                byte[] line = readLine(channel, offset);
+                int separator = indexOf(line, (byte) ' ');
+                structures.put(hash, tableReader.readValue(line, separator + 1, line.length - separator - 1));
+            }
+        }
+        return structures;
+    }
+
+    /**
+     * Append the structures of new tables, without statistics, in one durable write.
+     */
+    private void appendTables(Map<String, TableMeta> structures) throws IOException {
+        if (structures.isEmpty()) {
+            return;
+        }
+        List<byte[]> lines = new ArrayList<>();
+        for (Map.Entry<String, TableMeta> entry : structures.entrySet()) {
+            ObjectNode node = objectMapper.valueToTree(entry.getValue());
+            node.remove(STATISTICS);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            line.write(entry.getKey().getBytes(StandardCharsets.US_ASCII));
+            line.write(' ');
+            objectMapper.writeValue(line, node);
+            lines.add(line.toByteArray());
+        }
+        List<Long> offsets = append(directory.resolve(TABLES_FILE), lines);
+        int i = 0;
+        for (String hash : structures.keySet()) {
+            tableOffsets.put(hash, offsets.get(i++));
+        }
+    }
+
+    /**
+     * Append newline-terminated lines to a log and force them to disk.
+     * @return the offset of each line
+     */
+    private static List<Long> append(Path file, List<byte[]> lines) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            long position = channel.size();
+            int size = 0;
+            for (byte[] line : lines) {
+                size += line.length + 1;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] line : lines) {
+                offsets.add(position + buffer.position());
+                buffer.put(line).put((byte) '\n');
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        return offsets;
+    }
+
+    /**
+     * Read both logs into the in-memory index on first use. A line without its trailing
+     * newline was torn by a crash during an append and is cut off.
+     */
+    private void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            scan(directory.resolve(TABLES_FILE), (line, offset) -> {
+                int separator = indexOf(line, (byte) ' ');
+                if (separator <= 0) {
+                    throw new IOException("Corrupt schema history table at offset " + offset);
+                }
+                tableOffsets.put(new String(line, 0, separator, StandardCharsets.US_ASCII), offset);
+            });
+            List<VersionEntry> index = new ArrayList<>();
+            Map<String, String> catalog = new TreeMap<>();
+            scan(directory.resolve(VERSIONS_FILE), (line, offset) -> {
+                VersionRecord versionRecord = objectMapper.readValue(line, VersionRecord.class);
+                if (versionRecord.version() != index.size() + 1) {
+                    throw new IOException("Schema history version " + versionRecord.version() + " out of sequence at offset " + offset);
+                }
+                apply(catalog, versionRecord);
+                index.add(new VersionEntry(summarize(versionRecord, catalog.size()), offset));
+            });
+            versions = List.copyOf(index);
+            latestCatalog = catalog;
+            loaded = true;
+            if (!index.isEmpty()) {
+                logger.info("Loaded schema history from {}: {} versions, {} table structures",
+                        directory, index.size(), tableOffsets.size());
+            }
+        }
+    }
+
+    /**
+     * Read a log line by line, truncating a torn last line.
+     */
+    private static void scan(Path file, LineConsumer consumer) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        long offset = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                consumer.accept(line.toByteArray(), offset);
+                offset += line.size() + 1;
+                line.reset();
+            }
+        }
+        if (offset < Files.size(file)) {
+            logger.warn("Truncating torn write at offset {} of {}", offset, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+        }
+    }
+
+    /**
+     * Read one line starting at an offset, without its newline.
+     */
+    private static byte[] readLine(FileChannel channel, long offset) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = offset;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Schema history line at offset " + offset + " is not terminated");
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    line.write(bytes, 0, i);
+                    return line.toByteArray();
+                }
+            }
+            line.write(bytes, 0, read);
+            position += read;
+        }
+    }
+
+    private static void apply(Map<String, String> catalog, VersionRecord versionRecord) {
+        if (versionRecord.catalog() != null) {
+            catalog.clear();
+            catalog.putAll(versionRecord.catalog());
+            return;
+        }
+        catalog.putAll(versionRecord.added());
+        catalog.putAll(versionRecord.changed());
+        versionRecord.removed().forEach(catalog::remove);
+    }
+
+    private static SchemaVersion summarize(VersionRecord versionRecord, int tableCount) {
+        SchemaVersion summary = new SchemaVersion(versionRecord.version(), versionRecord.timestamp());
+        summary.setTableCount(tableCount);
+        summary.setCheckpoint(versionRecord.catalog() != null);
+        summary.setAddedTables(new ArrayList<>(versionRecord.added().keySet()));
+        summary.setChangedTables(new ArrayList<>(versionRecord.changed().keySet()));
+        summary.setRemovedTables(new ArrayList<>(versionRecord.removed()));
+        return summary;
+    }
+
+    /**
+     * Fill in which columns, indexes and keys of a changed table differ.
+     */
+    private static void describeChange(SchemaChange change, TableMeta before, TableMeta after) {
+        Map<String, String> columnsBefore = columnSignatures(before);
+        Map<String, String> columnsAfter = columnSignatures(after);
+        diff(columnsBefore, columnsAfter, change.getAddedColumns(), change.getRemovedColumns(), change.getChangedColumns());
+        Map<String, String> indexesBefore = indexSignatures(before);
+        Map<String, String> indexesAfter = indexSignatures(after);
+        diff(indexesBefore, indexesAfter, change.getAddedIndexes(), change.getRemovedIndexes(), change.getChangedIndexes());
+        change.setPrimaryKeyChanged(!Objects.equals(before.getPrimaryKeys(), after.getPrimaryKeys()));
+        change.setForeignKeysChanged(!Objects.equals(sorted(before.getForeignKeys()), sorted(after.getForeignKeys())));
+    }
+
+    private static void diff(Map<String, String> before, Map<String, String> after,
+                             List<String> added, List<String> removed, List<String> changed) {
+        for (Map.Entry<String, String> entry : after.entrySet()) {
+            String previous = before.get(entry.getKey());
+            if (previous == null) {
+                added.add(entry.getKey());
+            } else if (!previous.equals(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String name : before.keySet()) {
+            if (!after.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+    }
+
+    private static Map<String, String> columnSignatures(TableMeta tableMeta) {
+        Map<String, String> signatures = new LinkedHashMap<>();
+        if (tableMeta.getColumns() != null) {
+            for (ColumnMeta column : tableMeta.getColumns()) {
+                signatures.put(column.getColumnName(), column.getDataType() + "|" + column.getColumnSize()
+                        + "|" + column.getScale() + "|" + column.getIsNullable() + "|" + column.getColumnDefault()
+                        + "|" + column.getIsAutoIncrement() + "|" + column.getForeignKeyTable()
+                        + "|" + column.getForeignKeyColumn() + "|" + column.getRemarks());
+            }
+        }
+        return signatures;
+    }
+
+    private static Map<String, String> indexSignatures(TableMeta tableMeta) {
+        Map<String, String> signatures = new TreeMap<>();
+        if (tableMeta.getIndexes() != null) {
+            for (IndexMeta index : tableMeta.getIndexes()) {
+                signatures.put(index.getIndexName(), index.getIsUnique() + "|" + index.getColumns());
+            }
+        }
+        return signatures;
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> copy = values != null ? new ArrayList<>(values) : new ArrayList<>();
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface LineConsumer {
+        void accept(byte[] line, long offset) throws IOException;
+    }
+
+    private record VersionEntry(SchemaVersion summary, long offset) {}
+
+    /**
+     * One line of the versions log. Empty deltas are left out; catalog is only present on checkpoints.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private record VersionRecord(long version, long timestamp, Map<String, String> added, Map<String, String> changed,
+                                 List<String> removed, Map<String, String> catalog) {
+        VersionRecord {
+            added = added != null ? added : Map.of();
+            changed = changed != null ? changed : Map.of();
+            removed = removed != null ? removed : List.of();
+        }
+    }
+}
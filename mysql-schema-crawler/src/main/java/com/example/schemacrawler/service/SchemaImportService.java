@@ -0,0 +1,164 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.SchemaImport;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.util.MysqlDdlParser;
+import com.example.schemacrawler.util.SqlStatementScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Service for importing a schema from mysqldump or DDL files instead of crawling it.
+ * The file is streamed through a {@link SqlStatementScanner} that only keeps table DDL,
+ * so dumps with gigabytes of INSERT data are read in constant memory. The parsed
+ * tables replace the live database for every API until the import is cleared.
+ */
+@Service
+public class SchemaImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaImportService.class);
+
+    private static final int MAX_ERRORS = 20;
+
+    private final MetadataRepository metadataRepository;
+
+    @Value("${crawler.import.file:}")
+    private String importFile;
+
+    @Value("${crawler.import.buffer-size:1048576}")
+    private int bufferSize;
+
+    @Value("${crawler.import.max-statement-chars:16777216}")
+    private int maxStatementChars;
+
+    private volatile SchemaImport lastImport;
+
+    @Autowired
+    public SchemaImportService(MetadataRepository metadataRepository) {
+        this.metadataRepository = metadataRepository;
+    }
+
+    /**
+     * Import the file configured with {@code crawler.import.file} once the context is refreshed.
+     * This runs before application runners such as {@link com.example.schemacrawler.CrawlerCli},
+     * so their first crawl already sees the imported tables.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void importConfiguredFile() {
+        if (importFile == null || importFile.isBlank()) {
+            return;
+        }
+        try {
+            importFile(Path.of(importFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import schema file " + importFile, e);
+        }
+    }
+
+    /**
+     * Import a schema file; files ending in {@code .gz} are decompressed while streaming.
+     * @param path the mysqldump or DDL file
+     * @return SchemaImport describing the import
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file contains no tables
+     */
+    public SchemaImport importFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (path.getFileName().toString().endsWith(".gz")) {
+                return importStream(Channels.newInputStream(channel), path.toString(), true);
+            }
+            return importChannel(channel, path.toString());
+        }
+    }
+
+    /**
+     * Import a schema from a stream, such as an uploaded request body.
+     * @param input the script
+     * @param source name of the script, for reporting
+     * @param gzip whether the stream is gzip-compressed
+     * @return SchemaImport describing the import
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if the script contains no tables
+     */
+    public SchemaImport importStream(InputStream input, String source, boolean gzip) throws IOException {
+        InputStream stream = gzip ? new GZIPInputStream(input, 65536) : input;
+        return importChannel(Channels.newChannel(stream), source);
+    }
+
+    private synchronized SchemaImport importChannel(ReadableByteChannel channel, String source) throws IOException {
+        long start = System.currentTimeMillis();
+        SchemaImport result = new SchemaImport(source);
+        MysqlDdlParser parser = new MysqlDdlParser();
+        SqlStatementScanner scanner = new SqlStatementScanner(MysqlDdlParser::isTableStatement, maxStatementChars, bufferSize);
+
+        scanner.scan(channel, sql -> {
+            try {
+                parser.parse(sql);
+                result.setStatementsParsed(result.getStatementsParsed() + 1);
+            } catch (IllegalArgumentException e) {
+                result.setStatementsFailed(result.getStatementsFailed() + 1);
+                if (result.getErrors().size() < MAX_ERRORS) {
+                    String head = sql.length() > 80 ? sql.substring(0, 80) + "..." : sql;
+                    result.getErrors().add(e.getMessage() + ": " + head);
+                }
+                logger.warn("Could not parse statement in {}: {}", source, e.getMessage());
+            }
+        });
+
+        List<TableMeta> tables = parser.getTables();
+        result.setStatementsSkipped(scanner.getStatementsSkipped());
+        result.setStatementsFailed(result.getStatementsFailed() + scanner.getStatementsOversized());
+        result.setBytesRead(scanner.getBytesRead());
+        result.setTables(tables.size());
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        if (tables.isEmpty()) {
+            throw new IllegalArgumentException("No CREATE TABLE statements found in " + source);
+        }
+
+        metadataRepository.clearAllTableMetadata();
+        metadataRepository.clearAllGeneratedModels();
+        metadataRepository.saveImportedCatalog(tables);
+        result.setImportedAt(System.currentTimeMillis());
+        lastImport = result;
+        logger.info("Imported schema: {}", result);
+        return result;
+    }
+
+    /**
+     * Get the active import.
+     * @return SchemaImport of the catalog being served, or null if the live database is used
+     */
+    public SchemaImport getActiveImport() {
+        return metadataRepository.hasImportedCatalog() ? lastImport : null;
+    }
+
+    /**
+     * Drop the imported catalog and return to crawling the live database.
+     * @return true if an import was active
+     */
+    public synchronized boolean clearImport() {
+        boolean active = metadataRepository.hasImportedCatalog();
+        metadataRepository.clearImportedCatalog();
+        metadataRepository.clearAllTableMetadata();
+        metadataRepository.clearAllGeneratedModels();
+        lastImport = null;
+        return active;
+    }
+}
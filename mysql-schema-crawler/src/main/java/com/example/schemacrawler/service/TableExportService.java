@@ -0,0 +1,714 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.TableExport;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.util.JdbcUtils;
+import com.example.schemacrawler.util.KeyRange;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting the rows of a table to chunk files.
+ * Tables whose leading primary key column is integral are split into key ranges that
+ * are streamed in parallel through forward-only cursors, so neither the driver nor this
+ * service buffers more than a fetch of rows. Each range becomes one CSV or NDJSON file,
+ * written under a temporary name and moved into place when complete. A checkpoint file
+ * records the plan and every finished chunk, so an interrupted export resumes with the
+ * chunks that are still missing.
+ */
+@Service
+public class TableExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableExportService.class);
+
+    static final String CHECKPOINT_FILE = ".export-checkpoint";
+
+    private static final Set<String> INTEGRAL_TYPES = Set.of(
+            "BIGINT", "INT", "INTEGER", "MEDIUMINT", "SMALLINT", "TINYINT");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Output file format of an export.
+     */
+    public enum Format {
+        CSV("csv"), NDJSON("ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse a format name, ignoring case.
+         * @param name the format name
+         * @return the matching Format
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name) || format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export format: " + name + " (expected csv or ndjson)");
+        }
+    }
+
+    private final SchemaCrawlerService schemaCrawlerService;
+    private final JdbcUtils jdbcUtils;
+    private final ExecutorService chunkExecutor;
+    private final ExecutorService exportExecutor;
+    private final Map<Path, ExportRun> runs = new ConcurrentHashMap<>();
+    private final Counter rowCounter;
+    private final Counter byteCounter;
+    private final Timer chunkTimer;
+
+    @Value("${crawler.export.output-dir:exports}")
+    private String outputDir;
+
+    @Value("${crawler.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${crawler.export.chunk-rows:1000000}")
+    private long chunkRows;
+
+    @Value("${crawler.export.max-chunks:1024}")
+    private int maxChunks;
+
+    @Autowired
+    public TableExportService(SchemaCrawlerService schemaCrawlerService, JdbcUtils jdbcUtils, MeterRegistry meterRegistry,
+                              @Value("${crawler.export.parallelism:4}") int parallelism) {
+        this.schemaCrawlerService = schemaCrawlerService;
+        this.jdbcUtils = jdbcUtils;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.chunkExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.exportExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "export-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rowCounter = Counter.builder("crawler.export.rows")
+                .description("Rows written by table exports")
+                .register(meterRegistry);
+        this.byteCounter = Counter.builder("crawler.export.bytes")
+                .description("Bytes written by table exports")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("crawler.export.chunk.duration")
+                .description("Time to stream one key range into its chunk file")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start exporting a table into its directory below the configured output directory.
+     * @param tableName the table name
+     * @param format the output format
+     * @param resume whether to continue from the checkpoint of an earlier run
+     * @return TableExport describing the run that was started
+     * @throws IllegalStateException if an export of the table is already running
+     */
+    public TableExport startExport(String tableName, Format format, boolean resume) {
+        Path directory = directoryFor(tableName);
+        ExportRun run = register(tableName, format, directory);
+        exportExecutor.submit(() -> execute(run, resume));
+        return run.toExport();
+    }
+
+    /**
+     * Export a table and wait for it to finish.
+     * @param tableName the table name
+     * @param format the output format
+     * @param directory directory receiving the chunk files and the checkpoint
+     * @param resume whether to continue from the checkpoint of an earlier run
+     * @return TableExport with the final counts; state is FAILED if a chunk could not be exported
+     * @throws IllegalStateException if an export into the directory is already running
+     */
+    public TableExport exportTable(String tableName, Format format, Path directory, boolean resume) {
+        ExportRun run = register(tableName, format, directory.toAbsolutePath().normalize());
+        execute(run, resume);
+        return run.toExport();
+    }
+
+    /**
+     * Get the latest export of a table started through {@link #startExport}.
+     * @param tableName the table name
+     * @return the export, or empty if the table has not been exported
+     */
+    public Optional<TableExport> getExport(String tableName) {
+        ExportRun run = runs.get(directoryFor(tableName));
+        return run != null ? Optional.of(run.toExport()) : Optional.empty();
+    }
+
+    /**
+     * Get all exports known to this instance.
+     * @return List of TableExport objects, newest first
+     */
+    public List<TableExport> getExports() {
+        List<TableExport> exports = new ArrayList<>();
+        for (ExportRun run : runs.values()) {
+            exports.add(run.toExport());
+        }
+        exports.sort(Comparator.comparingLong(TableExport::getStartedAt).reversed());
+        return exports;
+    }
+
+    private Path directoryFor(String tableName) {
+        String safeName = tableName.replaceAll("[^A-Za-z0-9_.-]", "_");
+        if (safeName.startsWith(".")) {
+            safeName = "_" + safeName.substring(1);
+        }
+        return Path.of(outputDir).resolve(safeName).toAbsolutePath().normalize();
+    }
+
+    private ExportRun register(String tableName, Format format, Path directory) {
+        ExportRun run = new ExportRun(tableName, format, directory);
+        ExportRun existing = runs.compute(directory, (key, current) ->
+                current != null && "RUNNING".equals(current.state) ? current : run);
+        if (existing != run) {
+            throw new IllegalStateException("An export of table " + tableName + " is already running");
+        }
+        return run;
+    }
+
+    private void execute(ExportRun run, boolean resume) {
+        try {
+            export(run, resume);
+            run.finish("COMPLETED", null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish("FAILED", "Export interrupted");
+        } catch (Exception e) {
+            logger.error("Export of table {} failed", run.tableName, e);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            run.finish("FAILED", String.valueOf(cause.getMessage()));
+        }
+        logger.info("Export finished: {}", run.toExport());
+    }
+
+    private void export(ExportRun run, boolean resume) throws Exception {
+        TableMeta tableMeta = schemaCrawlerService.getTableMetadata(run.tableName);
+        if (tableMeta.getColumns() == null || tableMeta.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Table not found or has no columns: " + run.tableName);
+        }
+        List<String> columnNames = new ArrayList<>();
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            columnNames.add(column.getColumnName());
+        }
+        Files.createDirectories(run.directory);
+        Path checkpointFile = run.directory.resolve(CHECKPOINT_FILE);
+
+        Checkpoint checkpoint = resume ? Checkpoint.read(checkpointFile) : null;
+        if (checkpoint != null && !checkpoint.matches(tableMeta.getTableName(), run.format, columnNames)) {
+            logger.warn("Checkpoint in {} belongs to a different table, format or column list; starting over", run.directory);
+            checkpoint = null;
+        }
+        if (checkpoint == null) {
+            String keyColumn = findKeyColumn(tableMeta);
+            List<KeyRange> ranges = keyColumn != null ? planRanges(tableMeta.getTableName(), keyColumn) : List.of();
+            checkpoint = new Checkpoint(tableMeta.getTableName(), run.format, columnNames,
+                    ranges.isEmpty() ? null : keyColumn, ranges);
+            deleteChunkFiles(run.directory);
+            checkpoint.writeHeader(checkpointFile);
+        }
+        run.keyColumn = checkpoint.keyColumn;
+        run.chunks = checkpoint.chunkCount();
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (FileChannel checkpointLog = FileChannel.open(checkpointFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (int index = 0; index < checkpoint.chunkCount(); index++) {
+                Path chunkFile = run.directory.resolve(chunkName(index, run.format));
+                if (checkpoint.done.contains(index) && Files.isRegularFile(chunkFile)) {
+                    run.chunksResumed.incrementAndGet();
+                    continue;
+                }
+                KeyRange range = checkpoint.ranges.isEmpty() ? null : checkpoint.ranges.get(index);
+                int chunkIndex = index;
+                Checkpoint plan = checkpoint;
+                futures.add(chunkExecutor.submit(() -> {
+                    exportChunk(run, plan, chunkIndex, range, chunkFile, checkpointLog);
+                    return null;
+                }));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stream one key range into its chunk file and record it in the checkpoint.
+     */
+    private void exportChunk(ExportRun run, Checkpoint plan, int index, KeyRange range,
+                             Path chunkFile, FileChannel checkpointLog) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path partFile = chunkFile.resolveSibling(chunkFile.getFileName() + ".part");
+        long rows = 0;
+        // Exports are bounded by their own pool rather than the crawl concurrency limit,
+        // which a stream would otherwise hold for as long as it runs
+        try (Connection conn = jdbcUtils.getBulkConnection()) {
+            StringBuilder sql = new StringBuilder("SELECT ");
+            for (int i = 0; i < plan.columns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(JdbcUtils.quoteIdentifier(conn, plan.columns.get(i)));
+            }
+            sql.append(" FROM ").append(JdbcUtils.quoteTableName(conn, plan.tableName));
+            if (range != null) {
+                sql.append(" WHERE ").append(JdbcUtils.quoteIdentifier(conn, plan.keyColumn)).append(" BETWEEN ? AND ?");
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                jdbcUtils.configureStreaming(conn, stmt, fetchSize);
+                if (range != null) {
+                    stmt.setLong(1, range.getLower());
+                    stmt.setLong(2, range.getUpper());
+                }
+                try (ResultSet rs = stmt.executeQuery();
+                     RowWriter writer = run.format == Format.CSV
+                             ? new CsvRowWriter(partFile, plan.columns) : new NdjsonRowWriter(partFile, plan.columns)) {
+                    int columnCount = plan.columns.size();
+                    Object[] values = new Object[columnCount];
+                    long unreported = 0;
+                    while (rs.next()) {
+                        for (int i = 0; i < columnCount; i++) {
+                            values[i] = rs.getObject(i + 1);
+                        }
+                        writer.write(values);
+                        rows++;
+                        if (++unreported == fetchSize) {
+                            run.rowsExported.addAndGet(unreported);
+                            unreported = 0;
+                        }
+                    }
+                    run.rowsExported.addAndGet(unreported);
+                }
+            }
+            Files.move(partFile, chunkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partFile);
+        }
+
+        long bytes = Files.size(chunkFile);
+        appendCheckpoint(checkpointLog, "done " + index + " " + rows + " " + bytes);
+        run.bytesWritten.addAndGet(bytes);
+        run.chunksCompleted.incrementAndGet();
+        rowCounter.increment(rows);
+        byteCounter.increment(bytes);
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static synchronized void appendCheckpoint(FileChannel checkpointLog, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            checkpointLog.write(buffer);
+        }
+        // The chunk only counts as done once the checkpoint line is durable
+        checkpointLog.force(false);
+    }
+
+    /**
+     * Pick the leading primary key column to split on, if it is integral.
+     * Range predicates on the leading column of a composite key still use the primary index.
+     */
+    private String findKeyColumn(TableMeta tableMeta) {
+        List<String> primaryKey = tableMeta.getPrimaryKey();
+        if (primaryKey == null || primaryKey.isEmpty()) {
+            return null;
+        }
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            if (column.getColumnName().equals(primaryKey.get(0)) && column.getDataType() != null) {
+                String baseType = column.getDataType().toUpperCase().replace("UNSIGNED", "").trim();
+                return INTEGRAL_TYPES.contains(baseType) ? column.getColumnName() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the key bounds and split them into ranges of roughly chunk-rows keys each.
+     */
+    private List<KeyRange> planRanges(String tableName, String keyColumn) throws SQLException {
+        try (Connection conn = jdbcUtils.getBulkConnection()) {
+            String column = JdbcUtils.quoteIdentifier(conn, keyColumn);
+            String sql = "SELECT MIN(" + column + "), MAX(" + column + ") FROM " + JdbcUtils.quoteTableName(conn, tableName);
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                if (!rs.next()) {
+                    return List.of();
+                }
+                BigDecimal min = rs.getBigDecimal(1);
+                BigDecimal max = rs.getBigDecimal(2);
+                List<KeyRange> ranges = planRanges(min, max, chunkRows, maxChunks);
+                if (ranges.isEmpty() && min != null && max != null) {
+                    logger.info("Keys of {} exceed the BIGINT range; exporting it as one chunk", tableName);
+                }
+                return ranges;
+            }
+        }
+    }
+
+    /**
+     * Split key bounds into at most maxChunks ranges of roughly chunkRows keys each.
+     * Bounds are read as decimals because BIGINT UNSIGNED keys can exceed Long.MAX_VALUE;
+     * such keys cannot be bound as range parameters, so no ranges are planned for them.
+     * @return the ranges, or an empty list if the table is empty or its keys do not fit in a long
+     */
+    static List<KeyRange> planRanges(BigDecimal min, BigDecimal max, long chunkRows, int maxChunks) {
+        if (min == null || max == null || !fitsInLong(min) || !fitsInLong(max)) {
+            return List.of();
+        }
+        long low = min.longValue();
+        long high = max.longValue();
+        double span = (double) high - low + 1;
+        int chunks = (int) Math.max(1, Math.min(maxChunks, Math.ceil(span / Math.max(1, chunkRows))));
+        return KeyRange.split(low, high, chunks);
+    }
+
+    private static boolean fitsInLong(BigDecimal value) {
+        return value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) >= 0
+                && value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0;
+    }
+
+    private static String chunkName(int index, Format format) {
+        return String.format("chunk-%05d.%s", index, format.getExtension());
+    }
+
+    private static void deleteChunkFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("chunk-")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Render a value that has no native representation in the output format as text.
+     */
+    static String formatValue(Object value) throws SQLException {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime().toString();
+        }
+        if (value instanceof byte[] bytes) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        if (value instanceof Blob blob) {
+            return Base64.getEncoder().encodeToString(blob.getBytes(1, (int) blob.length()));
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    /**
+     * Writes the rows of one chunk file.
+     */
+    private interface RowWriter extends Closeable {
+        void write(Object[] values) throws IOException, SQLException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. NULL is an empty field; an empty string is quoted.
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Path file, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException, SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(formatValue(values[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String text) throws IOException {
+            boolean quote = text.isEmpty();
+            for (int i = 0; i < text.length() && !quote; i++) {
+                char c = text.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name. Numbers and booleans keep their type.
+     */
+    private static class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<String> columns;
+
+        NdjsonRowWriter(Path file, List<String> columns) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(
+                    new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof BigInteger integer) {
+                    generator.writeNumber(integer);
+                } else if (value instanceof Double || value instanceof Float) {
+                    generator.writeNumber(((Number) value).doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(formatValue(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * Plan of an export and the chunks finished so far, persisted as a line-oriented file.
+     */
+    private static class Checkpoint {
+        private final String tableName;
+        private final Format format;
+        private final List<String> columns;
+        private final String keyColumn;
+        private final List<KeyRange> ranges;
+        private final Set<Integer> done = new HashSet<>();
+
+        Checkpoint(String tableName, Format format, List<String> columns, String keyColumn, List<KeyRange> ranges) {
+            this.tableName = tableName;
+            this.format = format;
+            this.columns = columns;
+            this.keyColumn = keyColumn;
+            this.ranges = ranges;
+        }
+
+        int chunkCount() {
+            return ranges.isEmpty() ? 1 : ranges.size();
+        }
+
+        boolean matches(String tableName, Format format, List<String> columns) {
+            return this.tableName.equalsIgnoreCase(tableName) && this.format == format && this.columns.equals(columns);
+        }
+
+        void writeHeader(Path file) throws IOException {
+            List<String> lines = new ArrayList<>();
+            lines.add("table " + tableName);
+            lines.add("format " + format.name());
+            for (String column : columns) {
+                lines.add("column " + column);
+            }
+            if (keyColumn != null) {
+                lines.add("key " + keyColumn);
+            }
+            for (KeyRange range : ranges) {
+                lines.add("range " + range.getLower() + " " + range.getUpper());
+            }
+            Path temp = Files.createTempFile(file.getParent(), CHECKPOINT_FILE, ".tmp");
+            try {
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * Read a checkpoint; returns null when there is none or it cannot be parsed.
+         */
+        static Checkpoint read(Path file) throws IOException {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            String tableName = null;
+            Format format = null;
+            String keyColumn = null;
+            List<String> columns = new ArrayList<>();
+            List<KeyRange> ranges = new ArrayList<>();
+            Set<Integer> done = new HashSet<>();
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int space = line.indexOf(' ');
+                    if (space < 0) {
+                        // A torn final line from a crash; the chunk is simply exported again
+                        continue;
+                    }
+                    String value = line.substring(space + 1);
+                    switch (line.substring(0, space)) {
+                        case "table" -> tableName = value;
+                        case "format" -> format = Format.valueOf(value);
+                        case "column" -> columns.add(value);
+                        case "key" -> keyColumn = value;
+                        case "range" -> {
+                            String[] bounds = value.split(" ");
+                            ranges.add(new KeyRange(Long.parseLong(bounds[0]), Long.parseLong(bounds[1])));
+                        }
+                        case "done" -> {
+                            String[] parts = value.split(" ");
+                            if (parts.length == 3) {
+                                done.add(Integer.parseInt(parts[0]));
+                            }
+                        }
+                        default -> logger.warn("Ignoring unknown checkpoint line: {}", line);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not parse export checkpoint {}", file, e);
+                return null;
+            }
+            if (tableName == null || format == null || columns.isEmpty()) {
+                return null;
+            }
+            Checkpoint checkpoint = new Checkpoint(tableName, format, columns, keyColumn, ranges);
+            checkpoint.done.addAll(done);
+            return checkpoint;
+        }
+    }
+
+    /**
+     * Live state of one export, updated by the chunk workers.
+     */
+    private static class ExportRun {
+        private final String tableName;
+        private final Format format;
+        private final Path directory;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicInteger chunksCompleted = new AtomicInteger();
+        private final AtomicInteger chunksResumed = new AtomicInteger();
+        private final AtomicLong rowsExported = new AtomicLong();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private volatile String keyColumn;
+        private volatile int chunks;
+        private volatile String state = "RUNNING";
+        private volatile String error;
+        private volatile Long finishedAt;
+
+        ExportRun(String tableName, Format format, Path directory) {
+            this.tableName = tableName;
+            this.format = format;
+            this.directory = directory;
+        }
+
+        void finish(String state, String error) {
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+            this.state = state;
+        }
+
+        TableExport toExport() {
+            TableExport export = new TableExport(tableName);
+            export.setFormat(format.name());
+            export.setState(state);
+            export.setOutputDirectory(directory.toString());
+            export.setKeyColumn(keyColumn);
+            export.setChunks(chunks);
+            export.setChunksCompleted(chunksCompleted.get());
+            export.setChunksResumed(chunksResumed.get());
+            export.setRowsExported(rowsExported.get());
+            export.setBytesWritten(bytesWritten.get());
+            export.setStartedAt(startedAt);
+            export.setFinishedAt(finishedAt);
+            long end = finishedAt != null ? finishedAt : System.currentTimeMillis();
+            export.setElapsedMillis(end - startedAt);
+            export.setRowsPerSecond(export.getElapsedMillis() > 0
+                    ? export.getRowsExported() * 1000.0 / export.getElapsedMillis() : 0);
+            export.setError(error);
+            return export;
+        }
+    }
+}
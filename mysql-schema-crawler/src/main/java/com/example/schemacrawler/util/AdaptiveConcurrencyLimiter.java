@@ -0,0 +1,198 @@
+package com.example.schemacrawler.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on the number of crawler connections doing work at the same time.
+ * The limit follows AIMD: it grows by about one for every limit's worth of healthy
+ * queries while the crawler is using the capacity it has, and shrinks by the back-off
+ * ratio when a query fails, exceeds the latency ceiling, or when recent latency drifts
+ * above the long-run baseline by more than the tolerance. Back-offs are spaced by a
+ * cool-down so one slow burst does not collapse the limit.
+ */
+@Component
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final double RECENT_WEIGHT = 0.2;
+    private static final double BASELINE_WEIGHT = 0.01;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long maxLatencyNanos;
+    private final double backoffRatio;
+    private final long cooldownNanos;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private double recentNanos;
+    private double baselineNanos;
+    private long lastBackoff;
+
+    private final Timer queryTimer;
+    private final Timer failedQueryTimer;
+    private final Timer waitTimer;
+    private final Counter latencyBackoffs;
+    private final Counter errorBackoffs;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${crawler.limiter.enabled:true}") boolean enabled,
+                                      @Value("${crawler.limiter.initial-limit:8}") int initialLimit,
+                                      @Value("${crawler.limiter.min-limit:1}") int minLimit,
+                                      @Value("${crawler.limiter.max-limit:64}") int maxLimit,
+                                      @Value("${crawler.limiter.latency-tolerance:2.0}") double tolerance,
+                                      @Value("${crawler.limiter.max-latency-ms:5000}") long maxLatencyMs,
+                                      @Value("${crawler.limiter.backoff-ratio:0.7}") double backoffRatio,
+                                      @Value("${crawler.limiter.cooldown-ms:1000}") long cooldownMs,
+                                      @Value("${crawler.limiter.max-wait-ms:30000}") long maxWaitMs) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+        this.backoffRatio = backoffRatio;
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMs);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.lastBackoff = System.nanoTime() - cooldownNanos;
+
+        Gauge.builder("crawler.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for crawler connections")
+                .register(meterRegistry);
+        Gauge.builder("crawler.limiter.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Crawler connections currently doing work")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("crawler.query.latency").tag("outcome", "success")
+                .description("Latency of crawler metadata queries").register(meterRegistry);
+        this.failedQueryTimer = Timer.builder("crawler.query.latency").tag("outcome", "error")
+                .description("Latency of crawler metadata queries").register(meterRegistry);
+        this.waitTimer = Timer.builder("crawler.limiter.wait")
+                .description("Time spent waiting for the concurrency limit").register(meterRegistry);
+        this.latencyBackoffs = Counter.builder("crawler.limiter.backoffs").tag("reason", "latency")
+                .description("Times the concurrency limit was reduced").register(meterRegistry);
+        this.errorBackoffs = Counter.builder("crawler.limiter.backoffs").tag("reason", "error")
+                .description("Times the concurrency limit was reduced").register(meterRegistry);
+    }
+
+    /**
+     * Wait until the limit allows another connection to do work.
+     * @throws SQLTransientConnectionException if no capacity frees up within the maximum wait
+     */
+    public void acquire() throws SQLTransientConnectionException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    throw new SQLTransientConnectionException("Crawler concurrency limit of " + (int) limit
+                            + " reached; no capacity freed up within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for the crawler concurrency limit", e);
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Give back capacity taken by {@link #acquire()}.
+     */
+    public void release() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the outcome of one query and adjust the limit.
+     * @param latencyNanos how long the query took
+     * @param failed whether the query failed
+     */
+    public void onQuery(long latencyNanos, boolean failed) {
+        (failed ? failedQueryTimer : queryTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (failed) {
+                backoff(errorBackoffs, "query error");
+                return;
+            }
+            if (baselineNanos == 0) {
+                baselineNanos = latencyNanos;
+                recentNanos = latencyNanos;
+            } else {
+                recentNanos += RECENT_WEIGHT * (latencyNanos - recentNanos);
+                baselineNanos += BASELINE_WEIGHT * (latencyNanos - baselineNanos);
+            }
+            if (latencyNanos > maxLatencyNanos || recentNanos > baselineNanos * tolerance) {
+                backoff(latencyBackoffs, "latency " + TimeUnit.NANOSECONDS.toMillis((long) recentNanos) + " ms");
+            } else if (inFlight * 2 >= limit && limit < maxLimit) {
+                double previous = limit;
+                limit = Math.min(maxLimit, limit + 1 / limit);
+                if ((int) limit > (int) previous) {
+                    available.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backoff(Counter counter, String reason) {
+        long now = System.nanoTime();
+        if (now - lastBackoff < cooldownNanos) {
+            return;
+        }
+        lastBackoff = now;
+        double previous = limit;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        counter.increment();
+        logger.warn("Crawler concurrency limit reduced from {} to {} ({})", (int) previous, (int) limit, reason);
+    }
+
+    public double getLimit() {
+        return enabled ? limit : Double.NaN;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+}
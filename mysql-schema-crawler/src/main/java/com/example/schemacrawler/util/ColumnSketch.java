@@ -0,0 +1,136 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.ColumnProfile;
+
+import java.sql.Clob;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass, mergeable accumulator for one column of a table scan.
+ * Tracks null counts, a HyperLogLog for distinct values, min/max, a quantile
+ * sketch for numeric values and a power-of-two histogram of value lengths.
+ */
+public class ColumnSketch {
+
+    private static final int HLL_PRECISION = 14;
+    private static final int QUANTILE_K = 200;
+
+    private final String columnName;
+    private final HyperLogLog distinct = new HyperLogLog(HLL_PRECISION);
+    private final QuantileSketch quantiles = new QuantileSketch(QUANTILE_K);
+    private final long[] lengthBuckets = new long[33];
+    private long rowCount;
+    private long nullCount;
+    private Comparable<Object> min;
+    private Comparable<Object> max;
+
+    public ColumnSketch(String columnName) {
+        this.columnName = columnName;
+    }
+
+    /**
+     * Update the sketch with the next value of the column.
+     * @param value the value as returned by ResultSet.getObject, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public void update(Object value) {
+        rowCount++;
+        if (value == null) {
+            nullCount++;
+            return;
+        }
+        distinct.add(value);
+
+        if (value instanceof Number number) {
+            quantiles.add(number.doubleValue());
+        }
+
+        int length = -1;
+        if (value instanceof CharSequence chars) {
+            length = chars.length();
+        } else if (value instanceof byte[] bytes) {
+            length = bytes.length;
+        } else if (value instanceof Clob clob) {
+            try {
+                length = (int) Math.min(Integer.MAX_VALUE, clob.length());
+            } catch (Exception ignored) {
+                // length is optional for LOB values
+            }
+        }
+        if (length >= 0) {
+            lengthBuckets[32 - Integer.numberOfLeadingZeros(length)]++;
+        }
+
+        if (value instanceof Comparable<?> comparable) {
+            Comparable<Object> candidate = (Comparable<Object>) comparable;
+            if (min == null || candidate.compareTo(min) < 0) {
+                min = candidate;
+            }
+            if (max == null || candidate.compareTo(max) > 0) {
+                max = candidate;
+            }
+        }
+    }
+
+    /**
+     * Merge the sketch of the same column from another chunk.
+     * @param other the sketch to merge
+     */
+    public void merge(ColumnSketch other) {
+        rowCount += other.rowCount;
+        nullCount += other.nullCount;
+        distinct.merge(other.distinct);
+        quantiles.merge(other.quantiles);
+        for (int i = 0; i < lengthBuckets.length; i++) {
+            lengthBuckets[i] += other.lengthBuckets[i];
+        }
+        if (other.min != null && (min == null || other.min.compareTo(min) < 0)) {
+            min = other.min;
+        }
+        if (other.max != null && (max == null || other.max.compareTo(max) > 0)) {
+            max = other.max;
+        }
+    }
+
+    /**
+     * Build the profile for this column.
+     * @return ColumnProfile with the estimated statistics
+     */
+    public ColumnProfile toProfile() {
+        ColumnProfile profile = new ColumnProfile(columnName);
+        profile.setRowCount(rowCount);
+        profile.setNullCount(nullCount);
+        profile.setNullFraction(rowCount == 0 ? 0.0 : (double) nullCount / rowCount);
+        profile.setDistinctEstimate(Math.min(distinct.estimate(), rowCount - nullCount));
+        profile.setMin(min != null ? min.toString() : null);
+        profile.setMax(max != null ? max.toString() : null);
+
+        if (quantiles.getCount() > 0) {
+            Map<String, Double> q = new LinkedHashMap<>();
+            q.put("p25", quantiles.quantile(0.25));
+            q.put("p50", quantiles.quantile(0.50));
+            q.put("p75", quantiles.quantile(0.75));
+            q.put("p90", quantiles.quantile(0.90));
+            q.put("p99", quantiles.quantile(0.99));
+            profile.setQuantiles(q);
+        }
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < lengthBuckets.length; i++) {
+            if (lengthBuckets[i] == 0) {
+                continue;
+            }
+            String label = i == 0 ? "0" : i == 1 ? "1" : (1L << (i - 1)) + "-" + ((1L << i) - 1);
+            histogram.put(label, lengthBuckets[i]);
+        }
+        if (!histogram.isEmpty()) {
+            profile.setLengthHistogram(histogram);
+        }
+        return profile;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+}
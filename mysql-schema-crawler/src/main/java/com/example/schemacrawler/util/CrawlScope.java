@@ -0,0 +1,258 @@
+package com.example.schemacrawler.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * The schemas and tables a crawl covers, as include and exclude patterns. Each pattern is
+ * a glob ({@code *} and {@code ?}) or, prefixed with {@code regex:}, a regular expression;
+ * both match the whole name, ignoring case. An empty schema include list means the
+ * connection's own database only, which keeps plain table names; any other scope keys
+ * tables as {@code schema.table}. System schemas are never crawled.
+ * <p>
+ * Patterns are meant to be pushed down: globs translate to SQL LIKE patterns for
+ * DatabaseMetaData calls and INFORMATION_SCHEMA queries, and on MySQL regular expressions
+ * translate to REGEXP. {@link #matchesSchema} and {@link #matchesTable} apply the same
+ * filters in Java for what a driver cannot filter itself.
+ */
+@Component
+public class CrawlScope {
+
+    private static final String REGEX_PREFIX = "regex:";
+
+    /** System schemas of MySQL and H2, compared ignoring case. */
+    public static final Set<String> SYSTEM_SCHEMAS = Set.of("information_schema", "mysql", "performance_schema", "sys");
+
+    private final List<String> schemas;
+    private final List<String> excludedSchemas;
+    private final List<String> tables;
+    private final List<String> excludedTables;
+    private final Map<String, Pattern> compiled = new HashMap<>();
+
+    /**
+     * @param schemas comma-separated schema patterns; empty for the connection's database only
+     * @param excludedSchemas comma-separated schema patterns to leave out
+     * @param tables comma-separated table patterns; empty for all tables
+     * @param excludedTables comma-separated table patterns to leave out
+     * @throws java.util.regex.PatternSyntaxException if a regular expression does not compile
+     */
+    public CrawlScope(@Value("${crawler.scope.schemas:}") String schemas,
+                      @Value("${crawler.scope.exclude-schemas:}") String excludedSchemas,
+                      @Value("${crawler.scope.tables:}") String tables,
+                      @Value("${crawler.scope.exclude-tables:}") String excludedTables) {
+        this.schemas = parse(schemas);
+        this.excludedSchemas = parse(excludedSchemas);
+        this.tables = parse(tables);
+        this.excludedTables = parse(excludedTables);
+        for (List<String> patterns : List.of(this.schemas, this.excludedSchemas, this.tables, this.excludedTables)) {
+            for (String pattern : patterns) {
+                this.compiled.put(pattern, compile(pattern));
+            }
+        }
+    }
+
+    /**
+     * Check whether the scope is the connection's own database only.
+     * @return true if no schema patterns are configured
+     */
+    public boolean isDefaultSchemaOnly() {
+        return schemas.isEmpty();
+    }
+
+    /**
+     * Check whether a schema is in scope.
+     * @param schemaName the schema name
+     * @return true if it matches an include pattern and no exclude pattern, and is not a system schema
+     */
+    public boolean matchesSchema(String schemaName) {
+        return schemaName != null && !SYSTEM_SCHEMAS.contains(schemaName.toLowerCase(Locale.ROOT))
+                && matches(schemas, excludedSchemas, schemaName);
+    }
+
+    /**
+     * Check whether a table is in scope.
+     * @param tableName the table name, without schema
+     * @return true if it matches an include pattern, or there are none, and no exclude pattern
+     */
+    public boolean matchesTable(String tableName) {
+        return matches(tables, excludedTables, tableName);
+    }
+
+    /**
+     * Get the LIKE patterns that select the included schemas in DatabaseMetaData calls.
+     * A regular expression cannot be expressed as LIKE, so it widens the selection to all.
+     * @param escape the driver's search string escape
+     * @return distinct LIKE patterns, never empty
+     */
+    public List<String> schemaLikePatterns(String escape) {
+        return likePatterns(schemas, escape);
+    }
+
+    /**
+     * Get the LIKE patterns that select the included tables in DatabaseMetaData calls.
+     * @param escape the driver's search string escape
+     * @return distinct LIKE patterns, never empty
+     */
+    public List<String> tableLikePatterns(String escape) {
+        return likePatterns(tables, escape);
+    }
+
+    /**
+     * Build a MySQL predicate over a schema name column for an INFORMATION_SCHEMA query.
+     * @param column the column holding the schema name, e.g. TABLE_SCHEMA
+     * @param parameters receives the values of the predicate's placeholders
+     * @return SQL predicate; DATABASE() alone for the default scope
+     */
+    public String schemaPredicate(String column, List<String> parameters) {
+        if (isDefaultSchemaOnly()) {
+            return column + " = DATABASE()";
+        }
+        StringJoiner predicate = new StringJoiner(" AND ", "(", ")");
+        StringJoiner system = new StringJoiner(", ", column + " NOT IN (", ")");
+        for (String schema : SYSTEM_SCHEMAS) {
+            system.add("?");
+            parameters.add(schema);
+        }
+        predicate.add(system.toString());
+        predicate.add(patternPredicate(column, schemas, excludedSchemas, parameters));
+        return predicate.toString();
+    }
+
+    /**
+     * Build a MySQL predicate over a table name column for an INFORMATION_SCHEMA query.
+     * @param column the column holding the table name, e.g. TABLE_NAME
+     * @param parameters receives the values of the predicate's placeholders
+     * @return SQL predicate, "1 = 1" if all tables are in scope
+     */
+    public String tablePredicate(String column, List<String> parameters) {
+        return patternPredicate(column, tables, excludedTables, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlScope{" +
+                "schemas=" + (schemas.isEmpty() ? "<current>" : schemas) +
+                ", excludedSchemas=" + excludedSchemas +
+                ", tables=" + tables +
+                ", excludedTables=" + excludedTables +
+                '}';
+    }
+
+    private static String patternPredicate(String column, List<String> includes, List<String> excludes, List<String> parameters) {
+        StringJoiner predicate = new StringJoiner(" AND ", "(", ")");
+        predicate.add("1 = 1");
+        if (!includes.isEmpty()) {
+            StringJoiner any = new StringJoiner(" OR ", "(", ")");
+            for (String pattern : includes) {
+                any.add(sqlMatch(column, pattern, parameters));
+            }
+            predicate.add(any.toString());
+        }
+        for (String pattern : excludes) {
+            predicate.add("NOT " + sqlMatch(column, pattern, parameters));
+        }
+        return predicate.toString();
+    }
+
+    private static String sqlMatch(String column, String pattern, List<String> parameters) {
+        if (isRegex(pattern)) {
+            // REGEXP matches anywhere in the value; anchor it like Java's matches()
+            parameters.add("^(" + pattern.substring(REGEX_PREFIX.length()) + ")$");
+            return column + " REGEXP ?";
+        }
+        parameters.add(toLike(pattern, "\\"));
+        return column + " LIKE ?";
+    }
+
+    private static List<String> likePatterns(List<String> includes, String escape) {
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String pattern : includes) {
+            if (isRegex(pattern)) {
+                return List.of("%");
+            }
+            patterns.add(toLike(pattern, escape));
+        }
+        return patterns.isEmpty() ? List.of("%") : new ArrayList<>(patterns);
+    }
+
+    private boolean matches(List<String> includes, List<String> excludes, String name) {
+        if (name == null) {
+            return false;
+        }
+        boolean included = includes.isEmpty();
+        for (String pattern : includes) {
+            included |= compiled.get(pattern).matcher(name).matches();
+        }
+        if (!included) {
+            return false;
+        }
+        for (String pattern : excludes) {
+            if (compiled.get(pattern).matcher(name).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Translate a glob to a LIKE pattern, escaping LIKE wildcards that are meant literally.
+     */
+    static String toLike(String glob, String escape) {
+        StringBuilder like = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> like.append('%');
+                case '?' -> like.append('_');
+                case '%', '_' -> {
+                    if (escape != null && !escape.isEmpty()) {
+                        like.append(escape);
+                    }
+                    like.append(c);
+                }
+                default -> {
+                    if (escape != null && !escape.isEmpty() && escape.indexOf(c) >= 0) {
+                        like.append(escape);
+                    }
+                    like.append(c);
+                }
+            }
+        }
+        return like.toString();
+    }
+
+    private static Pattern compile(String pattern) {
+        if (isRegex(pattern)) {
+            return Pattern.compile(pattern.substring(REGEX_PREFIX.length()), Pattern.CASE_INSENSITIVE);
+        }
+        StringBuilder regex = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    private static boolean isRegex(String pattern) {
+        return pattern.regionMatches(true, 0, REGEX_PREFIX, 0, REGEX_PREFIX.length());
+    }
+
+    private static List<String> parse(String value) {
+        List<String> patterns = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return patterns;
+        }
+        for (String entry : value.split(",")) {
+            String pattern = entry.trim();
+            if (!pattern.isEmpty()) {
+                patterns.add(pattern);
+            }
+        }
+        return patterns;
+    }
+}
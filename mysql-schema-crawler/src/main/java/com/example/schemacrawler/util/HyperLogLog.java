@@ -0,0 +1,128 @@
+package com.example.schemacrawler.util;
+
+/**
+ * HyperLogLog sketch for estimating the number of distinct values in a column.
+ * Sketches with the same precision can be merged, so chunks of a table can be
+ * profiled independently and combined at the end.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Create a sketch with 2^precision registers.
+     * @param precision number of index bits, between 4 and 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Add a value to the sketch. Nulls are ignored.
+     * @param value the column value
+     */
+    public void add(Object value) {
+        if (value == null) {
+            return;
+        }
+        addHash(hash(value));
+    }
+
+    /**
+     * Add a pre-computed 64-bit hash to the sketch.
+     * @param hash the hash value
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Merge another sketch into this one.
+     * @param other a sketch with the same precision
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimate the number of distinct values added so far.
+     * @return the cardinality estimate
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Hash a column value without allocating for the common numeric and string cases.
+     * @param value the column value
+     * @return a well-mixed 64-bit hash
+     */
+    public static long hash(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        }
+        if (value instanceof byte[] bytes) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : bytes) {
+                h = (h ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            return mix(h);
+        }
+        CharSequence chars = value instanceof CharSequence cs ? cs : value.toString();
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chars.length(); i++) {
+            h = (h ^ chars.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.schemacrawler.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JDBC proxy that puts every query made through a connection through the crawler's limits.
+ * Each query first takes a token from the target's rate budget and is then timed for the
+ * concurrency limiter. Statements and DatabaseMetaData handed out by the connection are
+ * proxied as well, so queries the driver runs for metadata calls count too. Closing the
+ * connection gives its capacity back to the concurrency limiter exactly once. Connections
+ * wrapped without a limiter only draw from the rate budget.
+ */
+final class InstrumentedConnection implements InvocationHandler {
+
+    private final Connection connection;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final QueryRateLimiter rateLimiter;
+    private final String target;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private InstrumentedConnection(Connection connection, AdaptiveConcurrencyLimiter limiter,
+                                   QueryRateLimiter rateLimiter, String target) {
+        this.connection = connection;
+        this.limiter = limiter;
+        this.rateLimiter = rateLimiter;
+        this.target = target;
+    }
+
+    /**
+     * Wrap a connection whose capacity was already acquired from the limiter, if one is given.
+     * @param connection the driver connection
+     * @param limiter the limiter to report queries to and release on close, or null for none
+     * @param rateLimiter the rate budget every query takes a token from
+     * @param target the rate-limit target of the connection
+     * @return the instrumented connection
+     */
+    static Connection wrap(Connection connection, AdaptiveConcurrencyLimiter limiter,
+                           QueryRateLimiter rateLimiter, String target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new InstrumentedConnection(connection, limiter, rateLimiter, target));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("close") || name.equals("abort")) {
+            try {
+                return invokeTarget(connection, method, args);
+            } finally {
+                if (limiter != null && released.compareAndSet(false, true)) {
+                    limiter.release();
+                }
+            }
+        }
+        if (name.equals("unwrap") || name.equals("isWrapperFor")) {
+            return invokeTarget(connection, method, args);
+        }
+        Object result = invokeTarget(connection, method, args);
+        Class<?> type = method.getReturnType();
+        if (type == Statement.class || type == PreparedStatement.class || type == CallableStatement.class
+                || type == DatabaseMetaData.class) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new QueryTimer(result));
+        }
+        return result;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Times the query methods of a statement or DatabaseMetaData.
+     */
+    private class QueryTimer implements InvocationHandler {
+        private final Object target;
+
+        QueryTimer(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!isQuery(method)) {
+                return invokeTarget(target, method, args);
+            }
+            rateLimiter.acquire(InstrumentedConnection.this.target, 1);
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                return invokeTarget(target, method, args);
+            } catch (SQLException e) {
+                // Unsupported features are the caller's problem, not a sign of server load
+                failed = !(e instanceof SQLFeatureNotSupportedException);
+                throw e;
+            } finally {
+                if (limiter != null) {
+                    limiter.onQuery(System.nanoTime() - start, failed);
+                }
+            }
+        }
+
+        private boolean isQuery(Method method) {
+            if (target instanceof DatabaseMetaData) {
+                return method.getReturnType() == ResultSet.class;
+            }
+            return method.getName().startsWith("execute");
+        }
+    }
+}
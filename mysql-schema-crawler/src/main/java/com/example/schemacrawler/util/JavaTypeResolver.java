@@ -0,0 +1,212 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.ColumnMeta;
+
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Resolves the Java type of a column from its java.sql.Types code, precision, scale and
+ * unsigned flag as captured during the crawl. Resolution is a switch over the type code,
+ * so crawled columns are resolved without string handling. Columns built without a type
+ * code, and plain type names, are first mapped to one by name, covering MySQL and H2 spellings.
+ */
+public class JavaTypeResolver {
+
+    private static final Map<String, Integer> JDBC_TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        // MySQL names, then the H2 spellings of the same types
+        register(Types.BOOLEAN, "BOOL", "BOOLEAN");
+        register(Types.BIT, "BIT");
+        register(Types.TINYINT, "TINYINT");
+        register(Types.SMALLINT, "SMALLINT", "YEAR");
+        register(Types.INTEGER, "MEDIUMINT", "INT", "INTEGER", "INT4");
+        register(Types.BIGINT, "BIGINT", "INT8");
+        register(Types.REAL, "FLOAT", "REAL", "FLOAT4");
+        register(Types.DOUBLE, "DOUBLE", "DOUBLE PRECISION", "FLOAT8");
+        register(Types.DECIMAL, "DECIMAL", "DEC", "FIXED", "NUMERIC", "NUMBER", "DECFLOAT");
+        register(Types.CHAR, "CHAR", "CHARACTER", "NCHAR", "ENUM", "SET");
+        register(Types.VARCHAR, "VARCHAR", "CHARACTER VARYING", "VARCHAR_IGNORECASE", "NVARCHAR", "TINYTEXT");
+        register(Types.LONGVARCHAR, "TEXT", "MEDIUMTEXT", "LONGTEXT", "JSON");
+        register(Types.CLOB, "CLOB", "CHARACTER LARGE OBJECT");
+        register(Types.DATE, "DATE");
+        register(Types.TIME, "TIME");
+        register(Types.TIME_WITH_TIMEZONE, "TIME WITH TIME ZONE");
+        register(Types.TIMESTAMP, "DATETIME", "TIMESTAMP");
+        register(Types.TIMESTAMP_WITH_TIMEZONE, "TIMESTAMP WITH TIME ZONE");
+        register(Types.VARBINARY, "BINARY", "VARBINARY", "BINARY VARYING", "GEOMETRY");
+        register(Types.BLOB, "TINYBLOB", "BLOB", "MEDIUMBLOB", "LONGBLOB", "BINARY LARGE OBJECT");
+    }
+
+    private final Map<String, String> customMappings;
+
+    public JavaTypeResolver() {
+        this("");
+    }
+
+    /**
+     * @param customMappings comma-separated overrides by type name, e.g.
+     *                       "JSON=com.fasterxml.jackson.databind.JsonNode,TINYINT UNSIGNED=Integer"
+     * @throws IllegalArgumentException if an entry has no '='
+     */
+    public JavaTypeResolver(String customMappings) {
+        this.customMappings = parseMappings(customMappings);
+    }
+
+    /**
+     * Resolve the Java type of a column. Custom mappings match the column's type name
+     * ignoring case; otherwise the crawled type code decides.
+     * @param column the column metadata
+     * @return the Java type, fully qualified outside java.lang
+     */
+    public String resolve(ColumnMeta column) {
+        if (!customMappings.isEmpty() && column.getDataType() != null) {
+            String custom = customMappings.get(column.getDataType());
+            if (custom != null) {
+                return custom;
+            }
+        }
+        if (column.getJdbcType() == null) {
+            return resolve(column.getDataType());
+        }
+        int precision = column.getColumnSize() != null ? column.getColumnSize() : 0;
+        int scale = column.getScale() != null ? column.getScale() : 0;
+        return resolve(column.getJdbcType(), precision, scale, Boolean.TRUE.equals(column.getIsUnsigned()));
+    }
+
+    /**
+     * Resolve the Java type of a type name as written in DDL, e.g. "DECIMAL(10,2)",
+     * "INT UNSIGNED", "TINYINT(1)" or "CHARACTER VARYING".
+     * @param sqlType the type name
+     * @return the Java type, String for unknown names
+     */
+    public String resolve(String sqlType) {
+        if (sqlType == null) {
+            return "String";
+        }
+        String custom = customMappings.get(sqlType.trim());
+        if (custom != null) {
+            return custom;
+        }
+        String upper = sqlType.trim().toUpperCase(Locale.ROOT);
+        boolean unsigned = upper.endsWith(" UNSIGNED") || upper.endsWith(" ZEROFILL");
+        int precision = 0;
+        int scale = 0;
+        int open = upper.indexOf('(');
+        String base = open >= 0 ? upper.substring(0, open).trim() : upper.replaceAll(" (UNSIGNED|ZEROFILL)", "").trim();
+        if (open >= 0) {
+            int close = upper.indexOf(')', open);
+            String[] arguments = upper.substring(open + 1, close > open ? close : upper.length()).split(",");
+            precision = parseInt(arguments[0]);
+            scale = arguments.length > 1 ? parseInt(arguments[1]) : 0;
+        }
+        custom = customMappings.get(base);
+        if (custom != null) {
+            return custom;
+        }
+        Integer jdbcType = jdbcType(base);
+        if (jdbcType == null) {
+            return "String";
+        }
+        if (jdbcType == Types.TINYINT && precision == 1) {
+            // MySQL's TINYINT(1) convention for flags
+            jdbcType = Types.BOOLEAN;
+        }
+        return resolve(jdbcType, precision, scale, unsigned);
+    }
+
+    /**
+     * Map a type name without arguments or modifiers to its java.sql.Types code.
+     * @param typeName the type name, e.g. "INT" or "CHARACTER VARYING"
+     * @return the type code, or null for unknown names
+     */
+    public static Integer jdbcType(String typeName) {
+        return typeName == null ? null : JDBC_TYPES_BY_NAME.get(typeName.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolve a java.sql.Types code with its precision, scale and sign.
+     * Unsigned integers widen to the next type that holds their range. DECIMAL with scale 0
+     * and a known precision up to 18 becomes Integer or Long. BIT(1) is Boolean.
+     * @param jdbcType the java.sql.Types code
+     * @param precision column size: numeric precision, character length or bit count; 0 if unknown
+     * @param scale digits after the decimal point
+     * @param unsigned whether the column is UNSIGNED
+     * @return the Java type, fully qualified outside java.lang
+     */
+    public static String resolve(int jdbcType, int precision, int scale, boolean unsigned) {
+        switch (jdbcType) {
+            case Types.BOOLEAN:
+                return "Boolean";
+            case Types.BIT:
+                return precision <= 1 ? "Boolean" : "byte[]";
+            case Types.TINYINT:
+                return unsigned ? "Short" : "Byte";
+            case Types.SMALLINT:
+                return unsigned ? "Integer" : "Short";
+            case Types.INTEGER:
+                return unsigned ? "Long" : "Integer";
+            case Types.BIGINT:
+                return unsigned ? "java.math.BigInteger" : "Long";
+            case Types.REAL:
+                return "Float";
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "Double";
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                if (scale == 0 && precision > 0 && precision <= 18) {
+                    return precision <= 9 ? "Integer" : "Long";
+                }
+                return "java.math.BigDecimal";
+            case Types.DATE:
+                return "java.time.LocalDate";
+            case Types.TIME:
+                return "java.time.LocalTime";
+            case Types.TIME_WITH_TIMEZONE:
+                return "java.time.OffsetTime";
+            case Types.TIMESTAMP:
+                return "java.time.LocalDateTime";
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "java.time.OffsetDateTime";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "byte[]";
+            default:
+                // CHAR, VARCHAR, LONGVARCHAR, CLOB, N* variants, JSON and anything unknown
+                return "String";
+        }
+    }
+
+    private static void register(int jdbcType, String... names) {
+        for (String name : names) {
+            JDBC_TYPES_BY_NAME.put(name, jdbcType);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, String> parseMappings(String value) {
+        Map<String, String> parsed = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (value == null || value.isBlank()) {
+            return parsed;
+        }
+        for (String entry : value.split(",")) {
+            int equals = entry.lastIndexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Type mapping must look like SQL_TYPE=JavaType: " + entry);
+            }
+            parsed.put(entry.substring(0, equals).trim(), entry.substring(equals + 1).trim());
+        }
+        return parsed;
+    }
+}
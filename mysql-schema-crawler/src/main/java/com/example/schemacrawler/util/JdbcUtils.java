@@ -1,11 +1,17 @@
 package com.example.schemacrawler.util;
 
+import com.example.schemacrawler.model.TableMeta;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
 
 /**
  * Utility class for JDBC connection management.
@@ -22,13 +28,117 @@ public class JdbcUtils {
     @Value("${spring.datasource.password:}")
     private String password;
 
+    @Value("${crawler.timeouts.query-seconds:30}")
+    private int queryTimeoutSeconds;
+
+    @Value("${crawler.timeouts.network-ms:60000}")
+    private int networkTimeoutMs;
+
+    @Value("${crawler.rate-limit.tables-per-token:10}")
+    private int tablesPerToken;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final QueryRateLimiter queryRateLimiter;
+
+    @Autowired
+    public JdbcUtils(AdaptiveConcurrencyLimiter concurrencyLimiter, QueryRateLimiter queryRateLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.queryRateLimiter = queryRateLimiter;
+    }
+
     /**
      * Get a new database connection.
+     * Queries on the connection take tokens from the query rate budget of the database.
+     * Reads on the connection time out after the network timeout, which also bounds the
+     * driver's own DatabaseMetaData queries. On MySQL, metadata lock waits are capped at
+     * the query timeout through the session's lock_wait_timeout.
      * @return Connection object
      * @throws SQLException if connection fails
      */
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url, user, password);
+        return getConnection(networkTimeoutMs);
+    }
+
+    /**
+     * Get a new database connection whose reads time out after at most the given time.
+     * The connection counts against the adaptive concurrency limit until it is closed,
+     * so this waits while the crawler is at its limit.
+     * @param timeoutMs upper bound for the network timeout, e.g. the time left before a deadline
+     * @return Connection object
+     * @throws SQLException if connection fails or no capacity frees up in time
+     */
+    public Connection getConnection(long timeoutMs) throws SQLException {
+        concurrencyLimiter.acquire();
+        try {
+            return InstrumentedConnection.wrap(openConnection(timeoutMs), concurrencyLimiter,
+                    queryRateLimiter, QueryRateLimiter.targetOf(url));
+        } catch (SQLException | RuntimeException e) {
+            concurrencyLimiter.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Get a connection for a long-running bulk read such as a table export.
+     * The connection does not count against the adaptive concurrency limit, so a slow
+     * stream cannot hold capacity that crawls wait for; callers bound these connections
+     * themselves, e.g. by the size of their worker pool. Queries still take tokens from
+     * the query rate budget of the database.
+     * @return Connection object
+     * @throws SQLException if connection fails
+     */
+    public Connection getBulkConnection() throws SQLException {
+        return InstrumentedConnection.wrap(openConnection(networkTimeoutMs), null,
+                queryRateLimiter, QueryRateLimiter.targetOf(url));
+    }
+
+    /**
+     * Open a driver connection with the configured timeouts, outside the concurrency limit.
+     */
+    private Connection openConnection(long timeoutMs) throws SQLException {
+        Properties properties = new Properties();
+        if (user != null) {
+            properties.setProperty("user", user);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        if (queryTimeoutSeconds > 0 && url != null && url.startsWith("jdbc:mysql:") && !url.contains("sessionVariables")) {
+            properties.setProperty("sessionVariables", "lock_wait_timeout=" + queryTimeoutSeconds);
+        }
+        Connection connection = DriverManager.getConnection(url, properties);
+        int timeout = (int) Math.min(networkTimeoutMs > 0 ? networkTimeoutMs : Integer.MAX_VALUE, Math.max(1, timeoutMs));
+        if (timeout < Integer.MAX_VALUE) {
+            try {
+                connection.setNetworkTimeout(Runnable::run, timeout);
+            } catch (SQLFeatureNotSupportedException e) {
+                // Embedded databases have no socket to time out
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Charge a set-based query over many tables against the rate budget in proportion to
+     * its size. Every query already takes one token; this takes the rest, so a query over
+     * N tables costs N / tables-per-token tokens in total.
+     * @param tableCount number of tables the query covers
+     * @throws SQLException if the budget does not allow the query within the maximum wait
+     */
+    public void chargeTableQuery(int tableCount) throws SQLException {
+        int cost = (tableCount + Math.max(1, tablesPerToken) - 1) / Math.max(1, tablesPerToken);
+        queryRateLimiter.acquire(QueryRateLimiter.targetOf(url), cost - 1);
+    }
+
+    /**
+     * Apply the configured per-query timeout to a statement.
+     * @param statement the statement to configure
+     * @throws SQLException if the timeout cannot be applied
+     */
+    public void applyQueryTimeout(Statement statement) throws SQLException {
+        if (queryTimeoutSeconds > 0) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+        }
     }
 
     /**
@@ -46,15 +156,71 @@ public class JdbcUtils {
     }
 
     /**
-     * Test database connection.
-     * @return true if connection successful
+     * Open a connection for the health prober.
+     * Probe connections bypass the crawler's concurrency limit and rate budget so health
+     * stays responsive under load; the prober keeps one open and revalidates it.
+     * @return a new, unwrapped Connection
+     * @throws SQLException if connection fails
+     */
+    public Connection openProbeConnection() throws SQLException {
+        return openConnection(networkTimeoutMs);
+    }
+
+    /**
+     * Check whether the connection points at a MySQL server.
+     * @param connection the open connection
+     * @return true if the database product is MySQL
+     * @throws SQLException if the metadata cannot be read
+     */
+    public static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+
+    /**
+     * Quote an identifier using the quote string reported by the driver.
+     * @param connection the open connection
+     * @param identifier the table or column name
+     * @return the quoted identifier
+     * @throws SQLException if the metadata cannot be read
+     */
+    public static String quoteIdentifier(Connection connection, String identifier) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String quote = metaData.getIdentifierQuoteString();
+        if (quote == null || quote.isBlank()) {
+            return identifier;
+        }
+        quote = quote.trim();
+        return quote + identifier.replace(quote, quote + quote) + quote;
+    }
+
+    /**
+     * Quote a table name as the crawler keys it, quoting schema and table separately.
+     * @param connection the open connection
+     * @param tableName the table name, or "schema.table"
+     * @return the quoted, possibly qualified, table name
+     * @throws SQLException if the metadata cannot be read
+     */
+    public static String quoteTableName(Connection connection, String tableName) throws SQLException {
+        TableMeta tableMeta = TableMeta.ofQualifiedName(tableName);
+        String table = quoteIdentifier(connection, tableMeta.getTableName());
+        return tableMeta.getSchemaName() != null ? quoteIdentifier(connection, tableMeta.getSchemaName()) + "." + table : table;
+    }
+
+    /**
+     * Configure a forward-only statement so rows are streamed instead of buffered.
+     * MySQL Connector/J only streams with a fetch size of Integer.MIN_VALUE unless
+     * cursor fetch is enabled on the URL; other drivers honour the fetch size directly.
+     * @param connection the connection the statement belongs to
+     * @param statement the statement to configure
+     * @param fetchSize the number of rows to fetch per round trip
+     * @throws SQLException if the fetch size cannot be applied
      */
-    public boolean testConnection() {
-        try (Connection conn = getConnection()) {
-            return conn.isValid(2);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+    public void configureStreaming(Connection connection, Statement statement, int fetchSize) throws SQLException {
+        if (isMySql(connection) && (url == null || !url.contains("useCursorFetch=true"))) {
+            statement.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            statement.setFetchSize(fetchSize);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.example.schemacrawler.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of integral primary key values used to split a table scan into chunks.
+ */
+public class KeyRange {
+
+    private final long lower;
+    private final long upper;
+
+    public KeyRange(long lower, long upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public long getLower() {
+        return lower;
+    }
+
+    public long getUpper() {
+        return upper;
+    }
+
+    /**
+     * Split [min, max] into contiguous, non-overlapping ranges of roughly equal key span.
+     * @param min the smallest key
+     * @param max the largest key
+     * @param chunks the desired number of ranges
+     * @return List of KeyRange objects covering the whole span
+     */
+    public static List<KeyRange> split(long min, long max, int chunks) {
+        List<KeyRange> ranges = new ArrayList<>();
+        if (max < min) {
+            return ranges;
+        }
+        // Work in double to avoid overflow on spans close to Long.MAX_VALUE
+        double span = (double) max - (double) min + 1;
+        int count = (int) Math.max(1, Math.min(chunks, span));
+        double step = span / count;
+        long lower = min;
+        for (int i = 0; i < count; i++) {
+            long upper = i == count - 1 ? max : (long) Math.floor(min + step * (i + 1)) - 1;
+            if (upper < lower) {
+                continue;
+            }
+            ranges.add(new KeyRange(lower, upper));
+            lower = upper + 1;
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyRange{" + lower + ".." + upper + '}';
+    }
+}
@@ -0,0 +1,667 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.TableMeta;
+
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Parser for MySQL {@code CREATE TABLE} and {@code ALTER TABLE ... ADD} statements as
+ * written by mysqldump and schema tools. Tables are built into the same TableMeta,
+ * ColumnMeta and IndexMeta structures a crawl produces, with data types and sizes
+ * following INFORMATION_SCHEMA so imported and crawled metadata look alike.
+ * A table's schema is its qualifier, or else the database of the last {@code USE}
+ * statement, so same-named tables of different databases in one dump stay apart.
+ * Other statements are ignored.
+ */
+public class MysqlDdlParser {
+
+    private static final Map<String, String> TYPE_ALIASES = Map.of(
+            "INTEGER", "INT", "BOOL", "TINYINT", "BOOLEAN", "TINYINT",
+            "DEC", "DECIMAL", "NUMERIC", "DECIMAL", "FIXED", "DECIMAL", "REAL", "DOUBLE");
+
+    private static final Map<String, Long> FIXED_SIZES = Map.ofEntries(
+            Map.entry("TINYINT", 3L), Map.entry("SMALLINT", 5L), Map.entry("MEDIUMINT", 7L),
+            Map.entry("INT", 10L), Map.entry("BIGINT", 19L), Map.entry("FLOAT", 12L), Map.entry("DOUBLE", 22L),
+            Map.entry("TINYTEXT", 255L), Map.entry("TINYBLOB", 255L), Map.entry("TEXT", 65535L),
+            Map.entry("BLOB", 65535L), Map.entry("MEDIUMTEXT", 16777215L), Map.entry("MEDIUMBLOB", 16777215L),
+            Map.entry("LONGTEXT", 4294967295L), Map.entry("LONGBLOB", 4294967295L));
+
+    private static final Set<String> SIZED_TYPES = Set.of(
+            "CHAR", "VARCHAR", "BINARY", "VARBINARY", "DECIMAL", "BIT", "DATETIME", "TIMESTAMP", "TIME", "FLOAT", "DOUBLE");
+
+    private final Map<String, TableMeta> tables = new LinkedHashMap<>();
+    private String database;
+
+    /**
+     * Check whether a statement head starts a statement this parser understands.
+     * @param head the start of the statement, upper-cased with whitespace collapsed
+     * @return true for CREATE TABLE and ALTER TABLE statements, and USE statements that set their schema
+     */
+    public static boolean isTableStatement(String head) {
+        return head.startsWith("CREATE TABLE ") || head.startsWith("CREATE TEMPORARY TABLE ")
+                || head.startsWith("ALTER TABLE ") || head.startsWith("ALTER ONLINE TABLE ")
+                || head.startsWith("USE ");
+    }
+
+    /**
+     * Parse one statement and apply it to the catalog.
+     * @param sql the statement without its delimiter
+     * @throws IllegalArgumentException if the statement is table DDL but cannot be parsed
+     */
+    public void parse(String sql) {
+        Tokens tokens = new Tokens(tokenize(sql));
+        if (tokens.acceptWord("CREATE")) {
+            tokens.acceptWord("TEMPORARY");
+            if (tokens.acceptWord("TABLE")) {
+                parseCreateTable(tokens);
+            }
+        } else if (tokens.acceptWord("ALTER")) {
+            tokens.acceptWord("ONLINE");
+            if (tokens.acceptWord("TABLE")) {
+                parseAlterTable(tokens);
+            }
+        } else if (tokens.acceptWord("USE")) {
+            database = tokens.next().text;
+        }
+    }
+
+    /**
+     * Get the parsed tables in the order they were created.
+     * @return List of TableMeta objects
+     */
+    public List<TableMeta> getTables() {
+        return new ArrayList<>(tables.values());
+    }
+
+    private void parseCreateTable(Tokens tokens) {
+        if (tokens.acceptWord("IF")) {
+            tokens.expectWord("NOT");
+            tokens.expectWord("EXISTS");
+        }
+        TableName tableName = qualifiedName(tokens);
+        if (!tokens.accept("(")) {
+            // CREATE TABLE ... LIKE and CREATE TABLE ... AS SELECT carry no definitions
+            return;
+        }
+        TableMeta tableMeta = new TableMeta(tableName.table());
+        tableMeta.setSchemaName(tableName.schema());
+        tableMeta.setColumns(new ArrayList<>());
+        tableMeta.setPrimaryKey(new ArrayList<>());
+        tableMeta.setForeignKeys(new ArrayList<>());
+        tableMeta.setIndexes(new ArrayList<>());
+
+        for (Tokens definition : tokens.group().split()) {
+            parseDefinition(tableMeta, definition);
+        }
+        while (tokens.hasMore()) {
+            if (tokens.acceptWord("COMMENT")) {
+                tokens.accept("=");
+                tableMeta.setRemarks(tokens.next().text);
+            } else {
+                tokens.next();
+            }
+        }
+        tables.put(tableName.key(), tableMeta);
+    }
+
+    private void parseAlterTable(Tokens tokens) {
+        TableMeta tableMeta = findTable(qualifiedName(tokens));
+        if (tableMeta == null) {
+            return;
+        }
+        for (Tokens specification : tokens.split()) {
+            if (specification.acceptWord("ADD")) {
+                specification.acceptWord("COLUMN");
+                if (specification.accept("(")) {
+                    for (Tokens definition : specification.group().split()) {
+                        parseDefinition(tableMeta, definition);
+                    }
+                } else {
+                    parseDefinition(tableMeta, specification);
+                }
+            }
+        }
+    }
+
+    private void parseDefinition(TableMeta tableMeta, Tokens definition) {
+        String constraintName = null;
+        if (definition.acceptWord("CONSTRAINT")) {
+            if (!definition.peekWord("PRIMARY", "UNIQUE", "FOREIGN", "CHECK")) {
+                constraintName = definition.next().text;
+            }
+        }
+        if (definition.acceptWord("PRIMARY")) {
+            definition.expectWord("KEY");
+            List<String> columns = keyParts(definition);
+            tableMeta.getPrimaryKey().clear();
+            tableMeta.getPrimaryKey().addAll(columns);
+            for (String column : columns) {
+                findColumn(tableMeta, column).ifPresent(c -> {
+                    c.setIsPrimaryKey(true);
+                    c.setIsNullable(false);
+                });
+            }
+        } else if (definition.acceptWord("UNIQUE")) {
+            if (!definition.acceptWord("KEY")) {
+                definition.acceptWord("INDEX");
+            }
+            addIndex(tableMeta, indexName(definition, constraintName), true, keyParts(definition));
+        } else if (definition.acceptWord("KEY") || definition.acceptWord("INDEX")) {
+            addIndex(tableMeta, indexName(definition, null), false, keyParts(definition));
+        } else if (definition.acceptWord("FULLTEXT") || definition.acceptWord("SPATIAL")) {
+            if (!definition.acceptWord("KEY")) {
+                definition.acceptWord("INDEX");
+            }
+            addIndex(tableMeta, indexName(definition, null), false, keyParts(definition));
+        } else if (definition.acceptWord("FOREIGN")) {
+            definition.expectWord("KEY");
+            if (!definition.peek("(")) {
+                String indexName = definition.next().text;
+                constraintName = constraintName != null ? constraintName : indexName;
+            }
+            parseForeignKey(tableMeta, constraintName, definition);
+        } else if (definition.peekWord("CHECK")) {
+            // Check constraints are not part of the metadata model
+        } else if (constraintName == null) {
+            parseColumn(tableMeta, definition);
+        }
+    }
+
+    private void parseForeignKey(TableMeta tableMeta, String constraintName, Tokens definition) {
+        List<String> columns = keyParts(definition);
+        definition.expectWord("REFERENCES");
+        // Like a crawl, foreign keys name the referenced table without its schema
+        String referencedTable = qualifiedName(definition).table();
+        List<String> referencedColumns = keyParts(definition);
+        String name = constraintName != null ? constraintName
+                : tableMeta.getTableName() + "_ibfk_" + (tableMeta.getForeignKeys().size() + 1);
+        if (!tableMeta.getForeignKeys().contains(name)) {
+            tableMeta.getForeignKeys().add(name);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            String referencedColumn = i < referencedColumns.size() ? referencedColumns.get(i) : null;
+            findColumn(tableMeta, columns.get(i)).ifPresent(column -> {
+                column.setIsForeignKey(true);
+                column.setForeignKeyTable(referencedTable);
+                column.setForeignKeyColumn(referencedColumn);
+            });
+        }
+    }
+
+    private void parseColumn(TableMeta tableMeta, Tokens definition) {
+        String columnName = definition.next().text;
+        String baseType = definition.next().text.toUpperCase(Locale.ROOT);
+        baseType = TYPE_ALIASES.getOrDefault(baseType, baseType);
+        if (baseType.equals("DOUBLE")) {
+            definition.acceptWord("PRECISION");
+        }
+        List<String> arguments = new ArrayList<>();
+        if (definition.accept("(")) {
+            for (Tokens argument : definition.group().split()) {
+                arguments.add(argument.hasMore() ? argument.next().text : "");
+            }
+        }
+
+        ColumnMeta column = new ColumnMeta();
+        column.setColumnName(columnName);
+        column.setName(columnName);
+        column.setIsNullable(true);
+        column.setIsAutoIncrement(false);
+        column.setIsPrimaryKey(false);
+        column.setIsForeignKey(false);
+        boolean unsigned = false;
+
+        while (definition.hasMore()) {
+            if (definition.acceptWord("UNSIGNED") || definition.acceptWord("ZEROFILL")) {
+                unsigned = true;
+            } else if (definition.acceptWord("NOT")) {
+                definition.expectWord("NULL");
+                column.setIsNullable(false);
+            } else if (definition.acceptWord("NULL")) {
+                column.setIsNullable(true);
+            } else if (definition.acceptWord("DEFAULT")) {
+                column.setColumnDefault(defaultValue(definition));
+            } else if (definition.acceptWord("AUTO_INCREMENT")) {
+                column.setIsAutoIncrement(true);
+            } else if (definition.acceptWord("COMMENT")) {
+                column.setRemarks(definition.next().text);
+            } else if (definition.acceptWord("PRIMARY") || definition.peekWord("KEY")) {
+                definition.acceptWord("KEY");
+                tableMeta.getPrimaryKey().clear();
+                tableMeta.getPrimaryKey().add(columnName);
+                column.setIsPrimaryKey(true);
+                column.setIsNullable(false);
+            } else if (definition.acceptWord("UNIQUE")) {
+                definition.acceptWord("KEY");
+                addIndex(tableMeta, uniqueIndexName(tableMeta, columnName), true, List.of(columnName));
+            } else if (definition.acceptWord("CHARACTER")) {
+                definition.expectWord("SET");
+                definition.next();
+            } else if (definition.acceptWord("CHARSET") || definition.acceptWord("COLLATE")) {
+                definition.next();
+            } else if (definition.acceptWord("ON")) {
+                // ON UPDATE CURRENT_TIMESTAMP
+                definition.next();
+                defaultValue(definition);
+            } else if (definition.accept("(")) {
+                definition.group();
+            } else {
+                definition.next();
+            }
+        }
+
+        column.setDataType(unsigned ? baseType + " UNSIGNED" : baseType);
+        column.setColumnSize((int) Math.min(Integer.MAX_VALUE, columnSize(baseType, unsigned, arguments)));
+        boolean flag = baseType.equals("TINYINT") && arguments.size() == 1 && arguments.get(0).equals("1");
+        column.setJdbcType(flag ? Integer.valueOf(Types.BOOLEAN) : JavaTypeResolver.jdbcType(baseType));
+        column.setScale(baseType.equals("DECIMAL") ? decimalScale(arguments) : null);
+        column.setIsUnsigned(unsigned);
+        if (tableMeta.getPrimaryKey().contains(columnName)) {
+            column.setIsPrimaryKey(true);
+            column.setIsNullable(false);
+        }
+        tableMeta.getColumns().add(column);
+    }
+
+    /**
+     * Scale of a DECIMAL column: the second argument, 0 when omitted.
+     */
+    private int decimalScale(List<String> arguments) {
+        if (arguments.size() < 2) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(arguments.get(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Column size as INFORMATION_SCHEMA reports it: character length, numeric precision or fractional seconds.
+     */
+    private long columnSize(String baseType, boolean unsigned, List<String> arguments) {
+        if (baseType.equals("ENUM") || baseType.equals("SET")) {
+            long longest = 0;
+            long total = 0;
+            for (String value : arguments) {
+                longest = Math.max(longest, value.length());
+                total += value.length();
+            }
+            return baseType.equals("ENUM") ? longest : total + Math.max(0, arguments.size() - 1);
+        }
+        if (SIZED_TYPES.contains(baseType) && !arguments.isEmpty()) {
+            try {
+                return Long.parseLong(arguments.get(0));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        switch (baseType) {
+            case "CHAR":
+            case "BINARY":
+            case "BIT":
+                return 1;
+            case "DECIMAL":
+                return 10;
+            case "MEDIUMINT":
+                return unsigned ? 8 : 7;
+            case "BIGINT":
+                return unsigned ? 20 : 19;
+            default:
+                return FIXED_SIZES.getOrDefault(baseType, 0L);
+        }
+    }
+
+    /**
+     * Read a DEFAULT value the way INFORMATION_SCHEMA.COLUMNS.COLUMN_DEFAULT shows it.
+     */
+    private String defaultValue(Tokens definition) {
+        Token token = definition.next();
+        if (token.type == TokenType.STRING) {
+            return token.text;
+        }
+        if (token.is("(")) {
+            return "(" + definition.group().text() + ")";
+        }
+        if (token.is("-") || token.is("+")) {
+            String number = definition.next().text;
+            return token.is("-") ? "-" + number : number;
+        }
+        if (token.type == TokenType.WORD && token.text.equalsIgnoreCase("NULL")) {
+            return null;
+        }
+        if (token.type == TokenType.WORD && definition.peekType(TokenType.STRING)) {
+            String literal = definition.next().text;
+            // b'0' and x'1F' literals keep their prefix; _utf8mb4'abc' introducers are dropped
+            return token.text.startsWith("_") ? literal : token.text + "'" + literal + "'";
+        }
+        if (definition.peek("(")) {
+            definition.next();
+            String arguments = definition.group().text();
+            return token.text + "(" + arguments + ")";
+        }
+        return token.text;
+    }
+
+    private String indexName(Tokens definition, String constraintName) {
+        String name = constraintName;
+        if (!definition.peek("(") && !definition.peekWord("USING")) {
+            name = definition.next().text;
+        }
+        if (definition.acceptWord("USING")) {
+            definition.next();
+        }
+        return name;
+    }
+
+    private void addIndex(TableMeta tableMeta, String indexName, boolean unique, List<String> columns) {
+        String name = indexName != null ? indexName : uniqueIndexName(tableMeta, columns.isEmpty() ? "idx" : columns.get(0));
+        IndexMeta index = new IndexMeta(name);
+        index.setIsUnique(unique);
+        index.setIsPrimary(false);
+        index.setColumns(new ArrayList<>(columns));
+        tableMeta.getIndexes().add(index);
+    }
+
+    /**
+     * Name an unnamed index after its first column, adding a suffix as MySQL does.
+     */
+    private String uniqueIndexName(TableMeta tableMeta, String base) {
+        String name = base;
+        int suffix = 2;
+        while (hasIndex(tableMeta, name)) {
+            name = base + "_" + suffix++;
+        }
+        return name;
+    }
+
+    private boolean hasIndex(TableMeta tableMeta, String name) {
+        for (IndexMeta index : tableMeta.getIndexes()) {
+            if (index.getIndexName().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read a parenthesised key part list, keeping plain column names and skipping
+     * prefix lengths, sort order and functional key parts.
+     */
+    private List<String> keyParts(Tokens definition) {
+        List<String> columns = new ArrayList<>();
+        definition.expect("(");
+        for (Tokens part : definition.group().split()) {
+            if (part.hasMore() && !part.peek("(")) {
+                columns.add(part.next().text);
+            }
+        }
+        return columns;
+    }
+
+    private TableName qualifiedName(Tokens tokens) {
+        String schema = null;
+        String name = tokens.next().text;
+        while (tokens.accept(".")) {
+            schema = name;
+            name = tokens.next().text;
+        }
+        return new TableName(schema != null ? schema : database, name);
+    }
+
+    /**
+     * Find a created table; an unqualified name outside any USE also matches a qualified table of that name.
+     */
+    private TableMeta findTable(TableName tableName) {
+        TableMeta tableMeta = tables.get(tableName.key());
+        if (tableMeta != null || tableName.schema() != null) {
+            return tableMeta;
+        }
+        for (TableMeta candidate : tables.values()) {
+            if (candidate.getTableName().equalsIgnoreCase(tableName.table())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Optional<ColumnMeta> findColumn(TableMeta tableMeta, String columnName) {
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            if (column.getColumnName().equalsIgnoreCase(columnName)) {
+                return Optional.of(column);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record TableName(String schema, String table) {
+        String key() {
+            return (schema != null ? schema + "." + table : table).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private enum TokenType { WORD, IDENTIFIER, STRING, SYMBOL }
+
+    private static class Token {
+        private final TokenType type;
+        private final String text;
+
+        Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        boolean is(String symbol) {
+            return type == TokenType.SYMBOL && text.equals(symbol);
+        }
+
+        boolean isWord(String word) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(word);
+        }
+    }
+
+    /**
+     * Split a statement into words, quoted identifiers, string literals and symbols.
+     */
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '`' || c == '\'' || c == '"') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (d == '\\' && c != '`' && i + 1 < length) {
+                        text.append(unescape(sql.charAt(i + 1)));
+                        i += 2;
+                    } else if (d == c) {
+                        if (i + 1 < length && sql.charAt(i + 1) == c) {
+                            text.append(c);
+                            i += 2;
+                        } else {
+                            i++;
+                            break;
+                        }
+                    } else {
+                        text.append(d);
+                        i++;
+                    }
+                }
+                tokens.add(new Token(c == '`' ? TokenType.IDENTIFIER : TokenType.STRING, text.toString()));
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@') {
+                int start = i;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    boolean decimalPoint = d == '.' && i > start && Character.isDigit(sql.charAt(start))
+                            && i + 1 < length && Character.isDigit(sql.charAt(i + 1));
+                    if (!(Character.isLetterOrDigit(d) || d == '_' || d == '$' || d == '@' || decimalPoint)) {
+                        break;
+                    }
+                    i++;
+                }
+                tokens.add(new Token(TokenType.WORD, sql.substring(start, i)));
+            } else {
+                tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c)));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static char unescape(char c) {
+        switch (c) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case '0': return '\0';
+            case 'Z': return '\u001A';
+            default: return c;
+        }
+    }
+
+    /**
+     * Cursor over a range of tokens.
+     */
+    private static class Tokens {
+        private final List<Token> tokens;
+        private final int end;
+        private int pos;
+
+        Tokens(List<Token> tokens) {
+            this(tokens, 0, tokens.size());
+        }
+
+        Tokens(List<Token> tokens, int start, int end) {
+            this.tokens = tokens;
+            this.pos = start;
+            this.end = end;
+        }
+
+        boolean hasMore() {
+            return pos < end;
+        }
+
+        Token next() {
+            if (pos >= end) {
+                throw new IllegalArgumentException("Unexpected end of statement");
+            }
+            return tokens.get(pos++);
+        }
+
+        boolean peek(String symbol) {
+            return pos < end && tokens.get(pos).is(symbol);
+        }
+
+        boolean peekType(TokenType type) {
+            return pos < end && tokens.get(pos).type == type;
+        }
+
+        boolean peekWord(String... words) {
+            if (pos >= end) {
+                return false;
+            }
+            for (String word : words) {
+                if (tokens.get(pos).isWord(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean accept(String symbol) {
+            if (peek(symbol)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean acceptWord(String word) {
+            if (peekWord(word)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(String symbol) {
+            if (!accept(symbol)) {
+                throw new IllegalArgumentException("Expected '" + symbol + "' near " + describe());
+            }
+        }
+
+        void expectWord(String word) {
+            if (!acceptWord(word)) {
+                throw new IllegalArgumentException("Expected " + word + " near " + describe());
+            }
+        }
+
+        /**
+         * Consume up to the parenthesis closing one that was just accepted, returning its contents.
+         */
+        Tokens group() {
+            int start = pos;
+            int depth = 1;
+            while (pos < end) {
+                Token token = tokens.get(pos++);
+                if (token.is("(")) {
+                    depth++;
+                } else if (token.is(")") && --depth == 0) {
+                    return new Tokens(tokens, start, pos - 1);
+                }
+            }
+            throw new IllegalArgumentException("Unbalanced parentheses");
+        }
+
+        /**
+         * Split the remaining tokens at top-level commas.
+         */
+        List<Tokens> split() {
+            List<Tokens> parts = new ArrayList<>();
+            int start = pos;
+            int depth = 0;
+            for (int i = pos; i < end; i++) {
+                Token token = tokens.get(i);
+                if (token.is("(")) {
+                    depth++;
+                } else if (token.is(")")) {
+                    depth--;
+                } else if (token.is(",") && depth == 0) {
+                    parts.add(new Tokens(tokens, start, i));
+                    start = i + 1;
+                }
+            }
+            if (start < end) {
+                parts.add(new Tokens(tokens, start, end));
+            }
+            pos = end;
+            return parts;
+        }
+
+        String text() {
+            StringBuilder text = new StringBuilder();
+            for (int i = pos; i < end; i++) {
+                Token token = tokens.get(i);
+                if (text.length() > 0 && token.type != TokenType.SYMBOL && !text.toString().endsWith("(")) {
+                    text.append(' ');
+                }
+                text.append(token.type == TokenType.STRING ? "'" + token.text.replace("'", "''") + "'" : token.text);
+            }
+            pos = end;
+            return text.toString();
+        }
+
+        private String describe() {
+            return pos < end ? "'" + tokens.get(pos).text + "'" : "end of statement";
+        }
+    }
+}
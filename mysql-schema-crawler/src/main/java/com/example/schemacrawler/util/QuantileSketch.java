@@ -0,0 +1,180 @@
+package com.example.schemacrawler.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mergeable quantile sketch for numeric columns, a compact variant of the KLL sketch.
+ * Items are kept in levels where an item on level h stands for 2^h input values;
+ * when a level overflows it is sorted and every other item is promoted, so memory
+ * stays bounded by roughly 3k items regardless of the number of rows.
+ */
+public class QuantileSketch {
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Create a sketch.
+     * @param k accuracy parameter; larger values trade memory for precision
+     */
+    public QuantileSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8");
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    /**
+     * Add a value to the sketch.
+     * @param value the numeric value
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+        append(0, value);
+        compress();
+    }
+
+    /**
+     * Merge another sketch into this one.
+     * @param other the sketch to merge
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levels.size(); level++) {
+            double[] items = other.levels.get(level);
+            int size = other.sizes.get(level);
+            for (int i = 0; i < size; i++) {
+                append(level, items[i]);
+            }
+        }
+        count += other.count;
+        min = Double.isNaN(min) ? other.min : Math.min(min, other.min);
+        max = Double.isNaN(max) ? other.max : Math.max(max, other.max);
+        compress();
+    }
+
+    /**
+     * Estimate the value at the given rank.
+     * @param fraction rank between 0 and 1
+     * @return the estimated quantile, or NaN if the sketch is empty
+     */
+    public double quantile(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        }
+        if (fraction >= 1) {
+            return max;
+        }
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        double[] values = new double[total];
+        long[] weights = new long[total];
+        int pos = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            double[] items = levels.get(level);
+            for (int i = 0; i < sizes.get(level); i++) {
+                values[pos] = items[i];
+                weights[pos] = 1L << level;
+                pos++;
+            }
+        }
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        for (int index : order) {
+            cumulative += weights[index];
+            if (cumulative >= target) {
+                return values[index];
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    private void addLevel() {
+        levels.add(new double[capacity(levels.size() + 1, 0) + 1]);
+        sizes.add(0);
+    }
+
+    private int capacity(int numLevels, int level) {
+        int depth = numLevels - level - 1;
+        return Math.max(8, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+    }
+
+    private void append(int level, double value) {
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        double[] items = levels.get(level);
+        int size = sizes.get(level);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+        items[size] = value;
+        sizes.set(level, size + 1);
+    }
+
+    private void compress() {
+        for (int level = 0; level < levels.size(); level++) {
+            int size = sizes.get(level);
+            if (size <= capacity(levels.size(), level)) {
+                continue;
+            }
+            double[] items = levels.get(level);
+            Arrays.sort(items, 0, size);
+            // With an odd count the last item stays behind so weights are preserved
+            int pairs = size / 2;
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            for (int i = 0; i < pairs; i++) {
+                append(level + 1, items[2 * i + offset]);
+            }
+            if (size % 2 == 1) {
+                items[0] = items[size - 1];
+                sizes.set(level, 1);
+            } else {
+                sizes.set(level, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.schemacrawler.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLTransientException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hard cap on the queries per second the crawler sends to each database server.
+ * Every crawler query takes a token from the bucket of its target (host and port of
+ * the JDBC URL). Targets use the default rate and burst unless overridden with
+ * {@code crawler.rate-limit.targets}, e.g. {@code db1:3306=20/40,db2:3306=100/200}.
+ */
+@Component
+public class QueryRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryRateLimiter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double defaultRate;
+    private final double defaultBurst;
+    private final long maxWaitNanos;
+    private final Map<String, double[]> overrides;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${crawler.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${crawler.rate-limit.queries-per-second:50}") double defaultRate,
+                            @Value("${crawler.rate-limit.burst:100}") double defaultBurst,
+                            @Value("${crawler.rate-limit.max-wait-ms:30000}") long maxWaitMs,
+                            @Value("${crawler.rate-limit.targets:}") String targetOverrides) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.defaultBurst = defaultBurst;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.overrides = parseOverrides(targetOverrides);
+    }
+
+    /**
+     * Take tokens for queries against a target, waiting until the budget allows them.
+     * @param target the target key, see {@link #targetOf(String)}
+     * @param cost number of tokens the work is worth
+     * @throws SQLTransientException if the budget would not allow the work within the maximum wait
+     */
+    public void acquire(String target, double cost) throws SQLTransientException {
+        if (!enabled || cost <= 0) {
+            return;
+        }
+        Target bucket = targets.computeIfAbsent(target, this::createTarget);
+        long waitNanos = bucket.bucket.reserve(cost, maxWaitNanos);
+        if (waitNanos < 0) {
+            bucket.rejected.increment();
+            throw new SQLTransientException("Query rate budget for " + target + " exhausted; "
+                    + cost + " tokens not available within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+        }
+        bucket.waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientException("Interrupted while waiting for the query rate budget", e);
+            }
+        }
+    }
+
+    /**
+     * Derive the rate-limit target from a JDBC URL: host and port for network databases,
+     * otherwise the URL without its options.
+     * @param url the JDBC URL
+     * @return the target key
+     */
+    public static String targetOf(String url) {
+        if (url == null) {
+            return "default";
+        }
+        int hostStart = url.indexOf("//");
+        if (hostStart >= 0) {
+            int end = hostStart + 2;
+            while (end < url.length() && "/?;".indexOf(url.charAt(end)) < 0) {
+                end++;
+            }
+            return url.substring(hostStart + 2, end);
+        }
+        int options = url.indexOf(';');
+        return options >= 0 ? url.substring(0, options) : url;
+    }
+
+    private Target createTarget(String target) {
+        double[] limits = overrides.getOrDefault(target, new double[]{defaultRate, defaultBurst});
+        logger.info("Query rate limit for {}: {} queries/s, burst {}", target, limits[0], limits[1]);
+        Target created = new Target(new TokenBucket(limits[0], limits[1]),
+                Timer.builder("crawler.ratelimit.wait").tag("target", target)
+                        .description("Time crawler queries waited for the rate budget").register(meterRegistry),
+                Counter.builder("crawler.ratelimit.rejected").tag("target", target)
+                        .description("Crawler queries refused because the wait would be too long").register(meterRegistry));
+        Gauge.builder("crawler.ratelimit.available", created.bucket, TokenBucket::getAvailableTokens)
+                .tag("target", target)
+                .description("Tokens currently available in the rate budget")
+                .register(meterRegistry);
+        return created;
+    }
+
+    private static Map<String, double[]> parseOverrides(String value) {
+        Map<String, double[]> parsed = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return parsed;
+        }
+        for (String entry : value.split(",")) {
+            int equals = entry.lastIndexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Rate limit override must look like host:port=qps/burst: " + entry);
+            }
+            String[] limits = entry.substring(equals + 1).trim().split("/");
+            double rate = Double.parseDouble(limits[0]);
+            double burst = limits.length > 1 ? Double.parseDouble(limits[1]) : rate;
+            parsed.put(entry.substring(0, equals).trim(), new double[]{rate, burst});
+        }
+        return parsed;
+    }
+
+    private record Target(TokenBucket bucket, Timer waitTimer, Counter rejected) {}
+}
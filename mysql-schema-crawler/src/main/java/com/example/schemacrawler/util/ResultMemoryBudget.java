@@ -0,0 +1,120 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.TableMeta;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap budget shared by the crawl results held in {@link SpillableTableBuffer}s.
+ * Tables are kept as Smile-encoded records, a compact binary form of their JSON, and a
+ * buffer that cannot reserve heap for a new record spills its records to a temp file in
+ * the spill directory. Results then grow with disk space rather than heap.
+ */
+@Component
+public final class ResultMemoryBudget {
+
+    private final long budgetBytes;
+    private final Path spillDir;
+    private final ObjectMapper codec = SmileMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicInteger spillFiles = new AtomicInteger();
+    private final Counter spilledTables;
+    private final Counter spilledBytes;
+
+    @Autowired
+    public ResultMemoryBudget(MeterRegistry meterRegistry,
+                              @Value("${crawler.results.memory-budget-bytes:33554432}") long budgetBytes,
+                              @Value("${crawler.results.spill-dir:}") String spillDir) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        this.spillDir = Path.of(spillDir == null || spillDir.isBlank() ? System.getProperty("java.io.tmpdir") : spillDir);
+
+        Gauge.builder("crawler.results.memory.budget", this, ResultMemoryBudget::getBudgetBytes)
+                .description("Heap budget for crawl results in bytes")
+                .register(meterRegistry);
+        Gauge.builder("crawler.results.memory.used", this, ResultMemoryBudget::getUsedBytes)
+                .description("Heap used by crawl results in bytes")
+                .register(meterRegistry);
+        Gauge.builder("crawler.results.spill.files", spillFiles, AtomicInteger::get)
+                .description("Open spill files of crawl results")
+                .register(meterRegistry);
+        this.spilledTables = Counter.builder("crawler.results.spilled.tables")
+                .description("Crawled tables moved from heap to spill files").register(meterRegistry);
+        this.spilledBytes = Counter.builder("crawler.results.spilled.bytes")
+                .description("Bytes of crawl results moved from heap to spill files").register(meterRegistry);
+    }
+
+    /**
+     * Create an empty buffer that holds its tables within this budget.
+     * @return SpillableTableBuffer to be closed when its results are no longer needed
+     */
+    public SpillableTableBuffer newBuffer() {
+        return new SpillableTableBuffer(this);
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Reserve heap for a record, unless that would exceed the budget.
+     */
+    boolean tryReserve(long bytes) {
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > budgetBytes) {
+                return false;
+            }
+            if (usedBytes.compareAndSet(used, used + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    void recordSpill(int tables, long bytes) {
+        spilledTables.increment(tables);
+        spilledBytes.increment(bytes);
+    }
+
+    Path createSpillFile() throws IOException {
+        Files.createDirectories(spillDir);
+        Path file = Files.createTempFile(spillDir, "crawl-results-", ".smile");
+        spillFiles.incrementAndGet();
+        return file;
+    }
+
+    void deleteSpillFile(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        spillFiles.decrementAndGet();
+    }
+
+    byte[] encode(TableMeta tableMeta) throws IOException {
+        return codec.writeValueAsBytes(tableMeta);
+    }
+
+    TableMeta decode(byte[] record) throws IOException {
+        return codec.readValue(record, TableMeta.class);
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.TableMeta;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Append-only list of crawled tables that stays within a {@link ResultMemoryBudget}.
+ * Tables are held as encoded records; when the budget is exhausted, the records in heap
+ * are written to a spill file as one batch, so the file always holds the oldest tables
+ * and the heap the newest. Iterating reads the file back record by record and then the
+ * heap, in the order the tables were added, so serializing the buffer streams it without
+ * materializing the whole result.
+ * <p>
+ * Readers that stream the buffer outside its owner's lock {@link #pin()} it first; a
+ * close while it is pinned is deferred until the last reader calls {@link #unpin()}.
+ * <p>
+ * Serialized by Jackson as an array of tables; it deliberately has no bean getters.
+ */
+public class SpillableTableBuffer implements Iterable<TableMeta>, AutoCloseable {
+
+    private final ResultMemoryBudget budget;
+    private final List<byte[]> records = new ArrayList<>();
+    private long recordBytes;
+    private long encodedBytes;
+    private Path spillFile;
+    private DataOutputStream spillOut;
+    private int spilled;
+    private int size;
+    private int pins;
+    private boolean closeRequested;
+
+    SpillableTableBuffer(ResultMemoryBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Append a table, spilling the tables in heap first if the budget has no room for it.
+     * @param tableMeta the crawled table
+     * @throws IOException if the table cannot be encoded or spilled
+     */
+    public synchronized void add(TableMeta tableMeta) throws IOException {
+        if (closeRequested) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+        byte[] record = budget.encode(tableMeta);
+        encodedBytes += record.length;
+        if (!budget.tryReserve(record.length)) {
+            spill();
+            if (!budget.tryReserve(record.length)) {
+                // Other buffers hold the budget; the heap is empty, so the file keeps the order
+                writeRecord(record);
+                budget.recordSpill(1, record.length);
+                size++;
+                return;
+            }
+        }
+        records.add(record);
+        recordBytes += record.length;
+        size++;
+    }
+
+    /**
+     * @return the number of tables added
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the encoded size of all tables added, whether held in heap or in the spill file
+     */
+    public synchronized long byteSize() {
+        return encodedBytes;
+    }
+
+    /**
+     * @return the number of tables held in the spill file rather than in heap
+     */
+    public synchronized int spilledCount() {
+        return spilled;
+    }
+
+    /**
+     * Iterate over the tables in the order they were added. The iterator sees the tables
+     * added before it was created; it fails with an UncheckedIOException if the spill file
+     * cannot be read, for instance because the buffer was closed meanwhile without being pinned.
+     */
+    @Override
+    public synchronized Iterator<TableMeta> iterator() {
+        if (spillOut != null) {
+            try {
+                spillOut.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new TableIterator(spillFile, spilled, new ArrayList<>(records));
+    }
+
+    /**
+     * Keep the buffer open for a reader until it calls {@link #unpin()}.
+     * @return false if the buffer is already closed or closing, in which case it must not be read
+     */
+    public synchronized boolean pin() {
+        if (closeRequested) {
+            return false;
+        }
+        pins++;
+        return true;
+    }
+
+    /**
+     * Release a reader's pin, completing a deferred close once no reader is left.
+     */
+    public synchronized void unpin() {
+        if (pins > 0 && --pins == 0 && closeRequested) {
+            releaseStorage();
+        }
+    }
+
+    /**
+     * Release the heap reservation and delete the spill file, as soon as no reader has it pinned.
+     */
+    @Override
+    public synchronized void close() {
+        if (closeRequested) {
+            return;
+        }
+        closeRequested = true;
+        if (pins == 0) {
+            releaseStorage();
+        }
+    }
+
+    private void releaseStorage() {
+        budget.release(recordBytes);
+        records.clear();
+        recordBytes = 0;
+        if (spillFile != null) {
+            try {
+                spillOut.close();
+                budget.deleteSpillFile(spillFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Move the records held in heap to the spill file and release their reservation.
+     */
+    private void spill() throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        for (byte[] record : records) {
+            writeRecord(record);
+        }
+        spillOut.flush();
+        budget.recordSpill(records.size(), recordBytes);
+        budget.release(recordBytes);
+        records.clear();
+        recordBytes = 0;
+    }
+
+    private void writeRecord(byte[] record) throws IOException {
+        if (spillOut == null) {
+            spillFile = budget.createSpillFile();
+            spillOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+        }
+        spillOut.writeInt(record.length);
+        spillOut.write(record);
+        spilled++;
+    }
+
+    /**
+     * Reads the spilled records from the file, then decodes those still in heap.
+     */
+    private class TableIterator implements Iterator<TableMeta> {
+        private final Path file;
+        private final int fileRecords;
+        private final List<byte[]> heapRecords;
+        private DataInputStream in;
+        private int position;
+
+        TableIterator(Path file, int fileRecords, List<byte[]> heapRecords) {
+            this.file = file;
+            this.fileRecords = fileRecords;
+            this.heapRecords = heapRecords;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < fileRecords + heapRecords.size();
+        }
+
+        @Override
+        public TableMeta next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                byte[] record;
+                if (position < fileRecords) {
+                    if (in == null) {
+                        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                    }
+                    record = new byte[in.readInt()];
+                    in.readFully(record);
+                    if (position == fileRecords - 1) {
+                        in.close();
+                    }
+                } else {
+                    record = heapRecords.get(position - fileRecords);
+                }
+                position++;
+                return budget.decode(record);
+            } catch (IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void closeQuietly() {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // the read already failed
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.schemacrawler.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Splits a SQL script into statements while streaming it from a channel.
+ * The script is decoded one buffer at a time and scanned character by character,
+ * tracking quotes, comments and mysql client {@code DELIMITER} changes. Only the first
+ * few characters of a statement are buffered until the keep predicate decides whether
+ * the statement is wanted; unwanted statements such as multi-GB {@code INSERT} blocks are
+ * scanned past without being stored, so memory stays constant however large the script is.
+ * Comments inside kept statements are replaced by a space.
+ */
+public class SqlStatementScanner {
+
+    private static final int HEAD_LENGTH = 64;
+
+    private enum Quote { NONE, SINGLE, DOUBLE, BACKTICK, LINE_COMMENT, BLOCK_COMMENT }
+
+    private enum Mode { UNDECIDED, KEEP, SKIP, DELIMITER }
+
+    private final Predicate<String> keep;
+    private final int maxStatementChars;
+    private final int bufferSize;
+
+    private long bytesRead;
+    private long statementsKept;
+    private long statementsSkipped;
+    private long statementsOversized;
+
+    /**
+     * Create a scanner.
+     * @param keep decides from a statement's head, upper-cased with whitespace collapsed, whether to keep it
+     * @param maxStatementChars kept statements longer than this are dropped instead
+     * @param bufferSize size of the read buffer in bytes
+     */
+    public SqlStatementScanner(Predicate<String> keep, int maxStatementChars, int bufferSize) {
+        this.keep = keep;
+        this.maxStatementChars = maxStatementChars;
+        this.bufferSize = Math.max(1024, bufferSize);
+    }
+
+    /**
+     * Scan a script, handing every kept statement to the handler without its delimiter.
+     * @param channel the script, decoded as UTF-8; invalid bytes are replaced
+     * @param handler receives kept statements in script order
+     * @throws IOException if reading fails
+     */
+    public void scan(ReadableByteChannel channel, Consumer<String> handler) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(bufferSize);
+        // Room for a full buffer of decoded bytes plus the carried-over lookahead
+        CharBuffer chars = CharBuffer.allocate(bufferSize + 16);
+        State state = new State();
+        boolean eof = false;
+
+        while (!eof) {
+            int read = channel.read(bytes);
+            if (read < 0) {
+                eof = true;
+            } else {
+                bytesRead += read;
+            }
+            bytes.flip();
+            decoder.decode(bytes, chars, eof);
+            if (eof) {
+                decoder.flush(chars);
+            }
+            bytes.compact();
+            chars.flip();
+            // Keep two characters of lookahead unless the script has ended
+            int end = eof ? chars.limit() : chars.limit() - 2;
+            int pos = chars.position();
+            while (pos < end) {
+                pos = step(chars, pos, state, handler);
+            }
+            chars.position(Math.min(pos, chars.limit()));
+            chars.compact();
+        }
+        finish(state, handler);
+    }
+
+    /**
+     * Consume one character (or an escape pair or comment opener) and return the next position.
+     */
+    private int step(CharBuffer chars, int pos, State state, Consumer<String> handler) {
+        char c = chars.get(pos);
+        int next = pos + 1;
+        switch (state.quote) {
+            case LINE_COMMENT:
+                if (c == '\n') {
+                    state.quote = Quote.NONE;
+                    append(state, ' ');
+                }
+                return next;
+            case BLOCK_COMMENT:
+                if (c == '*' && peek(chars, pos + 1) == '/') {
+                    state.quote = Quote.NONE;
+                    append(state, ' ');
+                    return pos + 2;
+                }
+                return next;
+            case SINGLE:
+            case DOUBLE:
+                append(state, c);
+                if (c == '\\' && next < chars.limit()) {
+                    append(state, chars.get(next));
+                    return pos + 2;
+                }
+                if ((c == '\'' && state.quote == Quote.SINGLE) || (c == '"' && state.quote == Quote.DOUBLE)) {
+                    state.quote = Quote.NONE;
+                }
+                return next;
+            case BACKTICK:
+                append(state, c);
+                if (c == '`') {
+                    state.quote = Quote.NONE;
+                }
+                return next;
+            default:
+                break;
+        }
+
+        if (state.mode == Mode.DELIMITER) {
+            if (c == '\n') {
+                String line = state.statement.toString().trim();
+                String delimiter = line.substring("DELIMITER".length()).trim();
+                if (!delimiter.isEmpty()) {
+                    state.delimiter = delimiter;
+                }
+                state.reset();
+            } else {
+                state.statement.append(c);
+            }
+            return next;
+        }
+
+        if (c == '#' || (c == '-' && peek(chars, pos + 1) == '-' && isSpace(peek(chars, pos + 2)))) {
+            state.quote = Quote.LINE_COMMENT;
+            return next;
+        }
+        if (c == '/' && peek(chars, pos + 1) == '*') {
+            state.quote = Quote.BLOCK_COMMENT;
+            return pos + 2;
+        }
+
+        if (!state.started) {
+            if (Character.isWhitespace(c)) {
+                return next;
+            }
+            state.started = true;
+        }
+
+        append(state, c);
+        if (c == '\'') {
+            state.quote = Quote.SINGLE;
+        } else if (c == '"') {
+            state.quote = Quote.DOUBLE;
+        } else if (c == '`') {
+            state.quote = Quote.BACKTICK;
+        }
+        if (state.quote != Quote.NONE) {
+            state.delimiterMatch = 0;
+            return next;
+        }
+
+        if (state.mode == Mode.UNDECIDED && !state.firstWord && Character.isWhitespace(c)) {
+            state.firstWord = true;
+            if (state.statement.toString().trim().equalsIgnoreCase("DELIMITER")) {
+                state.mode = Mode.DELIMITER;
+                return next;
+            }
+        }
+
+        String delimiter = state.delimiter;
+        if (c == delimiter.charAt(state.delimiterMatch)) {
+            state.delimiterMatch++;
+        } else {
+            state.delimiterMatch = c == delimiter.charAt(0) ? 1 : 0;
+        }
+        if (state.delimiterMatch == delimiter.length()) {
+            endStatement(state, handler, delimiter.length());
+        } else if (state.mode == Mode.UNDECIDED && state.statement.length() >= HEAD_LENGTH) {
+            decide(state);
+        }
+        return next;
+    }
+
+    private void append(State state, char c) {
+        if (state.mode == Mode.SKIP || !state.started) {
+            return;
+        }
+        state.statement.append(c);
+        if (state.mode == Mode.KEEP && state.statement.length() > maxStatementChars) {
+            statementsOversized++;
+            state.mode = Mode.SKIP;
+            state.statement.setLength(0);
+            state.statement.trimToSize();
+        }
+    }
+
+    private void decide(State state) {
+        String head = state.statement.toString().trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+        if (keep.test(head)) {
+            state.mode = Mode.KEEP;
+        } else {
+            state.mode = Mode.SKIP;
+            state.statement.setLength(0);
+        }
+    }
+
+    private void endStatement(State state, Consumer<String> handler, int delimiterLength) {
+        if (state.mode == Mode.UNDECIDED) {
+            if (state.statement.length() <= delimiterLength) {
+                // Nothing but the delimiter, e.g. after a conditional comment
+                state.reset();
+                return;
+            }
+            decide(state);
+        }
+        if (state.mode == Mode.KEEP) {
+            state.statement.setLength(Math.max(0, state.statement.length() - delimiterLength));
+            String sql = state.statement.toString().trim();
+            if (!sql.isEmpty()) {
+                statementsKept++;
+                handler.accept(sql);
+            }
+        } else if (state.mode == Mode.SKIP) {
+            statementsSkipped++;
+        }
+        state.reset();
+    }
+
+    private void finish(State state, Consumer<String> handler) {
+        if (state.started && state.mode != Mode.DELIMITER) {
+            // A final statement without a delimiter
+            endStatement(state, handler, 0);
+        }
+    }
+
+    private static int peek(CharBuffer chars, int index) {
+        return index < chars.limit() ? chars.get(index) : -1;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == -1 || (c >= 0 && Character.isWhitespace((char) c));
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getStatementsKept() {
+        return statementsKept;
+    }
+
+    public long getStatementsSkipped() {
+        return statementsSkipped;
+    }
+
+    public long getStatementsOversized() {
+        return statementsOversized;
+    }
+
+    /**
+     * Scanner position within the current statement.
+     */
+    private static class State {
+        private final StringBuilder statement = new StringBuilder();
+        private Quote quote = Quote.NONE;
+        private Mode mode = Mode.UNDECIDED;
+        private String delimiter = ";";
+        private int delimiterMatch;
+        private boolean started;
+        private boolean firstWord;
+
+        void reset() {
+            statement.setLength(0);
+            if (statement.capacity() > 1 << 16) {
+                statement.trimToSize();
+            }
+            mode = Mode.UNDECIDED;
+            delimiterMatch = 0;
+            started = false;
+            firstWord = false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.schemacrawler.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that refills at a fixed rate up to a burst capacity.
+ * Callers reserve tokens up front: a reservation that overdraws the bucket is granted
+ * together with the time the caller must wait, so waiting callers are served in order
+ * and a request costing more than the burst still goes through, just later.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Create a full bucket.
+     * @param ratePerSecond tokens added per second
+     * @param capacity maximum tokens the bucket holds, i.e. the burst size
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        if (ratePerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Reserve tokens, returning how long the caller has to wait before using them.
+     * @param cost number of tokens to take
+     * @param maxWaitNanos longest acceptable wait
+     * @return wait in nanoseconds, or -1 if the wait would exceed the maximum and nothing was reserved
+     */
+    public synchronized long reserve(double cost, long maxWaitNanos) {
+        refill();
+        double deficit = cost - tokens;
+        long waitNanos = deficit > 0 ? (long) Math.ceil(deficit / ratePerNano) : 0;
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= cost;
+        return waitNanos;
+    }
+
+    /**
+     * Get the tokens currently available; negative while reservations are outstanding.
+     * @return available tokens
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.schemacrawler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the headless crawl entry point.
+ */
+class CrawlerCliTests {
+
+    private static final String URL = "jdbc:h2:mem:cli_tests;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void loadDemoSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("demo-schema.sql"))
+                .execute(new DriverManagerDataSource(URL, "sa", ""));
+    }
+
+    /**
+     * Test that the snapshot command writes the crawled tables as JSON and exits with 0.
+     */
+    @Test
+    void testSnapshot() throws Exception {
+        Path snapshot = directory.resolve("out/schema.json");
+        assertEquals(0, CrawlerCli.run(args("snapshot", "--output=" + snapshot, "--tables=PRODUCTS,ORDERS")));
+
+        JsonNode crawl = new ObjectMapper().readTree(snapshot.toFile());
+        assertTrue(crawl.get("complete").asBoolean());
+        assertEquals(2, crawl.get("tables").size());
+        assertEquals("PRODUCTS", crawl.get("tables").get(0).get("tableName").asText());
+    }
+
+    /**
+     * Test that the sources command writes one model per table.
+     */
+    @Test
+    void testSources() {
+        Path sources = directory.resolve("sources");
+        assertEquals(0, CrawlerCli.run(args("sources", "--output=" + sources, "--tables=PRODUCTS,ORDERS")));
+
+        assertTrue(Files.exists(sources.resolve("com/example/models/Products.java")));
+        assertTrue(Files.exists(sources.resolve("com/example/models/Orders.java")));
+    }
+
+    /**
+     * Test that a schema file given with crawler.import.file is imported before the snapshot is taken.
+     */
+    @Test
+    void testSnapshotOfImportedFile() throws Exception {
+        Path dump = directory.resolve("dump.sql");
+        Files.writeString(dump, "CREATE TABLE `imported_widgets` (\n  `id` bigint NOT NULL,\n  PRIMARY KEY (`id`)\n);\n");
+        Path snapshot = directory.resolve("imported.json");
+        assertEquals(0, CrawlerCli.run(args("snapshot", "--output=" + snapshot, "--crawler.import.file=" + dump)));
+
+        JsonNode crawl = new ObjectMapper().readTree(snapshot.toFile());
+        assertEquals(1, crawl.get("tables").size());
+        assertEquals("imported_widgets", crawl.get("tables").get(0).get("tableName").asText());
+    }
+
+    /**
+     * Test that an unknown command is a usage error.
+     */
+    @Test
+    void testUsage() {
+        assertEquals(CrawlerCli.EXIT_USAGE, CrawlerCli.run(args("deploy")));
+    }
+
+    private static String[] args(String... command) {
+        String[] datasource = {"--spring.datasource.url=" + URL, "--spring.datasource.username=sa",
+                "--spring.datasource.password=", "--spring.datasource.driver-class-name=org.h2.Driver"};
+        String[] args = new String[command.length + datasource.length];
+        System.arraycopy(command, 0, args, 0, command.length);
+        System.arraycopy(datasource, 0, args, command.length, datasource.length);
+        return args;
+    }
+}
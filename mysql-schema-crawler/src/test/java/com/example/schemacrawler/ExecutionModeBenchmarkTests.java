@@ -0,0 +1,106 @@
+package com.example.schemacrawler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing platform-thread and virtual-thread execution modes.
+ * Fires 1k concurrent metadata requests at the demo schema and reports throughput
+ * and p99 latency. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmarkTests {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %12s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms");
+        System.out.printf("%-10s %12.1f %10d %10d%n", "platform", platform.throughput, platform.p50, platform.p99);
+        System.out.printf("%-10s %12.1f %10d %10d%n%n", "virtual", virtual.throughput, virtual.p50, virtual.p99);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MysqlSchemaCrawlerApplication.class)
+                .profiles("demo")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench_" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.accept-count=" + CONCURRENT_REQUESTS,
+                        "--crawler.executor.pool-size=200",
+                        "--crawler.executor.queue-capacity=" + CONCURRENT_REQUESTS,
+                        "--crawler.executor.virtual-max-concurrency=" + CONCURRENT_REQUESTS,
+                        // Measure the execution modes, not the database protection
+                        "--crawler.limiter.enabled=false",
+                        "--crawler.rate-limit.enabled=false",
+                        "--logging.level.root=WARN")) {
+            new ResourceDatabasePopulator(new ClassPathResource("demo-schema.sql")).execute(context.getBean(DataSource.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/metadata/table/ORDERS");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+            fire(client, uri, 200);
+            Result best = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                Result result = fire(client, uri, CONCURRENT_REQUESTS);
+                if (best == null || result.throughput > best.throughput) {
+                    best = result;
+                }
+            }
+            return best;
+        }
+    }
+
+    private Result fire(HttpClient client, URI uri, int requests) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120)).GET().build();
+        long[] latencies = new long[requests];
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenAccept(response -> {
+                latencies[index] = (System.nanoTime() - sent) / 1_000_000;
+                assertEquals(200, response.statusCode());
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        Result result = new Result();
+        result.throughput = requests / seconds;
+        result.p50 = latencies[(int) (requests * 0.50)];
+        result.p99 = latencies[Math.min(requests - 1, (int) Math.ceil(requests * 0.99) - 1)];
+        return result;
+    }
+
+    private static class Result {
+        double throughput;
+        long p50;
+        long p99;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.schemacrawler;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compiles generated sources in memory against the test class path and loads the classes,
+ * so tests and benchmarks can run generated code.
+ */
+public final class GeneratedSourceCompiler {
+
+    private GeneratedSourceCompiler() {}
+
+    /**
+     * Compile the sources and load the resulting classes.
+     * @param sources fully qualified class name to source code
+     * @return class loader holding the compiled classes
+     * @throws IllegalStateException with the compiler diagnostics if compilation fails
+     */
+    public static ClassLoader compile(Map<String, String> sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            units.add(new SimpleJavaFileObject(URI.create("mem:///" + source.getKey().replace('.', '/') + ".java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source.getValue();
+                }
+            });
+        }
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+        JavaFileManager fileManager = new ForwardingJavaFileManager<>(standard) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                       FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        classes.put(className, out);
+                        return out;
+                    }
+                };
+            }
+        };
+        List<String> options = List.of("-proc:none", "-classpath", System.getProperty("java.class.path"));
+        if (!compiler.getTask(null, fileManager, diagnostics, options, null, units).call()) {
+            throw new IllegalStateException("Generated sources do not compile: " + diagnostics.getDiagnostics());
+        }
+        return new ClassLoader(GeneratedSourceCompiler.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                ByteArrayOutputStream bytes = classes.get(name);
+                if (bytes == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] code = bytes.toByteArray();
+                return defineClass(name, code, 0, code.length);
+            }
+        };
+    }
+}
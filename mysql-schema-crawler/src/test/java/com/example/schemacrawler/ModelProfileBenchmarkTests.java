@@ -0,0 +1,119 @@
+package com.example.schemacrawler;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.ModelGeneratorService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark comparing the codegen profiles: heap bytes allocated per model instance and
+ * hashCode throughput, for a row with five NOT NULL numeric/boolean columns and one
+ * nullable string. Boxed POJOs inherit identity hashCode, records hash their values.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ModelProfileBenchmarkTests}.
+ */
+@Tag("benchmark")
+class ModelProfileBenchmarkTests {
+
+    private static final int INSTANCES = 1_000_000;
+    private static final int ITERATIONS = 20;
+
+    /** Keeps the hash sums alive so the hashing loops cannot be optimized away. */
+    private static volatile long blackhole;
+
+    private static final String POJO_FACTORY = String.join("\n",
+            "package " + ModelGeneratorService.MODEL_PACKAGE + ";",
+            "public final class Factory {",
+            "    public static void fill(Object[] target) {",
+            "        for (int i = 0; i < target.length; i++) {",
+            "            OrderLine o = new OrderLine();",
+            "            o.setId(1000L + i); o.setUserId(31L * i + 1000); o.setQuantity(1000 + i % 1000);",
+            "            o.setPrice(i * 0.25); o.setActive((i & 1) == 0); o.setNote(null);",
+            "            target[i] = o;",
+            "        }",
+            "    }",
+            "}");
+
+    private static final String RECORD_FACTORY = String.join("\n",
+            "package " + ModelGeneratorService.MODEL_PACKAGE + ";",
+            "public final class Factory {",
+            "    public static void fill(Object[] target) {",
+            "        for (int i = 0; i < target.length; i++) {",
+            "            target[i] = new OrderLine(1000L + i, 31L * i + 1000, 1000 + i % 1000, i * 0.25, (i & 1) == 0, null);",
+            "        }",
+            "    }",
+            "}");
+
+    @Test
+    void compareProfiles() throws Exception {
+        TableMeta table = table();
+        ModelGeneratorService generator = new ModelGeneratorService();
+
+        System.out.printf("%n%-12s %16s %16s%n", "profile", "bytes/instance", "hashCode ops/us");
+        for (ModelGeneratorService.Profile profile : ModelGeneratorService.Profile.values()) {
+            GeneratedModel model = generator.generateModel(table, profile);
+            String modelClass = ModelGeneratorService.MODEL_PACKAGE + "." + model.getClassName();
+            String factory = profile == ModelGeneratorService.Profile.RECORDS ? RECORD_FACTORY : POJO_FACTORY;
+            ClassLoader loader = GeneratedSourceCompiler.compile(Map.of(
+                    modelClass, model.getCode(),
+                    ModelGeneratorService.MODEL_PACKAGE + ".Factory", factory));
+            Method fill = loader.loadClass(ModelGeneratorService.MODEL_PACKAGE + ".Factory").getMethod("fill", Object[].class);
+
+            Object[] instances = new Object[INSTANCES];
+            fill.invoke(null, (Object) instances);
+            instances = new Object[INSTANCES];
+            long before = allocatedBytes();
+            fill.invoke(null, (Object) instances);
+            double bytesPerInstance = (double) (allocatedBytes() - before) / INSTANCES;
+
+            long sink = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += hashAll(instances);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += hashAll(instances);
+            }
+            double opsPerMicro = (double) INSTANCES * ITERATIONS / ((System.nanoTime() - start) / 1e3);
+            blackhole = sink;
+            System.out.printf("%-12s %16.1f %16.1f%n", profile, bytesPerInstance, opsPerMicro);
+        }
+        System.out.println();
+    }
+
+    private static long hashAll(Object[] instances) {
+        long sum = 0;
+        for (Object instance : instances) {
+            sum += instance.hashCode();
+        }
+        return sum;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static TableMeta table() {
+        String[][] columns = {
+                {"id", "BIGINT", "false"}, {"user_id", "BIGINT", "false"}, {"quantity", "INT", "false"},
+                {"price", "DOUBLE", "false"}, {"active", "BOOLEAN", "false"}, {"note", "VARCHAR", "true"}};
+        TableMeta table = new TableMeta("order_line");
+        List<ColumnMeta> columnMetas = new ArrayList<>();
+        for (String[] column : columns) {
+            ColumnMeta columnMeta = new ColumnMeta(column[0], column[1]);
+            columnMeta.setIsNullable(Boolean.parseBoolean(column[2]));
+            columnMetas.add(columnMeta);
+        }
+        table.setColumns(columnMetas);
+        table.setPrimaryKey(List.of("id"));
+        return table;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.schemacrawler;
+
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.ModelGeneratorService;
+import com.example.schemacrawler.service.SchemaCrawlerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark comparing generated ordinal row mappers with BeanPropertyRowMapper on the
+ * demo tables, filled with enough rows for mapping cost to show.
+ * Run with {@code mvn test -Pbenchmark -Dtest=RowMapperBenchmarkTests}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("demo")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:row_mapper_benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class RowMapperBenchmarkTests {
+
+    private static final int ROWS = 100_000;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private SchemaCrawlerService schemaCrawlerService;
+
+    @Autowired
+    private ModelGeneratorService modelGeneratorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void compareRowMappers() throws Exception {
+        new ResourceDatabasePopulator(new ClassPathResource("demo-schema.sql")).execute(dataSource);
+        fillDemoTables();
+
+        System.out.printf("%n%-10s %-22s %10s %14s%n", "table", "mapper", "ms/op", "rows/s");
+        for (String tableName : List.of("PRODUCTS", "ORDERS")) {
+            TableMeta table = schemaCrawlerService.getTableMetadata(tableName);
+            GeneratedModel model = modelGeneratorService.generateModel(table);
+            String modelClass = ModelGeneratorService.MODEL_PACKAGE + "." + model.getClassName();
+            ClassLoader loader = GeneratedSourceCompiler.compile(Map.of(
+                    modelClass, model.getCode(),
+                    modelClass + "RowMapper", modelGeneratorService.generateRowMapperCode(table, model)));
+            Class<?> mapperType = loader.loadClass(modelClass + "RowMapper");
+            String sql = (String) mapperType.getField("SELECT_SQL").get(null);
+
+            measure(tableName, "BeanPropertyRowMapper", sql, new BeanPropertyRowMapper<>(loader.loadClass(modelClass)));
+            measure(tableName, "generated", sql, (RowMapper<?>) mapperType.getField("INSTANCE").get(null));
+        }
+        System.out.println();
+    }
+
+    private void measure(String tableName, String name, String sql, RowMapper<?> mapper) {
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = jdbcTemplate.query(sql, mapper).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.query(sql, mapper);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+        System.out.printf("%-10s %-22s %10.2f %14.0f%n", tableName, name, millis, rows / millis * 1000);
+    }
+
+    private void fillDemoTables() {
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> orders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Object[]{"Product " + i, "SKU-" + i, i % 1000 + 0.99});
+            orders.add(new Object[]{1 + i % 2, 1 + i % 2, 1 + i % 5});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, sku, price) VALUES (?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, product_id, quantity) VALUES (?, ?, ?)", orders);
+    }
+}
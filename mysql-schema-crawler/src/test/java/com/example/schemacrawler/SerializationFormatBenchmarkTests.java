@@ -0,0 +1,101 @@
+package com.example.schemacrawler;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.ModelGeneratorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark comparing payload size and serialization time of the response formats.
+ * Serializes a synthetic catalog shaped like a large {@code /all} response, with and
+ * without generated model code, as JSON, CBOR and Smile, raw and gzipped.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationFormatBenchmarkTests {
+
+    private static final int TABLES = 500;
+    private static final int COLUMNS_PER_TABLE = 20;
+    private static final int ITERATIONS = 20;
+
+    @Test
+    void compareFormats() throws IOException {
+        List<TableMeta> tables = catalog();
+        List<GeneratedModel> models = new ModelGeneratorService().generateModels(tables);
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", new ObjectMapper());
+        mappers.put("cbor", new CBORMapper());
+        mappers.put("smile", new SmileMapper());
+
+        System.out.printf("%n%-8s %-7s %12s %12s %12s%n", "payload", "format", "bytes", "gzip bytes", "ms/op");
+        for (Map.Entry<String, Object> payload : Map.<String, Object>of("metadata", envelope(tables), "models", envelope(models))
+                .entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                byte[] bytes = mapper.getValue().writeValueAsBytes(payload.getValue());
+                for (int i = 0; i < ITERATIONS; i++) {
+                    mapper.getValue().writeValueAsBytes(payload.getValue());
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    mapper.getValue().writeValueAsBytes(payload.getValue());
+                }
+                double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+                System.out.printf("%-8s %-7s %12d %12d %12.2f%n",
+                        payload.getKey(), mapper.getKey(), bytes.length, gzip(bytes).length, millis);
+            }
+        }
+        System.out.println();
+    }
+
+    private static Map<String, Object> envelope(List<?> data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", data);
+        response.put("count", data.size());
+        return response;
+    }
+
+    private static List<TableMeta> catalog() {
+        String[] types = {"BIGINT", "INT", "VARCHAR", "DECIMAL", "DATETIME", "TEXT", "BOOLEAN"};
+        List<TableMeta> tables = new ArrayList<>();
+        for (int t = 0; t < TABLES; t++) {
+            TableMeta table = new TableMeta("table_" + t);
+            List<ColumnMeta> columns = new ArrayList<>();
+            for (int c = 0; c < COLUMNS_PER_TABLE; c++) {
+                ColumnMeta column = new ColumnMeta(c == 0 ? "id" : "column_" + c, types[c % types.length], 255, c != 0, null);
+                column.setIsPrimaryKey(c == 0);
+                column.setIsAutoIncrement(c == 0);
+                column.setRemarks("Column " + c + " of table " + t);
+                columns.add(column);
+            }
+            table.setColumns(columns);
+            table.setPrimaryKey(List.of("id"));
+            IndexMeta index = new IndexMeta("idx_table_" + t + "_column_1");
+            index.setColumns(List.of("column_1"));
+            index.setIsUnique(false);
+            table.setIndexes(List.of(index));
+            table.setForeignKeys(List.of());
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
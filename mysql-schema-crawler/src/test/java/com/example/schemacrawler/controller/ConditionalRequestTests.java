@@ -0,0 +1,95 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Test class for ETag based conditional requests on metadata endpoints.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:etag_tests;DB_CLOSE_DELAY=-1;MODE=MySQL"
+})
+class ConditionalRequestTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private SchemaCrawlerService schemaCrawlerService;
+
+    /**
+     * Test that an unchanged schema answers 304 and a schema change yields a new ETag.
+     */
+    @Test
+    void testIfNoneMatchOnAllMetadata() {
+        jdbcTemplate.execute("CREATE TABLE etag_demo (id BIGINT PRIMARY KEY)");
+
+        ResponseEntity<String> first = restTemplate.getForEntity("/api/metadata/all", String.class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"), etag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+
+        ResponseEntity<String> unchanged = getWithETag("/api/metadata/all", etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+
+        jdbcTemplate.execute("ALTER TABLE etag_demo ADD COLUMN name VARCHAR(20)");
+
+        ResponseEntity<String> changed = getWithETag("/api/metadata/all", etag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    /**
+     * Test that models generated from a partial crawl say so and are never given an ETag.
+     */
+    @Test
+    void testPartialModelsHaveNoETag() throws Exception {
+        CrawlResult partial = new CrawlResult();
+        partial.setTables(List.of(new TableMeta("users")));
+        partial.getTimedOutTables().add("orders");
+        partial.setComplete(false);
+        doReturn(partial).when(schemaCrawlerService).crawlAllTablesMetadata();
+
+        for (String path : List.of("/api/models", "/api/models/all/code")) {
+            ResponseEntity<String> response = restTemplate.getForEntity(path, String.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertNull(response.getHeaders().getETag(), path);
+            JsonNode body = new ObjectMapper().readTree(response.getBody());
+            assertFalse(body.get("complete").asBoolean());
+            assertEquals("orders", body.get("timedOutTables").get(0).asText());
+        }
+    }
+
+    private ResponseEntity<String> getWithETag(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
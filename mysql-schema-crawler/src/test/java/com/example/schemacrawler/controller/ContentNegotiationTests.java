@@ -0,0 +1,100 @@
+package com.example.schemacrawler.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for binary response formats selected through the Accept header.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:negotiation_tests;DB_CLOSE_DELAY=-1;MODE=MySQL"
+})
+class ContentNegotiationTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test that CBOR and Smile responses decode to the same document as JSON.
+     */
+    @Test
+    void testBinaryFormatsMatchJson() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS negotiation_demo (id BIGINT PRIMARY KEY, name VARCHAR(40))");
+
+        ResponseEntity<byte[]> json = get(MediaType.APPLICATION_JSON);
+        ResponseEntity<byte[]> cbor = get(MediaType.APPLICATION_CBOR);
+        ResponseEntity<byte[]> smile = get(SMILE);
+
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertTrue(MediaType.APPLICATION_CBOR.isCompatibleWith(cbor.getHeaders().getContentType()));
+        assertTrue(SMILE.isCompatibleWith(smile.getHeaders().getContentType()));
+
+        JsonNode expected = new ObjectMapper().readTree(json.getBody());
+        assertEquals(expected, new CBORMapper().readTree(cbor.getBody()));
+        assertEquals(expected, new SmileMapper().readTree(smile.getBody()));
+        assertTrue(cbor.getBody().length < json.getBody().length);
+    }
+
+    /**
+     * Test that each format gets its own ETag, varies by Accept, and only revalidates against its own tag.
+     */
+    @Test
+    void testETagPerFormat() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS negotiation_demo (id BIGINT PRIMARY KEY, name VARCHAR(40))");
+
+        ResponseEntity<byte[]> json = get(MediaType.APPLICATION_JSON);
+        ResponseEntity<byte[]> cbor = get(MediaType.APPLICATION_CBOR);
+        String jsonTag = json.getHeaders().getETag();
+        String cborTag = cbor.getHeaders().getETag();
+        assertNotNull(jsonTag);
+        assertNotEquals(jsonTag, cborTag);
+        assertTrue(variesByAccept(json));
+        assertTrue(variesByAccept(cbor));
+
+        assertEquals(HttpStatus.OK, get(MediaType.APPLICATION_JSON, cborTag).getStatusCode());
+        ResponseEntity<byte[]> revalidated = get(MediaType.APPLICATION_CBOR, cborTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertTrue(variesByAccept(revalidated));
+    }
+
+    private boolean variesByAccept(ResponseEntity<?> response) {
+        return response.getHeaders().getVary().stream().anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase);
+    }
+
+    private ResponseEntity<byte[]> get(MediaType accept) {
+        return get(accept, null);
+    }
+
+    private ResponseEntity<byte[]> get(MediaType accept, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange("/api/metadata/table/NEGOTIATION_DEMO", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.schemacrawler.controller;
+
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.service.SchemaCrawlerService;
+import com.example.schemacrawler.service.SchemaFingerprintService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test showing health checks stay responsive while slow crawls saturate the crawler.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=2",
+        "crawler.executor.pool-size=2",
+        "crawler.executor.queue-capacity=2",
+        "crawler.executor.request-timeout-ms=5000"
+})
+class CrawlLoadTests {
+
+    private static final int CONCURRENT_CRAWLS = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private SchemaCrawlerService schemaCrawlerService;
+
+    @MockBean
+    private SchemaFingerprintService schemaFingerprintService;
+
+    /**
+     * Test that a storm of slow /all requests neither blocks health checks nor queues without bound.
+     */
+    @Test
+    void testHealthStaysResponsiveDuringCrawlStorm() throws Exception {
+        when(schemaCrawlerService.crawlAllTablesMetadata()).thenAnswer(invocation -> {
+            Thread.sleep(1500);
+            CrawlResult result = new CrawlResult();
+            result.setTables(List.of());
+            result.setComplete(true);
+            return result;
+        });
+        when(schemaFingerprintService.getSchemaFingerprint(anyCollection()))
+                .thenReturn(new SchemaFingerprintService.Fingerprint("load-test", 0));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<CompletableFuture<HttpResponse<String>>> crawls = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CRAWLS; i++) {
+            crawls.add(client.sendAsync(request("/api/metadata/all"), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Give the crawl requests time to occupy the executor before probing health
+        Thread.sleep(300);
+        long slowest = 0;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> health = client.send(request("/api/health/status"), HttpResponse.BodyHandlers.ofString());
+            slowest = Math.max(slowest, (System.nanoTime() - start) / 1_000_000);
+            assertEquals(200, health.statusCode());
+        }
+        assertTrue(slowest < 500, "Health check took " + slowest + " ms during crawl storm");
+
+        int ok = 0;
+        int rejected = 0;
+        for (CompletableFuture<HttpResponse<String>> crawl : crawls) {
+            HttpResponse<String> response = crawl.get();
+            if (response.statusCode() == 200) {
+                ok++;
+            } else if (response.statusCode() == 503) {
+                assertTrue(response.headers().firstValue("Retry-After").isPresent());
+                rejected++;
+            }
+        }
+        assertTrue(ok >= 4, "Expected the pool and queue to serve at least 4 crawls, got " + ok);
+        assertTrue(rejected > 0, "Expected saturated crawls to be rejected with 503");
+        assertEquals(CONCURRENT_CRAWLS, ok + rejected);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.schemacrawler.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Server-Sent Events crawl progress stream.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stream_tests;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "crawler.stream.progress-interval-ms=0"
+})
+class CrawlStreamTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test that every table is streamed as it completes, followed by a summary event.
+     */
+    @Test
+    void testStreamEmitsEventPerTable() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS stream_demo_" + i + " (id BIGINT PRIMARY KEY)");
+        }
+        int tables = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'", Integer.class);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/metadata/all/stream"))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+
+        List<String> events = response.body()
+                .filter(line -> line.startsWith("event:"))
+                .map(line -> line.substring("event:".length()).trim())
+                .toList();
+        assertEquals(tables, events.stream().filter("table-started"::equals).count());
+        assertEquals(tables, events.stream().filter("table-completed"::equals).count());
+        assertTrue(events.contains("progress"));
+        assertEquals("complete", events.get(events.size() - 1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnProfile;
+import com.example.schemacrawler.model.TableProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming column profiler.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(properties = "crawler.profiler.chunk-rows=1000")
+class ColumnProfilerServiceTests {
+
+    @Autowired
+    private ColumnProfilerService columnProfilerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE profile_demo (id BIGINT PRIMARY KEY, code VARCHAR(20), note VARCHAR(50))");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            rows.add(new Object[]{i, "C" + (i % 500), i % 4 == 0 ? null : "note"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO profile_demo (id, code, note) VALUES (?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE profile_demo");
+    }
+
+    /**
+     * Test that chunked scans merge into accurate column statistics.
+     */
+    @Test
+    void testProfileTableInChunks() {
+        TableProfile profile = columnProfilerService.profileTable("PROFILE_DEMO", 1.0);
+
+        assertEquals(5000, profile.getRowsScanned());
+        assertTrue(profile.getChunks() > 1);
+
+        ColumnProfile id = profile.getColumns().get(0);
+        assertEquals("1", id.getMin());
+        assertEquals("5000", id.getMax());
+        assertEquals(5000, id.getDistinctEstimate(), 150);
+        assertEquals(2500, id.getQuantiles().get("p50"), 250);
+
+        ColumnProfile code = profile.getColumns().get(1);
+        assertEquals(500, code.getDistinctEstimate(), 15);
+
+        ColumnProfile note = profile.getColumns().get(2);
+        assertEquals(0.25, note.getNullFraction(), 0.0001);
+        assertEquals(1, note.getDistinctEstimate());
+    }
+
+    /**
+     * Test that sampling scans a subset of the rows.
+     */
+    @Test
+    void testProfileTableWithSampling() {
+        TableProfile profile = columnProfilerService.profileTable("PROFILE_DEMO", 0.1);
+
+        assertTrue(profile.getRowsScanned() > 0);
+        assertTrue(profile.getRowsScanned() < 5000);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.CrawlJob;
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.util.ResultMemoryBudget;
+import com.example.schemacrawler.util.SpillableTableBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for background crawl jobs.
+ */
+class CrawlJobServiceTests {
+
+    private final SchemaCrawlerService schemaCrawlerService = mock(SchemaCrawlerService.class);
+    private ResultMemoryBudget resultMemoryBudget = new ResultMemoryBudget(new SimpleMeterRegistry(), 1 << 20, "");
+    private CrawlJobService crawlJobService;
+
+    @AfterEach
+    void shutdown() {
+        crawlJobService.shutdown();
+    }
+
+    /**
+     * Test that a finished job keeps its result until the result budget is exceeded.
+     */
+    @Test
+    void testResultsKeptWithinBudget() throws Exception {
+        // Budget for one result but not two, sized like the buffer encodes them
+        long resultBytes;
+        try (SpillableTableBuffer sizing = resultMemoryBudget.newBuffer()) {
+            sizing.add(new TableMeta("users"));
+            resultBytes = sizing.byteSize();
+        }
+        crawlJobService = new CrawlJobService(schemaCrawlerService, resultMemoryBudget, 1, 10, resultBytes * 3 / 2, 100, 5);
+        when(schemaCrawlerService.crawlTables(anyList(), any())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            CrawlListener listener = invocation.getArgument(1);
+            for (int i = 0; i < names.size(); i++) {
+                listener.tableCompleted(new TableMeta(names.get(i)), i, names.size());
+            }
+            return new CrawlResult();
+        });
+
+        CrawlJob first = crawlJobService.submit(List.of("users"), 0);
+        awaitState(first.getJobId(), CrawlJob.SUCCEEDED);
+        // A reader holding the result while it is evicted still reads all of it
+        SpillableTableBuffer reading = crawlJobService.getResult(first.getJobId()).orElseThrow();
+
+        CrawlJob second = crawlJobService.submit(List.of("orders"), 0);
+        awaitState(second.getJobId(), CrawlJob.SUCCEEDED);
+        // The state turns SUCCEEDED just before the finished job is retained and evicts the older result
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!crawlJobService.getJob(first.getJobId()).orElseThrow().isResultEvicted()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Result of job " + first.getJobId() + " never evicted");
+            Thread.sleep(10);
+        }
+        assertTrue(crawlJobService.getResult(first.getJobId()).isEmpty());
+        assertEquals("users", reading.iterator().next().getTableName());
+        reading.unpin();
+        crawlJobService.getResult(second.getJobId()).orElseThrow().unpin();
+    }
+
+    /**
+     * Test that results beyond the memory budget are spilled and read back in crawl order.
+     */
+    @Test
+    void testResultsSpillBeyondMemoryBudget() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        resultMemoryBudget = new ResultMemoryBudget(meterRegistry, 256, "target/crawl-results");
+        crawlJobService = new CrawlJobService(schemaCrawlerService, resultMemoryBudget, 1, 10, 1 << 20, 100, 5);
+        when(schemaCrawlerService.crawlTables(anyList(), any())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            CrawlListener listener = invocation.getArgument(1);
+            for (int i = 0; i < names.size(); i++) {
+                listener.tableCompleted(new TableMeta(names.get(i)), i, names.size());
+            }
+            return new CrawlResult();
+        });
+        List<String> names = List.of("t01", "t02", "t03", "t04", "t05", "t06", "t07", "t08", "t09", "t10",
+                "t11", "t12", "t13", "t14", "t15", "t16", "t17", "t18", "t19", "t20");
+
+        CrawlJob job = crawlJobService.submit(names, 0);
+        awaitState(job.getJobId(), CrawlJob.SUCCEEDED);
+        SpillableTableBuffer result = crawlJobService.getResult(job.getJobId()).orElseThrow();
+        assertEquals(20, result.size());
+        assertTrue(result.spilledCount() > 0);
+        assertTrue(resultMemoryBudget.getUsedBytes() <= 256);
+        // Spilled tables still count towards the result's size
+        assertTrue(result.byteSize() > resultMemoryBudget.getUsedBytes());
+        List<String> read = new ArrayList<>();
+        result.forEach(tableMeta -> read.add(tableMeta.getTableName()));
+        assertEquals(names, read);
+        assertEquals(result.spilledCount(), meterRegistry.get("crawler.results.spilled.tables").counter().count());
+        result.unpin();
+
+        crawlJobService.shutdown();
+        assertEquals(0, resultMemoryBudget.getUsedBytes());
+        assertEquals(0.0, meterRegistry.get("crawler.results.spill.files").gauge().value());
+    }
+
+    /**
+     * Test that queued jobs run by priority, then in submission order.
+     */
+    @Test
+    void testQueuedJobsRunByPriority() throws Exception {
+        crawlJobService = new CrawlJobService(schemaCrawlerService, resultMemoryBudget, 1, 10, 1 << 20, 100, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        when(schemaCrawlerService.crawlTables(anyList(), any())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            order.add(names.get(0));
+            if (names.get(0).equals("blocker")) {
+                release.await();
+            }
+            return new CrawlResult();
+        });
+
+        CrawlJob blocker = crawlJobService.submit(List.of("blocker"), 0);
+        awaitState(blocker.getJobId(), CrawlJob.RUNNING);
+        crawlJobService.submit(List.of("low"), 0);
+        crawlJobService.submit(List.of("high"), 10);
+        CrawlJob last = crawlJobService.submit(List.of("low-later"), 0);
+        release.countDown();
+
+        awaitState(last.getJobId(), CrawlJob.SUCCEEDED);
+        assertEquals(List.of("blocker", "high", "low", "low-later"), order);
+    }
+
+    /**
+     * Test that cancelling a running job aborts its connection and frees the worker.
+     */
+    @Test
+    void testCancelAbortsRunningJob() throws Exception {
+        crawlJobService = new CrawlJobService(schemaCrawlerService, resultMemoryBudget, 1, 10, 1 << 20, 100, 5);
+        Connection connection = mock(Connection.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(schemaCrawlerService.crawlTables(anyList(), any())).thenAnswer(invocation -> {
+            CrawlListener listener = invocation.getArgument(1);
+            listener.connectionOpened(connection);
+            started.countDown();
+            Thread.sleep(60_000);
+            return new CrawlResult();
+        });
+
+        CrawlJob job = crawlJobService.submit(List.of("slow"), 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(crawlJobService.cancel(job.getJobId()));
+
+        verify(connection).abort(any());
+        assertEquals(CrawlJob.CANCELLED, crawlJobService.getJob(job.getJobId()).orElseThrow().getState());
+        assertFalse(crawlJobService.cancel(job.getJobId()));
+
+        CrawlJob next = crawlJobService.submit(List.of("next"), 0);
+        awaitState(next.getJobId(), CrawlJob.RUNNING);
+        assertTrue(crawlJobService.getResult(job.getJobId()).isEmpty());
+    }
+
+    /**
+     * Test that cancelling a job crawling several schemas aborts the connection of every worker.
+     */
+    @Test
+    void testCancelAbortsAllWorkerConnections() throws Exception {
+        crawlJobService = new CrawlJobService(schemaCrawlerService, resultMemoryBudget, 1, 10, 1 << 20, 100, 5);
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        Connection released = mock(Connection.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(schemaCrawlerService.crawlTables(anyList(), any())).thenAnswer(invocation -> {
+            CrawlListener listener = invocation.getArgument(1);
+            listener.connectionOpened(first);
+            listener.connectionOpened(released);
+            listener.connectionOpened(second);
+            listener.connectionClosed(released);
+            started.countDown();
+            Thread.sleep(60_000);
+            return new CrawlResult();
+        });
+
+        CrawlJob job = crawlJobService.submit(List.of("shop_eu.orders", "shop_us.orders"), 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(crawlJobService.cancel(job.getJobId()));
+
+        verify(first).abort(any());
+        verify(second).abort(any());
+        verify(released, never()).abort(any());
+    }
+
+    private void awaitState(String jobId, String state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!state.equals(crawlJobService.getJob(jobId).orElseThrow().getState())) {
+            assertTrue(System.currentTimeMillis() < deadline, "Job " + jobId + " never reached " + state);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.util.JdbcUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the background database health prober.
+ */
+class DatabaseHealthProberTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcUtils jdbcUtils = mock(JdbcUtils.class);
+
+    /**
+     * Test that repeated probes validate the same connection instead of opening new ones.
+     */
+    @Test
+    void testProbesReuseConnection() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(jdbcUtils.openProbeConnection()).thenReturn(connection);
+        DatabaseHealthProber prober = new DatabaseHealthProber(jdbcUtils, meterRegistry, 2, 30000);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(prober.probe().isUp());
+        }
+        assertTrue(prober.getLastResult().isUp());
+
+        verify(jdbcUtils, times(1)).openProbeConnection();
+        verify(connection, times(5)).isValid(2);
+        Timer timer = meterRegistry.get("crawler.health.probe.latency").tag("outcome", "up").timer();
+        assertEquals(5, timer.count());
+    }
+
+    /**
+     * Test that a connection failing validation is replaced before reporting down.
+     */
+    @Test
+    void testInvalidConnectionIsReopened() throws Exception {
+        Connection stale = mock(Connection.class);
+        Connection fresh = mock(Connection.class);
+        when(stale.isValid(anyInt())).thenReturn(true, false);
+        when(fresh.isValid(anyInt())).thenReturn(true);
+        when(jdbcUtils.openProbeConnection()).thenReturn(stale, fresh);
+        DatabaseHealthProber prober = new DatabaseHealthProber(jdbcUtils, meterRegistry, 2, 30000);
+
+        assertTrue(prober.probe().isUp());
+        assertTrue(prober.probe().isUp());
+
+        verify(stale).close();
+        verify(jdbcUtils, times(2)).openProbeConnection();
+    }
+
+    /**
+     * Test that failures are counted, recorded as down and cleared on recovery.
+     */
+    @Test
+    void testFailureAndRecovery() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(jdbcUtils.openProbeConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+        DatabaseHealthProber prober = new DatabaseHealthProber(jdbcUtils, meterRegistry, 2, 30000);
+
+        DatabaseHealthProber.ProbeResult first = prober.probe();
+        assertFalse(first.isUp());
+        assertEquals("Connection refused", first.getError());
+        assertEquals(2, prober.probe().getConsecutiveFailures());
+
+        DatabaseHealthProber.ProbeResult recovered = prober.probe();
+        assertTrue(recovered.isUp());
+        assertEquals(0, recovered.getConsecutiveFailures());
+        assertEquals(2, meterRegistry.get("crawler.health.probe.latency").tag("outcome", "down").timer().count());
+    }
+
+    /**
+     * Test that an old result is treated as stale.
+     */
+    @Test
+    void testStaleResult() throws Exception {
+        DatabaseHealthProber prober = new DatabaseHealthProber(jdbcUtils, meterRegistry, 2, 1000);
+        long now = System.currentTimeMillis();
+
+        assertFalse(prober.isStale(new DatabaseHealthProber.ProbeResult(true, now, 0, null, 0)));
+        assertTrue(prober.isStale(new DatabaseHealthProber.ProbeResult(true, now - 5000, 0, null, 0)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.IndexFinding;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the index advisor.
+ */
+class IndexAdvisorServiceTests {
+
+    private final IndexAdvisorService indexAdvisorService = new IndexAdvisorService(null, null);
+
+    /**
+     * Test that missing, redundant and duplicate indexes are each reported once.
+     */
+    @Test
+    void testAnalyzeTable() {
+        TableMeta orders = new TableMeta("orders");
+        ColumnMeta id = new ColumnMeta("id", "BIGINT");
+        ColumnMeta userId = new ColumnMeta("user_id", "BIGINT");
+        userId.setIsForeignKey(true);
+        userId.setForeignKeyTable("users");
+        ColumnMeta productId = new ColumnMeta("product_id", "BIGINT");
+        productId.setIsForeignKey(true);
+        productId.setForeignKeyTable("products");
+        ColumnMeta status = new ColumnMeta("status", "INT");
+        orders.setColumns(List.of(id, userId, productId, status));
+        orders.setPrimaryKey(List.of("id"));
+        orders.setEstimatedRowCount(1000L);
+        orders.setIndexes(List.of(
+                index("idx_user", false, "user_id"),
+                index("idx_user_status", false, "user_id", "status"),
+                index("idx_status", false, "status"),
+                index("idx_status_copy", false, "STATUS")));
+
+        Map<String, List<IndexFinding>> findings = indexAdvisorService.analyzeTable(orders).stream()
+                .collect(Collectors.groupingBy(IndexFinding::getType));
+
+        IndexFinding missing = findings.get(IndexFinding.MISSING_FK_INDEX).get(0);
+        assertEquals(List.of("product_id"), missing.getColumns());
+        assertEquals(1, findings.get(IndexFinding.MISSING_FK_INDEX).size());
+        assertEquals("CREATE INDEX `idx_orders_product_id` ON `orders` (`product_id`)", missing.getRecommendation());
+
+        IndexFinding redundant = findings.get(IndexFinding.REDUNDANT_PREFIX_INDEX).get(0);
+        assertEquals("idx_user", redundant.getIndexName());
+        assertEquals("idx_user_status", redundant.getRelatedIndexName());
+        assertEquals(1000L * (6 + 8 + 8), redundant.getEstimatedSizeBytes());
+
+        IndexFinding duplicate = findings.get(IndexFinding.DUPLICATE_INDEX).get(0);
+        assertEquals("idx_status_copy", duplicate.getIndexName());
+        assertEquals("idx_status", duplicate.getRelatedIndexName());
+        assertEquals("DROP INDEX `idx_status_copy` ON `orders`", duplicate.getRecommendation());
+        assertEquals(1, findings.get(IndexFinding.DUPLICATE_INDEX).size());
+    }
+
+    /**
+     * Test that unique indexes are kept even when they are a prefix of another index.
+     */
+    @Test
+    void testUniquePrefixIsNotRedundant() {
+        TableMeta users = new TableMeta("users");
+        users.setColumns(List.of(new ColumnMeta("id", "BIGINT"), new ColumnMeta("email", "VARCHAR")));
+        users.setIndexes(List.of(index("uq_email", true, "email"), index("idx_email_id", false, "email", "id")));
+
+        assertTrue(indexAdvisorService.analyzeTable(users).isEmpty());
+    }
+
+    /**
+     * Test that a unique index backing the primary key under another name, as H2 reports it,
+     * is recognised as the primary key and never recommended for dropping.
+     */
+    @Test
+    void testPrimaryKeyIndexUnderOtherName() {
+        TableMeta accounts = new TableMeta("accounts");
+        accounts.setColumns(List.of(new ColumnMeta("id", "BIGINT"), new ColumnMeta("email", "VARCHAR")));
+        accounts.setPrimaryKey(List.of("ID"));
+        accounts.setIndexes(List.of(index("PRIMARY_KEY_A", true, "ID"), index("idx_id", false, "id")));
+
+        List<IndexFinding> findings = indexAdvisorService.analyzeTable(accounts);
+        assertEquals(1, findings.size());
+        IndexFinding duplicate = findings.get(0);
+        assertEquals(IndexFinding.DUPLICATE_INDEX, duplicate.getType());
+        assertEquals("idx_id", duplicate.getIndexName());
+        assertEquals("PRIMARY_KEY_A", duplicate.getRelatedIndexName());
+
+        accounts.setIndexes(List.of(index("PRIMARY_KEY_A", true, "ID")));
+        assertTrue(indexAdvisorService.analyzeTable(accounts).isEmpty());
+    }
+
+    private IndexMeta index(String name, boolean unique, String... columns) {
+        IndexMeta index = new IndexMeta(name);
+        index.setIsUnique(unique);
+        index.setIsPrimary(false);
+        index.setColumns(List.of(columns));
+        return index;
+    }
+}
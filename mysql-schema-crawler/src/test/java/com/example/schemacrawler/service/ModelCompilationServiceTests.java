@@ -0,0 +1,95 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CompilationReport;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the in-memory compilation check of generated models.
+ */
+class ModelCompilationServiceTests {
+
+    private final ModelCompilationService compilationService = new ModelCompilationService(new ModelGeneratorService());
+
+    /**
+     * Test that a large schema compiles cleanly in a single batch.
+     */
+    @Test
+    void testLargeBatchCompiles() {
+        List<TableMeta> tables = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tables.add(table("table_" + i, "id", "created_at", "amount", "payload"));
+        }
+        CompilationReport report = compilationService.verify(tables);
+        assertTrue(report.isSuccess(), () -> report.getProblems().toString());
+        assertEquals(2000, report.getModels());
+        assertEquals(0, report.getModelsFailed());
+    }
+
+    /**
+     * Test that reserved words and colliding field names are reported against their columns.
+     */
+    @Test
+    void testProblemsMapToColumns() {
+        TableMeta reserved = table("lesson", "id", "class");
+        TableMeta duplicate = table("account", "id", "user_id", "User_Id");
+        TableMeta valid = table("customer", "id", "email");
+        CompilationReport report = compilationService.verify(List.of(reserved, duplicate, valid));
+
+        assertFalse(report.isSuccess());
+        assertEquals(2, report.getModelsFailed());
+        assertTrue(problemsFor(report, "customer").isEmpty());
+
+        List<CompilationReport.Problem> lessonProblems = problemsFor(report, "lesson");
+        assertFalse(lessonProblems.isEmpty());
+        assertTrue(lessonProblems.stream().allMatch(p -> "Lesson".equals(p.getClassName()) && p.getLine() != null));
+        assertTrue(lessonProblems.stream().anyMatch(p -> p.getColumns() != null && p.getColumns().contains("class")));
+
+        List<CompilationReport.Problem> accountProblems = problemsFor(report, "account");
+        assertTrue(accountProblems.stream().anyMatch(p -> p.getMessage().contains("already defined")
+                && p.getColumns().containsAll(List.of("user_id", "User_Id"))), () -> accountProblems.toString());
+    }
+
+    /**
+     * Test that invalid class names and generation failures are attributed to their tables.
+     */
+    @Test
+    void testInvalidTableNames() {
+        CompilationReport report = compilationService.verify(List.of(
+                table("2fa_codes", "id"), table("audit__log", "id"), table("order_line", "id")));
+
+        assertEquals(2, report.getModelsFailed());
+        assertFalse(problemsFor(report, "2fa_codes").isEmpty());
+        List<CompilationReport.Problem> generation = problemsFor(report, "audit__log");
+        assertEquals(1, generation.size());
+        assertTrue(generation.get(0).getMessage().startsWith("Model generation failed"));
+        assertTrue(problemsFor(report, "order_line").isEmpty());
+    }
+
+    private static List<CompilationReport.Problem> problemsFor(CompilationReport report, String tableName) {
+        return report.getProblems().stream()
+                .filter(p -> tableName.equals(p.getTableName()))
+                .collect(Collectors.toList());
+    }
+
+    private static TableMeta table(String name, String... columnNames) {
+        TableMeta table = new TableMeta(name);
+        List<ColumnMeta> columns = new ArrayList<>();
+        String[] types = {"BIGINT", "DATETIME", "DECIMAL", "JSON"};
+        for (int i = 0; i < columnNames.length; i++) {
+            ColumnMeta column = new ColumnMeta(columnNames[i], types[i % types.length]);
+            column.setIsNullable(i > 0);
+            columns.add(column);
+        }
+        table.setColumns(columns);
+        table.setPrimaryKey(List.of(columnNames[0]));
+        return table;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.GeneratedSourceCompiler;
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for generated model companions.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:generator_tests;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class ModelGeneratorServiceTests {
+
+    @Autowired
+    private ModelGeneratorService modelGeneratorService;
+
+    @Autowired
+    private SchemaCrawlerService schemaCrawlerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createTable() {
+        if (!schemaCrawlerService.getAllTables().contains("PRODUCTS")) {
+            new ResourceDatabasePopulator(new ClassPathResource("demo-schema.sql")).execute(dataSource);
+        }
+        jdbcTemplate.execute("CREATE TABLE mapper_demo (id BIGINT PRIMARY KEY, qty INT, ratio DOUBLE, active BOOLEAN, "
+                + "price DECIMAL(10,2) NOT NULL, shipped DATE, created_at TIMESTAMP, note VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO mapper_demo VALUES (1, 0, 0.5, TRUE, 9.99, DATE '2024-02-29', TIMESTAMP '2024-03-01 10:15:30', 'x')");
+        jdbcTemplate.update("INSERT INTO mapper_demo (id, price) VALUES (2, 0.00)");
+    }
+
+    @AfterEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE mapper_demo");
+    }
+
+    /**
+     * Test that generated row mappers produce the same objects as the reflective Spring
+     * mappers in every profile, including NULL in nullable primitive columns.
+     */
+    @Test
+    void testRowMapperMatchesReflectiveMappers() throws Exception {
+        for (ModelGeneratorService.Profile profile : ModelGeneratorService.Profile.values()) {
+            // USERS is left out: on H2 its metadata also picks up INFORMATION_SCHEMA.USERS
+            for (String tableName : List.of("PRODUCTS", "ORDERS", "MAPPER_DEMO")) {
+                TableMeta table = schemaCrawlerService.getTableMetadata(tableName);
+                GeneratedModel model = modelGeneratorService.generateModel(table, profile);
+                String modelClass = ModelGeneratorService.MODEL_PACKAGE + "." + model.getClassName();
+                ClassLoader loader = GeneratedSourceCompiler.compile(Map.of(
+                        modelClass, model.getCode(),
+                        modelClass + "RowMapper", modelGeneratorService.generateRowMapperCode(table, model)));
+
+                Class<?> type = loader.loadClass(modelClass);
+                Class<?> mapperType = loader.loadClass(modelClass + "RowMapper");
+                RowMapper<?> mapper = (RowMapper<?>) mapperType.getField("INSTANCE").get(null);
+                String sql = (String) mapperType.getField("SELECT_SQL").get(null);
+                String label = profile + " " + tableName;
+
+                List<?> generated = jdbcTemplate.query(sql, mapper);
+                if (profile == ModelGeneratorService.Profile.RECORDS) {
+                    assertTrue(type.isRecord(), label);
+                    // Record equality is the generated equals
+                    assertEquals(jdbcTemplate.query(sql, new DataClassRowMapper<>(type)), generated, label);
+                    continue;
+                }
+                List<?> reflective = jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(type));
+                assertFalse(generated.isEmpty(), label);
+                assertEquals(reflective.size(), generated.size());
+                for (int i = 0; i < generated.size(); i++) {
+                    for (Method getter : type.getMethods()) {
+                        if (getter.getName().startsWith("get") && getter.getDeclaringClass() == type) {
+                            assertEquals(getter.invoke(reflective.get(i)), getter.invoke(generated.get(i)),
+                                    label + "." + getter.getName());
+                        }
+                    }
+                }
+            }
+        }
+
+        TableMeta demo = schemaCrawlerService.getTableMetadata("MAPPER_DEMO");
+        String code = modelGeneratorService.generateRowMapperCode(demo, modelGeneratorService.generateModel(demo));
+        assertTrue(code.contains("model.setId(rs.getLong(1));"));
+        assertTrue(code.contains("int c2 = rs.getInt(2);"));
+        assertTrue(code.contains("model.setQty(rs.wasNull() ? null : c2);"));
+        assertTrue(code.contains("rs.getObject(7, java.time.LocalDateTime.class)"));
+    }
+
+    /**
+     * Test that NOT NULL numeric and boolean columns become primitives outside the boxed profile.
+     */
+    @Test
+    void testPrimitiveFieldTypes() {
+        TableMeta demo = schemaCrawlerService.getTableMetadata("MAPPER_DEMO");
+        assertEquals("Long", modelGeneratorService.generateModel(demo).getFieldMap().get("id"));
+
+        GeneratedModel model = modelGeneratorService.generateModel(demo, ModelGeneratorService.Profile.PRIMITIVES);
+        assertEquals("long", model.getFieldMap().get("id"));
+        assertEquals("Integer", model.getFieldMap().get("qty"));
+        assertEquals("java.math.BigDecimal", model.getFieldMap().get("price"));
+        assertTrue(model.getCode().contains("public long getId()"));
+    }
+
+    /**
+     * Test record equals, hashCode and the null checks of the compact constructor.
+     */
+    @Test
+    void testRecordSemantics() throws Exception {
+        TableMeta table = new TableMeta("blob_row");
+        ColumnMeta id = new ColumnMeta("id", "BIGINT");
+        id.setIsNullable(false);
+        ColumnMeta name = new ColumnMeta("name", "VARCHAR");
+        name.setIsNullable(false);
+        ColumnMeta payload = new ColumnMeta("payload", "BLOB");
+        payload.setIsNullable(true);
+        table.setColumns(List.of(id, name, payload));
+        GeneratedModel model = modelGeneratorService.generateModel(table, ModelGeneratorService.Profile.RECORDS);
+
+        String modelClass = ModelGeneratorService.MODEL_PACKAGE + "." + model.getClassName();
+        // The DAO is compiled along to cover binding byte[] record components
+        Class<?> type = GeneratedSourceCompiler.compile(Map.of(modelClass, model.getCode(),
+                modelClass + "Dao", modelGeneratorService.generateDaoCode(table, model))).loadClass(modelClass);
+        Constructor<?> constructor = type.getConstructor(long.class, String.class, byte[].class);
+
+        Object a = constructor.newInstance(1L, "a", new byte[]{1, 2});
+        Object b = constructor.newInstance(1L, "a", new byte[]{1, 2});
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, constructor.newInstance(2L, "a", new byte[]{1, 2}));
+        assertEquals(constructor.newInstance(1L, "a", null), constructor.newInstance(1L, "a", null));
+
+        InvocationTargetException error = assertThrows(InvocationTargetException.class,
+                () -> constructor.newInstance(1L, null, null));
+        assertInstanceOf(NullPointerException.class, error.getCause());
+    }
+
+    /**
+     * Test that generated DAOs insert and upsert rows in every profile, splitting
+     * multi-row statements by packet size and matching upserts on a unique index.
+     */
+    @Test
+    void testDaoWritesRows() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE dao_demo (id BIGINT AUTO_INCREMENT PRIMARY KEY, sku VARCHAR(20) NOT NULL UNIQUE, "
+                + "qty INT, price DECIMAL(10,2) NOT NULL, payload BLOB, created_at TIMESTAMP)");
+        try {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                rows.add(new Object[]{"SKU-" + i, i % 3 == 0 ? null : i, i + 0.25, i % 4 == 0 ? null : new byte[i * 10],
+                        java.sql.Timestamp.valueOf("2024-03-01 10:00:00")});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO dao_demo (sku, qty, price, payload, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+            String snapshotSql = "SELECT sku, qty, price, OCTET_LENGTH(payload), created_at FROM dao_demo ORDER BY sku";
+            List<Map<String, Object>> expected = jdbcTemplate.queryForList(snapshotSql);
+            TableMeta table = schemaCrawlerService.getTableMetadata("DAO_DEMO");
+
+            for (ModelGeneratorService.Profile profile : ModelGeneratorService.Profile.values()) {
+                GeneratedModel model = modelGeneratorService.generateModel(table, profile);
+                String modelClass = ModelGeneratorService.MODEL_PACKAGE + "." + model.getClassName();
+                String daoCode = modelGeneratorService.generateDaoCode(table, model);
+                assertTrue(daoCode.contains("ON DUPLICATE KEY UPDATE `QTY` = VALUES(`QTY`)"), daoCode);
+                assertFalse(daoCode.contains("`SKU` = VALUES"), daoCode);
+                ClassLoader loader = GeneratedSourceCompiler.compile(Map.of(
+                        modelClass, model.getCode(),
+                        modelClass + "RowMapper", modelGeneratorService.generateRowMapperCode(table, model),
+                        modelClass + "Dao", daoCode));
+                Class<?> mapperType = loader.loadClass(modelClass + "RowMapper");
+                List<?> models = jdbcTemplate.query((String) mapperType.getField("SELECT_SQL").get(null),
+                        (RowMapper<?>) mapperType.getField("INSTANCE").get(null));
+                // A small packet forces insertValues and upsertAll to split into many statements
+                Class<?> daoType = loader.loadClass(modelClass + "Dao");
+                Object dao = daoType.getConstructor(JdbcTemplate.class, long.class).newInstance(jdbcTemplate, 1024L);
+                Method insertAll = daoType.getMethod("insertAll", List.class);
+                Method insertValues = daoType.getMethod("insertValues", List.class);
+                Method upsertAll = daoType.getMethod("upsertAll", List.class);
+
+                jdbcTemplate.update("UPDATE dao_demo SET qty = -1, price = 0");
+                upsertAll.invoke(dao, models);
+                assertEquals(expected, jdbcTemplate.queryForList(snapshotSql), profile + " upsertAll");
+
+                jdbcTemplate.update("DELETE FROM dao_demo");
+                assertEquals(50, insertValues.invoke(dao, models), profile + " insertValues");
+                assertEquals(expected, jdbcTemplate.queryForList(snapshotSql), profile + " insertValues");
+
+                jdbcTemplate.update("DELETE FROM dao_demo");
+                assertEquals(50, insertAll.invoke(dao, models), profile + " insertAll");
+                assertEquals(expected, jdbcTemplate.queryForList(snapshotSql), profile + " insertAll");
+
+                // The rows now have new ids, so this upsert matches them on the unique sku
+                jdbcTemplate.update("UPDATE dao_demo SET qty = -1");
+                upsertAll.invoke(dao, models);
+                assertEquals(expected, jdbcTemplate.queryForList(snapshotSql), profile + " upsert on sku");
+            }
+        } finally {
+            jdbcTemplate.execute("DROP TABLE dao_demo");
+        }
+    }
+}
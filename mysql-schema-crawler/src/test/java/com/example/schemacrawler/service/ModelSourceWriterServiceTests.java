@@ -0,0 +1,158 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.CodegenReport;
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for incremental model source generation.
+ */
+class ModelSourceWriterServiceTests {
+
+    private final ModelSourceWriterService writer = new ModelSourceWriterService(new ModelGeneratorService(), 4, false, false);
+
+    @TempDir
+    Path outputDirectory;
+
+    @AfterEach
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    /**
+     * Test that a second run over an unchanged schema writes nothing and keeps timestamps.
+     */
+    @Test
+    void testUnchangedSchemaSkipsAllFiles() throws Exception {
+        List<TableMeta> tables = tables(50);
+        CodegenReport first = writer.writeSources(tables, outputDirectory, true);
+        assertEquals(50, first.getFilesWritten());
+        assertEquals(0, first.getFilesSkipped());
+
+        Path file = source("Table0");
+        FileTime old = FileTime.fromMillis(1_000_000_000L);
+        Files.setLastModifiedTime(file, old);
+
+        CodegenReport second = writer.writeSources(tables, outputDirectory, true);
+        assertEquals(0, second.getFilesWritten());
+        assertEquals(50, second.getFilesSkipped());
+        assertEquals(0, second.getFilesDeleted());
+        assertEquals(old, Files.getLastModifiedTime(file));
+    }
+
+    /**
+     * Test that only changed files are rewritten and files of dropped tables are deleted.
+     */
+    @Test
+    void testChangedAndDroppedTables() throws Exception {
+        List<TableMeta> tables = tables(10);
+        writer.writeSources(tables, outputDirectory, true);
+
+        tables.get(3).getColumns().add(column("added_column", "VARCHAR"));
+        tables.remove(9);
+        CodegenReport report = writer.writeSources(tables, outputDirectory, true);
+
+        assertEquals(1, report.getFilesWritten());
+        assertEquals(8, report.getFilesSkipped());
+        assertEquals(1, report.getFilesDeleted());
+        assertTrue(Files.readString(source("Table3")).contains("addedColumn"));
+        assertFalse(Files.exists(source("Table9")));
+    }
+
+    /**
+     * Test that stale files survive a partial run and are deleted by the next complete one.
+     */
+    @Test
+    void testPartialRunKeepsStaleFiles() throws Exception {
+        List<TableMeta> tables = tables(5);
+        writer.writeSources(tables, outputDirectory, true);
+
+        CodegenReport partial = writer.writeSources(tables.subList(0, 3), outputDirectory, false);
+        assertEquals(0, partial.getFilesDeleted());
+        assertTrue(partial.isStaleFilesKept());
+        assertTrue(Files.exists(source("Table4")));
+
+        CodegenReport complete = writer.writeSources(tables.subList(0, 3), outputDirectory, true);
+        assertEquals(2, complete.getFilesDeleted());
+        assertFalse(Files.exists(source("Table4")));
+    }
+
+    /**
+     * Test that a file edited by hand is restored, and that existing files are reused without a manifest.
+     */
+    @Test
+    void testEditedFileAndMissingManifest() throws Exception {
+        List<TableMeta> tables = tables(3);
+        writer.writeSources(tables, outputDirectory, true);
+
+        Files.writeString(source("Table1"), "// edited");
+        Files.delete(outputDirectory.resolve(ModelSourceWriterService.MANIFEST_FILE));
+
+        CodegenReport report = writer.writeSources(tables, outputDirectory, true);
+        assertEquals(1, report.getFilesWritten());
+        assertEquals(2, report.getFilesSkipped());
+        assertTrue(Files.readString(source("Table1")).contains("public class Table1"));
+    }
+
+    /**
+     * Test that tables mapping to the same class are reported and skipped, keeping their earlier file.
+     */
+    @Test
+    void testClassNameCollisionsReported() throws Exception {
+        List<TableMeta> tables = tables(2);
+        TableMeta userRoles = new TableMeta("user_roles");
+        userRoles.setColumns(new ArrayList<>(List.of(column("id", "BIGINT"))));
+        tables.add(userRoles);
+        writer.writeSources(tables, outputDirectory, true);
+        String written = Files.readString(source("UserRoles"));
+
+        TableMeta camelCased = new TableMeta("userRoles");
+        camelCased.setColumns(new ArrayList<>(List.of(column("role", "VARCHAR"))));
+        tables.add(camelCased);
+        CodegenReport report = writer.writeSources(tables, outputDirectory, true);
+
+        assertEquals(1, report.getErrors().size());
+        assertTrue(report.getErrors().get(0).contains("user_roles"));
+        assertTrue(report.getErrors().get(0).contains("userRoles"));
+        assertEquals(2, report.getModels());
+        assertEquals(2, report.getFilesSkipped());
+        assertEquals(0, report.getFilesDeleted());
+        assertEquals(written, Files.readString(source("UserRoles")));
+    }
+
+    private Path source(String className) {
+        return outputDirectory.resolve("com/example/models/" + className + ".java");
+    }
+
+    private static List<TableMeta> tables(int count) {
+        List<TableMeta> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TableMeta table = new TableMeta("table" + i);
+            List<ColumnMeta> columns = new ArrayList<>();
+            columns.add(column("id", "BIGINT"));
+            columns.add(column("created_at", "DATETIME"));
+            columns.add(column("amount", "DECIMAL"));
+            table.setColumns(columns);
+            table.setPrimaryKey(List.of("id"));
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static ColumnMeta column(String name, String dataType) {
+        ColumnMeta column = new ColumnMeta(name, dataType);
+        column.setIsNullable(true);
+        return column;
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.SchemaChange;
+import com.example.schemacrawler.model.TableMeta;
+import com.example.schemacrawler.repository.MetadataRepository;
+import com.example.schemacrawler.util.CrawlScope;
+import com.example.schemacrawler.util.JavaTypeResolver;
+import com.example.schemacrawler.util.JdbcUtils;
+import org.h2.tools.SimpleResultSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for crawling the demo schema.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:crawler_tests;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "crawler.history.dir=target/schema-history/crawler-tests",
+        "crawler.history.record-crawls=true"
+})
+class SchemaCrawlerServiceTests {
+
+    @Autowired
+    private SchemaCrawlerService schemaCrawlerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SchemaHistoryService schemaHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MetadataRepository metadataRepository;
+
+    @Autowired
+    private CrawlExecutorService crawlExecutorService;
+
+    @SpyBean
+    private JdbcUtils jdbcUtils;
+
+    @BeforeEach
+    void loadDemoSchema() {
+        if (schemaCrawlerService.getAllTables().isEmpty()) {
+            new ResourceDatabasePopulator(new ClassPathResource("demo-schema.sql")).execute(dataSource);
+        }
+    }
+
+    /**
+     * Test that a batch returns the requested tables in order and reports unknown names.
+     */
+    @Test
+    void testGetTablesMetadata() {
+        List<String> requested = List.of("ORDERS", "no_such_table", "USERS");
+        List<TableMeta> tables = schemaCrawlerService.getTablesMetadata(requested);
+
+        assertEquals(2, tables.size());
+        assertEquals("ORDERS", tables.get(0).getTableName());
+        assertEquals("USERS", tables.get(1).getTableName());
+        assertEquals(List.of("no_such_table"), schemaCrawlerService.findMissingTables(requested, tables));
+
+        TableMeta orders = tables.get(0);
+        assertEquals(List.of("ID"), orders.getPrimaryKey());
+        assertEquals(2, orders.getForeignKeys().size());
+        ColumnMeta userId = orders.getColumns().stream()
+                .filter(column -> column.getColumnName().equals("USER_ID")).findFirst().orElseThrow();
+        assertTrue(userId.getIsForeignKey());
+        assertEquals("USERS", userId.getForeignKeyTable());
+    }
+
+    /**
+     * Test the MySQL set-based batch path: one IN-list query per metadata kind, and column
+     * sizes and scales that match what Connector/J's getColumns reports for the same table.
+     */
+    @Test
+    void testMySqlBatchMatchesGetColumns() throws Exception {
+        Connection conn = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        when(conn.getCatalog()).thenReturn("shop");
+        List<String> statements = new ArrayList<>();
+        when(conn.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            statements.add(sql);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.executeQuery()).thenReturn(sql.contains("information_schema.COLUMNS")
+                    ? eventColumns() : new SimpleResultSet());
+            return statement;
+        });
+        doReturn(conn).when(jdbcUtils).getConnection();
+
+        List<TableMeta> tables = schemaCrawlerService.getTablesMetadata(List.of("events"));
+
+        assertEquals(5, statements.size());
+        assertTrue(statements.stream().allMatch(sql -> sql.contains("TABLE_SCHEMA = ?") && sql.contains("TABLE_NAME IN (?)")));
+        List<ColumnMeta> columns = tables.get(0).getColumns();
+        int[] sizes = {19, 19, 23, 64, 10, 8};
+        Integer[] scales = {0, 0, 3, null, null, 0};
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals(sizes[i], columns.get(i).getColumnSize(), columns.get(i).toString());
+            assertEquals(scales[i], columns.get(i).getScale(), columns.get(i).toString());
+        }
+        assertEquals(Integer.MAX_VALUE, SchemaCrawlerService.columnSize("longtext", 4294967295L, null, null));
+        assertEquals(4, SchemaCrawlerService.columnSize("year", null, null, null));
+    }
+
+    private static SimpleResultSet eventColumns() {
+        SimpleResultSet rs = new SimpleResultSet();
+        for (String name : List.of("TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "COLUMN_TYPE", "IS_NULLABLE",
+                "COLUMN_DEFAULT", "COLUMN_COMMENT", "EXTRA")) {
+            rs.addColumn(name, Types.VARCHAR, 64, 0);
+        }
+        for (String name : List.of("CHARACTER_MAXIMUM_LENGTH", "NUMERIC_PRECISION", "DATETIME_PRECISION", "NUMERIC_SCALE")) {
+            rs.addColumn(name, Types.BIGINT, 20, 0);
+        }
+        rs.addRow("events", "id", "bigint", "bigint", "NO", null, "", "auto_increment", null, 19L, null, 0L);
+        rs.addRow("events", "created_at", "datetime", "datetime", "NO", null, "", "", null, null, 0L, null);
+        rs.addRow("events", "updated_at", "datetime", "datetime(3)", "YES", null, "", "", null, null, 3L, null);
+        rs.addRow("events", "name", "varchar", "varchar(64)", "YES", null, "", "", 64L, null, null, null);
+        rs.addRow("events", "day", "date", "date", "YES", null, "", "", null, null, null, null);
+        rs.addRow("events", "at", "time", "time", "YES", null, "", "", null, null, 0L, null);
+        return rs;
+    }
+
+    /**
+     * Test that a table failing on a lock timeout is retried after the other tables.
+     */
+    @Test
+    void testFailedTableRetriedInLaterPass() throws Exception {
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new SQLTimeoutException("Lock wait timeout exceeded");
+            }
+            return invocation.callRealMethod();
+        }).when(jdbcUtils).getConnection(anyLong());
+
+        List<String> started = new ArrayList<>();
+        CrawlResult result = schemaCrawlerService.crawlTables(List.of("USERS", "ORDERS"), new CrawlListener() {
+            @Override
+            public void tableStarted(String tableName, int index, int total) {
+                started.add(tableName);
+            }
+        }, 0);
+
+        assertTrue(result.isComplete());
+        assertEquals(2, result.getPasses());
+        assertEquals(2, result.getTablesCrawled());
+        assertEquals(List.of("USERS", "ORDERS", "USERS"), started);
+    }
+
+    /**
+     * Test that the crawl stops at its deadline and reports the tables it did not reach.
+     */
+    @Test
+    void testDeadlineReturnsPartialResult() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return invocation.callRealMethod();
+        }).when(jdbcUtils).getConnection(anyLong());
+
+        CrawlResult result = schemaCrawlerService.crawlTables(List.of("USERS", "ORDERS", "PRODUCTS"),
+                new CrawlListener() {}, 100);
+
+        assertFalse(result.isComplete());
+        assertEquals(1, result.getTablesCrawled());
+        assertEquals(List.of("ORDERS", "PRODUCTS"), result.getTimedOutTables());
+        assertTrue(result.getFailedTables().isEmpty());
+    }
+
+    /**
+     * Test that crawled H2 columns carry type codes, precision and scale that resolve to
+     * the same Java types as the MySQL spellings of their DDL.
+     */
+    @Test
+    void testCrawledColumnTypes() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE type_demo (a INT, b BIGINT, c DECIMAL(10,2), d DECIMAL(12,0), "
+                    + "e VARCHAR(20), f CLOB, g BLOB, h DATETIME(6), i BOOLEAN, j DOUBLE, k JSON, "
+                    + "l TIMESTAMP WITH TIME ZONE)");
+        }
+        try {
+            String[] expected = {"Integer", "Long", "java.math.BigDecimal", "Long", "String", "String", "byte[]",
+                    "java.time.LocalDateTime", "Boolean", "Double", "String", "java.time.OffsetDateTime"};
+            List<ColumnMeta> columns = schemaCrawlerService.getTableMetadata("TYPE_DEMO").getColumns();
+            assertEquals(expected.length, columns.size());
+            JavaTypeResolver resolver = new JavaTypeResolver();
+            for (int i = 0; i < expected.length; i++) {
+                ColumnMeta column = columns.get(i);
+                assertNotNull(column.getJdbcType(), column.toString());
+                assertEquals(expected[i], resolver.resolve(column), column.toString());
+            }
+            assertEquals(2, columns.get(2).getScale());
+        } finally {
+            try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+                statement.execute("DROP TABLE type_demo");
+            }
+        }
+    }
+
+    /**
+     * Test that streamed crawls leave the metadata cache alone and only a full crawl fills it.
+     */
+    @Test
+    void testOnlyFullCrawlFillsCache() {
+        metadataRepository.clearAllTableMetadata();
+        CrawlResult streamed = schemaCrawlerService.crawlAllTables(new CrawlListener() {});
+        assertTrue(streamed.getTablesCrawled() > 0);
+        assertTrue(metadataRepository.getAllTableMetadata().isEmpty());
+
+        CrawlResult full = schemaCrawlerService.crawlAllTablesMetadata();
+        assertEquals(full.getTables().size(), metadataRepository.getAllTableMetadata().size());
+    }
+
+    /**
+     * Test that full crawls are recorded in the schema history, and unchanged ones are not.
+     */
+    @Test
+    void testFullCrawlsRecorded() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE history_demo (id BIGINT PRIMARY KEY)");
+        }
+        try {
+            long before = schemaHistoryService.getLatestVersion();
+            schemaCrawlerService.crawlAllTablesMetadata();
+            long added = schemaHistoryService.getLatestVersion();
+            assertEquals(before + 1, added);
+            schemaCrawlerService.crawlAllTablesMetadata();
+            assertEquals(added, schemaHistoryService.getLatestVersion());
+
+            try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+                statement.execute("ALTER TABLE history_demo ADD COLUMN label VARCHAR(20)");
+            }
+            schemaCrawlerService.crawlAllTablesMetadata();
+            List<SchemaChange> changes = schemaHistoryService.getChanges(added, added + 1).orElseThrow();
+            assertEquals(1, changes.size());
+            assertEquals(SchemaChange.CHANGED, changes.get(0).getChange());
+            assertEquals(List.of("LABEL"), changes.get(0).getAddedColumns());
+            assertTrue(schemaHistoryService.getCatalog(added).orElseThrow().stream()
+                    .anyMatch(table -> table.getTableName().equals("HISTORY_DEMO") && table.getColumns().size() == 1));
+        } finally {
+            try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+                statement.execute("DROP TABLE history_demo");
+            }
+        }
+    }
+
+    /**
+     * Test a crawl over several schemas: filters select the tables, schemas are crawled in
+     * parallel with progress reported on the calling thread, and same-named tables of
+     * different schemas are kept apart.
+     */
+    @Test
+    void testMultiSchemaCrawl() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("CREATE SCHEMA SHOP_EU");
+            statement.execute("CREATE SCHEMA SHOP_US");
+            statement.execute("CREATE SCHEMA ARCHIVE");
+            statement.execute("CREATE TABLE SHOP_EU.ORDERS (ID BIGINT PRIMARY KEY, VAT DECIMAL(10,2))");
+            statement.execute("CREATE TABLE SHOP_US.ORDERS (ID BIGINT PRIMARY KEY, STATE VARCHAR(2), TAX DECIMAL(10,2))");
+            statement.execute("CREATE TABLE SHOP_US.ORDER_ITEMS (ID BIGINT PRIMARY KEY, ORDER_ID BIGINT, "
+                    + "FOREIGN KEY (ORDER_ID) REFERENCES SHOP_US.ORDERS (ID))");
+            statement.execute("CREATE TABLE SHOP_US.ORDERS_TMP (ID BIGINT)");
+            statement.execute("CREATE TABLE ARCHIVE.ORDERS (ID BIGINT)");
+        }
+        try {
+            SchemaCrawlerService scoped = new SchemaCrawlerService(jdbcTemplate, jdbcUtils, metadataRepository,
+                    schemaHistoryService, new CrawlScope("shop_*", "", "", "*_tmp"), crawlExecutorService, 2);
+            List<String> tableNames = scoped.getAllTables();
+            assertEquals(List.of("SHOP_EU.ORDERS", "SHOP_US.ORDERS", "SHOP_US.ORDER_ITEMS"), tableNames);
+            // The default scope sees none of the other schemas
+            assertTrue(schemaCrawlerService.getAllTables().stream().noneMatch(name -> name.contains(".")));
+
+            Map<Integer, TableMeta> crawled = new TreeMap<>();
+            Set<Connection> open = ConcurrentHashMap.newKeySet();
+            AtomicInteger opened = new AtomicInteger();
+            Thread caller = Thread.currentThread();
+            CrawlResult result = scoped.crawlTables(tableNames, new CrawlListener() {
+                @Override
+                public void connectionOpened(Connection connection) {
+                    assertTrue(open.add(connection));
+                    opened.incrementAndGet();
+                }
+
+                @Override
+                public void connectionClosed(Connection connection) {
+                    assertTrue(open.remove(connection));
+                }
+
+                @Override
+                public void tableCompleted(TableMeta tableMeta, int index, int total) {
+                    assertSame(caller, Thread.currentThread());
+                    assertEquals(3, total);
+                    assertNull(crawled.put(index, tableMeta));
+                }
+            });
+            assertTrue(result.isComplete());
+            assertEquals(3, opened.get());
+            assertTrue(open.isEmpty());
+            assertEquals(3, result.getTablesCrawled());
+            assertEquals(tableNames, crawled.values().stream().map(TableMeta::getQualifiedName).toList());
+            assertEquals(2, crawled.get(0).getColumns().size());
+            assertEquals(3, crawled.get(1).getColumns().size());
+            ColumnMeta orderId = crawled.get(2).getColumns().get(1);
+            assertTrue(orderId.getIsForeignKey());
+            assertEquals("ORDERS", orderId.getForeignKeyTable());
+
+            List<TableMeta> batch = scoped.getTablesMetadata(List.of("SHOP_US.ORDERS", "ARCHIVE.MISSING"));
+            assertEquals(1, batch.size());
+            assertEquals("SHOP_US", batch.get(0).getSchemaName());
+            assertEquals(List.of("ARCHIVE.MISSING"), scoped.findMissingTables(List.of("SHOP_US.ORDERS", "ARCHIVE.MISSING"), batch));
+            scoped.shutdown();
+        } finally {
+            try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+                statement.execute("DROP SCHEMA SHOP_EU CASCADE");
+                statement.execute("DROP SCHEMA SHOP_US CASCADE");
+                statement.execute("DROP SCHEMA ARCHIVE CASCADE");
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.SchemaChange;
+import com.example.schemacrawler.model.SchemaVersion;
+import com.example.schemacrawler.model.TableMeta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the file-backed schema history.
+ */
+class SchemaHistoryServiceTests {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that unchanged crawls append nothing and only changed structures are stored.
+     */
+    @Test
+    void testStorageGrowsWithChanges() throws Exception {
+        SchemaHistoryService history = history(16);
+        List<TableMeta> catalog = List.of(table("users", "id", "email"), table("orders", "id", "user_id"));
+        assertEquals(1, history.record(catalog, true).orElseThrow().getVersion());
+        long tablesBytes = Files.size(directory.resolve(SchemaHistoryService.TABLES_FILE));
+        long versionsBytes = Files.size(directory.resolve(SchemaHistoryService.VERSIONS_FILE));
+
+        for (int i = 0; i < 20; i++) {
+            TableMeta users = table("users", "id", "email");
+            users.setEstimatedRowCount((long) i * 1000);
+            assertTrue(history.record(List.of(users, table("orders", "id", "user_id")), true).isEmpty());
+        }
+        assertEquals(tablesBytes, Files.size(directory.resolve(SchemaHistoryService.TABLES_FILE)));
+        assertEquals(versionsBytes, Files.size(directory.resolve(SchemaHistoryService.VERSIONS_FILE)));
+
+        SchemaVersion second = history.record(List.of(table("users", "id", "email", "name"),
+                table("orders", "id", "user_id")), true).orElseThrow();
+        assertEquals(List.of("users"), second.getChangedTables());
+        assertEquals(2, second.getTableCount());
+        // Only the new structure of users was stored
+        assertEquals(3, Files.readAllLines(directory.resolve(SchemaHistoryService.TABLES_FILE)).size());
+        assertNull(history.getCatalog(2).orElseThrow().get(1).getEstimatedRowCount());
+    }
+
+    /**
+     * Test that every version reads back the same catalog across checkpoints and after reopening.
+     */
+    @Test
+    void testCatalogAtEveryVersion() throws Exception {
+        SchemaHistoryService history = history(3);
+        Map<String, TableMeta> current = new TreeMap<>();
+        List<List<String>> expected = new ArrayList<>();
+        expected.add(List.of());
+        for (int v = 1; v <= 10; v++) {
+            current.put("t" + v, table("t" + v, "id"));
+            if (v % 2 == 0) {
+                current.put("t1", table("t1", "id", "c" + v));
+            }
+            if (v == 7) {
+                current.remove("t3");
+            }
+            history.record(current.values(), true).orElseThrow();
+            expected.add(signatures(new ArrayList<>(current.values())));
+        }
+
+        SchemaHistoryService reopened = history(3);
+        assertEquals(10, reopened.getLatestVersion());
+        assertTrue(reopened.getVersions().get(3).isCheckpoint());
+        assertFalse(reopened.getVersions().get(4).isCheckpoint());
+        for (int v = 0; v <= 10; v++) {
+            assertEquals(expected.get(v), signatures(history.getCatalog(v).orElseThrow()), "version " + v);
+            assertEquals(expected.get(v), signatures(reopened.getCatalog(v).orElseThrow()), "reopened version " + v);
+        }
+        assertTrue(reopened.getCatalog(11).isEmpty());
+        assertEquals(List.of("t3"), reopened.getVersions().get(6).getRemovedTables());
+    }
+
+    /**
+     * Test column and index level changes between versions, and lookups by timestamp.
+     */
+    @Test
+    void testChangesBetweenVersions() throws Exception {
+        SchemaHistoryService history = history(16);
+        TableMeta users = table("users", "id", "email", "legacy");
+        users.setIndexes(new ArrayList<>(List.of(index("idx_email", "email"))));
+        history.record(List.of(users, table("audit", "id")), true);
+        long firstRecorded = System.currentTimeMillis();
+        Thread.sleep(5);
+
+        TableMeta changedUsers = table("users", "id", "email", "name");
+        changedUsers.getColumns().get(1).setColumnSize(512);
+        changedUsers.setIndexes(new ArrayList<>(List.of(index("idx_email", "email", "name"), index("idx_name", "name"))));
+        history.record(List.of(changedUsers, table("orders", "id")), true);
+        // A partial crawl never records tables as removed
+        assertTrue(history.record(List.of(changedUsers), false).isEmpty());
+
+        List<SchemaChange> changes = history.getChanges(1, 2).orElseThrow();
+        assertEquals(List.of("audit", "orders", "users"), changes.stream().map(SchemaChange::getTableName).toList());
+        assertEquals(SchemaChange.REMOVED, changes.get(0).getChange());
+        assertEquals(SchemaChange.ADDED, changes.get(1).getChange());
+        SchemaChange usersChange = changes.get(2);
+        assertEquals(SchemaChange.CHANGED, usersChange.getChange());
+        assertEquals(List.of("name"), usersChange.getAddedColumns());
+        assertEquals(List.of("legacy"), usersChange.getRemovedColumns());
+        assertEquals(List.of("email"), usersChange.getChangedColumns());
+        assertEquals(List.of("idx_name"), usersChange.getAddedIndexes());
+        assertEquals(List.of("idx_email"), usersChange.getChangedIndexes());
+        assertFalse(usersChange.isPrimaryKeyChanged());
+
+        assertEquals(0, history.getVersionAt(0));
+        assertEquals(1, history.getVersionAt(firstRecorded));
+        assertEquals(2, history.getVersionAt(System.currentTimeMillis()));
+        assertEquals(2, history.getChanges(0, 2).orElseThrow().size());
+    }
+
+    /**
+     * Test that a torn last line left by a crash is cut off when the history is loaded.
+     */
+    @Test
+    void testTornWriteIsTruncated() throws Exception {
+        history(16).record(List.of(table("users", "id")), true);
+        Path versions = directory.resolve(SchemaHistoryService.VERSIONS_FILE);
+        long intact = Files.size(versions);
+        Files.writeString(versions, "{\"version\":2,\"timest", StandardOpenOption.APPEND);
+
+        SchemaHistoryService reopened = history(16);
+        assertEquals(1, reopened.getLatestVersion());
+        assertEquals(intact, Files.size(versions));
+        assertEquals(2, reopened.record(List.of(table("users", "id", "email")), true).orElseThrow().getVersion());
+    }
+
+    private SchemaHistoryService history(int checkpointInterval) {
+        return new SchemaHistoryService(new SchemaFingerprintService(null, null, null), new ObjectMapper(),
+                directory.toString(), checkpointInterval, true);
+    }
+
+    private static TableMeta table(String tableName, String... columns) {
+        TableMeta tableMeta = new TableMeta(tableName);
+        List<ColumnMeta> columnMetas = new ArrayList<>();
+        for (String column : columns) {
+            ColumnMeta columnMeta = new ColumnMeta(column, column.equals("id") ? "BIGINT" : "VARCHAR");
+            columnMeta.setColumnSize(column.equals("id") ? 19 : 255);
+            columnMeta.setIsNullable(!column.equals("id"));
+            columnMetas.add(columnMeta);
+        }
+        tableMeta.setColumns(columnMetas);
+        tableMeta.setPrimaryKeys(List.of("id"));
+        return tableMeta;
+    }
+
+    private static IndexMeta index(String indexName, String... columns) {
+        IndexMeta index = new IndexMeta(indexName);
+        index.setColumns(new ArrayList<>(List.of(columns)));
+        index.setIsUnique(false);
+        return index;
+    }
+
+    private static List<String> signatures(List<TableMeta> tables) {
+        SchemaFingerprintService fingerprints = new SchemaFingerprintService(null, null, null);
+        return tables.stream().map(t -> t.getTableName() + "=" + fingerprints.fingerprint(t)).sorted().toList();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.CrawlResult;
+import com.example.schemacrawler.model.GeneratedModel;
+import com.example.schemacrawler.model.IndexMeta;
+import com.example.schemacrawler.model.SchemaImport;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for importing a schema from mysqldump files.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import_tests;DB_CLOSE_DELAY=-1;MODE=MySQL"
+})
+class SchemaImportServiceTests {
+
+    private static final String DUMP = String.join("\n",
+            "CREATE TABLE `shop`.`customer` (",
+            "  `id` int unsigned NOT NULL AUTO_INCREMENT,",
+            "  `email` varchar(191) NOT NULL COMMENT 'Login e-mail',",
+            "  `status` enum('active','blocked') DEFAULT 'active',",
+            "  `balance` decimal(12,2) NOT NULL DEFAULT '0.00',",
+            "  `created_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),",
+            "  `bio` text,",
+            "  PRIMARY KEY (`id`),",
+            "  UNIQUE KEY `uk_email` (`email`),",
+            "  KEY `idx_status_created` (`status`,`created_at`),",
+            "  FULLTEXT KEY `ft_bio` (`bio`)",
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Registered customers';",
+            "INSERT INTO `customer` VALUES (1,'a@example.com','active',0.00,'2024-01-01 00:00:00.000','x;y');",
+            "CREATE TABLE `order_line` (",
+            "  `order_id` bigint NOT NULL,",
+            "  `line_no` smallint NOT NULL,",
+            "  `customer_id` int unsigned DEFAULT NULL,",
+            "  `flags` bit(3) DEFAULT b'0',",
+            "  PRIMARY KEY (`order_id`,`line_no`),",
+            "  KEY `fk_customer` (`customer_id`),",
+            "  CONSTRAINT `fk_customer` FOREIGN KEY (`customer_id`) REFERENCES `customer` (`id`) ON DELETE SET NULL",
+            ");",
+            "ALTER TABLE `order_line` ADD COLUMN `note` varchar(40), ADD INDEX (`note`);",
+            "");
+
+    @Autowired
+    private SchemaImportService schemaImportService;
+
+    @Autowired
+    private SchemaCrawlerService schemaCrawlerService;
+
+    @Autowired
+    private ModelGeneratorService modelGeneratorService;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void clearImport() {
+        schemaImportService.clearImport();
+    }
+
+    /**
+     * Test that a dump is parsed into the same structures a crawl produces.
+     */
+    @Test
+    void testImportBuildsTableMetadata() throws Exception {
+        SchemaImport result = importDump(DUMP);
+        assertEquals(2, result.getTables());
+        assertEquals(3, result.getStatementsParsed());
+        assertEquals(1, result.getStatementsSkipped());
+        assertEquals(0, result.getStatementsFailed());
+
+        TableMeta customer = schemaCrawlerService.getTableMetadata("CUSTOMER");
+        assertEquals("customer", customer.getTableName());
+        assertEquals("shop", customer.getSchemaName());
+        assertEquals("Registered customers", customer.getRemarks());
+        assertEquals(List.of("id"), customer.getPrimaryKey());
+
+        ColumnMeta id = customer.getColumns().get(0);
+        assertEquals("INT UNSIGNED", id.getDataType());
+        assertEquals(10, id.getColumnSize());
+        assertTrue(id.getIsAutoIncrement());
+        assertTrue(id.getIsPrimaryKey());
+        assertFalse(id.getIsNullable());
+
+        ColumnMeta email = customer.getColumns().get(1);
+        assertEquals("VARCHAR", email.getDataType());
+        assertEquals(191, email.getColumnSize());
+        assertEquals("Login e-mail", email.getRemarks());
+
+        assertEquals(7, customer.getColumns().get(2).getColumnSize());
+        assertEquals("active", customer.getColumns().get(2).getColumnDefault());
+        assertEquals("0.00", customer.getColumns().get(3).getColumnDefault());
+        assertEquals(12, customer.getColumns().get(3).getColumnSize());
+        assertEquals("CURRENT_TIMESTAMP(3)", customer.getColumns().get(4).getColumnDefault());
+        assertEquals(3, customer.getColumns().get(4).getColumnSize());
+        assertTrue(customer.getColumns().get(5).getIsNullable());
+
+        List<IndexMeta> indexes = customer.getIndexes();
+        assertEquals(3, indexes.size());
+        assertTrue(indexes.get(0).getIsUnique());
+        assertEquals(List.of("status", "created_at"), indexes.get(1).getColumns());
+
+        TableMeta orderLine = schemaCrawlerService.getTableMetadata("order_line");
+        assertEquals(List.of("order_id", "line_no"), orderLine.getPrimaryKey());
+        assertEquals(List.of("fk_customer"), orderLine.getForeignKeys());
+        ColumnMeta customerId = orderLine.getColumns().get(2);
+        assertTrue(customerId.getIsForeignKey());
+        assertEquals("customer", customerId.getForeignKeyTable());
+        assertEquals("id", customerId.getForeignKeyColumn());
+        assertNull(customerId.getColumnDefault());
+        assertEquals("b'0'", orderLine.getColumns().get(3).getColumnDefault());
+        assertEquals("note", orderLine.getColumns().get(4).getColumnName());
+        assertEquals("note", orderLine.getIndexes().get(1).getIndexName());
+    }
+
+    /**
+     * Test that the imported catalog replaces the live database until it is cleared.
+     */
+    @Test
+    void testImportedCatalogIsServedInsteadOfDatabase() throws Exception {
+        List<String> liveTables = schemaCrawlerService.getAllTables();
+        importDump(DUMP);
+
+        assertEquals(List.of("customer", "order_line"), schemaCrawlerService.getAllTables());
+        CrawlResult crawl = schemaCrawlerService.crawlAllTablesMetadata();
+        assertTrue(crawl.isComplete());
+        assertEquals(2, crawl.getTables().size());
+        List<TableMeta> batch = schemaCrawlerService.getTablesMetadata(List.of("order_line", "missing"));
+        assertEquals(1, batch.size());
+        assertEquals(List.of("missing"), schemaCrawlerService.findMissingTables(List.of("order_line", "missing"), batch));
+
+        GeneratedModel model = modelGeneratorService.generateModel(schemaCrawlerService.getTableMetadata("customer"));
+        assertEquals("Customer", model.getClassName());
+        assertTrue(modelGeneratorService.generateJavaCode(model).contains("java.math.BigDecimal balance"));
+
+        schemaImportService.clearImport();
+        assertEquals(liveTables, schemaCrawlerService.getAllTables());
+    }
+
+    /**
+     * Test that same-named tables of the databases in one dump are kept apart by their USE database.
+     */
+    @Test
+    void testTablesOfDifferentDatabasesKeptApart() throws Exception {
+        importDump(String.join("\n",
+                "USE `eu`;",
+                "CREATE TABLE `orders` (`id` bigint NOT NULL, `vat` decimal(10,2), PRIMARY KEY (`id`));",
+                "CREATE TABLE `invoice` (`id` bigint NOT NULL);",
+                "USE `us`;",
+                "CREATE TABLE `orders` (`id` bigint NOT NULL, PRIMARY KEY (`id`));",
+                "ALTER TABLE `orders` ADD COLUMN `state` char(2);",
+                "CREATE TABLE `archive`.`orders` (`id` bigint NOT NULL);",
+                ""));
+
+        assertEquals(List.of("eu.orders", "invoice", "us.orders", "archive.orders"), schemaCrawlerService.getAllTables());
+        TableMeta eu = schemaCrawlerService.getTableMetadata("eu.orders");
+        assertEquals("eu", eu.getSchemaName());
+        assertEquals("vat", eu.getColumns().get(1).getColumnName());
+        TableMeta us = schemaCrawlerService.getTableMetadata("US.ORDERS");
+        assertEquals(List.of("id", "state"), us.getColumns().stream().map(ColumnMeta::getColumnName).toList());
+        assertEquals(1, schemaCrawlerService.getTableMetadata("archive.orders").getColumns().size());
+        assertEquals("eu", schemaCrawlerService.getTableMetadata("invoice").getSchemaName());
+        // An unqualified name shared by several databases matches none of them
+        assertTrue(schemaCrawlerService.getTableMetadata("orders").getColumns().isEmpty());
+    }
+
+    /**
+     * Test that gzip-compressed dump files are read while streaming.
+     */
+    @Test
+    void testImportGzipFile() throws Exception {
+        Path file = tempDir.resolve("dump.sql.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(DUMP.getBytes(StandardCharsets.UTF_8));
+        }
+        SchemaImport result = schemaImportService.importFile(file);
+        assertEquals(2, result.getTables());
+        assertEquals(DUMP.getBytes(StandardCharsets.UTF_8).length, result.getBytesRead());
+        assertNotNull(schemaImportService.getActiveImport());
+    }
+
+    /**
+     * Test that a file without tables is rejected and leaves the live database in use.
+     */
+    @Test
+    void testImportWithoutTablesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> importDump("INSERT INTO t VALUES (1);"));
+        assertNull(schemaImportService.getActiveImport());
+    }
+
+    private SchemaImport importDump(String dump) throws Exception {
+        return schemaImportService.importStream(
+                new ByteArrayInputStream(dump.getBytes(StandardCharsets.UTF_8)), "dump.sql", false);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.schemacrawler.service;
+
+import com.example.schemacrawler.model.TableExport;
+import com.example.schemacrawler.util.AdaptiveConcurrencyLimiter;
+import com.example.schemacrawler.util.JdbcUtils;
+import com.example.schemacrawler.util.KeyRange;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the chunked table data export.
+ */
+@ActiveProfiles("demo")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export_tests;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "crawler.export.chunk-rows=1000"
+})
+class TableExportServiceTests {
+
+    @Autowired
+    private TableExportService tableExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcUtils jdbcUtils;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @TempDir
+    Path outputDirectory;
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE export_demo (id BIGINT PRIMARY KEY, name VARCHAR(40), amount DECIMAL(10,2), note VARCHAR(50))");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            rows.add(new Object[]{i, "name " + i, i / 4.0, i % 10 == 0 ? null : i % 10 == 1 ? "a \"quoted\", note" : ""});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO export_demo (id, name, amount, note) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE export_demo");
+    }
+
+    /**
+     * Test that a table is split into key ranges, one CSV chunk file each.
+     */
+    @Test
+    void testCsvExportInChunks() throws Exception {
+        TableExport export = tableExportService.exportTable("EXPORT_DEMO", TableExportService.Format.CSV, outputDirectory, false);
+
+        assertEquals("COMPLETED", export.getState(), export.getError());
+        assertEquals("ID", export.getKeyColumn());
+        assertEquals(5, export.getChunks());
+        assertEquals(5, export.getChunksCompleted());
+        assertEquals(5000, export.getRowsExported());
+
+        List<Path> files = chunkFiles("csv");
+        assertEquals(5, files.size());
+        assertEquals(files.stream().mapToLong(this::size).sum(), export.getBytesWritten());
+        List<String> first = Files.readAllLines(files.get(0), StandardCharsets.UTF_8);
+        assertEquals(1001, first.size());
+        assertEquals("ID,NAME,AMOUNT,NOTE", first.get(0));
+        assertEquals("1,name 1,0.25,\"a \"\"quoted\"\", note\"", first.get(1));
+        assertEquals("2,name 2,0.50,\"\"", first.get(2));
+        assertEquals("10,name 10,2.50,", first.get(10));
+    }
+
+    /**
+     * Test that NDJSON chunks hold one typed object per row.
+     */
+    @Test
+    void testNdjsonExport() throws Exception {
+        TableExport export = tableExportService.exportTable("EXPORT_DEMO", TableExportService.Format.NDJSON, outputDirectory, false);
+        assertEquals(5000, export.getRowsExported());
+
+        ObjectMapper mapper = new ObjectMapper();
+        long rows = 0;
+        for (Path file : chunkFiles("ndjson")) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                JsonNode row = mapper.readTree(line);
+                assertTrue(row.get("ID").isIntegralNumber());
+                assertTrue(row.get("AMOUNT").isNumber());
+                rows++;
+            }
+        }
+        assertEquals(5000, rows);
+        JsonNode tenth = mapper.readTree(Files.readAllLines(chunkFiles("ndjson").get(0)).get(9));
+        assertEquals(10, tenth.get("ID").asLong());
+        assertTrue(tenth.get("NOTE").isNull());
+    }
+
+    /**
+     * Test that a resumed export only writes the chunks missing from the checkpoint.
+     */
+    @Test
+    void testResumeFromCheckpoint() throws Exception {
+        tableExportService.exportTable("EXPORT_DEMO", TableExportService.Format.CSV, outputDirectory, false);
+
+        // Simulate a crash after two chunks: keep their checkpoint lines and files only
+        Path checkpoint = outputDirectory.resolve(TableExportService.CHECKPOINT_FILE);
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        List<String> kept = lines.stream()
+                .filter(l -> !l.startsWith("done ") || l.startsWith("done 0 ") || l.startsWith("done 1 "))
+                .collect(Collectors.toList());
+        Files.write(checkpoint, kept, StandardCharsets.UTF_8);
+        List<Path> files = chunkFiles("csv");
+        for (Path file : files.subList(2, files.size())) {
+            Files.delete(file);
+        }
+        FileTime old = FileTime.fromMillis(1_000_000_000L);
+        Files.setLastModifiedTime(files.get(0), old);
+
+        TableExport resumed = tableExportService.exportTable("EXPORT_DEMO", TableExportService.Format.CSV, outputDirectory, true);
+        assertEquals("COMPLETED", resumed.getState(), resumed.getError());
+        assertEquals(2, resumed.getChunksResumed());
+        assertEquals(3, resumed.getChunksCompleted());
+        assertEquals(3000, resumed.getRowsExported());
+        assertEquals(5, chunkFiles("csv").size());
+        assertEquals(old, Files.getLastModifiedTime(files.get(0)));
+
+        TableExport restarted = tableExportService.exportTable("EXPORT_DEMO", TableExportService.Format.CSV, outputDirectory, false);
+        assertEquals(0, restarted.getChunksResumed());
+        assertEquals(5000, restarted.getRowsExported());
+    }
+
+    /**
+     * Test that a table without an integral key is exported as a single chunk.
+     */
+    @Test
+    void testTableWithoutKeyIsOneChunk() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE export_nokey (code VARCHAR(10))");
+        try {
+            jdbcTemplate.batchUpdate("INSERT INTO export_nokey (code) VALUES (?)",
+                    List.of(new Object[]{"a"}, new Object[]{"b"}, new Object[]{"c"}));
+            TableExport export = tableExportService.exportTable("EXPORT_NOKEY", TableExportService.Format.CSV, outputDirectory, true);
+            assertNull(export.getKeyColumn());
+            assertEquals(1, export.getChunks());
+            assertEquals(3, export.getRowsExported());
+            assertEquals(List.of("CODE", "a", "b", "c"), Files.readAllLines(chunkFiles("csv").get(0)));
+        } finally {
+            jdbcTemplate.execute("DROP TABLE export_nokey");
+        }
+    }
+
+    /**
+     * Test that BIGINT UNSIGNED keys beyond Long.MAX_VALUE fall back to one chunk instead of overflowing.
+     */
+    @Test
+    void testUnsignedKeysBeyondLongAreNotSplit() {
+        BigDecimal max = new BigDecimal("18446744073709551615");
+        assertTrue(TableExportService.planRanges(BigDecimal.ONE, max, 1000, 1024).isEmpty());
+        assertTrue(TableExportService.planRanges(null, null, 1000, 1024).isEmpty());
+
+        List<KeyRange> ranges = TableExportService.planRanges(
+                BigDecimal.ZERO, BigDecimal.valueOf(Long.MAX_VALUE), 1000, 4);
+        assertEquals(4, ranges.size());
+        assertEquals(0, ranges.get(0).getLower());
+        assertEquals(Long.MAX_VALUE, ranges.get(3).getUpper());
+    }
+
+    /**
+     * Test that export connections leave the crawl concurrency limit alone.
+     */
+    @Test
+    void testExportConnectionsBypassConcurrencyLimit() throws Exception {
+        int inFlight = concurrencyLimiter.getInFlight();
+        try (Connection conn = jdbcUtils.getBulkConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM export_demo")) {
+            assertEquals(inFlight, concurrencyLimiter.getInFlight());
+            assertTrue(rs.next());
+            assertEquals(5000, rs.getLong(1));
+        }
+        assertEquals(inFlight, concurrencyLimiter.getInFlight());
+    }
+
+    private List<Path> chunkFiles(String extension) throws Exception {
+        try (Stream<Path> files = Files.list(outputDirectory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith("." + extension))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
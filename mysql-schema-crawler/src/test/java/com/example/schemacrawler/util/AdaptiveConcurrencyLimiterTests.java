@@ -0,0 +1,78 @@
+package com.example.schemacrawler.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the adaptive concurrency limiter.
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, long cooldownMs, long maxWaitMs) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, true, initialLimit, 1, 32, 2.0, 5000, 0.5, cooldownMs, maxWaitMs);
+    }
+
+    /**
+     * Test that healthy queries grow the limit while capacity is in use.
+     */
+    @Test
+    void testLimitGrowsWhileHealthy() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0, 1000);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 40; i++) {
+            limiter.onQuery(TimeUnit.MILLISECONDS.toNanos(5), false);
+        }
+        assertTrue(limiter.getLimit() >= 8, "limit was " + limiter.getLimit());
+    }
+
+    /**
+     * Test that errors and latency spikes back off, spaced by the cool-down.
+     */
+    @Test
+    void testBackoffOnErrorAndLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16, 0, 1000);
+        limiter.onQuery(TimeUnit.MILLISECONDS.toNanos(5), true);
+        assertEquals(8, limiter.getLimit(), 0.001);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onQuery(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        double before = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            limiter.onQuery(TimeUnit.MILLISECONDS.toNanos(200), false);
+        }
+        assertTrue(limiter.getLimit() < before);
+        assertEquals(1.0, meterRegistry.get("crawler.limiter.backoffs").tag("reason", "error").counter().count());
+        assertTrue(meterRegistry.get("crawler.limiter.backoffs").tag("reason", "latency").counter().count() >= 1);
+
+        AdaptiveConcurrencyLimiter spaced = limiter(16, 60_000, 1000);
+        spaced.onQuery(1, true);
+        spaced.onQuery(1, true);
+        assertEquals(8, spaced.getLimit(), 0.001);
+    }
+
+    /**
+     * Test that callers wait at the limit and fail once the maximum wait passes.
+     */
+    @Test
+    void testAcquireWaitsAtLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0, 100);
+        limiter.acquire();
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, limiter::acquire);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        limiter.release();
+        limiter.acquire();
+        assertEquals(1, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.schemacrawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the include and exclude patterns of a crawl.
+ */
+class CrawlScopeTests {
+
+    /**
+     * Test that globs and regular expressions match whole names ignoring case, and excludes win.
+     */
+    @Test
+    void testMatching() {
+        CrawlScope scope = new CrawlScope("shop_*, regex:tenant_[0-9]+", "shop_test", "", "*_tmp,audit?");
+
+        assertFalse(scope.isDefaultSchemaOnly());
+        assertTrue(scope.matchesSchema("shop_eu"));
+        assertTrue(scope.matchesSchema("SHOP_US"));
+        assertTrue(scope.matchesSchema("tenant_42"));
+        assertFalse(scope.matchesSchema("tenant_42x"));
+        assertFalse(scope.matchesSchema("shop_test"));
+        assertFalse(scope.matchesSchema("billing"));
+
+        assertTrue(scope.matchesTable("orders"));
+        assertFalse(scope.matchesTable("orders_tmp"));
+        assertFalse(scope.matchesTable("audit1"));
+        assertTrue(scope.matchesTable("audit_log"));
+    }
+
+    /**
+     * Test that system schemas stay out of even the widest scope.
+     */
+    @Test
+    void testSystemSchemasExcluded() {
+        CrawlScope scope = new CrawlScope("*", "", "", "");
+
+        assertTrue(scope.matchesSchema("shop"));
+        assertFalse(scope.matchesSchema("INFORMATION_SCHEMA"));
+        assertFalse(scope.matchesSchema("mysql"));
+        assertFalse(scope.matchesSchema("performance_schema"));
+        assertFalse(scope.matchesSchema("sys"));
+        assertTrue(new CrawlScope("", "", "", "").isDefaultSchemaOnly());
+    }
+
+    /**
+     * Test the LIKE patterns passed to DatabaseMetaData and the predicates of MySQL queries.
+     */
+    @Test
+    void testPushedDownPatterns() {
+        assertEquals("shop\\_%", CrawlScope.toLike("shop_*", "\\"));
+        assertEquals("a_b%", CrawlScope.toLike("a?b*", "\\"));
+        assertEquals(List.of("%"), new CrawlScope("", "", "", "").tableLikePatterns("\\"));
+        assertEquals(List.of("%"), new CrawlScope("shop_*,regex:t[0-9]", "", "", "").schemaLikePatterns("\\"));
+        assertEquals(List.of("orders", "order\\_%"), new CrawlScope("", "", "orders,order_*", "").tableLikePatterns("\\"));
+
+        List<String> parameters = new ArrayList<>();
+        assertEquals("TABLE_SCHEMA = DATABASE()", new CrawlScope("", "", "", "").schemaPredicate("TABLE_SCHEMA", parameters));
+        assertTrue(parameters.isEmpty());
+
+        CrawlScope scope = new CrawlScope("shop_*,regex:tenant_[0-9]+", "", "", "*_tmp");
+        String predicate = scope.schemaPredicate("TABLE_SCHEMA", parameters);
+        assertTrue(predicate.contains("TABLE_SCHEMA NOT IN (?, ?, ?, ?)"), predicate);
+        assertTrue(predicate.contains("(TABLE_SCHEMA LIKE ? OR TABLE_SCHEMA REGEXP ?)"), predicate);
+        assertEquals(List.of("shop\\_%", "^(tenant_[0-9]+)$"), parameters.subList(4, 6));
+
+        parameters.clear();
+        assertEquals("(1 = 1 AND NOT TABLE_NAME LIKE ?)", scope.tablePredicate("TABLE_NAME", parameters));
+        assertEquals(List.of("%\\_tmp"), parameters);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.TableMeta;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Java type resolver.
+ */
+class JavaTypeResolverTests {
+
+    private final JavaTypeResolver resolver = new JavaTypeResolver();
+
+    /**
+     * Test type names as MySQL DDL and H2 metadata spell them.
+     */
+    @Test
+    void testTypeNames() {
+        String[][] matrix = {
+                // MySQL
+                {"INT", "Integer"}, {"int unsigned", "Long"}, {"MEDIUMINT", "Integer"},
+                {"BIGINT", "Long"}, {"BIGINT UNSIGNED", "java.math.BigInteger"},
+                {"TINYINT", "Byte"}, {"TINYINT UNSIGNED", "Short"}, {"TINYINT(1)", "Boolean"},
+                {"SMALLINT UNSIGNED", "Integer"}, {"YEAR", "Short"},
+                {"BIT(1)", "Boolean"}, {"BIT(8)", "byte[]"}, {"BOOL", "Boolean"},
+                {"FLOAT", "Float"}, {"DOUBLE", "Double"},
+                {"DECIMAL(10,2)", "java.math.BigDecimal"}, {"DECIMAL(10,0)", "Long"}, {"DECIMAL(5)", "Integer"},
+                {"DECIMAL(20,0)", "java.math.BigDecimal"}, {"DECIMAL", "java.math.BigDecimal"},
+                {"VARCHAR(255)", "String"}, {"LONGTEXT", "String"}, {"ENUM", "String"}, {"JSON", "String"},
+                {"DATE", "java.time.LocalDate"}, {"TIME(3)", "java.time.LocalTime"},
+                {"DATETIME(6)", "java.time.LocalDateTime"}, {"TIMESTAMP", "java.time.LocalDateTime"},
+                {"VARBINARY(16)", "byte[]"}, {"LONGBLOB", "byte[]"},
+                // H2
+                {"CHARACTER VARYING", "String"}, {"CHARACTER LARGE OBJECT", "String"},
+                {"BINARY LARGE OBJECT", "byte[]"}, {"BINARY VARYING", "byte[]"},
+                {"NUMERIC(12,4)", "java.math.BigDecimal"}, {"DOUBLE PRECISION", "Double"}, {"REAL", "Float"},
+                {"TIMESTAMP WITH TIME ZONE", "java.time.OffsetDateTime"}, {"TIME WITH TIME ZONE", "java.time.OffsetTime"},
+                // Unknown names keep the old String fallback
+                {"GEOGRAPHY", "String"}, {"UUID", "String"}};
+        for (String[] row : matrix) {
+            assertEquals(row[1], resolver.resolve(row[0]), row[0]);
+        }
+        assertEquals("String", resolver.resolve((String) null));
+    }
+
+    /**
+     * Test type codes with precision, scale and sign as the MySQL and H2 drivers report them.
+     */
+    @Test
+    void testJdbcTypes() {
+        Object[][] matrix = {
+                // Connector/J reports TINYINT(1) as BIT with size 1, and BIT(n) with size n
+                {"BIT", Types.BIT, 1, null, false, "Boolean"},
+                {"BIT", Types.BIT, 8, null, false, "byte[]"},
+                {"INT UNSIGNED", Types.INTEGER, 10, 0, true, "Long"},
+                {"BIGINT UNSIGNED", Types.BIGINT, 20, 0, true, "java.math.BigInteger"},
+                {"DECIMAL", Types.DECIMAL, 10, 2, false, "java.math.BigDecimal"},
+                {"DECIMAL", Types.DECIMAL, 12, 0, false, "Long"},
+                {"DATETIME", Types.TIMESTAMP, 26, 6, false, "java.time.LocalDateTime"},
+                {"JSON", Types.LONGVARCHAR, 1073741824, null, false, "String"},
+                // H2
+                {"CHARACTER VARYING", Types.VARCHAR, 255, null, false, "String"},
+                {"NUMERIC", Types.NUMERIC, 100000, 0, false, "java.math.BigDecimal"},
+                {"BINARY LARGE OBJECT", Types.BLOB, Integer.MAX_VALUE, null, false, "byte[]"},
+                {"JSON", Types.OTHER, 1048576, null, false, "String"}};
+        for (Object[] row : matrix) {
+            ColumnMeta column = new ColumnMeta("c", (String) row[0]);
+            column.setJdbcType((Integer) row[1]);
+            column.setColumnSize((Integer) row[2]);
+            column.setScale((Integer) row[3]);
+            column.setIsUnsigned((Boolean) row[4]);
+            assertEquals(row[5], resolver.resolve(column), column.toString());
+        }
+    }
+
+    /**
+     * Test that the DDL parser captures type codes, scale and sign for the resolver.
+     */
+    @Test
+    void testParsedColumns() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse("CREATE TABLE t (a INT UNSIGNED, b TINYINT(1) NOT NULL, c DECIMAL(10,2), d BIGINT UNSIGNED, "
+                + "e DECIMAL(8), f DATETIME(6), g NUMERIC(30,0))");
+        TableMeta table = parser.getTables().get(0);
+        String[] expected = {"Long", "Boolean", "java.math.BigDecimal", "java.math.BigInteger", "Integer",
+                "java.time.LocalDateTime", "java.math.BigDecimal"};
+        for (int i = 0; i < expected.length; i++) {
+            ColumnMeta column = table.getColumns().get(i);
+            assertNotNull(column.getJdbcType(), column.toString());
+            assertEquals(expected[i], resolver.resolve(column), column.toString());
+        }
+        assertEquals(2, table.getColumns().get(2).getScale());
+    }
+
+    /**
+     * Test that custom mappings win over the built-in ones, ignoring case.
+     */
+    @Test
+    void testCustomMappings() {
+        JavaTypeResolver custom = new JavaTypeResolver("JSON=com.fasterxml.jackson.databind.JsonNode, tinyint unsigned=Integer");
+        ColumnMeta json = new ColumnMeta("payload", "json");
+        json.setJdbcType(Types.LONGVARCHAR);
+        assertEquals("com.fasterxml.jackson.databind.JsonNode", custom.resolve(json));
+        assertEquals("Integer", custom.resolve("TINYINT UNSIGNED"));
+        assertEquals("Short", resolver.resolve("TINYINT UNSIGNED"));
+        assertEquals("Long", custom.resolve("BIGINT"));
+
+        assertThrows(IllegalArgumentException.class, () -> new JavaTypeResolver("JSON"));
+    }
+}
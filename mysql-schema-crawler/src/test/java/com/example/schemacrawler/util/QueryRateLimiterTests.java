@@ -0,0 +1,62 @@
+package com.example.schemacrawler.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the per-target query rate budget.
+ */
+class QueryRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Test that a burst is served at once and further queries wait for the refill.
+     */
+    @Test
+    void testBurstThenRefillRate() throws Exception {
+        QueryRateLimiter limiter = new QueryRateLimiter(meterRegistry, true, 100, 10, 5000, "");
+        limiter.acquire("db:3306", 10);
+        assertEquals(0.0, meterRegistry.get("crawler.ratelimit.wait").tag("target", "db:3306").timer()
+                .totalTime(TimeUnit.NANOSECONDS));
+
+        long start = System.nanoTime();
+        limiter.acquire("db:3306", 20);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 150 && waitedMs < 1000, "waited " + waitedMs + " ms");
+        assertTrue(meterRegistry.get("crawler.ratelimit.wait").tag("target", "db:3306").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 150);
+    }
+
+    /**
+     * Test that work is refused when the wait would exceed the maximum, without using tokens.
+     */
+    @Test
+    void testRejectBeyondMaxWait() throws Exception {
+        QueryRateLimiter limiter = new QueryRateLimiter(meterRegistry, true, 10, 5, 100, "");
+        limiter.acquire("db:3306", 5);
+        assertThrows(SQLTransientException.class, () -> limiter.acquire("db:3306", 50));
+        assertEquals(1.0, meterRegistry.get("crawler.ratelimit.rejected").counter().count());
+        // The refused reservation left the bucket as it was, so a small query still fits
+        limiter.acquire("db:3306", 1);
+    }
+
+    /**
+     * Test that targets get their own buckets and per-target overrides.
+     */
+    @Test
+    void testPerTargetBudgets() throws Exception {
+        QueryRateLimiter limiter = new QueryRateLimiter(meterRegistry, true, 1, 1, 0, "replica:3306=1000/500");
+        limiter.acquire("primary:3306", 1);
+        assertThrows(SQLTransientException.class, () -> limiter.acquire("primary:3306", 1));
+        limiter.acquire("replica:3306", 500);
+
+        assertEquals("db.internal:3306", QueryRateLimiter.targetOf("jdbc:mysql://db.internal:3306/shop?useSSL=false"));
+        assertEquals("jdbc:h2:mem:testdb", QueryRateLimiter.targetOf("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.schemacrawler.util;
+
+import com.example.schemacrawler.model.ColumnMeta;
+import com.example.schemacrawler.model.TableMeta;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for crawl results held within a memory budget.
+ */
+class SpillableTableBufferTests {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Test that buffers share the budget, spill beyond it and read back in order.
+     */
+    @Test
+    void testSpillKeepsOrderWithinBudget() throws Exception {
+        ResultMemoryBudget budget = new ResultMemoryBudget(meterRegistry, 1024, spillDir.toString());
+        SpillableTableBuffer first = budget.newBuffer();
+        SpillableTableBuffer second = budget.newBuffer();
+        for (int i = 0; i < 50; i++) {
+            first.add(table("a" + i));
+            second.add(table("b" + i));
+            assertTrue(budget.getUsedBytes() <= 1024);
+        }
+        assertEquals(50, first.size());
+        assertTrue(first.spilledCount() > 0 && first.spilledCount() < 50);
+        assertEquals(2, Files.list(spillDir).count());
+        assertEquals(first.spilledCount() + second.spilledCount(),
+                meterRegistry.get("crawler.results.spilled.tables").counter().count());
+
+        List<String> names = new ArrayList<>();
+        for (TableMeta tableMeta : first) {
+            names.add(tableMeta.getTableName());
+            assertEquals(List.of("ID", "NAME"), tableMeta.getColumns().stream().map(ColumnMeta::getColumnName).toList());
+        }
+        assertEquals(50, names.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("a" + i, names.get(i));
+        }
+
+        first.close();
+        second.close();
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(0, Files.list(spillDir).count());
+        assertThrows(IllegalStateException.class, () -> first.add(table("late")));
+    }
+
+    /**
+     * Test that a buffer serializes as a plain array of tables, spilled ones included.
+     */
+    @Test
+    void testSerializedAsArray() throws Exception {
+        ResultMemoryBudget budget = new ResultMemoryBudget(meterRegistry, 200, spillDir.toString());
+        try (SpillableTableBuffer buffer = budget.newBuffer()) {
+            for (int i = 0; i < 5; i++) {
+                buffer.add(table("t" + i));
+            }
+            assertTrue(buffer.spilledCount() > 0);
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            JsonNode data = objectMapper.readTree(objectMapper.writeValueAsBytes(Map.of("data", buffer))).get("data");
+            assertTrue(data.isArray());
+            assertEquals(5, data.size());
+            assertEquals("t0", data.get(0).get("tableName").asText());
+            assertEquals("t4", data.get(4).get("tableName").asText());
+            // The iterator sees only what was added before it was created
+            Iterator<TableMeta> iterator = buffer.iterator();
+            buffer.add(table("t5"));
+            int count = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            assertEquals(5, count);
+        }
+    }
+
+    /**
+     * Test that closing a pinned buffer waits for its last reader before deleting the spill file.
+     */
+    @Test
+    void testCloseDeferredWhilePinned() throws Exception {
+        ResultMemoryBudget budget = new ResultMemoryBudget(meterRegistry, 200, spillDir.toString());
+        SpillableTableBuffer buffer = budget.newBuffer();
+        for (int i = 0; i < 5; i++) {
+            buffer.add(table("t" + i));
+        }
+        assertTrue(buffer.pin());
+        Iterator<TableMeta> reader = buffer.iterator();
+        buffer.close();
+        assertFalse(buffer.pin());
+        assertEquals(1, Files.list(spillDir).count());
+
+        int count = 0;
+        while (reader.hasNext()) {
+            assertEquals("t" + count++, reader.next().getTableName());
+        }
+        assertEquals(5, count);
+
+        buffer.unpin();
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(0, Files.list(spillDir).count());
+    }
+
+    private static TableMeta table(String tableName) {
+        TableMeta tableMeta = new TableMeta(tableName);
+        tableMeta.setColumns(List.of(new ColumnMeta("ID", "BIGINT"), new ColumnMeta("NAME", "VARCHAR")));
+        tableMeta.setPrimaryKey(List.of("ID"));
+        return tableMeta;
+    }
+}
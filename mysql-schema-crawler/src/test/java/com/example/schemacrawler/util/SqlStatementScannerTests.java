@@ -0,0 +1,142 @@
+package com.example.schemacrawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming SQL statement scanner.
+ */
+class SqlStatementScannerTests {
+
+    private static final String DUMP = String.join("\n",
+            "-- MySQL dump 10.13",
+            "/*!40101 SET @OLD_CHARACTER_SET_CLIENT=@@CHARACTER_SET_CLIENT */;",
+            "DROP TABLE IF EXISTS `customer`;",
+            "CREATE TABLE `customer` (",
+            "  `id` int NOT NULL AUTO_INCREMENT, -- surrogate key",
+            "  `note` varchar(20) DEFAULT 'a;b' /* inline ; comment */,",
+            "  PRIMARY KEY (`id`)",
+            ") ENGINE=InnoDB;",
+            "LOCK TABLES `customer` WRITE;",
+            "INSERT INTO `customer` VALUES (1,'it\\'s; -- not a comment'),(2,'/* nor this */;');",
+            "# hash comment ; with a semicolon",
+            "UNLOCK TABLES;",
+            "DELIMITER ;;",
+            "CREATE TRIGGER `trg` BEFORE INSERT ON `customer` FOR EACH ROW BEGIN SET NEW.note = 'x'; END ;;",
+            "DELIMITER ;",
+            "CREATE TABLE `orders` (`id` bigint NOT NULL, `customer_id` int)",
+            "");
+
+    /**
+     * Test that only table DDL is kept, with quotes, comments and delimiter changes respected.
+     */
+    @Test
+    void testKeepsTableStatementsOnly() throws Exception {
+        SqlStatementScanner scanner = new SqlStatementScanner(MysqlDdlParser::isTableStatement, 1 << 20, 1024);
+        List<String> statements = new ArrayList<>();
+        scanner.scan(channel(DUMP), statements::add);
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE TABLE `customer`"));
+        assertTrue(statements.get(0).contains("DEFAULT 'a;b'"));
+        assertFalse(statements.get(0).contains("surrogate key"));
+        assertTrue(statements.get(0).endsWith("ENGINE=InnoDB"));
+        assertEquals("CREATE TABLE `orders` (`id` bigint NOT NULL, `customer_id` int)", statements.get(1));
+        // DROP, LOCK, INSERT, UNLOCK and the trigger
+        assertEquals(5, scanner.getStatementsSkipped());
+        assertEquals(DUMP.getBytes(StandardCharsets.UTF_8).length, scanner.getBytesRead());
+    }
+
+    /**
+     * Test that a large data block is scanned past without being buffered.
+     */
+    @Test
+    void testSkipsLargeDataBlocks() throws Exception {
+        String row = "(1,'abc;def',3.5,NULL,'x\\'y'),";
+        long rows = 2_000_000;
+        SqlStatementScanner scanner = new SqlStatementScanner(MysqlDdlParser::isTableStatement, 4096, 4096);
+        List<String> statements = new ArrayList<>();
+        scanner.scan(new GeneratedDumpChannel(row, rows), statements::add);
+
+        assertEquals(List.of("CREATE TABLE a (id int)", "CREATE TABLE b (id int)"), statements);
+        assertEquals(1, scanner.getStatementsSkipped());
+        assertTrue(scanner.getBytesRead() > row.length() * rows);
+    }
+
+    /**
+     * Test that statements over the size limit are dropped and counted.
+     */
+    @Test
+    void testOversizedStatementIsDropped() throws Exception {
+        SqlStatementScanner scanner = new SqlStatementScanner(MysqlDdlParser::isTableStatement, 100, 1024);
+        List<String> statements = new ArrayList<>();
+        scanner.scan(channel("CREATE TABLE big (" + "c int,".repeat(50) + "d int); CREATE TABLE small (id int);"),
+                statements::add);
+
+        assertEquals(List.of("CREATE TABLE small (id int)"), statements);
+        assertEquals(1, scanner.getStatementsOversized());
+    }
+
+    private static ReadableByteChannel channel(String script) {
+        return Channels.newChannel(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Channel producing a table, a multi-row INSERT of the given size and another table, without holding them in memory.
+     */
+    private static class GeneratedDumpChannel implements ReadableByteChannel {
+        private final byte[] head = "CREATE TABLE a (id int);\nINSERT INTO a VALUES ".getBytes(StandardCharsets.UTF_8);
+        private final byte[] row;
+        private final byte[] tail = "(0,'',0,NULL,'');\nCREATE TABLE b (id int);\n".getBytes(StandardCharsets.UTF_8);
+        private final long rows;
+        private long position;
+
+        GeneratedDumpChannel(String row, long rows) {
+            this.row = row.getBytes(StandardCharsets.UTF_8);
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            long total = head.length + row.length * rows + tail.length;
+            if (position >= total) {
+                return -1;
+            }
+            int written = 0;
+            while (dst.hasRemaining() && position < total) {
+                dst.put(byteAt(position++));
+                written++;
+            }
+            return written;
+        }
+
+        private byte byteAt(long index) {
+            if (index < head.length) {
+                return head[(int) index];
+            }
+            index -= head.length;
+            if (index < row.length * rows) {
+                return row[(int) (index % row.length)];
+            }
+            return tail[(int) (index - row.length * rows)];
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}